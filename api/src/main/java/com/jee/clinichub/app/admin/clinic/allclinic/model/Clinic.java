@@ -28,6 +28,8 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
@@ -38,6 +40,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraph(name = "Clinic.facilities", attributeNodes = @NamedAttributeNode("clinicFacilityList"))
 @Table(name = "clinic")
 @Data
 @NoArgsConstructor
@@ -89,7 +92,7 @@ public class Clinic extends Auditable<String> implements Serializable {
     private String banner;
     private String favicon;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "clinic_facility_map", joinColumns = @JoinColumn(name = "clinic_id"), inverseJoinColumns = @JoinColumn(name = "facility_id"))
     private Set<ClinicFacility> clinicFacilityList;
 
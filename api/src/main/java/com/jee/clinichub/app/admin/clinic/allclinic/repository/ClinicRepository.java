@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +19,16 @@ import com.jee.clinichub.app.admin.clinic.allclinic.model.ClinicPublicViewProj;
 public interface ClinicRepository  extends JpaRepository<Clinic,Long>{
 
 
+// clinics are returned as entities, so the facilities come with them in the same query
+@Override
+@EntityGraph("Clinic.facilities")
+List<Clinic> findAll();
+
+@Override
+@EntityGraph("Clinic.facilities")
+Optional<Clinic> findById(Long id);
+
+@EntityGraph("Clinic.facilities")
 @Query("SELECT c FROM Clinic c WHERE (:name IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')))")
 List<Clinic> filterByname(String name);
 
@@ -34,6 +45,7 @@ List<Clinic> filterByname(String name);
        nativeQuery = true)
 Page<ClinicPublicViewProj> filterClinicPublicView(Pageable pageable, @Param("searchKey") String searchKey);
 
+@EntityGraph("Clinic.facilities")
 Optional<Clinic> findBySlug(String slug);
 
     
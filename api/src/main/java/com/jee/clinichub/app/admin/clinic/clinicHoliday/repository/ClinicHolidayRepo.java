@@ -1,6 +1,7 @@
 
 package com.jee.clinichub.app.admin.clinic.clinicHoliday.repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -16,6 +17,8 @@ public interface ClinicHolidayRepo extends JpaRepository<ClinicHoliday, Long> {
 
     boolean existsByBranch_idAndDate(Long id, Date dateValue);
 
+    List<ClinicHoliday> findAllByBranch_idInAndDateBetween(Collection<Long> branchIds, Date startDate, Date endDate);
+
    
     
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.jee.clinichub.app.aichat.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,12 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.jee.clinichub.app.aichat.model.ChatMessageDto;
 import com.jee.clinichub.app.aichat.model.ChatRequest;
 import com.jee.clinichub.app.aichat.model.ChatResponse;
 import com.jee.clinichub.app.aichat.model.ChatSessionDto;
 import com.jee.clinichub.app.aichat.service.AIChatService;
+import com.jee.clinichub.global.exception.ChatBusyException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -36,6 +40,12 @@ public class AIChatController {
         try {
             ChatResponse response = aiChatService.sendMessage(request);
             return ResponseEntity.ok(response);
+        } catch (ChatBusyException e) {
+            ChatResponse busyResponse = new ChatResponse();
+            busyResponse.setSuccess(false);
+            busyResponse.setErrorMessage(e.getMessage());
+            busyResponse.setResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(busyResponse);
         } catch (Exception e) {
             log.error("Error in chat message endpoint: ", e);
             ChatResponse errorResponse = new ChatResponse();
@@ -46,6 +56,11 @@ public class AIChatController {
         }
     }
 
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(@RequestBody ChatRequest request) {
+        return aiChatService.streamMessage(request);
+    }
+
     @PostMapping("/session/new")
     public ResponseEntity<ChatSessionDto> createNewSession(@RequestBody ChatRequest request) {
         try {
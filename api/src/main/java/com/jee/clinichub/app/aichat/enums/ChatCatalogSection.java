@@ -0,0 +1,11 @@
+package com.jee.clinichub.app.aichat.enums;
+
+/**
+ * Parts of the chat catalogue snapshot, each reloaded on its own when what it is built from changes.
+ */
+public enum ChatCatalogSection {
+    DOCTORS,
+    CLINICS,
+    SPECIALIZATIONS,
+    AVAILABILITY
+}
@@ -0,0 +1,18 @@
+package com.jee.clinichub.app.aichat.model;
+
+/**
+ * One active clinic branch, as in ai_clinic_location_view.
+ */
+public record ChatClinicEntry(
+        Long branchId,
+        String clinicName,
+        String branchName,
+        String branchLocation,
+        String branchCity,
+        String branchPincode,
+        String clinicContact,
+        int doctorsCount,
+        String availableServices,
+        Double latitude,
+        Double longitude) {
+}
@@ -0,0 +1,21 @@
+package com.jee.clinichub.app.aichat.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One doctor at one branch, as in ai_doctor_search_view. A missing rating is 0.
+ */
+public record ChatDoctorEntry(
+        Long branchId,
+        String doctorName,
+        String branchCity,
+        String branchLocation,
+        String clinicName,
+        int availableSlotsCount,
+        LocalDate nextAvailableDate,
+        LocalTime nextAvailableTime,
+        String specializations,
+        double consultationFee,
+        double avgRating) {
+}
@@ -0,0 +1,17 @@
+package com.jee.clinichub.app.aichat.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One bookable slot in the coming week, as in ai_doctor_availability_view.
+ */
+public record ChatSlotEntry(
+        String doctorName,
+        String branchName,
+        String branchCity,
+        LocalDate slotDate,
+        LocalTime startTime,
+        int availableSlots,
+        double consultationFee) {
+}
@@ -3,6 +3,8 @@ package com.jee.clinichub.app.aichat.service;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.jee.clinichub.app.aichat.model.ChatMessageDto;
 import com.jee.clinichub.app.aichat.model.ChatRequest;
 import com.jee.clinichub.app.aichat.model.ChatResponse;
@@ -11,6 +13,8 @@ import com.jee.clinichub.app.aichat.model.ChatSessionDto;
 public interface AIChatService {
     
     ChatResponse sendMessage(ChatRequest request);
+
+    SseEmitter streamMessage(ChatRequest request);
     
     ChatSessionDto createNewSession(String userName, Long userId);
     
@@ -2,11 +2,22 @@
 package com.jee.clinichub.app.aichat.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.jee.clinichub.app.aichat.enums.ChatStatus;
 import com.jee.clinichub.app.aichat.enums.MessageType;
@@ -20,10 +31,13 @@ import com.jee.clinichub.app.aichat.model.ChatSession;
 import com.jee.clinichub.app.aichat.model.ChatSessionDto;
 import com.jee.clinichub.app.aichat.repository.ChatMessageRepository;
 import com.jee.clinichub.app.aichat.repository.ChatSessionRepository;
+import com.jee.clinichub.global.exception.ChatBusyException;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
 
 @Log4j2
 @Service
@@ -34,43 +48,42 @@ public class AIChatServiceImpl implements AIChatService {
     private final ChatMessageRepository chatMessageRepository;
     private final GeminiService geminiService;
     private final ChatContextService chatContextService;
+    private final ChatQueryClassifier chatQueryClassifier;
+    private final ChatConcurrencyLimiter chatConcurrencyLimiter;
+    private final TaskDecorator contextCopyingDecorator;
+
+    // asks the model to categorize each message as well, alongside building the context; the keyword classifier otherwise
+    @Value("${app.aichat.remote-categorization:false}")
+    private boolean remoteCategorization;
+
+    @Value("${app.aichat.stream-timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    // identical prompts in flight share one model call, e.g. a double submit or the same opening question
+    private final Map<PromptKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Map<PromptKey, Flux<String>> inFlightStreams = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
 
     @Override
-    @Transactional
     public ChatResponse sendMessage(ChatRequest request) {
-        try {
-            // Get or create session
+        try (ChatConcurrencyLimiter.Permit permit = chatConcurrencyLimiter.acquire()) {
             ChatSession session = getOrCreateSession(request);
+            Prepared prepared = prepare(request.getMessage(), session.getId());
+
+            String aiResponse = coalesce(new PromptKey(request.getMessage(), prepared.context()),
+                () -> geminiService.generateResponse(request.getMessage(), prepared.context()));
+
+            saveExchange(session, request.getMessage(), aiResponse, prepared.category());
+            return new ChatResponse(aiResponse, session.getSessionToken(), prepared.category());
             
-            // Build context for AI
-            ChatContext context = chatContextService.buildContext(request.getMessage(), session.getId());
-            
-            // Categorize query
-            String categoryStr = geminiService.categorizeQuery(request.getMessage());
-            QueryCategory category = parseQueryCategory(categoryStr);
-            
-            // Generate AI response
-            String aiResponse = geminiService.generateResponse(request.getMessage(), context);
-            
-            // Save user message
-            ChatMessage userMessage = new ChatMessage();
-            userMessage.setChatSession(session);
-            userMessage.setMessage(request.getMessage());
-            userMessage.setMessageType(MessageType.USER);
-            userMessage.setQueryCategory(category);
-            chatMessageRepository.save(userMessage);
-            
-            // Save AI response
-            ChatMessage aiMessage = new ChatMessage();
-            aiMessage.setChatSession(session);
-            aiMessage.setMessage(request.getMessage());
-            aiMessage.setResponse(aiResponse);
-            aiMessage.setMessageType(MessageType.AI);
-            aiMessage.setQueryCategory(category);
-            chatMessageRepository.save(aiMessage);
-            
-            return new ChatResponse(aiResponse, session.getSessionToken(), category);
-            
+        } catch (ChatBusyException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing chat message: ", e);
             ChatResponse errorResponse = new ChatResponse();
@@ -81,6 +94,53 @@ public class AIChatServiceImpl implements AIChatService {
         }
     }
 
+    /**
+     * Sends a {@code session} event with the session token and category, a {@code chunk} event per piece of the
+     * answer as the model writes it, then a {@code done} event with the whole {@link ChatResponse} once the exchange
+     * is saved. A failure sends an {@code error} event instead of {@code done}.
+     */
+    @Override
+    public SseEmitter streamMessage(ChatRequest request) {
+        ChatConcurrencyLimiter.Permit permit = chatConcurrencyLimiter.acquire();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        emitter.onCompletion(permit::close);
+        emitter.onTimeout(permit::close);
+        emitter.onError(e -> permit.close());
+
+        try {
+            execute(() -> {
+                try {
+                    ChatSession session = getOrCreateSession(request);
+                    Prepared prepared = prepare(request.getMessage(), session.getId());
+                    emitter.send(SseEmitter.event().name("session")
+                        .data(new ChatResponse(null, session.getSessionToken(), prepared.category())));
+
+                    StringBuilder aiResponse = new StringBuilder();
+                    Flux<String> chunks = coalesceStream(new PromptKey(request.getMessage(), prepared.context()),
+                        () -> geminiService.streamResponse(request.getMessage(), prepared.context()));
+                    for (String chunk : chunks.toIterable()) {
+                        aiResponse.append(chunk);
+                        emitter.send(SseEmitter.event().name("chunk").data(chunk, MediaType.TEXT_PLAIN));
+                    }
+
+                    saveExchange(session, request.getMessage(), aiResponse.toString(), prepared.category());
+                    emitter.send(SseEmitter.event().name("done")
+                        .data(new ChatResponse(aiResponse.toString(), session.getSessionToken(), prepared.category())));
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.error("Error streaming chat message: ", e);
+                    sendError(emitter);
+                } finally {
+                    permit.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permit.close();
+            throw e;
+        }
+        return emitter;
+    }
+
     @Override
     @Transactional
     public ChatSessionDto createNewSession(String userName, Long userId) {
@@ -164,6 +224,88 @@ public class AIChatServiceImpl implements AIChatService {
         return chatSessionRepository.save(newSession);
     }
 
+    /**
+     * Builds the context and categorizes the message. With remote categorization both are model or database round
+     * trips, so the context is built on a worker while this thread waits for the category.
+     */
+    private Prepared prepare(String message, Long sessionId) {
+        if (!remoteCategorization) {
+            return new Prepared(chatContextService.buildContext(message, sessionId), chatQueryClassifier.classify(message));
+        }
+        CompletableFuture<ChatContext> context = CompletableFuture
+            .supplyAsync(() -> chatContextService.buildContext(message, sessionId), this::execute);
+        QueryCategory category = parseQueryCategory(geminiService.categorizeQuery(message));
+        return new Prepared(context.join(), category);
+    }
+
+    private String coalesce(PromptKey key, Supplier<String> call) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            String response = call.get();
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Later callers replay the chunks the first one has already had, then follow along with it.
+     */
+    private Flux<String> coalesceStream(PromptKey key, Supplier<Flux<String>> call) {
+        return inFlightStreams.computeIfAbsent(key, k -> call.get()
+            .doFinally(signal -> inFlightStreams.remove(k))
+            .cache());
+    }
+
+    private void saveExchange(ChatSession session, String message, String aiResponse, QueryCategory category) {
+        ChatMessage userMessage = new ChatMessage();
+        userMessage.setChatSession(session);
+        userMessage.setMessage(message);
+        userMessage.setMessageType(MessageType.USER);
+        userMessage.setQueryCategory(category);
+        chatMessageRepository.save(userMessage);
+
+        ChatMessage aiMessage = new ChatMessage();
+        aiMessage.setChatSession(session);
+        aiMessage.setMessage(message);
+        aiMessage.setResponse(aiResponse);
+        aiMessage.setMessageType(MessageType.AI);
+        aiMessage.setQueryCategory(category);
+        chatMessageRepository.save(aiMessage);
+    }
+
+    private void sendError(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                .data("I'm having technical difficulties. Please try again later.", MediaType.TEXT_PLAIN));
+            emitter.complete();
+        } catch (Exception e) {
+            // the client has gone
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Runs on a virtual thread with the caller's tenant, request and logging context.
+     */
+    private void execute(Runnable task) {
+        workers.execute(contextCopyingDecorator.decorate(task));
+    }
+
+    private record Prepared(ChatContext context, QueryCategory category) {
+    }
+
+    private record PromptKey(String message, ChatContext context) {
+    }
+
     private QueryCategory parseQueryCategory(String categoryStr) {
         try {
             return QueryCategory.valueOf(categoryStr.trim().toUpperCase());
@@ -0,0 +1,293 @@
+package com.jee.clinichub.app.aichat.service;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jee.clinichub.app.aichat.enums.ChatCatalogSection;
+import com.jee.clinichub.app.aichat.model.ChatClinicEntry;
+import com.jee.clinichub.app.aichat.model.ChatDoctorEntry;
+import com.jee.clinichub.app.aichat.model.ChatSlotEntry;
+import com.jee.clinichub.app.branch.event.BranchLocationChangedEvent;
+import com.jee.clinichub.app.doctor.event.DoctorChangedEvent;
+import com.jee.clinichub.app.doctor.slots.event.SlotsChangedEvent;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * In-memory copy of the AI chat views (doctors, clinics, specializations and next week's slots), so building
+ * the chat context filters and formats from memory instead of querying the views on every message.
+ *
+ * Each section is reloaded on its own: a doctor, slot or branch change in the master schema only marks the
+ * sections built from it stale, and {@link #refresh()} reloads stale sections every
+ * {@code app.aichat.catalog.refresh-check-ms}, so a burst of bookings costs one reload rather than one per booking.
+ * Every section is also reloaded after {@code app.aichat.catalog.max-age-ms} regardless, which rolls slot dates
+ * over at midnight. Readers never wait for a reload, except for the very first load of a section.
+ */
+@Log4j2
+@Service
+public class ChatCatalogService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    @Value("${app.aichat.catalog.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    private final Section<Doctors> doctors;
+    private final Section<Clinics> clinics;
+    private final Section<List<String>> specializations;
+    private final Section<List<ChatSlotEntry>> availability;
+    private final Map<ChatCatalogSection, Section<?>> sections = new EnumMap<>(ChatCatalogSection.class);
+
+    public ChatCatalogService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.doctors = section(ChatCatalogSection.DOCTORS, new Doctors(List.of(), Map.of()), this::loadDoctors);
+        this.clinics = section(ChatCatalogSection.CLINICS, new Clinics(List.of(), Map.of()), this::loadClinics);
+        this.specializations = section(ChatCatalogSection.SPECIALIZATIONS, List.of(), this::loadSpecializations);
+        this.availability = section(ChatCatalogSection.AVAILABILITY, List.of(), this::loadAvailability);
+    }
+
+    /**
+     * Doctors at every branch, most available slots first, then best rated.
+     */
+    public List<ChatDoctorEntry> getDoctors() {
+        return doctors.get().all();
+    }
+
+    /**
+     * Doctors at the branch, in the order of {@link #getDoctors()}.
+     */
+    public List<ChatDoctorEntry> getDoctorsAt(long branchId) {
+        return doctors.get().byBranch().getOrDefault(branchId, List.of());
+    }
+
+    /**
+     * Active clinic branches, most doctors first.
+     */
+    public List<ChatClinicEntry> getClinics() {
+        return clinics.get().all();
+    }
+
+    public Optional<ChatClinicEntry> getClinicAt(long branchId) {
+        return Optional.ofNullable(clinics.get().byBranch().get(branchId));
+    }
+
+    /**
+     * Distinct specialization lists of the doctors, e.g. "Cardiology, General Medicine".
+     */
+    public List<String> getSpecializations() {
+        return specializations.get();
+    }
+
+    /**
+     * Bookable slots in the coming week, earliest first.
+     */
+    public List<ChatSlotEntry> getNextWeekSlots() {
+        return availability.get();
+    }
+
+    public void invalidate(ChatCatalogSection... changed) {
+        for (ChatCatalogSection section : changed) {
+            sections.get(section).markStale();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        if (isMaster(event.getTenantId())) {
+            invalidate(ChatCatalogSection.DOCTORS, ChatCatalogSection.CLINICS, ChatCatalogSection.SPECIALIZATIONS,
+                    ChatCatalogSection.AVAILABILITY);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotsChanged(SlotsChangedEvent event) {
+        if (isMaster(event.getTenantId())) {
+            invalidate(ChatCatalogSection.DOCTORS, ChatCatalogSection.AVAILABILITY);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBranchChanged(BranchLocationChangedEvent event) {
+        invalidate(ChatCatalogSection.DOCTORS, ChatCatalogSection.CLINICS, ChatCatalogSection.AVAILABILITY);
+    }
+
+    @Scheduled(fixedDelayString = "${app.aichat.catalog.refresh-check-ms:5000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        sections.values().forEach(section -> section.refreshIfDue(now));
+    }
+
+    private boolean isMaster(String tenantId) {
+        return tenantId == null || tenantId.equals(defaultTenant);
+    }
+
+    private Doctors loadDoctors() {
+        String sql = """
+            SELECT branch_id, doctor_name, branch_city, branch_location, clinic_name,
+                   available_slots_count, next_available_date, next_available_time, specializations,
+                   consultation_fee, avg_rating
+            FROM ai_doctor_search_view
+            ORDER BY available_slots_count DESC, avg_rating DESC NULLS LAST
+            """;
+        List<ChatDoctorEntry> all = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Date nextDate = rs.getDate("next_available_date");
+            Time nextTime = rs.getTime("next_available_time");
+            return new ChatDoctorEntry(
+                rs.getLong("branch_id"),
+                rs.getString("doctor_name"),
+                rs.getString("branch_city"),
+                rs.getString("branch_location"),
+                rs.getString("clinic_name"),
+                rs.getInt("available_slots_count"),
+                nextDate != null ? nextDate.toLocalDate() : null,
+                nextTime != null ? nextTime.toLocalTime() : null,
+                rs.getString("specializations"),
+                rs.getDouble("consultation_fee"),
+                rs.getDouble("avg_rating"));
+        });
+
+        Map<Long, List<ChatDoctorEntry>> byBranch = new LinkedHashMap<>();
+        for (ChatDoctorEntry doctor : all) {
+            byBranch.computeIfAbsent(doctor.branchId(), id -> new ArrayList<>()).add(doctor);
+        }
+        byBranch.replaceAll((id, list) -> List.copyOf(list));
+        return new Doctors(List.copyOf(all), Map.copyOf(byBranch));
+    }
+
+    private Clinics loadClinics() {
+        String sql = """
+            SELECT branch_id, clinic_name, branch_name, branch_location, branch_city,
+                   branch_pincode, clinic_contact, doctors_count, available_services,
+                   latitude, longitude
+            FROM ai_clinic_location_view
+            ORDER BY doctors_count DESC
+            """;
+        List<ChatClinicEntry> all = jdbcTemplate.query(sql, (rs, rowNum) -> new ChatClinicEntry(
+            rs.getLong("branch_id"),
+            rs.getString("clinic_name"),
+            rs.getString("branch_name"),
+            rs.getString("branch_location"),
+            rs.getString("branch_city"),
+            rs.getString("branch_pincode"),
+            rs.getString("clinic_contact"),
+            rs.getInt("doctors_count"),
+            rs.getString("available_services"),
+            rs.getObject("latitude") != null ? rs.getDouble("latitude") : null,
+            rs.getObject("longitude") != null ? rs.getDouble("longitude") : null));
+
+        Map<Long, ChatClinicEntry> byBranch = new LinkedHashMap<>();
+        all.forEach(clinic -> byBranch.putIfAbsent(clinic.branchId(), clinic));
+        return new Clinics(List.copyOf(all), Map.copyOf(byBranch));
+    }
+
+    private List<String> loadSpecializations() {
+        return List.copyOf(jdbcTemplate.queryForList("""
+            SELECT DISTINCT specializations
+            FROM ai_doctor_search_view
+            WHERE specializations IS NOT NULL
+            """, String.class));
+    }
+
+    private List<ChatSlotEntry> loadAvailability() {
+        String sql = """
+            SELECT doctor_name, branch_name, branch_city, slot_date,
+                   start_time, available_slots, consultation_fee
+            FROM ai_doctor_availability_view
+            WHERE is_next_week = true
+            ORDER BY slot_date, start_time
+            """;
+        return List.copyOf(jdbcTemplate.query(sql, (rs, rowNum) -> new ChatSlotEntry(
+            rs.getString("doctor_name"),
+            rs.getString("branch_name"),
+            rs.getString("branch_city"),
+            rs.getDate("slot_date").toLocalDate(),
+            rs.getTime("start_time").toLocalTime(),
+            rs.getInt("available_slots"),
+            rs.getDouble("consultation_fee"))));
+    }
+
+    private <T> Section<T> section(ChatCatalogSection name, T empty, Supplier<T> loader) {
+        Section<T> section = new Section<>(name, empty, loader);
+        sections.put(name, section);
+        return section;
+    }
+
+    private record Doctors(List<ChatDoctorEntry> all, Map<Long, List<ChatDoctorEntry>> byBranch) {
+    }
+
+    private record Clinics(List<ChatClinicEntry> all, Map<Long, ChatClinicEntry> byBranch) {
+    }
+
+    private final class Section<T> {
+
+        private final ChatCatalogSection name;
+        private final T empty;
+        private final Supplier<T> loader;
+        private final AtomicBoolean stale = new AtomicBoolean(true);
+        private volatile T value;
+        private volatile long loadedAt;
+
+        private Section(ChatCatalogSection name, T empty, Supplier<T> loader) {
+            this.name = name;
+            this.empty = empty;
+            this.loader = loader;
+        }
+
+        T get() {
+            T current = value;
+            if (current == null) {
+                synchronized (this) {
+                    if (value == null) {
+                        reload();
+                    }
+                    current = value;
+                }
+            }
+            // the database being down on the first load leaves the chat without catalogue rather than failing it
+            return current != null ? current : empty;
+        }
+
+        void markStale() {
+            stale.set(true);
+        }
+
+        synchronized void refreshIfDue(long now) {
+            if (value == null || stale.get() || now - loadedAt >= maxAgeMs) {
+                reload();
+            }
+        }
+
+        private void reload() {
+            // cleared before reading, so a change committed during the load marks the section again
+            stale.set(false);
+            long start = System.nanoTime();
+            try {
+                value = loader.get();
+                loadedAt = System.currentTimeMillis();
+                log.debug("Loaded chat catalogue {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (RuntimeException e) {
+                stale.set(true);
+                log.error("Could not load chat catalogue {}, keeping the previous copy: {}", name, e.getMessage(), e);
+            }
+        }
+    }
+}
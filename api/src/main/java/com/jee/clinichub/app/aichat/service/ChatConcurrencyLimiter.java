@@ -0,0 +1,77 @@
+package com.jee.clinichub.app.aichat.service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jee.clinichub.global.exception.ChatBusyException;
+import com.jee.clinichub.global.security.service.CallerResolver;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Caps how many chat messages one caller can have in flight, so a client retrying in a loop cannot hold every model
+ * call. Callers are told apart by {@link CallerResolver}, never by the user id in the request body. A caller over
+ * {@code app.aichat.max-concurrent-per-user} is turned away straight away rather than queued.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatConcurrencyLimiter {
+
+    @Value("${app.aichat.max-concurrent-per-user:2}")
+    private int maxConcurrentPerUser;
+
+    private final CallerResolver callerResolver;
+
+    private Cache<String, Semaphore> permits;
+
+    @PostConstruct
+    public void init() {
+        permits = CacheBuilder.newBuilder()
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Must be called on the request thread, the caller is read from its security context and request.
+     */
+    public Permit acquire() {
+        Semaphore semaphore;
+        try {
+            semaphore = permits.get(callerResolver.callerKey(), () -> new Semaphore(Math.max(1, maxConcurrentPerUser)));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        if (!semaphore.tryAcquire()) {
+            throw new ChatBusyException("Please wait for the previous answer before sending another message.");
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Released once however often it is closed, so every exit path of a streamed answer can close it.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
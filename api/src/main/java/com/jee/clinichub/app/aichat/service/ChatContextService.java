@@ -1,16 +1,25 @@
 package com.jee.clinichub.app.aichat.service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.PageRequest;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import com.jee.clinichub.app.aichat.model.ChatClinicEntry;
 import com.jee.clinichub.app.aichat.model.ChatContext;
+import com.jee.clinichub.app.aichat.model.ChatDoctorEntry;
 import com.jee.clinichub.app.aichat.model.ChatMessage;
 import com.jee.clinichub.app.aichat.repository.ChatMessageRepository;
+import com.jee.clinichub.app.core.location.BranchLocationIndex;
+import com.jee.clinichub.app.core.location.GeoIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -20,8 +29,14 @@ import lombok.extern.log4j.Log4j2;
 @RequiredArgsConstructor
 public class ChatContextService {
 
+    // branches looked at first for a "near me" question, and the most it widens to
+    private static final int MIN_NEARBY_BRANCHES = 16;
+    private static final int MAX_NEARBY_BRANCHES = 1024;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
     private final ChatMessageRepository chatMessageRepository;
-    private final JdbcTemplate jdbcTemplate;
+    private final ChatCatalogService chatCatalogService;
+    private final BranchLocationIndex branchLocationIndex;
 
     public ChatContext buildContext(String userMessage, Long sessionId) {
         ChatContext context = new ChatContext();
@@ -87,43 +102,23 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT doctor_name, branch_city, branch_location, clinic_name, 
-                       available_slots_count, next_available_date, specializations,
-                       consultation_fee, avg_rating, latitude, longitude
-                FROM ai_doctor_search_view 
-                WHERE available_slots_count > 0
-                  AND latitude IS NOT NULL AND longitude IS NOT NULL
-                ORDER BY available_slots_count DESC, avg_rating DESC NULLS LAST
-                LIMIT 15
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                double branchLat = rs.getDouble("latitude");
-                double branchLon = rs.getDouble("longitude");
-                double distance = calculateDistance(locationInfo.latitude, locationInfo.longitude, branchLat, branchLon);
-                
-                return String.format("%s at %s, %s (%s) - %.1f km away, %d available slots, next available: %s, specializes in: %s, fee: ₹%.0f, rating: %.1f",
-                    rs.getString("doctor_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("clinic_name"),
+            List<String> results = nearestBranches(locationInfo, 8,
+                branchId -> chatCatalogService.getDoctorsAt(branchId).stream()
+                    .filter(doctor -> doctor.availableSlotsCount() > 0)
+                    .toList(),
+                (doctor, distance) -> String.format("%s at %s, %s (%s) - %.1f km away, %d available slots, next available: %s, specializes in: %s, fee: ₹%.0f, rating: %.1f",
+                    doctor.doctorName(),
+                    doctor.branchLocation(),
+                    doctor.branchCity(),
+                    doctor.clinicName(),
                     distance,
-                    rs.getInt("available_slots_count"),
-                    rs.getDate("next_available_date") != null ? rs.getDate("next_available_date").toString() : "N/A",
-                    rs.getString("specializations") != null ? rs.getString("specializations") : "General",
-                    rs.getDouble("consultation_fee"),
-                    rs.getDouble("avg_rating") > 0 ? rs.getDouble("avg_rating") : 0.0);
-            });
-            
-            // Sort by distance
-            results.sort((a, b) -> {
-                Double distA = Double.parseDouble(a.split(" - ")[1].split(" km")[0]);
-                Double distB = Double.parseDouble(b.split(" - ")[1].split(" km")[0]);
-                return distA.compareTo(distB);
-            });
+                    doctor.availableSlotsCount(),
+                    doctor.nextAvailableDate() != null ? doctor.nextAvailableDate().toString() : "N/A",
+                    doctor.specializations() != null ? doctor.specializations() : "General",
+                    doctor.consultationFee(),
+                    doctor.avgRating() > 0 ? doctor.avgRating() : 0.0));
             
-            for (String result : results.subList(0, Math.min(8, results.size()))) {
+            for (String result : results) {
                 context.append(result).append("; ");
             }
             
@@ -140,41 +135,20 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT clinic_name, branch_name, branch_location, branch_city, 
-                       branch_pincode, clinic_contact, doctors_count, available_services,
-                       latitude, longitude
-                FROM ai_clinic_location_view 
-                WHERE latitude IS NOT NULL AND longitude IS NOT NULL
-                ORDER BY doctors_count DESC
-                LIMIT 15
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                double branchLat = rs.getDouble("latitude");
-                double branchLon = rs.getDouble("longitude");
-                double distance = calculateDistance(locationInfo.latitude, locationInfo.longitude, branchLat, branchLon);
-                
-                return String.format("%s (%s) located at %s, %s - %.1f km away, Pincode: %s, Contact: %s, %d doctors available, Services: %s",
-                    rs.getString("clinic_name"),
-                    rs.getString("branch_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
+            List<String> results = nearestBranches(locationInfo, 8,
+                branchId -> chatCatalogService.getClinicAt(branchId).stream().toList(),
+                (clinic, distance) -> String.format("%s (%s) located at %s, %s - %.1f km away, Pincode: %s, Contact: %s, %d doctors available, Services: %s",
+                    clinic.clinicName(),
+                    clinic.branchName(),
+                    clinic.branchLocation(),
+                    clinic.branchCity(),
                     distance,
-                    rs.getString("branch_pincode"),
-                    rs.getString("clinic_contact") != null ? rs.getString("clinic_contact") : "Contact clinic directly",
-                    rs.getInt("doctors_count"),
-                    rs.getString("available_services") != null ? rs.getString("available_services") : "General services");
-            });
+                    clinic.branchPincode(),
+                    clinic.clinicContact() != null ? clinic.clinicContact() : "Contact clinic directly",
+                    clinic.doctorsCount(),
+                    clinic.availableServices() != null ? clinic.availableServices() : "General services"));
             
-            // Sort by distance
-            results.sort((a, b) -> {
-                Double distA = Double.parseDouble(a.split(" - ")[1].split(" km")[0]);
-                Double distB = Double.parseDouble(b.split(" - ")[1].split(" km")[0]);
-                return distA.compareTo(distB);
-            });
-            
-            for (String result : results.subList(0, Math.min(8, results.size()))) {
+            for (String result : results) {
                 context.append(result).append("; ");
             }
             
@@ -191,36 +165,16 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT clinic_name, branch_name, branch_location, branch_city,
-                       branch_pincode, doctors_count, latitude, longitude
-                FROM ai_clinic_location_view 
-                WHERE latitude IS NOT NULL AND longitude IS NOT NULL
-                ORDER BY doctors_count DESC
-                LIMIT 10
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                double branchLat = rs.getDouble("latitude");
-                double branchLon = rs.getDouble("longitude");
-                double distance = calculateDistance(locationInfo.latitude, locationInfo.longitude, branchLat, branchLon);
-                
-                return String.format("%s (%s) at %s, %s - %.1f km away, Pincode: %s - %d doctors available",
-                    rs.getString("clinic_name"),
-                    rs.getString("branch_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
+            List<String> results = nearestBranches(locationInfo, 10,
+                branchId -> chatCatalogService.getClinicAt(branchId).stream().toList(),
+                (clinic, distance) -> String.format("%s (%s) at %s, %s - %.1f km away, Pincode: %s - %d doctors available",
+                    clinic.clinicName(),
+                    clinic.branchName(),
+                    clinic.branchLocation(),
+                    clinic.branchCity(),
                     distance,
-                    rs.getString("branch_pincode"),
-                    rs.getInt("doctors_count"));
-            });
-            
-            // Sort by distance
-            results.sort((a, b) -> {
-                Double distA = Double.parseDouble(a.split(" - ")[1].split(" km")[0]);
-                Double distB = Double.parseDouble(b.split(" - ")[1].split(" km")[0]);
-                return distA.compareTo(distB);
-            });
+                    clinic.branchPincode(),
+                    clinic.doctorsCount()));
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -235,6 +189,32 @@ public class ChatContextService {
         }
     }
 
+    /**
+     * Formats up to {@code limit} catalogue rows of the branches nearest to the user, closest branch first; rows of
+     * the same branch keep the catalogue's order. When the nearest branches have too few matching rows (no free
+     * slots, inactive), it looks further out.
+     */
+    private <T> List<String> nearestBranches(LocationInfo locationInfo, int limit, LongFunction<List<T>> rowsAt,
+            BiFunction<T, Double, String> formatter) {
+        int k = Math.max(limit * 2, MIN_NEARBY_BRANCHES);
+        while (true) {
+            List<GeoIndex.Hit> hits = branchLocationIndex.nearest(locationInfo.latitude, locationInfo.longitude, k);
+            List<String> results = new ArrayList<>();
+            for (GeoIndex.Hit hit : hits) {
+                for (T row : rowsAt.apply(hit.id())) {
+                    if (results.size() == limit) {
+                        return results;
+                    }
+                    results.add(formatter.apply(row, hit.distanceKm()));
+                }
+            }
+            if (hits.size() < k || k >= MAX_NEARBY_BRANCHES) {
+                return results;
+            }
+            k = Math.min(k * 4, MAX_NEARBY_BRANCHES);
+        }
+    }
+
     private LocationInfo extractLocationInfo(String message) {
         LocationInfo locationInfo = new LocationInfo();
         String lowerMessage = message.toLowerCase();
@@ -260,62 +240,37 @@ public class ChatContextService {
         
         if (pincodeMatcher.find()) {
             locationInfo.pincode = pincodeMatcher.group(1);
-            // Convert pincode to coordinates using database lookup
+            // Convert pincode to coordinates from the clinic catalogue
             convertPincodeToCoordinates(locationInfo);
             return locationInfo;
         }
         
         // Extract city name
         locationInfo.cityName = extractLocationFromMessage(message);
-        // Convert city to coordinates using database lookup
+        // Convert city to coordinates from the clinic catalogue
         convertCityToCoordinates(locationInfo);
         
         return locationInfo;
     }
 
     private void convertPincodeToCoordinates(LocationInfo locationInfo) {
-        try {
-            String sql = "SELECT latitude, longitude FROM branch WHERE pincode = ? LIMIT 1";
-            List<Double[]> coordinates = jdbcTemplate.query(sql, new Object[]{Integer.parseInt(locationInfo.pincode)}, 
-                (rs, rowNum) -> new Double[]{rs.getDouble("latitude"), rs.getDouble("longitude")});
-            
-            if (!coordinates.isEmpty() && coordinates.get(0)[0] != null && coordinates.get(0)[1] != null) {
-                locationInfo.latitude = coordinates.get(0)[0];
-                locationInfo.longitude = coordinates.get(0)[1];
-            }
-        } catch (Exception e) {
-            log.warn("Failed to convert pincode to coordinates: " + locationInfo.pincode, e);
-        }
+        setCoordinatesOfFirstClinic(locationInfo,
+            clinic -> clinic.branchPincode() != null && clinic.branchPincode().trim().equals(locationInfo.pincode));
     }
 
     private void convertCityToCoordinates(LocationInfo locationInfo) {
-        try {
-            String sql = "SELECT latitude, longitude FROM branch WHERE LOWER(city) = LOWER(?) LIMIT 1";
-            List<Double[]> coordinates = jdbcTemplate.query(sql, new Object[]{locationInfo.cityName}, 
-                (rs, rowNum) -> new Double[]{rs.getDouble("latitude"), rs.getDouble("longitude")});
-            
-            if (!coordinates.isEmpty() && coordinates.get(0)[0] != null && coordinates.get(0)[1] != null) {
-                locationInfo.latitude = coordinates.get(0)[0];
-                locationInfo.longitude = coordinates.get(0)[1];
-            }
-        } catch (Exception e) {
-            log.warn("Failed to convert city to coordinates: " + locationInfo.cityName, e);
-        }
+        setCoordinatesOfFirstClinic(locationInfo, clinic -> locationInfo.cityName.equalsIgnoreCase(clinic.branchCity()));
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        // Haversine formula to calculate distance between two points on Earth
-        final int EARTH_RADIUS = 6371; // Radius of the earth in km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        double distance = EARTH_RADIUS * c; // Distance in km
-        
-        return Math.round(distance * 10.0) / 10.0; // Round to 1 decimal place
+    private void setCoordinatesOfFirstClinic(LocationInfo locationInfo, Predicate<ChatClinicEntry> matches) {
+        chatCatalogService.getClinics().stream()
+            .filter(clinic -> clinic.latitude() != null && clinic.longitude() != null)
+            .filter(matches)
+            .findFirst()
+            .ifPresent(clinic -> {
+                locationInfo.latitude = clinic.latitude();
+                locationInfo.longitude = clinic.longitude();
+            });
     }
 
     private String buildLocationBasedDoctorContextFromView(String userMessage) {
@@ -327,31 +282,21 @@ public class ChatContextService {
             
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT doctor_name, branch_city, branch_location, clinic_name, 
-                       available_slots_count, next_available_date, specializations,
-                       consultation_fee, avg_rating
-                FROM ai_doctor_search_view 
-                WHERE (LOWER(branch_city) LIKE LOWER(?) OR LOWER(branch_location) LIKE LOWER(?))
-                  AND available_slots_count > 0
-                ORDER BY available_slots_count DESC, avg_rating DESC NULLS LAST
-                LIMIT 8
-                """;
-            
-            String locationPattern = "%" + location + "%";
-            
-            List<String> results = jdbcTemplate.query(sql, new Object[]{locationPattern, locationPattern}, (rs, rowNum) -> {
-                return String.format("%s at %s, %s (%s) - %d available slots, next available: %s, specializes in: %s, fee: ₹%.0f, rating: %.1f",
-                    rs.getString("doctor_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("clinic_name"),
-                    rs.getInt("available_slots_count"),
-                    rs.getDate("next_available_date") != null ? rs.getDate("next_available_date").toString() : "N/A",
-                    rs.getString("specializations") != null ? rs.getString("specializations") : "General",
-                    rs.getDouble("consultation_fee"),
-                    rs.getDouble("avg_rating") > 0 ? rs.getDouble("avg_rating") : 0.0);
-            });
+            List<String> results = chatCatalogService.getDoctors().stream()
+                .filter(doctor -> containsIgnoreCase(doctor.branchCity(), location) || containsIgnoreCase(doctor.branchLocation(), location))
+                .filter(doctor -> doctor.availableSlotsCount() > 0)
+                .limit(8)
+                .map(doctor -> String.format("%s at %s, %s (%s) - %d available slots, next available: %s, specializes in: %s, fee: ₹%.0f, rating: %.1f",
+                    doctor.doctorName(),
+                    doctor.branchLocation(),
+                    doctor.branchCity(),
+                    doctor.clinicName(),
+                    doctor.availableSlotsCount(),
+                    doctor.nextAvailableDate() != null ? doctor.nextAvailableDate().toString() : "N/A",
+                    doctor.specializations() != null ? doctor.specializations() : "General",
+                    doctor.consultationFee(),
+                    doctor.avgRating() > 0 ? doctor.avgRating() : 0.0))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -375,28 +320,19 @@ public class ChatContextService {
             
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT clinic_name, branch_name, branch_location, branch_city, 
-                       branch_pincode, clinic_contact, doctors_count, available_services
-                FROM ai_clinic_location_view 
-                WHERE (LOWER(branch_city) LIKE LOWER(?) OR LOWER(branch_location) LIKE LOWER(?))
-                ORDER BY doctors_count DESC
-                LIMIT 8
-                """;
-            
-            String locationPattern = "%" + location + "%";
-            
-            List<String> results = jdbcTemplate.query(sql, new Object[]{locationPattern, locationPattern}, (rs, rowNum) -> {
-                return String.format("%s (%s) located at %s, %s, Pincode: %s, Contact: %s, %d doctors available, Services: %s",
-                    rs.getString("clinic_name"),
-                    rs.getString("branch_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("branch_pincode"),
-                    rs.getString("clinic_contact") != null ? rs.getString("clinic_contact") : "Contact clinic directly",
-                    rs.getInt("doctors_count"),
-                    rs.getString("available_services") != null ? rs.getString("available_services") : "General services");
-            });
+            List<String> results = chatCatalogService.getClinics().stream()
+                .filter(clinic -> containsIgnoreCase(clinic.branchCity(), location) || containsIgnoreCase(clinic.branchLocation(), location))
+                .limit(8)
+                .map(clinic -> String.format("%s (%s) located at %s, %s, Pincode: %s, Contact: %s, %d doctors available, Services: %s",
+                    clinic.clinicName(),
+                    clinic.branchName(),
+                    clinic.branchLocation(),
+                    clinic.branchCity(),
+                    clinic.branchPincode(),
+                    clinic.clinicContact() != null ? clinic.clinicContact() : "Contact clinic directly",
+                    clinic.doctorsCount(),
+                    clinic.availableServices() != null ? clinic.availableServices() : "General services"))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -416,31 +352,21 @@ public class ChatContextService {
             String doctorName = extractDoctorName(userMessage);
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT doctor_name, branch_city, branch_location, clinic_name,
-                       available_slots_count, next_available_date, next_available_time,
-                       specializations, consultation_fee, avg_rating
-                FROM ai_doctor_search_view 
-                WHERE LOWER(doctor_name) LIKE ?
-                ORDER BY available_slots_count DESC
-                LIMIT 5
-                """;
-            
-            String doctorPattern = "%" + doctorName.toLowerCase() + "%";
-            
-            List<String> results = jdbcTemplate.query(sql, new Object[]{doctorPattern}, (rs, rowNum) -> {
-                return String.format("%s specializes in %s, available at %s, %s (%s). %d slots available, next appointment: %s at %s. Consultation fee: ₹%.0f, Rating: %.1f",
-                    rs.getString("doctor_name"),
-                    rs.getString("specializations") != null ? rs.getString("specializations") : "General Medicine",
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("clinic_name"),
-                    rs.getInt("available_slots_count"),
-                    rs.getDate("next_available_date") != null ? rs.getDate("next_available_date").toString() : "No slots",
-                    rs.getTime("next_available_time") != null ? rs.getTime("next_available_time").toString() : "N/A",
-                    rs.getDouble("consultation_fee"),
-                    rs.getDouble("avg_rating") > 0 ? rs.getDouble("avg_rating") : 0.0);
-            });
+            List<String> results = chatCatalogService.getDoctors().stream()
+                .filter(doctor -> containsIgnoreCase(doctor.doctorName(), doctorName))
+                .limit(5)
+                .map(doctor -> String.format("%s specializes in %s, available at %s, %s (%s). %d slots available, next appointment: %s at %s. Consultation fee: ₹%.0f, Rating: %.1f",
+                    doctor.doctorName(),
+                    doctor.specializations() != null ? doctor.specializations() : "General Medicine",
+                    doctor.branchLocation(),
+                    doctor.branchCity(),
+                    doctor.clinicName(),
+                    doctor.availableSlotsCount(),
+                    doctor.nextAvailableDate() != null ? doctor.nextAvailableDate().toString() : "No slots",
+                    doctor.nextAvailableTime() != null ? doctor.nextAvailableTime().format(TIME_FORMAT) : "N/A",
+                    doctor.consultationFee(),
+                    doctor.avgRating() > 0 ? doctor.avgRating() : 0.0))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -460,31 +386,21 @@ public class ChatContextService {
             StringBuilder context = new StringBuilder();
             LocalDate targetDate = extractDateFromMessage(userMessage);
             String location = extractLocationFromMessage(userMessage);
-
-            String sql = """
-                SELECT doctor_name, branch_name, branch_city, slot_date, 
-                       start_time, available_slots, consultation_fee
-                FROM ai_doctor_availability_view 
-                WHERE slot_date >= ? 
-                  AND (? = '' OR LOWER(branch_city) LIKE ?)
-                  AND is_next_week = true
-                ORDER BY slot_date, start_time
-                LIMIT 15
-                """;
-
             LocalDate searchDate = targetDate != null ? targetDate : LocalDate.now();
-            String locationPattern = location.isEmpty() ? "" : "%" + location.toLowerCase() + "%";
-            
-            List<String> results = jdbcTemplate.query(sql, new Object[]{searchDate, location, locationPattern}, (rs, rowNum) -> {
-                return String.format("%s available on %s at %s in %s, %s (%d slots, ₹%.0f)",
-                    rs.getString("doctor_name"),
-                    rs.getDate("slot_date").toString(),
-                    rs.getTime("start_time").toString(),
-                    rs.getString("branch_name"),
-                    rs.getString("branch_city"),
-                    rs.getInt("available_slots"),
-                    rs.getDouble("consultation_fee"));
-            });
+
+            List<String> results = chatCatalogService.getNextWeekSlots().stream()
+                .filter(slot -> !slot.slotDate().isBefore(searchDate))
+                .filter(slot -> location.isEmpty() || containsIgnoreCase(slot.branchCity(), location))
+                .limit(15)
+                .map(slot -> String.format("%s available on %s at %s in %s, %s (%d slots, ₹%.0f)",
+                    slot.doctorName(),
+                    slot.slotDate().toString(),
+                    slot.startTime().format(TIME_FORMAT),
+                    slot.branchName(),
+                    slot.branchCity(),
+                    slot.availableSlots(),
+                    slot.consultationFee()))
+                .collect(Collectors.toList());
 
             for (String result : results) {
                 context.append(result).append("; ");
@@ -506,32 +422,21 @@ public class ChatContextService {
             List<String> relevantSpecializations = getRelevantSpecializations(symptoms);
             
             if (!relevantSpecializations.isEmpty()) {
-                String specializationFilter = relevantSpecializations.stream()
-                    .map(spec -> "LOWER(specializations) LIKE '%" + spec.toLowerCase() + "%'")
-                    .collect(Collectors.joining(" OR "));
-                
-                String sql = String.format("""
-                    SELECT doctor_name, branch_city, branch_location, clinic_name,
-                           available_slots_count, next_available_date, specializations,
-                           consultation_fee, avg_rating
-                    FROM ai_doctor_search_view 
-                    WHERE (%s) AND available_slots_count > 0
-                    ORDER BY available_slots_count DESC, avg_rating DESC NULLS LAST
-                    LIMIT 8
-                    """, specializationFilter);
-                
-                List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                    return String.format("%s (%s) at %s, %s (%s) - %d available slots, next: %s, fee: ₹%.0f, rating: %.1f",
-                        rs.getString("doctor_name"),
-                        rs.getString("specializations"),
-                        rs.getString("branch_location"),
-                        rs.getString("branch_city"),
-                        rs.getString("clinic_name"),
-                        rs.getInt("available_slots_count"),
-                        rs.getDate("next_available_date") != null ? rs.getDate("next_available_date").toString() : "N/A",
-                        rs.getDouble("consultation_fee"),
-                        rs.getDouble("avg_rating") > 0 ? rs.getDouble("avg_rating") : 0.0);
-                });
+                List<String> results = chatCatalogService.getDoctors().stream()
+                    .filter(doctor -> relevantSpecializations.stream().anyMatch(spec -> containsIgnoreCase(doctor.specializations(), spec)))
+                    .filter(doctor -> doctor.availableSlotsCount() > 0)
+                    .limit(8)
+                    .map(doctor -> String.format("%s (%s) at %s, %s (%s) - %d available slots, next: %s, fee: ₹%.0f, rating: %.1f",
+                        doctor.doctorName(),
+                        doctor.specializations(),
+                        doctor.branchLocation(),
+                        doctor.branchCity(),
+                        doctor.clinicName(),
+                        doctor.availableSlotsCount(),
+                        doctor.nextAvailableDate() != null ? doctor.nextAvailableDate().toString() : "N/A",
+                        doctor.consultationFee(),
+                        doctor.avgRating() > 0 ? doctor.avgRating() : 0.0))
+                    .collect(Collectors.toList());
                 
                 for (String result : results) {
                     context.append(result).append("; ");
@@ -551,31 +456,24 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             LocalDate targetDate = extractDateFromMessage(userMessage);
-            
-            String sql = """
-                SELECT doctor_name, branch_city, branch_location, clinic_name,
-                       available_slots_count, next_available_date, specializations,
-                       consultation_fee
-                FROM ai_doctor_search_view 
-                WHERE available_slots_count > 0
-                  AND (next_available_date >= ? OR next_available_date IS NULL)
-                ORDER BY available_slots_count DESC, next_available_date
-                LIMIT 10
-                """;
-            
             LocalDate searchDate = targetDate != null ? targetDate : LocalDate.now();
             
-            List<String> results = jdbcTemplate.query(sql, new Object[]{searchDate}, (rs, rowNum) -> {
-                return String.format("%s at %s, %s (%s) - %d slots available, next: %s, specializes in: %s, fee: ₹%.0f",
-                    rs.getString("doctor_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("clinic_name"),
-                    rs.getInt("available_slots_count"),
-                    rs.getDate("next_available_date") != null ? rs.getDate("next_available_date").toString() : "Soon",
-                    rs.getString("specializations") != null ? rs.getString("specializations") : "General",
-                    rs.getDouble("consultation_fee"));
-            });
+            List<String> results = chatCatalogService.getDoctors().stream()
+                .filter(doctor -> doctor.availableSlotsCount() > 0)
+                .filter(doctor -> doctor.nextAvailableDate() == null || !doctor.nextAvailableDate().isBefore(searchDate))
+                .sorted(Comparator.comparingInt(ChatDoctorEntry::availableSlotsCount).reversed()
+                    .thenComparing(ChatDoctorEntry::nextAvailableDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(10)
+                .map(doctor -> String.format("%s at %s, %s (%s) - %d slots available, next: %s, specializes in: %s, fee: ₹%.0f",
+                    doctor.doctorName(),
+                    doctor.branchLocation(),
+                    doctor.branchCity(),
+                    doctor.clinicName(),
+                    doctor.availableSlotsCount(),
+                    doctor.nextAvailableDate() != null ? doctor.nextAvailableDate().toString() : "Soon",
+                    doctor.specializations() != null ? doctor.specializations() : "General",
+                    doctor.consultationFee()))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -599,26 +497,17 @@ public class ChatContextService {
             
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT clinic_name, branch_name, branch_location, branch_city,
-                       branch_pincode, doctors_count
-                FROM ai_clinic_location_view 
-                WHERE (LOWER(branch_city) LIKE LOWER(?) OR LOWER(branch_location) LIKE LOWER(?))
-                ORDER BY doctors_count DESC
-                LIMIT 10
-                """;
-            
-            String locationPattern = "%" + location + "%";
-            
-            List<String> results = jdbcTemplate.query(sql, new Object[]{locationPattern, locationPattern}, (rs, rowNum) -> {
-                return String.format("%s (%s) at %s, %s, Pincode: %s - %d doctors available",
-                    rs.getString("clinic_name"),
-                    rs.getString("branch_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getString("branch_pincode"),
-                    rs.getInt("doctors_count"));
-            });
+            List<String> results = chatCatalogService.getClinics().stream()
+                .filter(clinic -> containsIgnoreCase(clinic.branchCity(), location) || containsIgnoreCase(clinic.branchLocation(), location))
+                .limit(10)
+                .map(clinic -> String.format("%s (%s) at %s, %s, Pincode: %s - %d doctors available",
+                    clinic.clinicName(),
+                    clinic.branchName(),
+                    clinic.branchLocation(),
+                    clinic.branchCity(),
+                    clinic.branchPincode(),
+                    clinic.doctorsCount()))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -637,21 +526,15 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT doctor_name, branch_city, specializations, available_slots_count
-                FROM ai_doctor_search_view 
-                WHERE available_slots_count > 0
-                ORDER BY available_slots_count DESC
-                LIMIT 10
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                return String.format("%s in %s (%s) - %d slots available",
-                    rs.getString("doctor_name"),
-                    rs.getString("branch_city"),
-                    rs.getString("specializations") != null ? rs.getString("specializations") : "General",
-                    rs.getInt("available_slots_count"));
-            });
+            List<String> results = chatCatalogService.getDoctors().stream()
+                .filter(doctor -> doctor.availableSlotsCount() > 0)
+                .limit(10)
+                .map(doctor -> String.format("%s in %s (%s) - %d slots available",
+                    doctor.doctorName(),
+                    doctor.branchCity(),
+                    doctor.specializations() != null ? doctor.specializations() : "General",
+                    doctor.availableSlotsCount()))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -669,20 +552,14 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT clinic_name, branch_city, branch_location, doctors_count
-                FROM ai_clinic_location_view 
-                ORDER BY doctors_count DESC
-                LIMIT 10
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                return String.format("%s at %s, %s (%d doctors)",
-                    rs.getString("clinic_name"),
-                    rs.getString("branch_location"),
-                    rs.getString("branch_city"),
-                    rs.getInt("doctors_count"));
-            });
+            List<String> results = chatCatalogService.getClinics().stream()
+                .limit(10)
+                .map(clinic -> String.format("%s at %s, %s (%d doctors)",
+                    clinic.clinicName(),
+                    clinic.branchLocation(),
+                    clinic.branchCity(),
+                    clinic.doctorsCount()))
+                .collect(Collectors.toList());
             
             for (String result : results) {
                 context.append(result).append("; ");
@@ -700,21 +577,8 @@ public class ChatContextService {
         try {
             StringBuilder context = new StringBuilder();
             
-            String sql = """
-                SELECT DISTINCT specializations
-                FROM ai_doctor_search_view 
-                WHERE specializations IS NOT NULL
-                LIMIT 15
-                """;
-            
-            List<String> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-                return rs.getString("specializations");
-            });
-            
-            for (String specs : results) {
-                if (specs != null) {
-                    context.append(specs).append("; ");
-                }
+            for (String specs : chatCatalogService.getSpecializations().stream().limit(15).toList()) {
+                context.append(specs).append("; ");
             }
             
             return context.length() > 0 ? context.toString() : "General Medicine; Cardiology; Orthopedics; Dermatology; ";
@@ -725,6 +589,10 @@ public class ChatContextService {
         }
     }
 
+    private static boolean containsIgnoreCase(String value, String part) {
+        return value != null && value.toLowerCase().contains(part.toLowerCase());
+    }
+
     private String buildSymptomBasedSpecializationContext(String userMessage) {
         try {
             String symptoms = userMessage.toLowerCase();
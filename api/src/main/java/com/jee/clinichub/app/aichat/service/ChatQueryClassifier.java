@@ -0,0 +1,49 @@
+package com.jee.clinichub.app.aichat.service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.app.aichat.enums.QueryCategory;
+
+/**
+ * Categorizes chat messages by keyword, in place of asking the model. The rules are tried in order and the first
+ * match wins, so a message about symptoms that also names a city is a symptom question, as it is for
+ * {@link ChatContextService}.
+ */
+@Component
+public class ChatQueryClassifier {
+
+    private record Rule(QueryCategory category, Pattern pattern) {
+    }
+
+    private static final List<Rule> RULES = List.of(
+        rule(QueryCategory.SYMPTOM_ANALYSIS,
+            "fever|pain|headaches?|cough(ing)?|symptoms?|hurts?|hurting|sick|rash(es)?|aches?|vomit(ing)?|dizzy|itch(ing|y)?|swelling|cold|flu"),
+        rule(QueryCategory.APPOINTMENT_BOOKING, "book(ing)?|appointments?|schedule|reschedule|cancel"),
+        rule(QueryCategory.DOCTOR_AVAILABILITY, "available|availability|slots?|timings?|today|tomorrow|when"),
+        rule(QueryCategory.ADDRESS_QUERY, "address(es)?|pin ?code|postal"),
+        rule(QueryCategory.LOCATION_SEARCH, "near(by|est)?|where|locations?|city|branch(es)?|places?|around|\\d{6}"),
+        rule(QueryCategory.SPECIALIZATION_INFO,
+            "speciali[sz]ations?|specialty|specialties|specialists?|cardiolog\\w*|dermatolog\\w*|orthop(a)?edi\\w*|ophthalmolog\\w*|neurolog\\w*|paediatric\\w*|pediatric\\w*|gyn(a)?ecolog\\w*|ent"),
+        rule(QueryCategory.DOCTOR_SEARCH, "dr|doctors?|physicians?|surgeons?"),
+        rule(QueryCategory.CLINIC_INFO, "clinics?|hospitals?|contact|phone|services?|open"),
+        rule(QueryCategory.GENERAL_MEDICAL, "health|healthy|medicines?|medication|treatment|diet|vaccin\\w*|tablets?|dose|disease"));
+
+    public QueryCategory classify(String message) {
+        if (message == null || message.isBlank()) {
+            return QueryCategory.GENERAL;
+        }
+        for (Rule rule : RULES) {
+            if (rule.pattern().matcher(message).find()) {
+                return rule.category();
+            }
+        }
+        return QueryCategory.GENERAL;
+    }
+
+    private static Rule rule(QueryCategory category, String words) {
+        return new Rule(category, Pattern.compile("\\b(" + words + ")\\b", Pattern.CASE_INSENSITIVE));
+    }
+}
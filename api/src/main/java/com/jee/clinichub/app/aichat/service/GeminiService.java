@@ -3,9 +3,16 @@ package com.jee.clinichub.app.aichat.service;
 
 import com.jee.clinichub.app.aichat.model.ChatContext;
 
+import reactor.core.publisher.Flux;
+
 public interface GeminiService {
     
     String generateResponse(String userMessage, ChatContext context);
+
+    /**
+     * The response as the model writes it, chunk by chunk; a failure ends the stream with an apology instead of an error.
+     */
+    Flux<String> streamResponse(String userMessage, ChatContext context);
     
     String categorizeQuery(String userMessage);
     
@@ -1,22 +1,31 @@
 
 package com.jee.clinichub.app.aichat.service;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jee.clinichub.app.aichat.model.ChatContext;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class GeminiServiceImpl implements GeminiService {
 
+    private static final String FALLBACK_RESPONSE = "Sorry, I'm having trouble right now. Please try again in a moment.";
+
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
 
@@ -26,43 +35,51 @@ public class GeminiServiceImpl implements GeminiService {
     @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash-latest:generateContent}")
     private String geminiApiUrl;
 
+    // point both URLs at a stub server to load-test the chat without calling Gemini
+    @Value("${gemini.api.stream-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash-latest:streamGenerateContent?alt=sse}")
+    private String geminiStreamUrl;
+
+    @Value("${gemini.api.timeout-ms:30000}")
+    private long timeoutMs;
+
     @Override
     public String generateResponse(String userMessage, ChatContext context) {
         try {
-            String prompt = buildPrompt(userMessage, context);
-            
-            String requestBody = String.format("""
-                {
-                    "contents": [{
-                        "parts": [{
-                            "text": "%s"
-                        }]
-                    }],
-                    "generationConfig": {
-                        "temperature": 0.7,
-                        "topK": 40,
-                        "topP": 0.95,
-                        "maxOutputTokens": 256
-                    }
-                }
-                """, prompt.replace("\"", "\\\""));
+            String requestBody = requestBody(buildPrompt(userMessage, context), true);
 
             String response = webClient.post()
-                .uri(geminiApiUrl + "?key=" + geminiApiKey)
+                .uri(withKey(geminiApiUrl))
                 .header("Content-Type", "application/json")
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(String.class)
+                .timeout(Duration.ofMillis(timeoutMs))
                 .block();
 
             return parseGeminiResponse(response);
             
         } catch (Exception e) {
             log.error("Error calling Gemini API: ", e);
-            return "Sorry, I'm having trouble right now. Please try again in a moment.";
+            return FALLBACK_RESPONSE;
         }
     }
 
+    @Override
+    public Flux<String> streamResponse(String userMessage, ChatContext context) {
+        return Flux.defer(() -> webClient.post()
+                .uri(withKey(geminiStreamUrl))
+                .header("Content-Type", "application/json")
+                .bodyValue(requestBody(buildPrompt(userMessage, context), true))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .timeout(Duration.ofMillis(timeoutMs))
+                .mapNotNull(event -> chunkText(event.data())))
+            .onErrorResume(e -> {
+                log.error("Error streaming from Gemini API: ", e);
+                return Flux.just(FALLBACK_RESPONSE);
+            });
+    }
+
     @Override
     public String categorizeQuery(String userMessage) {
         try {
@@ -82,22 +99,13 @@ public class GeminiServiceImpl implements GeminiService {
                 Respond with only the category name.
                 """, userMessage);
 
-            String requestBody = String.format("""
-                {
-                    "contents": [{
-                        "parts": [{
-                            "text": "%s"
-                        }]
-                    }]
-                }
-                """, prompt.replace("\"", "\\\""));
-
             String response = webClient.post()
-                .uri(geminiApiUrl + "?key=" + geminiApiKey)
+                .uri(withKey(geminiApiUrl))
                 .header("Content-Type", "application/json")
-                .bodyValue(requestBody)
+                .bodyValue(requestBody(prompt, false))
                 .retrieve()
                 .bodyToMono(String.class)
+                .timeout(Duration.ofMillis(timeoutMs))
                 .block();
 
             String category = parseGeminiResponse(response).trim().toUpperCase();
@@ -219,26 +227,60 @@ public class GeminiServiceImpl implements GeminiService {
                lowerMessage.contains("when") || lowerMessage.contains("today");
     }
 
+    private String withKey(String url) {
+        return url + (url.contains("?") ? "&" : "?") + "key=" + geminiApiKey;
+    }
+
+    private String requestBody(String prompt, boolean withGenerationConfig) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putArray("contents").addObject().putArray("parts").addObject().put("text", prompt);
+        if (withGenerationConfig) {
+            body.putObject("generationConfig")
+                .put("temperature", 0.7)
+                .put("topK", 40)
+                .put("topP", 0.95)
+                .put("maxOutputTokens", 256);
+        }
+        return body.toString();
+    }
+
     private String parseGeminiResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode candidates = root.get("candidates");
-            if (candidates != null && candidates.isArray() && candidates.size() > 0) {
-                JsonNode content = candidates.get(0).get("content");
-                if (content != null) {
-                    JsonNode parts = content.get("parts");
-                    if (parts != null && parts.isArray() && parts.size() > 0) {
-                        JsonNode text = parts.get(0).get("text");
-                        if (text != null) {
-                            return text.asText();
-                        }
-                    }
-                }
-            }
-            return "Sorry, I couldn't understand that. Can you try asking differently?";
+            String text = extractText(response);
+            return text != null ? text : "Sorry, I couldn't understand that. Can you try asking differently?";
         } catch (Exception e) {
             log.error("Error parsing Gemini response: ", e);
             return "I'm having trouble understanding. Please try again.";
         }
     }
+
+    private String chunkText(String data) {
+        try {
+            return data != null ? extractText(data) : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable Gemini stream chunk: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Text of the first candidate of a response, or of one chunk of a streamed response; null when there is none.
+     */
+    private String extractText(String response) throws JsonProcessingException {
+        JsonNode root = objectMapper.readTree(response);
+        JsonNode candidates = root.get("candidates");
+        if (candidates != null && candidates.isArray() && candidates.size() > 0) {
+            JsonNode content = candidates.get(0).get("content");
+            if (content != null) {
+                JsonNode parts = content.get("parts");
+                if (parts != null && parts.isArray() && parts.size() > 0) {
+                    JsonNode text = parts.get(0).get("text");
+                    if (text != null) {
+                        return text.asText();
+                    }
+                }
+            }
+        }
+        return null;
+    }
 }
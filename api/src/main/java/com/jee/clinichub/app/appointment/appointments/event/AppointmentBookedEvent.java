@@ -1,20 +1,28 @@
-
 package com.jee.clinichub.app.appointment.appointments.event;
 
 import org.springframework.context.ApplicationEvent;
 
 import com.jee.clinichub.app.appointment.appointments.model.Appointments;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
 
 public class AppointmentBookedEvent extends ApplicationEvent {
-    
+
     private final Appointments appointment;
-    
+
+    // the booking may switch tenant context before its transaction commits
+    private final String tenantId;
+
     public AppointmentBookedEvent(Object source, Appointments appointment) {
         super(source);
         this.appointment = appointment;
+        this.tenantId = TenantContextHolder.getCurrentTenant();
     }
-    
+
     public Appointments getAppointment() {
         return appointment;
     }
+
+    public String getTenantId() {
+        return tenantId;
+    }
 }
@@ -0,0 +1,218 @@
+package com.jee.clinichub.app.appointment.appointments.event;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.jee.clinichub.app.appointment.appointments.model.Appointments;
+import com.jee.clinichub.app.appointment.appointments.repository.AppointmentsRepo;
+import com.jee.clinichub.app.appointment.appointments.service.AppointmentNotificationService;
+import com.jee.clinichub.app.appointment.appointments.service.AppointmentsService;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Sends appointment confirmations off the booking thread, on virtual threads.
+ *
+ * At most {@code app.notification.max-in-flight} appointments are processed at once; a booking that
+ * finds the pipeline full waits up to {@code app.notification.submit-timeout-ms} for room instead of
+ * queueing without bound. For each appointment the PDF is rendered once, then email and WhatsApp go out
+ * concurrently, with SMS as the fallback when WhatsApp fails. Every channel has its own timeout and rate
+ * limit, and each attempt is recorded as {@code clinichub.notification} tagged with channel and outcome.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class AppointmentNotificationPipeline {
+
+    private final AppointmentsRepo appointmentsRepo;
+    private final AppointmentsService appointmentsService;
+    private final AppointmentNotificationService notificationService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.notification.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${app.notification.submit-timeout-ms:2000}")
+    private long submitTimeoutMs;
+
+    @Value("${app.notification.email.timeout-ms:20000}")
+    private long emailTimeoutMs;
+
+    @Value("${app.notification.email.rate-per-second:10}")
+    private double emailRatePerSecond;
+
+    @Value("${app.notification.whatsapp.timeout-ms:15000}")
+    private long whatsappTimeoutMs;
+
+    @Value("${app.notification.whatsapp.rate-per-second:20}")
+    private double whatsappRatePerSecond;
+
+    @Value("${app.notification.sms.timeout-ms:10000}")
+    private long smsTimeoutMs;
+
+    @Value("${app.notification.sms.rate-per-second:20}")
+    private double smsRatePerSecond;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+    private Channel email;
+    private Channel whatsapp;
+    private Channel sms;
+
+    private record Channel(String name, long timeoutMs, RateLimiter rateLimiter) {
+    }
+
+    @FunctionalInterface
+    private interface Delivery {
+        void send() throws Exception;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        inFlight = new Semaphore(Math.max(1, maxInFlight));
+        email = new Channel("email", emailTimeoutMs, RateLimiter.create(emailRatePerSecond));
+        whatsapp = new Channel("whatsapp", whatsappTimeoutMs, RateLimiter.create(whatsappRatePerSecond));
+        sms = new Channel("sms", smsTimeoutMs, RateLimiter.create(smsRatePerSecond));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public void submit(String tenantId, Long appointmentId) {
+        boolean admitted;
+        try {
+            admitted = inFlight.tryAcquire(submitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            log.error("Notification pipeline full, confirmation for appointment {} in tenant {} not sent",
+                    appointmentId, tenantId);
+            record("pipeline", "rejected", 0);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(tenantId, appointmentId);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            log.warn("Notification pipeline is shutting down, confirmation for appointment {} not sent", appointmentId);
+        }
+    }
+
+    private void process(String tenantId, Long appointmentId) {
+        TenantContextHolder.setCurrentTenant(tenantId);
+        try {
+            Optional<Appointments> found = appointmentsRepo.findById(appointmentId);
+            if (found.isEmpty()) {
+                log.warn("Appointment {} not found in tenant {}, no confirmation sent", appointmentId, tenantId);
+                return;
+            }
+            Appointments appointment = found.get();
+
+            long start = System.nanoTime();
+            byte[] pdfData = appointmentsService.downloadAppointment(appointmentId);
+            record("pdf", pdfData != null ? "success" : "failure", System.nanoTime() - start);
+            if (pdfData == null) {
+                log.warn("PDF generation failed for appointment ID: {}, sending confirmation without attachment", appointmentId);
+            }
+
+            CompletableFuture<Boolean> mail = CompletableFuture.supplyAsync(() -> deliver(email, tenantId, appointmentId,
+                    () -> notificationService.sendConfirmationEmail(appointment, pdfData)), executor);
+
+            CompletableFuture<Boolean> phone = CompletableFuture.completedFuture(true);
+            if (appointment.getPatient().getUser().getPhone() != null) {
+                phone = CompletableFuture.supplyAsync(() -> deliver(whatsapp, tenantId, appointmentId,
+                        () -> notificationService.sendWhatsAppWithPdfAndLocation(appointment, pdfData))
+                        || deliver(sms, tenantId, appointmentId,
+                                () -> notificationService.sendConfirmationSms(appointment)), executor);
+            }
+
+            CompletableFuture.allOf(mail, phone).join();
+            log.info("Confirmation for appointment ID: {} done (email {}, phone {})",
+                    appointmentId, mail.join() ? "sent" : "failed", phone.join() ? "sent" : "failed");
+        } catch (Exception e) {
+            log.error("Error sending confirmation for appointment ID: {}", appointmentId, e);
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    /**
+     * Runs one delivery within the channel's rate limit and timeout. Returns whether it succeeded.
+     */
+    private boolean deliver(Channel channel, String tenantId, Long appointmentId, Delivery delivery) {
+        long start = System.nanoTime();
+        if (!channel.rateLimiter().tryAcquire(channel.timeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} rate limit reached, appointment {} skipped", channel.name(), appointmentId);
+            record(channel.name(), "rate_limited", System.nanoTime() - start);
+            return false;
+        }
+        Future<?> attempt = executor.submit(() -> {
+            TenantContextHolder.setCurrentTenant(tenantId);
+            try {
+                delivery.send();
+            } finally {
+                TenantContextHolder.clear();
+            }
+            return null;
+        });
+        String outcome = "failure";
+        try {
+            attempt.get(channel.timeoutMs(), TimeUnit.MILLISECONDS);
+            outcome = "success";
+            return true;
+        } catch (TimeoutException e) {
+            attempt.cancel(true);
+            outcome = "timeout";
+            log.warn("{} for appointment {} timed out after {} ms", channel.name(), appointmentId, channel.timeoutMs());
+        } catch (ExecutionException e) {
+            log.error("{} for appointment {} failed", channel.name(), appointmentId, e.getCause());
+        } catch (InterruptedException e) {
+            attempt.cancel(true);
+            Thread.currentThread().interrupt();
+        } finally {
+            record(channel.name(), outcome, System.nanoTime() - start);
+        }
+        return false;
+    }
+
+    private void record(String channel, String outcome, long elapsedNanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder("clinichub.notification")
+                    .tag("channel", channel)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class AppointmentsDto {
     private UUID globalAppointmentId;
     private String cancelReason;
     private LocalTime expectedTime;
+    private UUID holdToken;
 
     public AppointmentsDto(Appointments request) {
         this.id = request.getId();
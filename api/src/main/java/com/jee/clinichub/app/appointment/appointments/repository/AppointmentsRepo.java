@@ -2,6 +2,7 @@ package com.jee.clinichub.app.appointment.appointments.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -134,6 +135,8 @@ public interface AppointmentsRepo extends JpaRepository<Appointments, Long> {
 
         Optional<Appointments> findByGlobalAppointmentId(UUID globalAppointmentId);
 
+        List<Appointments> findAllByGlobalAppointmentIdIn(Collection<UUID> globalAppointmentIds);
+
         boolean existsByPatient_idAndDoctorBranch_idAndSlot_date(Long id, Long id2, Date date);
 
         boolean existsByPatient_idAndFamilyMember_idAndDoctorBranch_idAndSlot_date(Long id, Long id2, Long id3,
@@ -142,4 +145,23 @@ public interface AppointmentsRepo extends JpaRepository<Appointments, Long> {
         @Query("SELECT DISTINCT a.doctorBranch.doctor FROM Appointments a ")
         List<Doctor> findDoctorsFromAppointment();
 
+        /**
+         * Changes whenever the appointment or a row its document shows is modified; used as the document cache
+         * version. The slot is compared by the fields shown, its modified_time moves with every booking.
+         */
+        @Query(value = """
+                        SELECT concat(a.modified_time, '/', p.modified_time, '/', u.modified_time, '/', f.modified_time, '/',
+                                      d.modified_time, '/', b.modified_time, '/', c.modified_time, '/', sl.date, '/', sl.duration)
+                        FROM   appointment a
+                               JOIN patient p ON p.id = a.patient_id
+                               LEFT JOIN users u ON u.id = p.user_id
+                               LEFT JOIN patient_relation f ON f.id = a.family_member_id
+                               LEFT JOIN doctor_branch db ON db.id = a.doctor_branch_id
+                               LEFT JOIN doctor d ON d.id = db.doctor_id
+                               LEFT JOIN branch b ON b.id = db.branch_id
+                               LEFT JOIN clinic c ON c.id = b.clinic_id
+                               LEFT JOIN doctor_slot sl ON sl.id = a.slot_id
+                        WHERE  a.id = :id
+                        """, nativeQuery = true)
+        Optional<String> findDocumentVersion(@Param("id") Long id);
 }
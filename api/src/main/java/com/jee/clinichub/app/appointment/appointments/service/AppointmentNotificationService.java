@@ -53,61 +53,59 @@ public class AppointmentNotificationService {
 
 
 	
-	public void sendAppointmentConfirmEmail(Appointments appointment, byte[] pdfData) {
-		try {
-			if (appointment.getPatient().getUser().getEmail() != null) {
-				String userMail = appointment.getPatient().getUser().getEmail();
-				Context context = new Context();
-				context.setVariable("patientName",
-						appointment.getPatient().getFirstname() + " " + appointment.getPatient().getLastname());
-
-				context.setVariable("bookingId",
-						appointment.getBookingId() != null ? appointment.getBookingId() : "bookingid");
-				context.setVariable("clinic", appointment.getDoctorBranch().getBranch().getClinic().getName());
-				context.setVariable("branch", appointment.getDoctorBranch().getBranch().getName());
-				context.setVariable("branchAddress", appointment.getDoctorBranch().getBranch().getCity() + ","
-						+ appointment.getDoctorBranch().getBranch().getLocation());
-
-				SimpleDateFormat dateFormater = new SimpleDateFormat("yyyy-MM-dd");
-				context.setVariable("slotDate", dateFormater.format(appointment.getSlot().getDate()));
-
-				context.setVariable("doctor", appointment.getDoctorBranch().getDoctor().getFirstname() + " "
-						+ appointment.getDoctorBranch().getDoctor().getLastname());
-
-				DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-				String formattedTime = appointment.getExpectedTime().format(timeFormatter);
-				context.setVariable("expectedTime", formattedTime);
-
-				context.setVariable("duration", appointment.getSlot().getDuration());
-
-				String emailBody = templateEngine.process("appointment-confirm-email", context);
-
-				MailRequest mailRequest = new MailRequest(this, fromEmail, userMail, OTP_EMAIL_SUBJECT, emailBody);
-				// Add PDF attachment
-				if (pdfData != null && pdfData.length > 0) {
-					mailRequest.setAttachmentData(pdfData);
-					mailRequest.setAttachmentName("appointment-confirmation.pdf");
-					mailRequest.setAttachmentContentType("application/pdf");
-				}
-
-				mailService.sendMail(mailRequest);
-			}
-			// Send WhatsApp message with PDF and location
-			if (appointment.getPatient().getUser().getPhone() != null) {
-				try {
-					
-					sendWhatsAppWithPdfAndLocation(appointment, pdfData);
-					
-				} catch (Exception e) {
-					log.error("Failed to send WhatsApp message: ", e);
-					// Fallback to SMS
-					String message = this.buildAppointmentMesssage(appointment);
-					smsService.sendSms(new SmsRequest(appointment.getPatient().getUser().getPhone(), message));
-				}
-			}
-		} catch (Exception e) {
-			log.error("Something went wrong while sending confirmmation mail");
+	/**
+	 * Sends the confirmation mail, with the PDF attached when there is one. Does nothing when the
+	 * patient has no email; throws when the mail could not be sent.
+	 */
+	public void sendConfirmationEmail(Appointments appointment, byte[] pdfData) {
+		String userMail = appointment.getPatient().getUser().getEmail();
+		if (userMail == null) {
+			return;
 		}
+		Context context = new Context();
+		context.setVariable("patientName",
+				appointment.getPatient().getFirstname() + " " + appointment.getPatient().getLastname());
+
+		context.setVariable("bookingId",
+				appointment.getBookingId() != null ? appointment.getBookingId() : "bookingid");
+		context.setVariable("clinic", appointment.getDoctorBranch().getBranch().getClinic().getName());
+		context.setVariable("branch", appointment.getDoctorBranch().getBranch().getName());
+		context.setVariable("branchAddress", appointment.getDoctorBranch().getBranch().getCity() + ","
+				+ appointment.getDoctorBranch().getBranch().getLocation());
+
+		SimpleDateFormat dateFormater = new SimpleDateFormat("yyyy-MM-dd");
+		context.setVariable("slotDate", dateFormater.format(appointment.getSlot().getDate()));
+
+		context.setVariable("doctor", appointment.getDoctorBranch().getDoctor().getFirstname() + " "
+				+ appointment.getDoctorBranch().getDoctor().getLastname());
+
+		DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
+		String formattedTime = appointment.getExpectedTime().format(timeFormatter);
+		context.setVariable("expectedTime", formattedTime);
+
+		context.setVariable("duration", appointment.getSlot().getDuration());
+
+		String emailBody = templateEngine.process("appointment-confirm-email", context);
+
+		MailRequest mailRequest = new MailRequest(this, fromEmail, userMail, OTP_EMAIL_SUBJECT, emailBody);
+		// Add PDF attachment
+		if (pdfData != null && pdfData.length > 0) {
+			mailRequest.setAttachmentData(pdfData);
+			mailRequest.setAttachmentName("appointment-confirmation.pdf");
+			mailRequest.setAttachmentContentType("application/pdf");
+		}
+
+		if (!mailService.sendMail(mailRequest)) {
+			throw new IllegalStateException("Confirmation mail to " + userMail + " was not sent");
+		}
+	}
+
+	/**
+	 * Plain text confirmation, used when WhatsApp delivery fails.
+	 */
+	public void sendConfirmationSms(Appointments appointment) {
+		String message = this.buildAppointmentMesssage(appointment);
+		smsService.sendSms(new SmsRequest(appointment.getPatient().getUser().getPhone(), message));
 	}
 	
 	
@@ -351,7 +349,6 @@ public class AppointmentNotificationService {
             }
             
             String base64Logo = qrCodeGenerator.generateQRCodeImage(locationUrl);
-            log.info(base64Logo);
             return base64Logo; // returns base64 PNG
         } catch (Exception e) {
             log.error("Error generating location QR code: {}", e.getMessage());
@@ -378,7 +375,6 @@ public class AppointmentNotificationService {
             );
             log.info(qrData); 
             String base64Logo = qrCodeGenerator.generateQRCodeImage(qrData); 
-            log.info(base64Logo);
             return base64Logo; // returns base64 PNG
             
         } catch (Exception e) {
@@ -400,7 +396,6 @@ public class AppointmentNotificationService {
             
            
             String base64Logo = qrCodeGenerator.generateQRCodeImage(appointmentJson); 
-            log.info(base64Logo);
             return base64Logo; // returns base64 PNG
         } catch (Exception e) {
             log.error("Error generating appointment QR code: {}", e.getMessage());
@@ -16,7 +16,7 @@ import com.jee.clinichub.app.branch.service.BranchService;
 import com.jee.clinichub.app.doctor.model.DoctorBranch;
 import com.jee.clinichub.app.doctor.service.DoctorService;
 import com.jee.clinichub.app.doctor.slots.model.Slot;
-import com.jee.clinichub.app.doctor.slots.model.SlotStatus;
+import com.jee.clinichub.app.doctor.slots.service.SlotReservationService;
 import com.jee.clinichub.app.doctor.slots.service.SlotService;
 import com.jee.clinichub.app.patient.model.Patient;
 import com.jee.clinichub.app.patient.model.PatientDto;
@@ -40,6 +40,7 @@ public class AppointmentSyncService {
     private final AppointmentsRepo appointmentsRepo;
     private final PatientService patientService;
     private final SlotService slotService;
+    private final SlotReservationService slotReservationService;
     private final PatientRepository patientRepository;
     private final BranchService branchService;
     private final DoctorService doctorService;
@@ -175,20 +176,23 @@ public class AppointmentSyncService {
             Slot newSlot = appointmentDto.getSlot();
 
             Slot slot = slotService.slotByGlobalId(appointmentDto.getSlot().getGlobalSlotId());
-            slot.setAvailableSlots(slot.getAvailableSlots() - 1);
-            slotService.saveOrUpdateSlot(slot);
+            boolean slotChanged = existingAppointment.isEmpty()
+                    || !newSlot.getGlobalSlotId().equals(existingAppointment.get().getSlot().getGlobalSlotId());
+            // the booking was already admitted at the source; a re-sync of the same booking takes nothing
+            if (slotChanged && !slotReservationService.tryReserve(slot.getId())) {
+                log.warn("Slot {} in tenant {} is already full, mirroring booking {} anyway",
+                        slot.getGlobalSlotId(), targetTenant, appointmentDto.getGlobalAppointmentId());
+            }
             appointmentDto.setSlot(slot);
 
             Appointments appointment;
             if (existingAppointment.isPresent()) {
                 appointment = existingAppointment.get();
+                Slot existingSlot = appointment.getSlot();
                 appointment.updateFromDto(appointmentDto);
 
-                if (!(newSlot.getGlobalSlotId().equals(existingAppointment.get().getSlot().getGlobalSlotId()))) {
-                    Slot existingSlot = existingAppointment.get().getSlot();
-                    existingSlot.setStatus(SlotStatus.AVAILABLE);
-                    existingSlot.setAvailableSlots(existingSlot.getAvailableSlots() + 1);
-                    slotService.saveOrUpdateSlot(existingSlot);
+                if (slotChanged) {
+                    slotReservationService.giveBack(existingSlot.getId());
                 }
 
             } else {
@@ -207,10 +211,7 @@ public class AppointmentSyncService {
                     appointmentDto.getGlobalAppointmentId());
 
         } catch (Exception e) {
-            Slot slot = slotService.slotByGlobalId(appointmentDto.getSlot().getGlobalSlotId());
-            slot.setAvailableSlots(slot.getAvailableSlots() + 1);
-            slotService.saveOrUpdateSlot(slot);
-            appointmentDto.setSlot(slot);
+            // the capacity taken above rolls back with this transaction
             log.error(
                     "Error syncing appointment to tenant schema {}. BookingId: '{}', GlobalAppointmentId: {}. Error: {}",
                     targetTenant, appointmentDto.getBookingId(), appointmentDto.getGlobalAppointmentId(),
@@ -303,10 +304,7 @@ public class AppointmentSyncService {
                 appointment = existingAppointment.get();
                 appointment.setCancelReason(appointmentDto.getCancelReason());
 
-                Slot existSlot = existingAppointment.get().getSlot();
-                existSlot.setAvailableSlots(existSlot.getAvailableSlots() + 1);
-                existSlot.setStatus(SlotStatus.AVAILABLE);
-                slotService.saveOrUpdateSlot(existSlot);
+                slotReservationService.giveBack(existingAppointment.get().getSlot().getId());
 
             } else {
                 throw new RuntimeException("Could not find appointment at :" + sourceTenant + " "
@@ -52,8 +52,6 @@ public interface AppointmentsService {
 
      boolean ispatientTakenService(Long doctorId, Long patientId);
 
-	void sendAppointmentConfirmEmail(Appointments appointment, byte[] pdfData);
-
     Status isTakenTodayAppointment(AppointmentsDto appointmentsDto);
 
     Appointments rescheduleAppointment(AppointmentsDto appointmentsDto);
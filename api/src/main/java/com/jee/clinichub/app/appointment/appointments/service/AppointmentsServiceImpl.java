@@ -1,9 +1,5 @@
 package com.jee.clinichub.app.appointment.appointments.service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Date;
@@ -13,7 +9,6 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,9 +17,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
-import com.itextpdf.layout.font.FontProvider;
 import com.jee.clinichub.app.admin.clinic.allclinic.model.Clinic;
 import com.jee.clinichub.app.admin.clinic.allclinic.model.ClinicMaster;
 import com.jee.clinichub.app.admin.clinic.allclinic.repository.ClinicMasterRepository;
@@ -42,6 +34,9 @@ import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.pdf.DocumentCache;
+import com.jee.clinichub.app.core.pdf.DocumentType;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.sequence.model.Sequence;
 import com.jee.clinichub.app.core.sequence.repository.SequenceRepository;
 import com.jee.clinichub.app.core.sequence.service.SequenceService;
@@ -51,12 +46,16 @@ import com.jee.clinichub.app.doctor.model.DoctorDto;
 import com.jee.clinichub.app.doctor.repository.DoctorBranchRepo;
 import com.jee.clinichub.app.doctor.slots.model.Slot;
 import com.jee.clinichub.app.doctor.slots.model.SlotDto;
-import com.jee.clinichub.app.doctor.slots.model.SlotStatus;
+import com.jee.clinichub.app.doctor.slots.model.SlotHold;
 import com.jee.clinichub.app.doctor.slots.model.SlotType;
 import com.jee.clinichub.app.doctor.slots.model.SlotUtils;
 import com.jee.clinichub.app.doctor.slots.repository.SlotRepo;
+import com.jee.clinichub.app.doctor.slots.service.SlotHoldLimiter;
+import com.jee.clinichub.app.doctor.slots.service.SlotReservationService;
 import com.jee.clinichub.app.patient.model.Patient;
+import com.jee.clinichub.app.patient.queue.event.QueueChangedEvent;
 import com.jee.clinichub.app.patient.repository.PatientRepository;
+import com.jee.clinichub.global.exception.SlotUnavailableException;
 import com.jee.clinichub.global.model.Status;
 import com.jee.clinichub.global.tenant.context.TenantContextHolder;
 import com.jee.clinichub.global.tenant.model.Tenant;
@@ -87,12 +86,16 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 	private final SequenceRepository sequenceRepository;
 	private final DoctorBranchRepo doctorBranchRepo;
 	private final SlotRepo slotRepo;
+	private final SlotReservationService slotReservationService;
+	private final SlotHoldLimiter slotHoldLimiter;
 	private final ClinicMasterRepository clinicMasterRepository;
 	private final TypeConverter typeConverter;
 	private final SyncOrchestratorService syncOrchestratorService;
 
 	private final AppointmentSyncService appointmentSyncService;
 	private final AppointmentNotificationService appointmentNotificationService;
+	private final PdfRenderService pdfRenderService;
+	private final DocumentCache documentCache;
 
 	@PersistenceContext
 	private EntityManager entityManager;
@@ -116,6 +119,7 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 	public Status deleteById(Long id) {
 		appointmentsRepo.findById(id).ifPresentOrElse((data) -> {
 			appointmentsRepo.deleteById(id);
+			documentCache.evict(DocumentType.APPOINTMENT, id);
 		}, () -> {
 			throw new EntityNotFoundException("Appointment not found with id : " + id);
 		});
@@ -125,6 +129,8 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 	@Override
 	@Transactional
 	public Appointments saveOrUpdate(AppointmentsDto appointmentDto) {
+		UUID ownHold = null;
+		boolean holdConfirmed = false;
 		try {
 
 			boolean isTodayAppointment = false;
@@ -155,9 +161,20 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 			}
 			String nextSequense = null;
 			Appointments appointments = new Appointments();
+			UUID holdToken = appointmentDto.getHoldToken();
 
 			if (appointmentDto.getId() == null) {
 
+				// capacity is taken before any other work, so a full slot fails fast
+				if (holdToken == null) {
+					Optional<SlotHold> hold = slotReservationService.hold(appointmentDto.getSlot().getId());
+					if (hold.isEmpty()) {
+						return null;
+					}
+					ownHold = hold.get().holdToken();
+					holdToken = ownHold;
+				}
+
 				// New appointment - ensure globalAppointmentId is set
 				if (appointmentDto.getGlobalAppointmentId() == null) {
 					appointmentDto.setGlobalAppointmentId(UUID.randomUUID());
@@ -196,7 +213,7 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 					sequenceRepository.save(sequence);
 				}
 
-				nextSequense = sequenceService.getNextSequense(slot.getDoctorBranch().getBranch().getId(),
+				nextSequense = sequenceService.allocateSequense(slot.getDoctorBranch().getBranch().getId(),
 						module.getId());
 
 				appointments.setDoctorBranch(doctorBranch);
@@ -205,7 +222,7 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 				appointments.setSlot(slot);
 				appointments.setFamilyMember(appointmentDto.getFamilyMember());
 				appointments.setBookingId(nextSequense);
-				LocalTime expectedAppointment = SlotUtils.getExpectedAppointmentTime(slot);
+				LocalTime expectedAppointment = SlotUtils.getReservedAppointmentTime(slot);
 
 				if (slot.getSlotType().equals(SlotType.COUNTWISE)) {
 					appointments.setExpectedTime(expectedAppointment);
@@ -218,22 +235,15 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 				// appointments = entityManager.merge(appointments);
 			}
 
-			Slot slot = slotRepo.findById(appointments.getSlot().getId())
-					.orElseThrow(() -> new EntityNotFoundException("Slot not found "));
-
-			if (slot.getAvailableSlots() <= 0) {
-				return null;
-			} else {
-				slot.setAvailableSlots(slot.getAvailableSlots() - 1);
-				slot = slotRepo.save(slot);
-			}
-
 			Appointments savAppointments = appointmentsRepo.save(appointments);
 
 			if (appointmentDto.getId() == null) {
-				boolean status = sequenceService.incrementSequense(slot.getDoctorBranch().getBranch().getId(),
-						module.getId(), nextSequense);
+				slotReservationService.confirm(holdToken, savAppointments.getSlot().getId());
+				slotHoldLimiter.released(holdToken);
+				holdConfirmed = true;
+			}
 
+			if (appointmentDto.getId() == null) {
 				// Publish event for new appointments to send Email via
 				// AppointmentBookedEventListener
 				AppointmentBookedEvent event = new AppointmentBookedEvent(this, savAppointments);
@@ -264,10 +274,8 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 				} else {
 					log.error("ClinicMaster not found for clinic ID: {}", clinic.getId());
 				}
-			} else {
-				boolean syncSuccess = syncOrchestratorService.syncAppointmentWithErrorHandling(
-						new AppointmentsDto(savAppointments), "master");
 			}
+			// bookings made in a tenant schema reach master through the sync_outbox relay
 
 			return savAppointments;
 
@@ -275,15 +283,15 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 			log.error(e.getLocalizedMessage());
 			throw new RuntimeException(e.getMessage());
 			// return new Status(false, "Something went wrong");
+		} finally {
+			// once confirmed, a rollback restores the hold row and it expires on its own
+			if (ownHold != null && !holdConfirmed) {
+				slotReservationService.release(ownHold);
+			}
 		}
 
 	}
 
-	@Override
-	public void sendAppointmentConfirmEmail(Appointments appointment, byte[] pdfData) {
-		appointmentNotificationService.sendAppointmentConfirmEmail(appointment, pdfData);
-	}
-
 	
 	
 
@@ -311,12 +319,23 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 
 	}
 
+	/**
+	 * The live queue numbers a slot's visits by its active appointments, so a status change can renumber the branch's
+	 * queue. The slot's day is not at hand here, every loaded day of the branch reloads.
+	 */
+	private void publishQueueChanged(Appointments appointment) {
+		DoctorBranch doctorBranch = appointment.getDoctorBranch();
+		Long branchId = doctorBranch != null && doctorBranch.getBranch() != null ? doctorBranch.getBranch().getId() : null;
+		applicationEventPublisher.publishEvent(new QueueChangedEvent(this, branchId, null));
+	}
+
 	@Override
 	public Status updateStatus(Long id, StatusUpdate status) {
 		try {
 			appointmentsRepo.findById(id).ifPresentOrElse(appointment -> {
 				appointment.setStatus(status.getStatus());
 				appointmentsRepo.save(appointment);
+				publishQueueChanged(appointment);
 			}, () -> {
 				try {
 					throw new Exception("Appointment Request not found");
@@ -412,14 +431,14 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 			if (appointment != null && appointment.getStatus() == AppointmentStatus.UPCOMING) {
 				Slot slot = appointment.getSlot();
 				if (slot != null) {
-					slot.setAvailableSlots(slot.getAvailableSlots() + 1);
-					slotRepo.save(slot);
+					slotReservationService.giveBack(slot.getId());
 				}
 				// Update appointment status to CANCELLED
 				appointment.setStatus(AppointmentStatus.CANCELLED);
 				appointment.setCancelReason(appointmentsDto.getCancelReason());
 				// Save the updated appointment
 				appointmentsRepo.save(appointment);
+				publishQueueChanged(appointment);
 
 				Clinic clinic = appointment.getDoctorBranch().getBranch().getClinic();
 				Optional<ClinicMaster> clinicMaster = clinicMasterRepository.findById(clinic.getId());
@@ -458,6 +477,7 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 
 			}
 			appointmentsRepo.save(appointment);
+			publishQueueChanged(appointment);
 			return new Status(true, "Status updated to CHECKEDIN");
 
 		} catch (Exception e) {
@@ -493,6 +513,11 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 
 	@Override
 	public byte[] downloadAppointment(Long id) {
+	    String version = appointmentsRepo.findDocumentVersion(id).orElse(null);
+	    return documentCache.get(DocumentType.APPOINTMENT, id, version, () -> renderAppointment(id));
+	}
+
+	private byte[] renderAppointment(Long id) {
 	    log.info("Generating appointment PDF for ID: {}", id);
 
 	    try {
@@ -507,39 +532,10 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 	        String html = appointmentNotificationService.generateAppointmentHtml(appointment);
 	        log.debug("Generated HTML content for appointment ID: {}", id);
 
-	        FontProvider fontProvider = new FontProvider();
-
-	        try {
-	            log.debug("Attempting to load custom font from classpath: fonts/OpenSans/OpenSans-Regular.ttf");
-
-	            ClassPathResource fontResource = new ClassPathResource("fonts/OpenSans/OpenSans-Regular.ttf");
-	            InputStream fontInputStream = fontResource.getInputStream();
-
-	            File tempFont = File.createTempFile("opensans", ".ttf");
-	            tempFont.deleteOnExit();
-
-	            try (FileOutputStream fos = new FileOutputStream(tempFont)) {
-	                fontInputStream.transferTo(fos);
-	            }
-
-	            fontProvider.addFont(tempFont.getAbsolutePath());
-	            fontInputStream.close();
-
-	            log.info("Custom font loaded and registered successfully: {}", tempFont.getAbsolutePath());
-
-	        } catch (Exception fontException) {
-	            log.warn("Failed to load custom font, falling back to system fonts: {}", fontException.getMessage());
-	        }
-
-	        ConverterProperties properties = new ConverterProperties();
-	        properties.setFontProvider(fontProvider);
-	        properties.setCharset("UTF-8");
-
-	        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-	        HtmlConverter.convertToPdf(html, baos, properties);
+	        byte[] pdf = pdfRenderService.render(html, null);
 
 	        log.info("PDF generated successfully for appointment ID: {}", id);
-	        return baos.toByteArray();
+	        return pdf;
 
 	    } catch (Exception e) {
 	        log.error("PDF generation failed for appointment ID {}: {}", id, e.getMessage(), e);
@@ -625,25 +621,19 @@ public class AppointmentsServiceImpl implements AppointmentsService {
 				throw new RuntimeException("Appointment cannot be rescheduled as it is not in UPCOMING status");
 			}
 
-			Slot previousSlot = slotRepo.findById(appointment.getSlot().getId())
-					.orElseThrow(() -> new EntityNotFoundException(
-							"Slot not found with id: " + appointment.getSlot().getId()));
-			previousSlot.setStatus(SlotStatus.AVAILABLE);
-			previousSlot.setAvailableSlots(previousSlot.getAvailableSlots() + 1);
-			slotRepo.save(previousSlot);
-
 			Slot currentSlot = slotRepo.findById(appointmentsDto.getSlot().getId())
 					.orElseThrow(() -> new EntityNotFoundException(
 							"Slot not found with id: " + appointmentsDto.getSlot().getId()));
-			currentSlot.setAvailableSlots(currentSlot.getAvailableSlots() - 1);
-			if (currentSlot.getAvailableSlots() <= 0) {
-				currentSlot.setStatus(SlotStatus.BOOKED);
+			slotReservationService.giveBack(appointment.getSlot().getId());
+			if (!slotReservationService.tryReserve(currentSlot.getId())) {
+				throw new SlotUnavailableException("Slot is fully booked");
 			}
-			slotRepo.save(currentSlot);
+			// the capacity updates bypass the persistence context
+			entityManager.refresh(currentSlot);
 
 			appointment.setStatus(AppointmentStatus.UPCOMING);
 			appointment.setSlot(currentSlot);
-			LocalTime expectedAppointment = SlotUtils.getExpectedAppointmentTime(currentSlot);
+			LocalTime expectedAppointment = SlotUtils.getReservedAppointmentTime(currentSlot);
 
 			if (currentSlot.getSlotType().equals(SlotType.COUNTWISE)) {
 				appointment.setExpectedTime(expectedAppointment);
@@ -26,8 +26,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Data
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "prescription")
+@EqualsAndHashCode(exclude = "prescription")
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
@@ -48,7 +48,7 @@ public class LaboratoryTest extends Auditable<String>  implements Serializable{
     private String instructions;
     
     @JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "prescription_id")
 	private Prescription prescription;
 
@@ -1,7 +1,5 @@
 package com.jee.clinichub.app.appointment.prescription.service;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +11,11 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.appointment.prescription.model.Prescription;
 import com.jee.clinichub.app.appointment.prescription.model.PrescriptionDTO;
 import com.jee.clinichub.app.appointment.prescription.repository.PrescriptionRepo;
 import com.jee.clinichub.app.core.files.FileService;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.patient.schedule.model.Schedule;
 import com.jee.clinichub.app.patient.schedule.repository.ScheduleRepository;
 import com.jee.clinichub.global.model.Status;
@@ -44,6 +41,9 @@ public class PrescriptionServiceImpl implements PrescriptionService {
     @Autowired
     TemplateEngine htmlTemplateEngine;
 
+    @Autowired
+    PdfRenderService pdfRenderService;
+
     @Autowired
     FileService fileService;
 
@@ -77,14 +77,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             // prescriptionRepo.findById(resPrescription.getId()).orElse(null);
 
             String html = generateAudiometryHtml(resPrescription);
-            File tempFile = File.createTempFile("prescription", ".pdf");
-            FileOutputStream fos = new FileOutputStream(tempFile);
-            ConverterProperties converterProperties = new ConverterProperties();
-            // converterProperties.setBaseUri(getBaseUri());
-            HtmlConverter.convertToPdf(html, fos, converterProperties);
-
-            byte[] pdfBytes = typeConverter.fileToByteArray(new File(tempFile.getPath()));
-            return pdfBytes;
+            return pdfRenderService.render(html, null);
             // return new Status(true, ((prescription.getId() == null) ? "Added" :
             // "Updated") + " Successfully");
         } catch (Exception e) {
@@ -210,7 +210,7 @@ public class RequestServiceImpl implements RequestService {
 		patient.setBranch(branch);
 		patient.setAlternativeContact(request.getPhone());
 		patient.setWhatsappNo(request.getPhone());
-		nextSequense = sequenceService.getNextSequense(branch.getId(), module.getId());
+		nextSequense = sequenceService.allocateSequense(branch.getId(), module.getId());
 		patient.setUid(nextSequense);
 
 		Role role = roleRepository.findRoleByName("Patient");
@@ -0,0 +1,37 @@
+package com.jee.clinichub.app.branch.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A master schema branch was saved or deleted. Latitude and longitude are null when the branch was deleted
+ * or has no location.
+ */
+public class BranchLocationChangedEvent extends ApplicationEvent {
+
+    private final Long branchId;
+    private final Double latitude;
+    private final Double longitude;
+
+    public BranchLocationChangedEvent(Object source, Long branchId, Double latitude, Double longitude) {
+        super(source);
+        this.branchId = branchId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public static BranchLocationChangedEvent removed(Object source, Long branchId) {
+        return new BranchLocationChangedEvent(source, branchId, null, null);
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+}
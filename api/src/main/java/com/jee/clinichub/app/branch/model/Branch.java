@@ -4,6 +4,9 @@ import java.io.Serializable;
 import java.util.UUID;
 
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.envers.AuditOverride;
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.RelationTargetAuditMode;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -32,6 +35,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Data
+@Audited(targetAuditMode = RelationTargetAuditMode.NOT_AUDITED)
+@AuditOverride(forClass = Auditable.class)
 @Builder
 @ToString(exclude = "clinic")
 @NoArgsConstructor
@@ -5,12 +5,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.jee.clinichub.app.admin.clinic.allclinic.model.ClinicMaster;
 import com.jee.clinichub.app.admin.clinic.allclinic.repository.ClinicMasterRepository;
+import com.jee.clinichub.app.branch.event.BranchLocationChangedEvent;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.model.BranchDto;
 import com.jee.clinichub.app.branch.model.BranchMaster;
@@ -29,6 +31,7 @@ public class BranchSyncService {
     private final BranchRepository branchRepository;
     private final BranchMasterRepository branchMasterRepository;
     private final ClinicMasterRepository clinicMasterRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.default-tenant}")
     private String defaultTenant;
@@ -59,7 +62,9 @@ public class BranchSyncService {
                 }
             }
 
-            branchMasterRepository.save(branchMaster);
+            branchMaster = branchMasterRepository.save(branchMaster);
+            eventPublisher.publishEvent(new BranchLocationChangedEvent(this, branchMaster.getId(),
+                    branchMaster.getLatitude(), branchMaster.getLongitude()));
             log.info("Successfully synced branch to master schema. GlobalBranchId: {}", branchDto.getGlobalBranchId());
 
         } catch (Exception e) {
@@ -82,6 +87,7 @@ public class BranchSyncService {
 
             if (branchMasterOptional.isPresent()) {
                 branchMasterRepository.delete(branchMasterOptional.get());
+                eventPublisher.publishEvent(BranchLocationChangedEvent.removed(this, branchMasterOptional.get().getId()));
                 log.info("Successfully deleted branch from master schema. GlobalBranchId: {}", globalBranchId);
             } else {
                 log.warn("Branch not found in master schema for deletion (this might be expected). GlobalBranchId: {}",
@@ -10,7 +10,7 @@ import com.jee.clinichub.app.catalog.batch.model.Batch;
 
 
 @Repository
-public interface BatchRepository extends JpaRepository<Batch, Long>{
+public interface BatchRepository extends JpaRepository<Batch, Long>, StockLedgerRepository {
 
 	boolean existsByUid(String uid);
 
@@ -0,0 +1,25 @@
+package com.jee.clinichub.app.catalog.batch.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface StockLedgerRepository {
+
+    /**
+     * Adds each quantity to its batch's stock in one UPDATE, skipping any batch the change would take below zero.
+     * Returns the ids that were not updated, because they would go negative or do not exist. Entities of these rows
+     * already loaded in the session keep the quantity they were loaded with.
+     */
+    Set<Long> addToBatchStock(Map<Long, Integer> deltas);
+
+    /**
+     * The same for products.
+     */
+    Set<Long> addToProductStock(Map<Long, Integer> deltas);
+
+    /**
+     * Current stock of each existing product, zero when never set.
+     */
+    Map<Long, Integer> findProductStock(Collection<Long> productIds);
+}
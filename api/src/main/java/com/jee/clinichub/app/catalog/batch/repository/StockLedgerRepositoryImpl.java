@@ -0,0 +1,92 @@
+package com.jee.clinichub.app.catalog.batch.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Session;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Stock moves with one conditional UPDATE per table for a whole order. Concurrent counters are serialized by the row
+ * locks instead of overwriting each other's read-modify-write. Rows are locked in id order, so two orders that touch
+ * the same batches cannot deadlock.
+ */
+public class StockLedgerRepositoryImpl implements StockLedgerRepository {
+
+    private static final String ADD_SQL = "WITH d AS (SELECT * FROM unnest(?::bigint[], ?::int[]) AS d(id, delta)), "
+            + "locked AS (SELECT t.id FROM %1$s t JOIN d ON d.id = t.id ORDER BY t.id FOR UPDATE OF t) "
+            + "UPDATE %1$s t SET qty = COALESCE(t.qty, 0) + d.delta, modified_time = now() "
+            + "FROM d JOIN locked l ON l.id = d.id "
+            + "WHERE t.id = d.id AND COALESCE(t.qty, 0) + d.delta >= 0 "
+            + "RETURNING t.id";
+
+    static final String ADD_BATCH_SQL = String.format(ADD_SQL, "catalog_batch");
+
+    static final String ADD_PRODUCT_SQL = String.format(ADD_SQL, "catalog_product");
+
+    static final String PRODUCT_STOCK_SQL = "SELECT id, COALESCE(qty, 0) FROM catalog_product WHERE id = ANY(?::bigint[])";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> addToBatchStock(Map<Long, Integer> deltas) {
+        return add(ADD_BATCH_SQL, deltas);
+    }
+
+    @Override
+    public Set<Long> addToProductStock(Map<Long, Integer> deltas) {
+        return add(ADD_PRODUCT_SQL, deltas);
+    }
+
+    @Override
+    public Map<Long, Integer> findProductStock(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<Long, Integer> stock = new HashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(PRODUCT_STOCK_SQL)) {
+                ps.setArray(1, connection.createArrayOf("bigint", productIds.toArray(Long[]::new)));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        stock.put(rs.getLong(1), rs.getInt(2));
+                    }
+                }
+            }
+            return stock;
+        });
+    }
+
+    private Set<Long> add(String sql, Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+        // pending entity changes to these rows must reach the database before the statement reads them
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> add(connection, sql, deltas));
+    }
+
+    static Set<Long> add(Connection connection, String sql, Map<Long, Integer> deltas) throws SQLException {
+        Set<Long> rejected = new LinkedHashSet<>(deltas.keySet());
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setArray(1, connection.createArrayOf("bigint", deltas.keySet().toArray(Long[]::new)));
+            ps.setArray(2, connection.createArrayOf("integer", deltas.values().toArray(Integer[]::new)));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rejected.remove(rs.getLong(1));
+                }
+            }
+        }
+        return rejected;
+    }
+}
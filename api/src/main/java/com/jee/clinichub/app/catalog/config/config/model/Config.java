@@ -5,6 +5,7 @@ import java.io.Serializable;
 import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import com.jee.clinichub.config.audit.Auditable;
+import com.jee.clinichub.config.audit.AuditTrail;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -25,6 +26,7 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
+@AuditTrail
 @Entity
 @Table(name = "system_config")
 @EntityListeners(AuditingEntityListener.class)
@@ -14,6 +14,7 @@ import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.jee.clinichub.config.audit.Auditable;
+import com.jee.clinichub.config.audit.AuditTrail;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,6 +35,7 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
+@AuditTrail
 @Entity
 @Table(name = "catalog_stock_config")
 @EntityListeners(AuditingEntityListener.class)
@@ -0,0 +1,16 @@
+package com.jee.clinichub.app.catalog.inventory.model;
+
+/**
+ * A change to the stock of a product and, when it was received into or sold from a batch, of that batch. Positive
+ * for stock coming in, negative for stock going out. Either id may be null when only the other side moves.
+ */
+public record StockDelta(Long productId, Long batchId, int quantity) {
+
+    public static StockDelta ofProduct(Long productId, int quantity) {
+        return new StockDelta(productId, null, quantity);
+    }
+
+    public static StockDelta ofBatch(Long batchId, int quantity) {
+        return new StockDelta(null, batchId, quantity);
+    }
+}
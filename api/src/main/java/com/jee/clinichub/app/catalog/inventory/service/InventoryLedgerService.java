@@ -0,0 +1,69 @@
+package com.jee.clinichub.app.catalog.inventory.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.catalog.batch.repository.BatchRepository;
+import com.jee.clinichub.app.catalog.inventory.model.StockDelta;
+import com.jee.clinichub.global.exception.InsufficientStockException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Owns catalog_batch.qty and catalog_product.qty for sales and purchases. An order's stock changes are netted per
+ * batch and per product and written with one conditional UPDATE for each table, so two counters selling the same
+ * batch cannot overwrite each other. An order that would take any batch or product below zero changes nothing.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class InventoryLedgerService {
+
+    private final BatchRepository batchRepository;
+
+    /**
+     * Applies the deltas in the caller's transaction, or a new one. Throws {@link InsufficientStockException}, and
+     * rolls the transaction back, when stock would go negative or a batch or product does not exist.
+     */
+    @Transactional
+    @CacheEvict(value = "productCache", allEntries = true)
+    public void apply(Collection<StockDelta> deltas) {
+        Map<Long, Integer> byBatch = new TreeMap<>();
+        Map<Long, Integer> byProduct = new TreeMap<>();
+        for (StockDelta delta : deltas) {
+            if (delta.batchId() != null) {
+                byBatch.merge(delta.batchId(), delta.quantity(), Integer::sum);
+            }
+            if (delta.productId() != null) {
+                byProduct.merge(delta.productId(), delta.quantity(), Integer::sum);
+            }
+        }
+        byBatch.values().removeIf(quantity -> quantity == 0);
+        byProduct.values().removeIf(quantity -> quantity == 0);
+
+        Set<Long> batches = batchRepository.addToBatchStock(byBatch);
+        if (!batches.isEmpty()) {
+            throw new InsufficientStockException("Not enough stock in batch " + batches);
+        }
+        Set<Long> products = batchRepository.addToProductStock(byProduct);
+        if (!products.isEmpty()) {
+            throw new InsufficientStockException("Not enough stock of product " + products);
+        }
+        log.debug("Moved stock of {} batches and {} products", byBatch.size(), byProduct.size());
+    }
+
+    /**
+     * Current stock of each product, read in one query. Products that do not exist are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> balances(Collection<Long> productIds) {
+        return batchRepository.findProductStock(productIds);
+    }
+}
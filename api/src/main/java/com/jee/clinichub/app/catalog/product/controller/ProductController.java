@@ -1,6 +1,7 @@
 package com.jee.clinichub.app.catalog.product.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -15,9 +16,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jee.clinichub.app.catalog.inventory.service.InventoryLedgerService;
 import com.jee.clinichub.app.catalog.product.model.ProductDto;
 import com.jee.clinichub.app.catalog.product.model.ProductProj;
 import com.jee.clinichub.app.catalog.product.model.ProductSearch;
@@ -35,6 +38,8 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
     
     @GetMapping(value="/list")
     public List<ProductProj> getAllProductes(){
@@ -46,6 +51,11 @@ public class ProductController {
         return productService.searchProducts(search);
     }
     
+    @GetMapping(value="/stock")
+    public Map<Long, Integer> getStock(@RequestParam List<Long> ids){
+        return inventoryLedgerService.balances(ids);
+    }
+    
     @PostMapping(value="/searchByName")
     public List<ProductSearchProj> serachByName(@RequestBody Search search){
         return productService.searchProductsByName(search);
@@ -13,6 +13,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -48,6 +50,9 @@ import lombok.ToString;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
+@NamedEntityGraph(name = "Product.detail", attributeNodes = { @NamedAttributeNode("branch"),
+		@NamedAttributeNode("category"), @NamedAttributeNode("brand"), @NamedAttributeNode("type"),
+		@NamedAttributeNode("serials") })
 @Table(name = "catalog_product")
 @EntityListeners(AuditingEntityListener.class)
 public class Product extends Auditable<String>  implements Serializable {
@@ -59,19 +64,19 @@ public class Product extends Auditable<String>  implements Serializable {
     @GeneratedValue(strategy= GenerationType.IDENTITY)
 	private Long id;
 	
-	@OneToOne(fetch = FetchType.EAGER)
+	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "branch_id", nullable = false)
 	private Branch branch;
 	
-	@OneToOne(fetch = FetchType.EAGER)
+	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id", nullable = false)
 	private Category category;
 	
-	@OneToOne(fetch = FetchType.EAGER)
+	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "brand_id", nullable = false)
 	private Brand brand;
 	
-	@OneToOne(optional = true,fetch = FetchType.EAGER)
+	@OneToOne(optional = true,fetch = FetchType.LAZY)
 	@JoinColumn(name = "type_id", nullable = false)
 	private ProductType type;
 	
@@ -107,7 +112,7 @@ public class Product extends Auditable<String>  implements Serializable {
 	//private Integer expiryYear;
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "product",cascade=CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "product",cascade=CascadeType.ALL, fetch = FetchType.LAZY)
 	List<ProductSerial> serials = new ArrayList<ProductSerial>();
 	
 
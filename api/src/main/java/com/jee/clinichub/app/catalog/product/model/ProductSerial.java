@@ -46,7 +46,7 @@ public class ProductSerial extends Auditable<String>  implements Serializable{
 	private String serialNo;
 
     @JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER,cascade=CascadeType.ALL)
+	@ManyToOne(fetch = FetchType.LAZY,cascade=CascadeType.ALL)
 	@JoinColumn(name = "product_id")
 	private Product product;
 
@@ -4,9 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.catalog.category.model.CategoryDto;
@@ -22,13 +26,25 @@ public interface ProductRepository extends JpaRepository<Product, Long>,ProductA
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByProductId(Long id);
 
+    @EntityGraph("Product.detail")
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findDetailById(@Param("id") Long id);
+
+	// leaves qty alone, stock only moves through InventoryLedgerService
+	@Transactional
+	@Modifying
+	@Query("UPDATE Product p SET p.rackNo = :rackNo, p.price = :price, p.modifiedTime = CURRENT_TIMESTAMP WHERE p.id = :id")
+	int updateRackNoAndPrice(@Param("id") Long id, @Param("rackNo") String rackNo, @Param("price") double price);
+
 	boolean existsByName(String name);
 
 	boolean existsByNameAndIdNot(String name, Long id);
 	
 	List<ProductSearchProj> findAllProjectedByBranch_IdAndNameContainingIgnoreCaseOrderByNameDesc(Long branchId,String name);
 
+	// cached past the session, so whatever the projection reads must be loaded here
 	@Cacheable(value = "productCache" , keyGenerator = "multiTenantCacheKeyGenerator")
+	@EntityGraph(attributePaths = { "type", "category", "brand" })
 	List<ProductProj> findAllProjectedByBranch_IdOrderByNameAsc(Long branchId);
 
 	List<ProductProj> findAllProjectedByBranch_IdAndNameContainingIgnoreCaseOrderByIdDesc(Long id, String name);
@@ -230,7 +230,7 @@ public class ProductServiceImpl implements ProductService {
 	public ProductDto getById(Long id) {
 		ProductDto productDto = new ProductDto();
 		try {
-			Optional<Product> product = productRepository.findById(id);
+			Optional<Product> product = productRepository.findDetailById(id);
 			if (product.isPresent()) {
 				productDto = new ProductDto(product.get());
 				List<BatchDto> batchList = batchRepository.findByProductId(productDto.getId()).stream()
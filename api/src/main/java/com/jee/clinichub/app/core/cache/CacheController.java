@@ -1,10 +1,14 @@
 package com.jee.clinichub.app.core.cache;
 
-import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jee.clinichub.config.cache.TenantCacheManager;
+import com.jee.clinichub.global.model.Status;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
@@ -14,16 +18,25 @@ import lombok.extern.log4j.Log4j2;
 @RequestMapping("/v1/cache")
 public class CacheController {
 	
-	private final CacheManager cacheManager;
+	private final TenantCacheManager cacheManager;
     
     @GetMapping("/clear")
     public String evictAllCaches() {
-        cacheManager.getCacheNames().stream().forEach(cacheName -> {
-        log.info(cacheName);
-        cacheManager.getCache(cacheName).clear();}
-        );
+        cacheManager.evictAll();
     	return "Cache clear successfully";
     }
+
+    @DeleteMapping("/tenant/{tenant}")
+    public Status evictTenant(@PathVariable String tenant) {
+        cacheManager.evictTenant(tenant);
+        return new Status(true, "Cache cleared for tenant " + tenant);
+    }
+
+    @DeleteMapping("/region/{name}")
+    public Status evictRegion(@PathVariable String name) {
+        boolean evicted = cacheManager.evictRegion(name);
+        return new Status(evicted, evicted ? "Cache cleared for " + name : "Cache " + name + " not found");
+    }
     
     @GetMapping("/all")
     public String getAllCaches() {
@@ -0,0 +1,29 @@
+package com.jee.clinichub.app.core.dataimport.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
+import com.jee.clinichub.app.core.dataimport.service.CsvImportService;
+
+import lombok.RequiredArgsConstructor;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("v1/import")
+public class ImportJobController {
+
+	private final CsvImportService csvImportService;
+
+	@GetMapping("/job/{id}")
+	public ResponseEntity<ImportJob> getJob(@PathVariable String id) {
+		return csvImportService.getJob(id)
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+}
@@ -0,0 +1,130 @@
+package com.jee.clinichub.app.core.dataimport.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Progress of one CSV import. Updated by the import worker and read by the job status endpoint,
+ * so counters are atomic and the error list is only exposed as a copy.
+ */
+@Getter
+public class ImportJob {
+
+	private final String id = UUID.randomUUID().toString();
+	private final String type;
+	private final String fileName;
+	@JsonIgnore
+	private final String tenant;
+	@JsonIgnore
+	private final long fileSize;
+	private final Date createdTime = new Date();
+
+	private volatile ImportJobState state = ImportJobState.QUEUED;
+	private volatile int progress;
+	private volatile String message;
+	private volatile Date finishedTime;
+
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong rowsRead = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong imported = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong skipped = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong failed = new AtomicLong();
+	@Getter(AccessLevel.NONE)
+	private final List<ImportRowError> errors = new ArrayList<>();
+	@Getter(AccessLevel.NONE)
+	private final int maxErrors;
+
+	public ImportJob(String type, String fileName, String tenant, long fileSize, int maxErrors) {
+		this.type = type;
+		this.fileName = fileName;
+		this.tenant = tenant;
+		this.fileSize = fileSize;
+		this.maxErrors = maxErrors;
+	}
+
+	public long getRowsRead() {
+		return rowsRead.get();
+	}
+
+	public long getImported() {
+		return imported.get();
+	}
+
+	public long getSkipped() {
+		return skipped.get();
+	}
+
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * The first {@code app.import.max-errors} row errors; {@link #getFailed()} has the full count.
+	 */
+	public List<ImportRowError> getErrors() {
+		synchronized (errors) {
+			return new ArrayList<>(errors);
+		}
+	}
+
+	public void start() {
+		state = ImportJobState.RUNNING;
+	}
+
+	public void read(long rows, long characterPosition) {
+		rowsRead.addAndGet(rows);
+		if (fileSize > 0) {
+			// character position is close enough to bytes for a progress bar; only completion reports 100
+			progress = (int) Math.min(99, characterPosition * 100 / fileSize);
+		}
+	}
+
+	public void imported(long rows) {
+		imported.addAndGet(rows);
+	}
+
+	public void skipped(long rows) {
+		skipped.addAndGet(rows);
+	}
+
+	public void failed(long row, String reason) {
+		failed.incrementAndGet();
+		synchronized (errors) {
+			if (errors.size() < maxErrors) {
+				errors.add(new ImportRowError(row, reason));
+			}
+		}
+	}
+
+	public void complete() {
+		progress = 100;
+		message = "Imported " + imported.get() + " rows" + (failed.get() > 0 ? ", " + failed.get() + " failed" : "");
+		finish(ImportJobState.COMPLETED);
+	}
+
+	public void fail(String reason) {
+		message = reason;
+		finish(ImportJobState.FAILED);
+	}
+
+	private void finish(ImportJobState finalState) {
+		finishedTime = new Date();
+		state = finalState;
+	}
+
+	@JsonIgnore
+	public boolean isFinished() {
+		return state == ImportJobState.COMPLETED || state == ImportJobState.FAILED;
+	}
+}
@@ -0,0 +1,8 @@
+package com.jee.clinichub.app.core.dataimport.model;
+
+public enum ImportJobState {
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	FAILED
+}
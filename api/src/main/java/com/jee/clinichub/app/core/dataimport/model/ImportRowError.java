@@ -0,0 +1,7 @@
+package com.jee.clinichub.app.core.dataimport.model;
+
+/**
+ * A row that could not be imported; {@code row} is the line number in the uploaded file.
+ */
+public record ImportRowError(long row, String message) {
+}
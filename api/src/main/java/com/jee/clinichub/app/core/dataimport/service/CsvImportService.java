@@ -0,0 +1,276 @@
+package com.jee.clinichub.app.core.dataimport.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
+import com.jee.clinichub.app.core.dataimport.service.CsvImporter.RowMapper;
+import com.jee.clinichub.global.exception.ImportRejectedException;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Runs CSV imports in the background and keeps their progress for the job status endpoint.
+ *
+ * The upload is copied to a temp file and the request returns straight away with the job. The file is then
+ * streamed record by record, never held in memory as a whole: every {@code app.import.chunk-size} rows are
+ * mapped and validated on {@code app.import.parallelism} virtual threads and handed to the importer, which
+ * commits the chunk on its own. A row that fails validation is reported and skipped; a chunk that fails to
+ * save is reported row by row and the import carries on with the next one.
+ *
+ * Jobs live in memory on the node that accepted the upload for {@code app.import.job-retention-minutes}.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class CsvImportService {
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Value("${app.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${app.import.parallelism:4}")
+	private int parallelism;
+
+	@Value("${app.import.max-concurrent-jobs:2}")
+	private int maxConcurrentJobs;
+
+	@Value("${app.import.max-errors:500}")
+	private int maxErrors;
+
+	@Value("${app.import.job-retention-minutes:120}")
+	private long jobRetentionMinutes;
+
+	private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+	private Semaphore jobPermits;
+	private Cache<String, ImportJob> jobs;
+
+	@PostConstruct
+	public void init() {
+		jobPermits = new Semaphore(Math.max(1, maxConcurrentJobs));
+		jobs = CacheBuilder.newBuilder()
+				.expireAfterWrite(jobRetentionMinutes, TimeUnit.MINUTES)
+				.build();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Prepares the importer on the calling thread, so lookups resolve for the caller's tenant and branch,
+	 * and queues the file. Jobs beyond {@code app.import.max-concurrent-jobs} wait as {@code QUEUED}.
+	 */
+	public <T> ImportJob start(CsvImporter<T> importer, MultipartFile file) throws IOException {
+		if (file == null || file.isEmpty()) {
+			throw new ImportRejectedException("Import file is empty");
+		}
+		RowMapper<T> mapper = importer.prepare();
+
+		Path copy = Files.createTempFile("import-", ".csv");
+		try {
+			file.transferTo(copy);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(copy);
+			throw e;
+		}
+
+		ImportJob job = new ImportJob(importer.getType(), file.getOriginalFilename(),
+				TenantContextHolder.getCurrentTenant(), file.getSize(), maxErrors);
+		jobs.put(job.getId(), job);
+		workers.submit(() -> run(job, importer, mapper, copy));
+		log.info("Queued {} import {} ({} bytes) for tenant {}", job.getType(), job.getId(), job.getFileSize(), job.getTenant());
+		return job;
+	}
+
+	/**
+	 * The job, if it exists and belongs to the current tenant.
+	 */
+	public Optional<ImportJob> getJob(String id) {
+		return Optional.ofNullable(jobs.getIfPresent(id))
+				.filter(job -> job.getTenant().equals(TenantContextHolder.getCurrentTenant()));
+	}
+
+	private <T> void run(ImportJob job, CsvImporter<T> importer, RowMapper<T> mapper, Path file) {
+		long startNanos = System.nanoTime();
+		try {
+			jobPermits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.fail("Import cancelled");
+			deleteQuietly(file);
+			return;
+		}
+		try {
+			TenantContextHolder.setCurrentTenant(job.getTenant());
+			job.start();
+			importFile(job, importer, mapper, file);
+			job.complete();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.fail("Import cancelled after " + job.getRowsRead() + " rows");
+		} catch (Exception e) {
+			log.error("{} import {} failed", job.getType(), job.getId(), e);
+			job.fail("Import stopped after " + job.getRowsRead() + " rows: " + ExceptionUtils.getRootCauseMessage(e));
+		} finally {
+			jobPermits.release();
+			TenantContextHolder.clear();
+			deleteQuietly(file);
+			recordMetric(job, System.nanoTime() - startNanos);
+		}
+		log.info("{} import {} {} in {} ms: {} imported, {} skipped, {} failed", job.getType(), job.getId(), job.getState(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), job.getImported(), job.getSkipped(), job.getFailed());
+	}
+
+	private <T> void importFile(ImportJob job, CsvImporter<T> importer, RowMapper<T> mapper, Path file)
+			throws IOException, InterruptedException {
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+				CSVParser parser = CSVFormat.DEFAULT.parse(reader)) {
+			Iterator<CSVRecord> records = parser.iterator();
+			for (int i = 0; i < importer.getHeaderRows() && records.hasNext(); i++) {
+				records.next();
+			}
+
+			int size = Math.max(1, chunkSize);
+			List<CSVRecord> chunk = new ArrayList<>(size);
+			while (records.hasNext()) {
+				chunk.add(records.next());
+				if (chunk.size() == size) {
+					importChunk(job, importer, mapper, chunk);
+					chunk = new ArrayList<>(size);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				importChunk(job, importer, mapper, chunk);
+			}
+		}
+	}
+
+	private <T> void importChunk(ImportJob job, CsvImporter<T> importer, RowMapper<T> mapper, List<CSVRecord> chunk)
+			throws InterruptedException {
+		Object[] mapped = mapInParallel(job, mapper, chunk);
+
+		List<T> rows = new ArrayList<>(chunk.size());
+		List<Long> lines = new ArrayList<>(chunk.size());
+		for (int i = 0; i < mapped.length; i++) {
+			if (mapped[i] == Skip.ROW) {
+				job.skipped(1);
+			} else if (mapped[i] != null) {
+				@SuppressWarnings("unchecked")
+				T row = (T) mapped[i];
+				rows.add(row);
+				lines.add(chunk.get(i).getRecordNumber());
+			}
+		}
+
+		if (!rows.isEmpty()) {
+			try {
+				importer.persist(rows);
+				job.imported(rows.size());
+			} catch (RuntimeException e) {
+				String reason = "Not saved: " + ExceptionUtils.getRootCauseMessage(e);
+				log.warn("{} import {}: chunk of {} rows from line {} failed: {}", job.getType(), job.getId(), rows.size(),
+						lines.get(0), reason);
+				lines.forEach(line -> job.failed(line, reason));
+			}
+		}
+		job.read(chunk.size(), chunk.get(chunk.size() - 1).getCharacterPosition());
+	}
+
+	/**
+	 * Maps the chunk on up to {@code app.import.parallelism} threads. Slot i holds the mapped row, {@link Skip#ROW}
+	 * for a blank row, or null for a row that failed and was already reported.
+	 */
+	private <T> Object[] mapInParallel(ImportJob job, RowMapper<T> mapper, List<CSVRecord> chunk)
+			throws InterruptedException {
+		Object[] mapped = new Object[chunk.size()];
+		int slices = Math.max(1, Math.min(parallelism, chunk.size()));
+		int sliceSize = (chunk.size() + slices - 1) / slices;
+
+		List<Future<?>> futures = new ArrayList<>(slices);
+		for (int from = 0; from < chunk.size(); from += sliceSize) {
+			int start = from;
+			int end = Math.min(from + sliceSize, chunk.size());
+			futures.add(workers.submit(() -> {
+				for (int i = start; i < end; i++) {
+					mapped[i] = mapRow(job, mapper, chunk.get(i));
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		return mapped;
+	}
+
+	private static <T> Object mapRow(ImportJob job, RowMapper<T> mapper, CSVRecord record) {
+		try {
+			T row = mapper.map(record);
+			return row != null ? row : Skip.ROW;
+		} catch (ImportRowException e) {
+			job.failed(record.getRecordNumber(), e.getMessage());
+		} catch (RuntimeException e) {
+			job.failed(record.getRecordNumber(), "Invalid row: " + ExceptionUtils.getRootCauseMessage(e));
+		}
+		return null;
+	}
+
+	private void recordMetric(ImportJob job, long elapsedNanos) {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry != null) {
+			Timer.builder("clinichub.import")
+					.tag("type", job.getType())
+					.tag("outcome", job.getState().name().toLowerCase())
+					.register(registry)
+					.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Could not delete import file {}: {}", file, e.getMessage());
+		}
+	}
+
+	private enum Skip {
+		ROW
+	}
+}
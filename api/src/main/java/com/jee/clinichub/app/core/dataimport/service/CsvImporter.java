@@ -0,0 +1,46 @@
+package com.jee.clinichub.app.core.dataimport.service;
+
+import java.util.List;
+
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * One kind of CSV import, run by {@link CsvImportService}.
+ *
+ * @param <T> what a row is turned into, usually the entity to insert
+ */
+public interface CsvImporter<T> {
+
+	/**
+	 * Name shown on the import job, e.g. {@code expense}.
+	 */
+	String getType();
+
+	/**
+	 * Title and header lines at the top of the file that are not data.
+	 */
+	int getHeaderRows();
+
+	/**
+	 * Called on the request thread, with its tenant, branch and user, before the file is read. Loads every
+	 * lookup the rows refer to (branches, staff, countries, ...) into maps, so the returned mapper never
+	 * queries and can run on several threads at once.
+	 */
+	RowMapper<T> prepare();
+
+	/**
+	 * Writes one chunk of mapped rows. Called through the Spring proxy, once per chunk, so an implementation
+	 * marked {@code @Transactional} commits every chunk on its own.
+	 */
+	void persist(List<T> rows);
+
+	@FunctionalInterface
+	interface RowMapper<T> {
+
+		/**
+		 * @return the mapped row, or null to skip a blank row
+		 * @throws ImportRowException if the row is invalid
+		 */
+		T map(CSVRecord row);
+	}
+}
@@ -0,0 +1,14 @@
+package com.jee.clinichub.app.core.dataimport.service;
+
+/**
+ * Thrown by a {@link CsvImporter.RowMapper} for a row that cannot be imported. The message is shown to the
+ * user in the job's row errors, so it should name the offending value.
+ */
+public class ImportRowException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImportRowException(String message) {
+		super(message);
+	}
+}
@@ -1,5 +1,10 @@
 package com.jee.clinichub.app.core.files;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.springframework.web.multipart.MultipartFile;
 
 public interface CDNProviderService {
@@ -9,6 +14,18 @@ public interface CDNProviderService {
 	public String upload(byte[] byteFile, String fileName, String filePath);
 
 	public byte[] download(String filePath);
+
+	/**
+	 * Reads the file as it arrives rather than into memory. A missing file is a {@link FileNotFoundException} or
+	 * {@link java.nio.file.NoSuchFileException}.
+	 */
+	default InputStream openStream(String filePath) throws IOException {
+		byte[] content = download(filePath);
+		if (content == null) {
+			throw new FileNotFoundException(filePath);
+		}
+		return new ByteArrayInputStream(content);
+	}
 	
 	public boolean remove(String fileName);
 
@@ -0,0 +1,18 @@
+package com.jee.clinichub.app.core.files;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * An open local copy of a stored file, from {@link FileBlobCache}. The etag is a strong validator (a hash of the
+ * content), quoted ready for the {@code ETag} header. Close it once the response is written; the channel keeps
+ * reading the copy even if the cache drops it meanwhile.
+ */
+public record FileBlob(FileChannel channel, long length, String etag) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
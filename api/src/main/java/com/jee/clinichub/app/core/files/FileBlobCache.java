@@ -0,0 +1,236 @@
+package com.jee.clinichub.app.core.files;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Local disk copies of CDN files, keyed by storage path (which starts with the tenant), so logos, favicons, banners
+ * and template images are fetched from the CDN once rather than on every page view and PDF render.
+ *
+ * A miss streams the file from the {@link CDNProviderService} to a file under {@code app.files.cache.dir}, hashing
+ * it on the way for the ETag; concurrent misses for the same path fetch once. Copies are dropped least recently used
+ * first once they add up to {@code app.files.cache.max-bytes}, and refetched after
+ * {@code app.files.cache.ttl-minutes} to pick up files replaced on the CDN directly. A file bigger than the whole
+ * cache is served from a one-off copy that is deleted when closed.
+ */
+@Log4j2
+@Component
+public class FileBlobCache {
+
+    private static final String BLOB_PREFIX = "blob-";
+
+    @Autowired
+    private CDNProviderService cdnProviderService;
+
+    @Value("${app.files.cache.dir:${java.io.tmpdir}/clinichub-file-cache}")
+    private String cacheDir;
+
+    @Value("${app.files.cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${app.files.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private Path dir;
+    private Cache<String, Entry> index;
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    private record Entry(Path file, long length, String etag, boolean cached) {
+    }
+
+    @PostConstruct
+    public void init() {
+        dir = Path.of(cacheDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(dir);
+            // the index is in memory, copies left by a previous run are unknown to it
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(dir, BLOB_PREFIX + "*")) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the file cache at " + dir, e);
+        }
+        index = CacheBuilder.newBuilder()
+                // one segment, so the size limit applies to the cache as a whole
+                .concurrencyLevel(1)
+                .maximumWeight(maxBytes)
+                .<String, Entry>weigher((path, entry) -> (int) Math.min(Integer.MAX_VALUE, entry.length()))
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .removalListener((RemovalListener<String, Entry>) removal -> delete(removal.getValue().file()))
+                .recordStats()
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        index.invalidateAll();
+    }
+
+    /**
+     * Opens the file at the storage path, fetching it first if there is no local copy. Null when the CDN does not
+     * have it.
+     */
+    public FileBlob open(String path) throws IOException {
+        for (int attempt = 0;; attempt++) {
+            Entry entry = entry(path);
+            if (entry == null) {
+                return null;
+            }
+            try {
+                FileChannel channel = entry.cached()
+                        ? FileChannel.open(entry.file(), StandardOpenOption.READ)
+                        : FileChannel.open(entry.file(), StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+                return new FileBlob(channel, entry.length(), entry.etag());
+            } catch (NoSuchFileException e) {
+                // dropped between the lookup and the open
+                index.asMap().remove(path, entry);
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * The whole file, for callers that need it in memory. Null when the CDN does not have it.
+     */
+    public byte[] read(String path) throws IOException {
+        try (FileBlob blob = open(path)) {
+            if (blob == null) {
+                return null;
+            }
+            ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(blob.length()));
+            while (content.hasRemaining() && blob.channel().read(content) >= 0) {
+                // keep reading
+            }
+            return content.array();
+        }
+    }
+
+    /**
+     * Drops the local copy, e.g. after the file was uploaded again or removed.
+     */
+    public void evict(String path) {
+        index.invalidate(path);
+    }
+
+    public long size() {
+        return index.size();
+    }
+
+    private Entry entry(String path) throws IOException {
+        while (true) {
+            Entry cached = index.getIfPresent(path);
+            if (cached != null) {
+                return cached;
+            }
+            CompletableFuture<Entry> mine = new CompletableFuture<>();
+            CompletableFuture<Entry> running = loading.putIfAbsent(path, mine);
+            if (running == null) {
+                return load(path, mine);
+            }
+            Entry loaded = await(running);
+            // a one-off copy belongs to the caller that fetched it
+            if (loaded == null || loaded.cached()) {
+                return loaded;
+            }
+        }
+    }
+
+    private Entry load(String path, CompletableFuture<Entry> mine) throws IOException {
+        try {
+            Entry entry = fetch(path);
+            if (entry != null && entry.cached()) {
+                index.put(path, entry);
+            }
+            mine.complete(entry);
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(path, mine);
+        }
+    }
+
+    private Entry fetch(String path) throws IOException {
+        Path file = Files.createTempFile(dir, BLOB_PREFIX, ".bin");
+        MessageDigest sha256 = sha256();
+        long start = System.nanoTime();
+        try (InputStream in = cdnProviderService.openStream(path);
+                OutputStream out = new DigestOutputStream(Files.newOutputStream(file), sha256)) {
+            in.transferTo(out);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            delete(file);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+        long length = Files.size(file);
+        log.debug("Fetched {} ({} bytes) in {} ms", path, length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new Entry(file, length, '"' + HexFormat.of().formatHex(sha256.digest()) + '"', length <= maxBytes);
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.jee.clinichub.app.core.files;
 
+import java.io.IOException;
+
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
@@ -7,6 +9,11 @@ public interface FileService {
 	public String upload(MultipartFile multipartFile, boolean enablePublicReadAccess, String tenant);
 
 	public byte[] download(String fileName, boolean enablePublicReadAccess, String rootFolder, String type);
+
+	/**
+	 * Opens the file for streaming from the local file cache, null when it does not exist. The caller closes it.
+	 */
+	public FileBlob open(String fileName, boolean enablePublicReadAccess, String tenantId, String type) throws IOException;
 	
 	public void remove(String fileName);
 	
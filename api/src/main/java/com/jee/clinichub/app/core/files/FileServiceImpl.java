@@ -23,6 +23,9 @@ public class FileServiceImpl implements FileService{
     @Autowired
     private CDNProviderService cdnProviderService;
 
+    @Autowired
+    private FileBlobCache fileBlobCache;
+
 	@Value("${upload.root.folder}")
 	private String TENANT_ROOT;
 	
@@ -47,6 +50,7 @@ public class FileServiceImpl implements FileService{
         	// Uploading file to s3
         	//PutObjectResult putObjectResult = amazonS3Service.upload(filePath, file);
             String filename = cdnProviderService.upload( multipartFile,filePath );
+            fileBlobCache.evict(filePath);
         	
             return fileName;
             
@@ -69,6 +73,7 @@ public class FileServiceImpl implements FileService{
     {
         try {
         	cdnProviderService.remove(filePath);
+        	fileBlobCache.evict(filePath);
         } catch (AmazonServiceException ex) {
             log.error("error [" + ex.getMessage() + "] occurred while removing [" + filePath + "] ");
         }
@@ -83,25 +88,35 @@ public class FileServiceImpl implements FileService{
     public byte[] download(final String fileName, boolean enablePublicReadAccess,String tenantId, String type) {
     	String filePath = null;
         try {
-        	
-        	filePath = getPath(fileName,enablePublicReadAccess,tenantId);
-            if((fileName.trim().isEmpty() || fileName.equalsIgnoreCase("null")) && (!type.trim().isEmpty() && !type.equalsIgnoreCase("null"))) {
-            	String root = TENANT_ROOT+FS+"default/placeholder/";
-            	if(type.equalsIgnoreCase("logo")) {filePath = root + "logo.png";}
-            	else if(type.equalsIgnoreCase("favicon")) {filePath = root + "favicon.ico";}
-            	else if(type.equalsIgnoreCase("banner")) {filePath = root + "banner.jpg";}
-            }
-            
-            byte[] content  = cdnProviderService.download(filePath);
-            return content;
+        	filePath = resolvePath(fileName,enablePublicReadAccess,tenantId,type);
+            return fileBlobCache.read(filePath);
         } catch (AmazonS3Exception e) {
-        	log.error("error [" + e.getMessage() + "] occurred while uploading [" + filePath + "] ");
-        } catch (AmazonClientException ex) {
-        	log.error("error [" + ex.getMessage() + "] occurred while uploading [" + filePath + "] ");
+        	log.error("error [" + e.getMessage() + "] occurred while downloading [" + filePath + "] ");
+        } catch (AmazonClientException | IOException ex) {
+        	log.error("error [" + ex.getMessage() + "] occurred while downloading [" + filePath + "] ");
         }
 		return null;
     }
 
+    @Override
+    public FileBlob open(String fileName, boolean enablePublicReadAccess, String tenantId, String type) throws IOException {
+    	return fileBlobCache.open(resolvePath(fileName,enablePublicReadAccess,tenantId,type));
+    }
+
+    /**
+     * Storage path of the file, or of the default placeholder for the type when no file name is given.
+     */
+    private String resolvePath(String fileName, boolean enablePublicReadAccess, String tenantId, String type) {
+    	boolean noFile = fileName == null || fileName.trim().isEmpty() || fileName.equalsIgnoreCase("null");
+    	if(noFile && type != null && !type.trim().isEmpty() && !type.equalsIgnoreCase("null")) {
+    		String root = TENANT_ROOT+FS+"default/placeholder/";
+    		if(type.equalsIgnoreCase("logo")) {return root + "logo.png";}
+    		else if(type.equalsIgnoreCase("favicon")) {return root + "favicon.ico";}
+    		else if(type.equalsIgnoreCase("banner")) {return root + "banner.jpg";}
+    	}
+    	return getPath(fileName,enablePublicReadAccess,tenantId);
+    }
+
 	@Override
 	public String transformFormat(String fileName,boolean enablePublicReadAccess,String tenantId, String FetchFormat) {
 		String filePath = getPath(fileName,enablePublicReadAccess,tenantId);
@@ -1,13 +1,12 @@
 package com.jee.clinichub.app.core.files;
 
+import java.io.IOException;
 import java.net.URL;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.jee.clinichub.global.security.service.JwtService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -32,6 +32,9 @@ public class FilesController {
 	
     @Autowired
     private  FileService fileService;
+
+    @Autowired
+    private FileResponseWriter fileResponseWriter;
     
     @Value("${jwt.header.string}")
     public String HEADER_STRING;
@@ -58,37 +61,37 @@ public class FilesController {
     }
 	
     /**
-     * Download the file
+     * Download the file, streamed from the local file cache with ETag and Range support
      *
      * @param fileName fileName
-     * @return ByteArrayResource
      */
     @GetMapping(path = "/download")
-    public ResponseEntity<ByteArrayResource> downloadFile(@RequestParam("fileName") final String fileName,HttpServletRequest request) {
+    public void downloadFile(@RequestParam("fileName") final String fileName,HttpServletRequest request,HttpServletResponse response) throws IOException {
+        String tenant;
         try {
-        	
         	String origin = request.getHeader("referer");
         	//origin = "https://pati.clinichub.in/#/admin/config";
         	
         	URL orginUrl=new URL(origin);  
         
-        	String tenant = orginUrl.getHost().split("\\.")[0];//jwtTokenUtil.getClientId(request);
+        	tenant = orginUrl.getHost().split("\\.")[0];//jwtTokenUtil.getClientId(request);
         	tenant = tenant.equalsIgnoreCase("localhost")?defaultTenant:tenant;
-        	
-        	if(fileName.trim().isEmpty() || fileName.equalsIgnoreCase("null")) {return ResponseEntity.badRequest().contentLength(0).body(null); }
-        	
-            final byte[] data = fileService.download(fileName,true,tenant, null);
-            final ByteArrayResource resource = new ByteArrayResource(data);
-            return ResponseEntity
-                    .ok()
-                    .contentLength(data.length)
-                    .header("Content-type", "application/octet-stream")
-                    .header("Content-disposition", "attachment; filename=\"" + fileName + "\"")
-                    .header("Cache-Control", "no-cache")
-                    .body(resource);
         } catch (Exception e) {
             log.error(e.getMessage());
-            return ResponseEntity.badRequest().contentLength(0).body(null);
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if(fileName.trim().isEmpty() || fileName.equalsIgnoreCase("null")) {
+        	response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        	return;
+        }
+
+        try (FileBlob blob = fileService.open(fileName,true,tenant, null)) {
+        	if (blob == null) {
+        		response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        		return;
+        	}
+        	fileResponseWriter.write(blob, fileName, request, response);
         }
     }
     
@@ -1,7 +1,9 @@
 package com.jee.clinichub.app.core.files.awsS3.service;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -83,6 +85,19 @@ public class AmazonS3ServiceImpl implements CDNProviderService {
 		return null;
 	}
 
+	@Override
+	public InputStream openStream(String filePath) throws IOException {
+		try {
+			// closing the content stream releases the connection
+			return amazonS3.getObject(bucketName, filePath).getObjectContent();
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == 404) {
+				throw new FileNotFoundException(filePath);
+			}
+			throw e;
+		}
+	}
+
 	@Override
 	public boolean remove(String fileName) {
 		try {
@@ -9,6 +9,7 @@ import java.util.Map;
 
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +22,7 @@ import com.jee.clinichub.app.core.files.CDNProviderService;
 import lombok.extern.log4j.Log4j2;
 
 @Service
+@ConditionalOnProperty(name = "app.files.provider", havingValue = "cloudinary", matchIfMissing = true)
 @Log4j2
 public class CloudnaryServiceImpl implements CDNProviderService{
 	
@@ -89,6 +91,12 @@ public class CloudnaryServiceImpl implements CDNProviderService{
 	    return outputStream.toByteArray();
 	}
 	
+	@Override
+	public InputStream openStream(String publicId) throws IOException {
+		// a missing asset is a 404, which HttpURLConnection reports as FileNotFoundException
+		return new URL(getUrl(publicId)).openStream();
+	}
+	
 	@Override
 	public String getUrl(String publicId) {
 	
@@ -0,0 +1,133 @@
+package com.jee.clinichub.app.core.files.local;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.jee.clinichub.app.core.files.CDNProviderService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Keeps files in a directory instead of a CDN, selected with {@code app.files.provider=local}. Meant for development
+ * and tests, so uploads, downloads and the file cache work without S3 or Cloudinary credentials.
+ */
+@Service
+@ConditionalOnProperty(name = "app.files.provider", havingValue = "local")
+@Log4j2
+public class LocalFileStorageServiceImpl implements CDNProviderService {
+
+	@Value("${app.files.local.root:${java.io.tmpdir}/clinichub-files}")
+	private String root;
+
+	private Path rootPath;
+
+	public LocalFileStorageServiceImpl() {
+	}
+
+	public LocalFileStorageServiceImpl(Path root) {
+		this.root = root.toString();
+		init();
+	}
+
+	@PostConstruct
+	public void init() {
+		rootPath = Path.of(root).toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(rootPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not create file storage at " + rootPath, e);
+		}
+		log.info("Storing files under {}", rootPath);
+	}
+
+	@Override
+	public String upload(MultipartFile multipartFile, String filePath) {
+		try (InputStream in = multipartFile.getInputStream()) {
+			return write(in, filePath);
+		} catch (IOException e) {
+			log.error("Could not store {}: {}", filePath, e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public String upload(byte[] byteFile, String fileName, String filePath) {
+		try {
+			return write(new ByteArrayInputStream(byteFile), filePath);
+		} catch (IOException e) {
+			log.error("Could not store {}: {}", filePath, e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public byte[] download(String filePath) {
+		try {
+			return Files.readAllBytes(resolve(filePath));
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			log.error("Could not read {}: {}", filePath, e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public InputStream openStream(String filePath) throws IOException {
+		return Files.newInputStream(resolve(filePath));
+	}
+
+	@Override
+	public boolean remove(String fileName) {
+		try {
+			return Files.deleteIfExists(resolve(fileName));
+		} catch (IOException e) {
+			log.error("Could not remove {}: {}", fileName, e.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	public String getUrl(String publicId) {
+		return resolve(publicId).toUri().toString();
+	}
+
+	@Override
+	public String transformFormat(String publicId, String FetchFormat) {
+		return getUrl(publicId);
+	}
+
+	private String write(InputStream in, String filePath) throws IOException {
+		Path target = resolve(filePath);
+		Files.createDirectories(target.getParent());
+		// written aside and moved in, so a reader never sees half a file
+		Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+		try {
+			Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		return getUrl(filePath);
+	}
+
+	private Path resolve(String filePath) {
+		Path path = rootPath.resolve(filePath.replaceFirst("^/+", "")).normalize();
+		if (!path.startsWith(rootPath) || path.equals(rootPath)) {
+			throw new IllegalArgumentException("Not a file under the storage root: " + filePath);
+		}
+		return path;
+	}
+}
@@ -0,0 +1,107 @@
+package com.jee.clinichub.app.core.location;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jee.clinichub.app.branch.event.BranchLocationChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Master schema branches by location, for "near me" lookups in the AI chat and the public doctor search.
+ *
+ * Loaded once at startup, then kept current branch by branch from {@link BranchLocationChangedEvent}: a change
+ * only touches that branch's point and re-lays the tree from memory, it never goes back to the database. A full
+ * reload every {@code app.geo.branch-reload-interval-ms} picks up anything written outside the sync service.
+ * Readers always see a complete tree, swapped in atomically.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class BranchLocationIndex {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// guarded by this; the tree is rebuilt from it on every change
+	private final Map<Long, double[]> points = new HashMap<>();
+	private volatile GeoIndex index = GeoIndex.empty();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		reload();
+	}
+
+	@Scheduled(initialDelayString = "${app.geo.branch-reload-interval-ms:3600000}",
+			fixedDelayString = "${app.geo.branch-reload-interval-ms:3600000}")
+	public void reload() {
+		try {
+			Map<Long, double[]> loaded = new HashMap<>();
+			jdbcTemplate.query("SELECT id, latitude, longitude FROM branch WHERE latitude IS NOT NULL AND longitude IS NOT NULL",
+					rs -> {
+						double[] point = toPoint(rs.getDouble("latitude"), rs.getDouble("longitude"));
+						if (point != null) {
+							loaded.put(rs.getLong("id"), point);
+						}
+					});
+			synchronized (this) {
+				points.clear();
+				points.putAll(loaded);
+				index = GeoIndex.build(points);
+			}
+			log.info("Indexed {} branch locations", loaded.size());
+		} catch (Exception e) {
+			log.error("Could not load branch locations, keeping {} indexed: {}", index.size(), e.getMessage(), e);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onBranchLocationChanged(BranchLocationChangedEvent event) {
+		double[] point = event.getLatitude() == null || event.getLongitude() == null ? null
+				: toPoint(event.getLatitude(), event.getLongitude());
+		synchronized (this) {
+			double[] previous = point == null ? points.remove(event.getBranchId()) : points.put(event.getBranchId(), point);
+			if (point == null && previous == null) {
+				return;
+			}
+			index = GeoIndex.build(points);
+		}
+	}
+
+	/**
+	 * The {@code k} branches nearest to the point, closest first.
+	 */
+	public List<GeoIndex.Hit> nearest(double latitude, double longitude, int k) {
+		return index.nearest(latitude, longitude, k);
+	}
+
+	/**
+	 * Every branch within {@code radiusKm} of the point, closest first.
+	 */
+	public List<GeoIndex.Hit> within(double latitude, double longitude, double radiusKm) {
+		return index.within(latitude, longitude, radiusKm);
+	}
+
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * Null for coordinates that are out of range, or 0,0, which is a blank form rather than a clinic at sea.
+	 */
+	private static double[] toPoint(double latitude, double longitude) {
+		if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180 || (latitude == 0 && longitude == 0)) {
+			return null;
+		}
+		return new double[] { latitude, longitude };
+	}
+}
@@ -0,0 +1,216 @@
+package com.jee.clinichub.app.core.location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable KD-tree over latitude/longitude points for nearest and radius lookups.
+ *
+ * Points are stored as unit vectors on the sphere, so the straight-line (chord) distance between two of them
+ * orders exactly like the great-circle distance. That keeps the tree a plain 3-d tree, with no special cases at
+ * the poles or across the 180th meridian. The tree is laid out in arrays, each node being the median of its
+ * range, so a build is one O(n log n) pass and a lookup only visits the part of the tree near the query.
+ */
+public final class GeoIndex {
+
+	public static final double EARTH_RADIUS_KM = 6371.0;
+
+	private static final GeoIndex EMPTY = new GeoIndex(new long[0], new double[0][]);
+
+	private final long[] ids;
+	// xyz[i] = {x, y, z} of ids[i]
+	private final double[][] xyz;
+
+	private GeoIndex(long[] ids, double[][] xyz) {
+		this.ids = ids;
+		this.xyz = xyz;
+	}
+
+	public static GeoIndex empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @param points id to {latitude, longitude} in degrees
+	 */
+	public static GeoIndex build(Map<Long, double[]> points) {
+		if (points.isEmpty()) {
+			return EMPTY;
+		}
+		long[] ids = new long[points.size()];
+		double[][] xyz = new double[points.size()][];
+		int i = 0;
+		for (Map.Entry<Long, double[]> point : points.entrySet()) {
+			ids[i] = point.getKey();
+			xyz[i] = toUnitVector(point.getValue()[0], point.getValue()[1]);
+			i++;
+		}
+		layout(ids, xyz, 0, ids.length, 0);
+		return new GeoIndex(ids, xyz);
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * The {@code k} nearest points, closest first.
+	 */
+	public List<Hit> nearest(double latitude, double longitude, int k) {
+		if (k <= 0 || ids.length == 0) {
+			return List.of();
+		}
+		double[] q = toUnitVector(latitude, longitude);
+		// max-heap on squared chord, the root being the worst of the best k so far
+		PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(k, ids.length) + 1,
+				Comparator.comparingDouble((Integer node) -> chord2(q, xyz[node])).reversed());
+		nearest(q, k, heap, 0, ids.length, 0);
+
+		List<Hit> hits = new ArrayList<>(heap.size());
+		while (!heap.isEmpty()) {
+			int node = heap.poll();
+			hits.add(new Hit(ids[node], toKm(chord2(q, xyz[node]))));
+		}
+		Collections.reverse(hits);
+		return hits;
+	}
+
+	/**
+	 * Every point within {@code radiusKm}, closest first.
+	 */
+	public List<Hit> within(double latitude, double longitude, double radiusKm) {
+		if (radiusKm < 0 || ids.length == 0) {
+			return List.of();
+		}
+		double[] q = toUnitVector(latitude, longitude);
+		double chord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+		List<Hit> hits = new ArrayList<>();
+		within(q, chord * chord, hits, 0, ids.length, 0);
+		hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+		return hits;
+	}
+
+	private void nearest(double[] q, int k, PriorityQueue<Integer> heap, int lo, int hi, int axis) {
+		if (lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		double d2 = chord2(q, xyz[mid]);
+		if (heap.size() < k) {
+			heap.add(mid);
+		} else if (d2 < chord2(q, xyz[heap.peek()])) {
+			heap.poll();
+			heap.add(mid);
+		}
+
+		double diff = q[axis] - xyz[mid][axis];
+		int next = (axis + 1) % 3;
+		// near side first, far side only if the splitting plane is closer than the current k-th point
+		if (diff < 0) {
+			nearest(q, k, heap, lo, mid, next);
+			if (heap.size() < k || diff * diff < chord2(q, xyz[heap.peek()])) {
+				nearest(q, k, heap, mid + 1, hi, next);
+			}
+		} else {
+			nearest(q, k, heap, mid + 1, hi, next);
+			if (heap.size() < k || diff * diff < chord2(q, xyz[heap.peek()])) {
+				nearest(q, k, heap, lo, mid, next);
+			}
+		}
+	}
+
+	private void within(double[] q, double maxChord2, List<Hit> hits, int lo, int hi, int axis) {
+		if (lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		double d2 = chord2(q, xyz[mid]);
+		if (d2 <= maxChord2) {
+			hits.add(new Hit(ids[mid], toKm(d2)));
+		}
+		double diff = q[axis] - xyz[mid][axis];
+		int next = (axis + 1) % 3;
+		if (diff < 0 || diff * diff <= maxChord2) {
+			within(q, maxChord2, hits, lo, mid, next);
+		}
+		if (diff >= 0 || diff * diff <= maxChord2) {
+			within(q, maxChord2, hits, mid + 1, hi, next);
+		}
+	}
+
+	/**
+	 * Puts the median of [lo, hi) on {@code axis} in the middle slot, smaller ones before it and larger ones after,
+	 * then does the same for both halves on the next axis.
+	 */
+	private static void layout(long[] ids, double[][] xyz, int lo, int hi, int axis) {
+		if (hi - lo <= 1) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		select(ids, xyz, lo, hi - 1, mid, axis);
+		int next = (axis + 1) % 3;
+		layout(ids, xyz, lo, mid, next);
+		layout(ids, xyz, mid + 1, hi, next);
+	}
+
+	// quickselect, so the median lands on k in O(n) on average
+	private static void select(long[] ids, double[][] xyz, int left, int right, int k, int axis) {
+		while (left < right) {
+			double pivot = xyz[(left + right) >>> 1][axis];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (xyz[i][axis] < pivot) {
+					i++;
+				}
+				while (xyz[j][axis] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(ids, xyz, i++, j--);
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private static void swap(long[] ids, double[][] xyz, int a, int b) {
+		long id = ids[a];
+		ids[a] = ids[b];
+		ids[b] = id;
+		double[] point = xyz[a];
+		xyz[a] = xyz[b];
+		xyz[b] = point;
+	}
+
+	private static double[] toUnitVector(double latitude, double longitude) {
+		double lat = Math.toRadians(latitude);
+		double lon = Math.toRadians(longitude);
+		double cosLat = Math.cos(lat);
+		return new double[] { cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat) };
+	}
+
+	private static double chord2(double[] a, double[] b) {
+		double dx = a[0] - b[0];
+		double dy = a[1] - b[1];
+		double dz = a[2] - b[2];
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	private static double toKm(double chord2) {
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(chord2) / 2));
+	}
+
+	public record Hit(long id, double distanceKm) {
+	}
+}
@@ -0,0 +1,209 @@
+package com.jee.clinichub.app.core.pdf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jee.clinichub.app.core.files.CDNProviderService;
+import com.jee.clinichub.global.exception.PdfRenderException;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Rendered documents, keyed by tenant, document type, entity id and a version string taken from the
+ * modified_time of the entity and of the rows its document shows (and, where the document lists child rows,
+ * their count).
+ *
+ * Any change to the entity produces a new version and therefore a new key, so an outdated PDF is never
+ * served; the previous version of the same document is dropped the first time the new one is loaded.
+ * Hits are served from a bounded in-memory cache (by total bytes), misses first try the copy stored on the
+ * CDN under {@code <root>/<tenant>/private/documents/<type>/<id>.cache} and only render when that is missing
+ * or holds another version. The stored copy is the version hash on a line of its own followed by the PDF; there
+ * is one per document, so a new version replaces it and {@link #evict} deletes it. Concurrent misses for the
+ * same key render once.
+ *
+ * The in-memory copies are per instance. A document that no longer exists has no version and is never served
+ * from the cache, so copies left on other instances are unreachable; each drops them when it is next asked for
+ * the document, or they expire.
+ */
+@Log4j2
+@Component
+public class DocumentCache {
+
+    private static final String FS = "/";
+    private static final byte NEWLINE = '\n';
+
+    @Autowired
+    private CDNProviderService cdnProviderService;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Value("${upload.root.folder}")
+    private String tenantRoot;
+
+    @Value("${app.pdf.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${app.pdf.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${app.pdf.cache.remote-enabled:true}")
+    private boolean remoteEnabled;
+
+    private Cache<String, byte[]> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, byte[]>weigher((key, pdf) -> pdf.length)
+                .expireAfterAccess(ttlMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached document for this version of the entity, rendering it with {@code renderer} only
+     * when neither the local cache nor the CDN has it. A null version (entity not found) or a null result
+     * from the renderer is passed through without caching.
+     */
+    public byte[] get(DocumentType type, Long id, String version, Supplier<byte[]> renderer) {
+        if (id == null) {
+            return renderer.get();
+        }
+        String tenant = TenantContextHolder.getCurrentTenant();
+        String prefix = prefix(tenant, type, id);
+        if (version == null) {
+            // deleted, possibly through another instance
+            dropLocal(prefix);
+            return renderer.get();
+        }
+        String key = prefix + versionHash(version);
+        try {
+            return cache.get(key, () -> load(tenant, type, id, prefix, key, renderer));
+        } catch (InvalidCacheLoadException e) {
+            return null;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new PdfRenderException("Could not render " + type.getFolder() + " " + id);
+        }
+    }
+
+    /**
+     * Drops every cached version of the document in the current tenant, here and on the CDN, e.g. when the
+     * entity is deleted.
+     */
+    public void evict(DocumentType type, Long id) {
+        String tenant = TenantContextHolder.getCurrentTenant();
+        dropLocal(prefix(tenant, type, id));
+        if (remoteEnabled) {
+            String path = remotePath(tenant, type, id);
+            taskExecutor.execute(() -> remove(path));
+        }
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private byte[] load(String tenant, DocumentType type, Long id, String prefix, String key, Supplier<byte[]> renderer) {
+        // an older version of this document can no longer be requested
+        cache.asMap().keySet().removeIf(k -> k.startsWith(prefix) && !k.equals(key));
+
+        String versionHash = key.substring(prefix.length());
+        String path = remotePath(tenant, type, id);
+        byte[] pdf = remoteEnabled ? download(path, versionHash) : null;
+        if (pdf != null && pdf.length > 0) {
+            log.debug("Serving {} {} from {}", type, id, path);
+            return pdf;
+        }
+        pdf = renderer.get();
+        if (pdf != null && remoteEnabled) {
+            // replaces the copy of the version before
+            byte[] upload = pdf;
+            taskExecutor.execute(() -> upload(upload, versionHash, path));
+        }
+        return pdf;
+    }
+
+    private void dropLocal(String prefix) {
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * The stored PDF, or null when there is none or it is of another version.
+     */
+    private byte[] download(String path, String versionHash) {
+        byte[] stored;
+        try {
+            stored = cdnProviderService.download(path);
+        } catch (RuntimeException e) {
+            log.debug("No stored copy at {}: {}", path, e.getMessage());
+            return null;
+        }
+        byte[] header = header(versionHash);
+        if (stored == null || stored.length <= header.length
+                || !Arrays.equals(stored, 0, header.length, header, 0, header.length)) {
+            return null;
+        }
+        return Arrays.copyOfRange(stored, header.length, stored.length);
+    }
+
+    private void upload(byte[] pdf, String versionHash, String path) {
+        byte[] header = header(versionHash);
+        byte[] stored = Arrays.copyOf(header, header.length + pdf.length);
+        System.arraycopy(pdf, 0, stored, header.length, pdf.length);
+        try {
+            cdnProviderService.upload(stored, path.substring(path.lastIndexOf(FS) + 1), path);
+        } catch (RuntimeException e) {
+            log.warn("Could not store rendered document at {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void remove(String path) {
+        try {
+            cdnProviderService.remove(path);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove stored document at {}: {}", path, e.getMessage());
+        }
+    }
+
+    private String remotePath(String tenant, DocumentType type, Long id) {
+        return tenantRoot + FS + tenant + FS + "private" + FS + "documents" + FS + type.getFolder() + FS
+                + id + ".cache";
+    }
+
+    private static byte[] header(String versionHash) {
+        byte[] hash = versionHash.getBytes(StandardCharsets.US_ASCII);
+        byte[] header = Arrays.copyOf(hash, hash.length + 1);
+        header[hash.length] = NEWLINE;
+        return header;
+    }
+
+    private static String prefix(String tenant, DocumentType type, Long id) {
+        return tenant + FS + type.getFolder() + FS + id + FS;
+    }
+
+    private static String versionHash(String version) {
+        return Hashing.sha256().hashString(version, StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jee.clinichub.app.core.pdf;
+
+public enum DocumentType {
+
+    APPOINTMENT("appointment"),
+    SALES_INVOICE("sales-invoice"),
+    PURCHASE_ORDER("purchase-order"),
+    LAB_REPORT("lab-report");
+
+    private final String folder;
+
+    DocumentType(String folder) {
+        this.folder = folder;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+}
@@ -0,0 +1,198 @@
+package com.jee.clinichub.app.core.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ResourceUtils;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.jee.clinichub.global.exception.PdfRenderException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Single place where HTML is turned into PDF.
+ *
+ * Fonts (the standard PDF fonts, the fonts shipped with html2pdf and OpenSans from the classpath) are
+ * parsed once at startup into one shared {@link FontSet}. A FontProvider keeps a per-instance selection
+ * cache and must not be used by two conversions at once, so the service keeps a fixed pool of render
+ * slots, each with its own provider over the shared font set, its ConverterProperties and a reusable
+ * output buffer. Nothing is written to disk.
+ *
+ * The pool size ({@code app.pdf.max-concurrent-renders}) is also the cap on concurrent renders: a caller
+ * waits up to {@code app.pdf.acquire-timeout-ms} for a free slot instead of piling more CPU-bound work
+ * onto the request threads.
+ */
+@Log4j2
+@Service
+public class PdfRenderService {
+
+    private static final String[] CLASSPATH_FONTS = {
+            "fonts/OpenSans/OpenSans-Regular.ttf",
+            "fonts/OpenSans/OpenSans-Bold.ttf"
+    };
+
+    // html2pdf's own default when no font-family matches
+    private static final String DEFAULT_FONT_FAMILY = "Times";
+
+    // a buffer that grew past this for one large document is dropped rather than kept in the pool
+    private static final int MAX_RETAINED_BUFFER_BYTES = 4 * 1024 * 1024;
+
+    @Value("${app.pdf.max-concurrent-renders:4}")
+    private int maxConcurrentRenders;
+
+    @Value("${app.pdf.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+
+    private BlockingQueue<RenderSlot> slots;
+    private final Map<String, String> baseUris = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        DefaultFontProvider seed = new DefaultFontProvider(true, true, false);
+        for (String font : CLASSPATH_FONTS) {
+            try (InputStream in = new ClassPathResource(font).getInputStream()) {
+                FontProgram program = FontProgramFactory.createFont(in.readAllBytes());
+                seed.addFont(program);
+            } catch (IOException e) {
+                log.warn("Could not load font {}, documents fall back to the built-in fonts: {}", font, e.getMessage());
+            }
+        }
+        FontSet fontSet = seed.getFontSet();
+
+        int size = Math.max(1, maxConcurrentRenders);
+        slots = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new RenderSlot(new FontProvider(fontSet, DEFAULT_FONT_FAMILY)));
+        }
+        log.info("PDF rendering ready with {} fonts and {} render slots", fontSet.size(), size);
+    }
+
+    /**
+     * Renders the HTML and returns the PDF bytes.
+     *
+     * @param baseUri where relative images and stylesheets are resolved from, see {@link #templateBaseUri(String)};
+     *                may be null
+     */
+    public byte[] render(String html, String baseUri) {
+        RenderSlot slot = acquire();
+        try {
+            slot.buffer.reset();
+            HtmlConverter.convertToPdf(html, slot.buffer, slot.properties(baseUri));
+            return slot.buffer.toByteArray();
+        } finally {
+            if (slot.buffer.size() > MAX_RETAINED_BUFFER_BYTES) {
+                slot.buffer = new ByteArrayOutputStream();
+            }
+            slots.offer(slot);
+        }
+    }
+
+    /**
+     * Renders the HTML straight into {@code out}, e.g. an HTTP response stream. The stream is not closed.
+     */
+    public void render(String html, String baseUri, OutputStream out) {
+        RenderSlot slot = acquire();
+        try {
+            HtmlConverter.convertToPdf(html, new NonClosingOutputStream(out), slot.properties(baseUri));
+        } finally {
+            slots.offer(slot);
+        }
+    }
+
+    /**
+     * Base URI for a folder under {@code templates/}, resolved once per folder.
+     */
+    public String templateBaseUri(String folder) {
+        return baseUris.computeIfAbsent(folder, f -> {
+            String location = "templates/" + f;
+            try {
+                return ResourceUtils.getFile("classpath:" + location).toPath().toString();
+            } catch (IOException e) {
+                // packaged as a jar: no file system path, resolve through the URL instead
+                try {
+                    return new ClassPathResource(location).getURL().toExternalForm();
+                } catch (IOException ex) {
+                    log.warn("Template folder {} not found: {}", location, ex.getMessage());
+                    return "";
+                }
+            }
+        });
+    }
+
+    private RenderSlot acquire() {
+        try {
+            RenderSlot slot = slots.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (slot == null) {
+                throw new PdfRenderException("PDF rendering is busy, please try again");
+            }
+            return slot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfRenderException("Interrupted while waiting to render PDF");
+        }
+    }
+
+    private static final class RenderSlot {
+
+        private final FontProvider fontProvider;
+        // only touched by the thread holding the slot; the queue hand-off publishes it to the next one
+        private final Map<String, ConverterProperties> propertiesByBaseUri = new HashMap<>();
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private RenderSlot(FontProvider fontProvider) {
+            this.fontProvider = fontProvider;
+        }
+
+        private ConverterProperties properties(String baseUri) {
+            return propertiesByBaseUri.computeIfAbsent(baseUri == null ? "" : baseUri, uri -> {
+                ConverterProperties properties = new ConverterProperties();
+                properties.setFontProvider(fontProvider);
+                properties.setCharset("UTF-8");
+                if (!uri.isEmpty()) {
+                    properties.setBaseUri(uri);
+                }
+                return properties;
+            });
+        }
+    }
+
+    /**
+     * HtmlConverter closes the stream it writes to; a response stream must stay open for the caller.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
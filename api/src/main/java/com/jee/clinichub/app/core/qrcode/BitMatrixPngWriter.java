@@ -0,0 +1,85 @@
+package com.jee.clinichub.app.core.qrcode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.google.zxing.common.BitMatrix;
+
+/**
+ * Writes a BitMatrix straight into a 1-bit grayscale PNG: one bit per pixel, set bits black.
+ * No BufferedImage, Graphics2D or ImageIO round trip, and the output is a fraction of the size
+ * of the RGB image it replaces.
+ */
+final class BitMatrixPngWriter {
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private static final int BIT_DEPTH = 1;
+    private static final int COLOR_TYPE_GRAYSCALE = 0;
+    private static final int FILTER_NONE = 0;
+
+    private BitMatrixPngWriter() {
+    }
+
+    static byte[] write(BitMatrix matrix) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(1024);
+        png.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(BIT_DEPTH);
+        headerData.writeByte(COLOR_TYPE_GRAYSCALE);
+        headerData.writeByte(0); // compression: deflate
+        headerData.writeByte(0); // filter method
+        headerData.writeByte(0); // no interlace
+        writeChunk(png, "IHDR", header.toByteArray());
+
+        int rowBytes = (width + 7) / 8;
+        byte[] row = new byte[rowBytes + 1];
+        ByteArrayOutputStream pixels = new ByteArrayOutputStream((rowBytes + 1) * height / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream zlib = new DeflaterOutputStream(pixels, deflater)) {
+            for (int y = 0; y < height; y++) {
+                row[0] = FILTER_NONE;
+                for (int i = 1; i <= rowBytes; i++) {
+                    row[i] = 0;
+                }
+                for (int x = 0; x < width; x++) {
+                    // grayscale 1 is white; modules stay 0 (black)
+                    if (!matrix.get(x, y)) {
+                        row[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                zlib.write(row);
+            }
+        } finally {
+            deflater.end();
+        }
+        writeChunk(png, "IDAT", pixels.toByteArray());
+        writeChunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) throws IOException {
+        DataOutputStream chunk = new DataOutputStream(out);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        chunk.writeInt(data.length);
+        chunk.write(typeBytes);
+        chunk.write(data);
+        chunk.writeInt((int) crc.getValue());
+    }
+}
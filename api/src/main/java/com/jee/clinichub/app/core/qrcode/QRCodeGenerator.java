@@ -1,19 +1,19 @@
-
 package com.jee.clinichub.app.core.qrcode;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
-import javax.imageio.ImageIO;
-
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
@@ -21,61 +21,81 @@ import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Base64 PNG QR codes for the rendered documents.
+ *
+ * Images are cached by their content, so the same clinic location or report payload is encoded once.
+ * The app store links printed on every report never change and are encoded at startup.
+ */
 @Slf4j
 @Component
 public class QRCodeGenerator {
 
+    public static final String ANDROID_APP_URL = "https://play.google.com/store/games?hl=en_IN";
+    public static final String IOS_APP_URL = "https://www.apple.com/in/app-store/";
+
+    private static final List<String> PRECOMPUTED = List.of(ANDROID_APP_URL, IOS_APP_URL);
+
     private static final int QR_CODE_SIZE = 200;
-    private static final String IMAGE_FORMAT = "PNG";
 
-    
+    private static final Map<EncodeHintType, Object> HINTS = new EnumMap<>(Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, "UTF-8"));
+
+    @Value("${app.qrcode.cache.max-size:5000}")
+    private long maxCacheSize;
+
+    private Map<String, String> precomputed = Map.of();
+    private Cache<String, String> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxCacheSize)
+                .recordStats()
+                .build();
+
+        ImmutableMap.Builder<String, String> constants = ImmutableMap.builder();
+        for (String content : PRECOMPUTED) {
+            try {
+                constants.put(content, encode(content));
+            } catch (WriterException | IOException e) {
+                log.warn("Could not precompute QR code for {}: {}", content, e.getMessage());
+            }
+        }
+        precomputed = constants.build();
+    }
 
     /**
      * Generate QR code image and return as Base64 string
      */
     public String generateQRCodeImage(String content) throws WriterException, IOException {
-    	
+
     	// Default to placeholder if empty
         if (content == null || content.trim().isEmpty()) {
             content = "NA"; // You can use any default text or URL here
         }
-        
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        
-        Map<EncodeHintType, Object> hints = new HashMap<>();
-        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
-        
-        BitMatrix bitMatrix = qrCodeWriter.encode(content, BarcodeFormat.QR_CODE, QR_CODE_SIZE, QR_CODE_SIZE, hints);
-        
-        BufferedImage bufferedImage = new BufferedImage(QR_CODE_SIZE, QR_CODE_SIZE, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graphics = bufferedImage.createGraphics();
-        
-        // Set background to white
-        graphics.setColor(Color.WHITE);
-        graphics.fillRect(0, 0, QR_CODE_SIZE, QR_CODE_SIZE);
-        
-        // Set QR code color to black
-        graphics.setColor(Color.BLACK);
-        
-        for (int x = 0; x < QR_CODE_SIZE; x++) {
-            for (int y = 0; y < QR_CODE_SIZE; y++) {
-                if (bitMatrix.get(x, y)) {
-                    graphics.fillRect(x, y, 1, 1);
-                }
+
+        String constant = precomputed.get(content);
+        if (constant != null) {
+            return constant;
+        }
+        String key = content;
+        try {
+            return cache.get(key, () -> encode(key));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof WriterException writerException) {
+                throw writerException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
             }
+            throw new IllegalStateException("Could not generate QR code", cause);
         }
-        
-        graphics.dispose();
-        
-        // Convert to Base64
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(bufferedImage, IMAGE_FORMAT, outputStream);
-        byte[] imageBytes = outputStream.toByteArray();
-        
-        return Base64.getEncoder().encodeToString(imageBytes);
     }
 
     /**
@@ -89,4 +109,9 @@ public class QRCodeGenerator {
             return null;
         }
     }
+
+    private static String encode(String content) throws WriterException, IOException {
+        BitMatrix bitMatrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, QR_CODE_SIZE, QR_CODE_SIZE, HINTS);
+        return Base64.getEncoder().encodeToString(BitMatrixPngWriter.write(bitMatrix));
+    }
 }
@@ -0,0 +1,9 @@
+package com.jee.clinichub.app.core.sequence.model;
+
+/**
+ * A range of numbers reserved in one statement, together with the format that was configured
+ * for the sequence at the time of the reservation.
+ */
+public record SequenceBlock(long first, long last, String incrementPrefix, char incrementPadChar,
+        int incrementPadLength, boolean includeYear) {
+}
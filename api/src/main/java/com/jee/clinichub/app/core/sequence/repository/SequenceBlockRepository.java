@@ -0,0 +1,19 @@
+package com.jee.clinichub.app.core.sequence.repository;
+
+import java.util.Optional;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.core.sequence.model.SequenceBlock;
+
+public interface SequenceBlockRepository {
+
+    /**
+     * Atomically advances the sequence of the branch and module by {@code size} and returns the reserved range.
+     * Runs in its own transaction, so the row lock is released immediately and a rollback of the caller
+     * cannot hand the same numbers out twice. Empty if the branch has no sequence for the module.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    Optional<SequenceBlock> reserveBlock(Long branchId, Long moduleId, int size);
+}
@@ -0,0 +1,41 @@
+package com.jee.clinichub.app.core.sequence.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import com.jee.clinichub.app.core.sequence.model.SequenceBlock;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class SequenceBlockRepositoryImpl implements SequenceBlockRepository {
+
+    private static final String RESERVE_SQL = "UPDATE core_sequence SET increment_last_id = increment_last_id + ?, "
+            + "modified_time = now() WHERE branch_id = ? AND module_id = ? "
+            + "RETURNING increment_last_id, increment_prefix, increment_pad_char, increment_pad_length, include_year";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<SequenceBlock> reserveBlock(Long branchId, Long moduleId, int size) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(RESERVE_SQL)) {
+                ps.setInt(1, size);
+                ps.setLong(2, branchId);
+                ps.setLong(3, moduleId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return Optional.<SequenceBlock>empty();
+                    }
+                    long last = rs.getLong(1);
+                    return Optional.of(new SequenceBlock(last - size + 1, last, rs.getString(2),
+                            rs.getString(3).charAt(0), rs.getInt(4), rs.getBoolean(5)));
+                }
+            }
+        });
+    }
+}
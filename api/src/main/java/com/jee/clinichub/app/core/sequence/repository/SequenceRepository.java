@@ -11,7 +11,7 @@ import com.jee.clinichub.app.core.sequence.model.Sequence;
 import com.jee.clinichub.app.core.sequence.model.SequenceProj;
 
 @Repository
-public interface SequenceRepository extends JpaRepository<Sequence, Long> {
+public interface SequenceRepository extends JpaRepository<Sequence, Long>, SequenceBlockRepository {
 	
 	Sequence findSequenceById(Long sequenceId);
 
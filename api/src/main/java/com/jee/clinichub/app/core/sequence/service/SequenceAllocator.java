@@ -0,0 +1,106 @@
+package com.jee.clinichub.app.core.sequence.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.Striped;
+import com.jee.clinichub.app.core.sequence.model.SequenceBlock;
+import com.jee.clinichub.app.core.sequence.repository.SequenceRepository;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands out document numbers per (tenant, branch, module) without a database round-trip per number.
+ * A block of {@code app.sequence.block-size} numbers is reserved with a single UPDATE ... RETURNING and
+ * then served from memory through an AtomicLong; only the thread that finds the block exhausted goes
+ * back to the database. Numbers are unique across threads and nodes, but a node that stops leaves the
+ * rest of its block unused, so sequences can have gaps. Use a block size of 1 where gaps matter more
+ * than throughput.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceAllocator {
+
+    private final SequenceRepository sequenceRepository;
+
+    @Value("${app.sequence.block-size:10}")
+    private int blockSize;
+
+    private final Map<String, Range> ranges = new ConcurrentHashMap<>();
+    private final Striped<Lock> refillLocks = Striped.lock(64);
+
+    public String next(Long branchId, Long moduleId) {
+        String key = key(branchId, moduleId);
+        while (true) {
+            Range range = ranges.get(key);
+            if (range != null) {
+                long number = range.next.getAndIncrement();
+                if (number <= range.block.last()) {
+                    return SequenceServiceImpl.formatSequense(range.block.incrementPrefix(), range.block.includeYear(),
+                            range.block.incrementPadLength(), range.block.incrementPadChar(), number);
+                }
+            }
+
+            Lock lock = refillLocks.get(key);
+            lock.lock();
+            try {
+                // another thread may have refilled while this one waited
+                if (ranges.get(key) == range) {
+                    SequenceBlock block = sequenceRepository.reserveBlock(branchId, moduleId, Math.max(1, blockSize))
+                            .orElseThrow(() -> new EntityNotFoundException(
+                                    "Sequence not configured for branch " + branchId + " and module " + moduleId));
+                    ranges.put(key, new Range(block));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive numbers in one statement for a bulk insert, bypassing the in-memory
+     * block so the numbers of an import stay contiguous.
+     */
+    public List<String> reserve(Long branchId, Long moduleId, int count) {
+        SequenceBlock block = sequenceRepository.reserveBlock(branchId, moduleId, count)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Sequence not configured for branch " + branchId + " and module " + moduleId));
+        List<String> numbers = new ArrayList<>(count);
+        for (long number = block.first(); number <= block.last(); number++) {
+            numbers.add(SequenceServiceImpl.formatSequense(block.incrementPrefix(), block.includeYear(),
+                    block.incrementPadLength(), block.incrementPadChar(), number));
+        }
+        return numbers;
+    }
+
+    /**
+     * Drops the in-memory block, e.g. after the sequence was edited; the unused rest of it is skipped.
+     */
+    public void evict(Long branchId, Long moduleId) {
+        ranges.remove(key(branchId, moduleId));
+    }
+
+    private static String key(Long branchId, Long moduleId) {
+        return TenantContextHolder.getCurrentTenant() + ":" + branchId + ":" + moduleId;
+    }
+
+    private static final class Range {
+
+        private final SequenceBlock block;
+        private final AtomicLong next;
+
+        private Range(SequenceBlock block) {
+            this.block = block;
+            this.next = new AtomicLong(block.first());
+        }
+    }
+}
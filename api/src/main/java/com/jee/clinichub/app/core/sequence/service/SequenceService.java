@@ -20,10 +20,27 @@ public interface SequenceService {
 
 	List<SequenceProj> getAllSequences();
 
+	/**
+	 * Preview of the number the next document would get; does not reserve it.
+	 */
 	String getNextSequense(Long branchId, Long entityId);
 
+	/**
+	 * Reserves and returns the next document number; safe to call concurrently.
+	 */
+	String allocateSequense(Long branchId, Long moduleId);
+
+	/**
+	 * Reserves {@code count} consecutive document numbers in one round-trip, for bulk imports.
+	 */
+	List<String> allocateSequenses(Long branchId, Long moduleId, int count);
+
 	SequenceDto getLastSequense(Long branchId);
 
+	/**
+	 * @deprecated not atomic with {@link #getNextSequense}; use {@link #allocateSequense}, which already advances the sequence.
+	 */
+	@Deprecated
 	boolean incrementSequense(Long branchId, Long entityId, String nextSequense);
 
 	void createDefaultSequencesForBranch(Branch branch);
@@ -34,6 +34,9 @@ public class SequenceServiceImpl implements SequenceService {
     
     @Autowired
     ModuleRepository moduleRepository;
+
+    @Autowired
+    private SequenceAllocator sequenceAllocator;
     
     
 	@Override
@@ -62,6 +65,7 @@ public class SequenceServiceImpl implements SequenceService {
 			
 			sequence.setModule(module);
 			sequence = sequenceRepository.save(sequence);
+			sequenceAllocator.evict(sequence.getBranch().getId(), module.getId());
 			return new Status(true,( (sequenceDto.getId()==null) ? "Added":"Updated")  +  " Successfully");
 		}catch(Exception e){
 			log.error(e.getLocalizedMessage());
@@ -125,6 +129,7 @@ public class SequenceServiceImpl implements SequenceService {
 			}
 			
 			sequenceRepository.deleteById(id);
+			sequenceAllocator.evict(sequence.get().getBranch().getId(), sequence.get().getModule().getId());
 			return new Status(true,"Deleted Successfully");
 		}catch(Exception e){
 			log.error(e.getLocalizedMessage());
@@ -163,21 +168,37 @@ public class SequenceServiceImpl implements SequenceService {
 		
 	}
 
+	@Override
+	public String allocateSequense(Long branchId, Long moduleId) {
+		try{
+			return sequenceAllocator.next(branchId, moduleId);
+		}catch(Exception e){
+			log.error(e.getLocalizedMessage());
+		}
+		return "";
+	}
+
+	@Override
+	public List<String> allocateSequenses(Long branchId, Long moduleId, int count) {
+		return sequenceAllocator.reserve(branchId, moduleId, count);
+	}
+
 	private String constructSequense(Sequence sequence) {
+		return formatSequense(sequence.getIncrementPrefix(), sequence.isIncludeYear(), sequence.getIncrementPadLength(),
+				sequence.getIncrementPadChar(), sequence.getIncrementLastId() + 1L);
+	}
+
+	static String formatSequense(String prefix, boolean includeYear, int padLength, char padChar, long number) {
 		
 		String sequenseText = "";
-		Integer lastIncreamentId = sequence.getIncrementLastId();
+		sequenseText+=prefix;
 		
-		lastIncreamentId++;
-		sequenseText+=sequence.getIncrementPrefix();
-		
-		if(sequence.isIncludeYear()){
+		if(includeYear){
 			sequenseText+=YearMonth.now().getYear();
 		}
 		
-		
-		String padChar = Strings.padStart(String.valueOf(lastIncreamentId), sequence.getIncrementPadLength(), sequence.getIncrementPadChar());
-		sequenseText+=padChar;
+		String padded = Strings.padStart(String.valueOf(number), padLength, padChar);
+		sequenseText+=padded;
 		
 		return sequenseText;
 	}
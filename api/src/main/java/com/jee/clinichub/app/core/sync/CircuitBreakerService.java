@@ -41,6 +41,16 @@ public class CircuitBreakerService {
         return false;
     }
     
+    /**
+     * Earliest time the circuit for the tenant lets calls through again, or null if it is closed.
+     */
+    public LocalDateTime getOpenUntil(String tenantId) {
+        if (!isCircuitOpen(tenantId)) {
+            return null;
+        }
+        return circuitStates.get(tenantId).getLastFailureTime().plusMinutes(timeoutMinutes);
+    }
+    
     public void recordSuccess(String tenantId) {
         CircuitBreakerState state = circuitStates.computeIfAbsent(tenantId, k -> new CircuitBreakerState());
         state.getFailureCount().set(0);
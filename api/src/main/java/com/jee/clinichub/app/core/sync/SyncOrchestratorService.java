@@ -1,10 +1,7 @@
 
 package com.jee.clinichub.app.core.sync;
 
-import java.util.concurrent.CompletableFuture;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.jee.clinichub.app.appointment.appointments.model.AppointmentsDto;
@@ -28,15 +25,12 @@ public class SyncOrchestratorService {
     @Autowired
     private SyncMonitoringService syncMonitoringService;
     
-    @Value("${sync.max-retries:3}")
-    private int maxRetries;
-    
     public boolean syncAppointmentWithErrorHandling(AppointmentsDto appointmentDto, String tenantId) {
         try {
             // Check circuit breaker
             if (circuitBreakerService.isCircuitOpen(tenantId)) {
-                log.warn("Circuit breaker is open for tenant: {}. Scheduling async retry.", tenantId);
-                scheduleAsyncRetry(appointmentDto, tenantId);
+                log.warn("Circuit breaker is open for tenant: {}. Queueing retry.", tenantId);
+                scheduleRetry(appointmentDto, tenantId, "Circuit breaker open");
                 return false;
             }
             
@@ -59,27 +53,20 @@ public class SyncOrchestratorService {
             log.error("Appointment sync failed for tenant: {}, GlobalAppointmentId: {}. Error: {}", 
                     tenantId, appointmentDto.getGlobalAppointmentId(), e.getMessage());
             
-            // Schedule async retry
-            scheduleAsyncRetry(appointmentDto, tenantId);
+            // Queue a durable retry
+            scheduleRetry(appointmentDto, tenantId, e.getMessage());
             
             return false;
         }
     }
     
-    private void scheduleAsyncRetry(AppointmentsDto appointmentDto, String tenantId) {
-        CompletableFuture<Boolean> retryFuture = syncRetryService.retryAppointmentSync(appointmentDto, tenantId, maxRetries);
-        
-        retryFuture.whenComplete((success, throwable) -> {
-            if (throwable != null) {
-                log.error("Async retry scheduling failed for tenant: {}", tenantId, throwable);
-            } else if (success) {
-                syncMonitoringService.recordSyncSuccess(tenantId, "APPOINTMENT_RETRY");
-                log.info("Async retry successful for tenant: {}", tenantId);
-            } else {
-                log.error("All async retry attempts failed for tenant: {}", tenantId);
-                // TODO: Add to dead letter queue for manual intervention
-            }
-        });
+    private void scheduleRetry(AppointmentsDto appointmentDto, String tenantId, String error) {
+        try {
+            syncRetryService.enqueueAppointmentSync(appointmentDto, tenantId, error);
+        } catch (Exception e) {
+            log.error("Could not queue sync retry for tenant: {}, GlobalAppointmentId: {}", 
+                    tenantId, appointmentDto.getGlobalAppointmentId(), e);
+        }
     }
     
     public boolean performCompensation(AppointmentsDto appointmentDto, String tenantId) {
@@ -1,56 +1,184 @@
-
 package com.jee.clinichub.app.core.sync;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jee.clinichub.app.appointment.appointments.model.AppointmentsDto;
 import com.jee.clinichub.app.appointment.appointments.service.AppointmentSyncService;
+import com.jee.clinichub.app.core.sync.model.SyncDeadLetter;
+import com.jee.clinichub.app.core.sync.model.SyncJob;
+import com.jee.clinichub.app.core.sync.model.SyncJobType;
+import com.jee.clinichub.app.core.sync.repository.SyncDeadLetterRepository;
+import com.jee.clinichub.app.core.sync.repository.SyncJobRepository;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
 
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
+/**
+ * Durable retries for cross-schema sync. Failed syncs are stored in the master sync_job table and
+ * picked up by whichever node polls first; claiming uses FOR UPDATE SKIP LOCKED so nodes never
+ * work on the same job. Each failure pushes the next attempt out exponentially, and a job that
+ * runs out of attempts moves to sync_dead_letter, from where it can be replayed.
+ *
+ * Jobs for a tenant whose circuit is open are postponed until the circuit may close again without
+ * spending an attempt, so a degraded schema neither burns through retries nor slows the others down.
+ */
 @Log4j2
 @Service
+@RequiredArgsConstructor
 public class SyncRetryService {
-    
-    @Autowired
-    private AppointmentSyncService appointmentSyncService;
-    
-    @Autowired
-    private CircuitBreakerService circuitBreakerService;
-    
-    @Async("taskExecutor")
-    public CompletableFuture<Boolean> retryAppointmentSync(AppointmentsDto appointmentDto, String tenantId, int maxRetries) {
-        return CompletableFuture.supplyAsync(() -> {
-            for (int attempt = 1; attempt <= maxRetries; attempt++) {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final SyncJobRepository jobRepository;
+    private final SyncDeadLetterRepository deadLetterRepository;
+    private final AppointmentSyncService appointmentSyncService;
+    private final CircuitBreakerService circuitBreakerService;
+    private final SyncMonitoringService syncMonitoringService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sync.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${sync.retry.base-delay-seconds:30}")
+    private long baseDelaySeconds;
+
+    @Value("${sync.retry.max-delay-minutes:60}")
+    private long maxDelayMinutes;
+
+    @Value("${sync.retry.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Queues an appointment for another sync attempt into the given tenant schema.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueAppointmentSync(AppointmentsDto appointmentDto, String tenantId, String error) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(appointmentDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Appointment cannot be queued for retry: " + e.getMessage(), e);
+        }
+        SyncJob job = new SyncJob(SyncJobType.APPOINTMENT, tenantId, appointmentDto.getGlobalAppointmentId(), payload);
+        job.setLastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+        job.setNextAttemptTime(nextAttemptTime(tenantId, 1));
+        jobRepository.save(job);
+        log.info("Queued appointment sync retry for tenant: {}, GlobalAppointmentId: {}, first attempt at {}",
+                tenantId, appointmentDto.getGlobalAppointmentId(), job.getNextAttemptTime());
+    }
+
+    @Scheduled(fixedDelayString = "${sync.retry.poll-interval-ms:10000}")
+    @Transactional
+    public void processDueJobs() {
+        List<SyncJob> jobs = jobRepository.claimDueJobs(batchSize);
+        Set<String> openCircuits = new HashSet<>();
+
+        for (SyncJob job : jobs) {
+            String tenantId = job.getTenantId();
+            if (openCircuits.contains(tenantId) || circuitBreakerService.isCircuitOpen(tenantId)) {
+                openCircuits.add(tenantId);
+                job.setNextAttemptTime(nextAttemptTime(tenantId, job.getAttempts() + 1));
+                continue;
+            }
+
+            job.setAttempts(job.getAttempts() + 1);
+            try {
+                run(job);
+                circuitBreakerService.recordSuccess(tenantId);
+                syncMonitoringService.recordSyncSuccess(tenantId, job.getJobType() + "_RETRY");
+                jobRepository.delete(job);
+                log.info("Sync retry successful for tenant: {} on attempt {}, GlobalId: {}", tenantId, job.getAttempts(), job.getGlobalId());
+            } catch (Exception e) {
+                circuitBreakerService.recordFailure(tenantId);
+                syncMonitoringService.recordSyncFailure(tenantId, job.getJobType() + "_RETRY", e.getMessage());
+                job.setLastError(StringUtils.abbreviate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH));
+
+                if (job.getAttempts() >= maxRetries) {
+                    deadLetterRepository.save(new SyncDeadLetter(job));
+                    jobRepository.delete(job);
+                    log.error("All retry attempts exhausted for sync to tenant: {}, GlobalId: {}. Moved to dead letter.",
+                            tenantId, job.getGlobalId());
+                } else {
+                    job.setNextAttemptTime(nextAttemptTime(tenantId, job.getAttempts() + 1));
+                    log.warn("Sync retry failed for tenant: {} on attempt {}, next attempt at {}: {}",
+                            tenantId, job.getAttempts(), job.getNextAttemptTime(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    public Page<SyncDeadLetter> getDeadLetters(Pageable pageable) {
+        return deadLetterRepository.findAllByOrderByFailedTimeDesc(pageable);
+    }
+
+    /**
+     * Moves a dead letter back to the queue with a fresh set of attempts.
+     */
+    @Transactional
+    public void replayDeadLetter(Long id) {
+        SyncDeadLetter deadLetter = deadLetterRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Dead letter not found with id: " + id));
+        jobRepository.save(deadLetter.toJob());
+        deadLetterRepository.delete(deadLetter);
+    }
+
+    @Transactional
+    public int replayAllDeadLetters() {
+        List<SyncDeadLetter> deadLetters = deadLetterRepository.findAll();
+        jobRepository.saveAll(deadLetters.stream().map(SyncDeadLetter::toJob).toList());
+        deadLetterRepository.deleteAllInBatch(deadLetters);
+        return deadLetters.size();
+    }
+
+    private void run(SyncJob job) throws JsonProcessingException {
+        switch (job.getJobType()) {
+            case APPOINTMENT -> {
+                AppointmentsDto appointmentDto = objectMapper.readValue(job.getPayload(), AppointmentsDto.class);
+                // the target session is opened by the REQUIRES_NEW boundary, so the context has to be set before the call
+                String originalTenantContext = TenantContextHolder.getCurrentTenant();
                 try {
-                    if (circuitBreakerService.isCircuitOpen(tenantId)) {
-                        log.warn("Circuit breaker is open for tenant: {}. Skipping retry attempt {}", tenantId, attempt);
-                        continue;
-                    }
-                    
-                    Thread.sleep(attempt * 1000L); // Exponential backoff
-                    appointmentSyncService.syncAppointmentToTenant(appointmentDto, tenantId);
-                    
-                    circuitBreakerService.recordSuccess(tenantId);
-                    log.info("Appointment sync retry successful for tenant: {} on attempt {}", tenantId, attempt);
-                    return true;
-                    
-                } catch (Exception e) {
-                    circuitBreakerService.recordFailure(tenantId);
-                    log.error("Appointment sync retry failed for tenant: {} on attempt {}: {}", tenantId, attempt, e.getMessage());
-                    
-                    if (attempt == maxRetries) {
-                        log.error("All retry attempts exhausted for appointment sync to tenant: {}", tenantId);
-                        // TODO: Add to dead letter queue or manual intervention queue
-                    }
+                    TenantContextHolder.setCurrentTenant(job.getTenantId());
+                    appointmentSyncService.syncAppointmentToTenant(appointmentDto, job.getTenantId());
+                } finally {
+                    TenantContextHolder.setCurrentTenant(originalTenantContext);
                 }
             }
-            return false;
-        });
+        }
+    }
+
+    /**
+     * base * 2^(attempt - 1) with +-20% jitter, capped, and never before an open circuit may close.
+     */
+    private Date nextAttemptTime(String tenantId, int attempt) {
+        long delayMillis = TimeUnit.SECONDS.toMillis(baseDelaySeconds) << Math.min(attempt - 1, 20);
+        delayMillis = Math.min(delayMillis, TimeUnit.MINUTES.toMillis(maxDelayMinutes));
+        delayMillis = (long) (delayMillis * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+        long next = System.currentTimeMillis() + delayMillis;
+
+        LocalDateTime openUntil = circuitBreakerService.getOpenUntil(tenantId);
+        if (openUntil != null) {
+            next = Math.max(next, openUntil.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return new Date(next);
     }
 }
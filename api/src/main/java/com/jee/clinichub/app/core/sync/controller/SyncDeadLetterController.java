@@ -0,0 +1,53 @@
+package com.jee.clinichub.app.core.sync.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jee.clinichub.app.core.sync.SyncRetryService;
+import com.jee.clinichub.app.core.sync.model.SyncDeadLetter;
+import com.jee.clinichub.global.model.Status;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * sync_dead_letter lives in master and holds the payloads of every tenant, so only admins of the default tenant
+ * may read or replay it.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@PreAuthorize("hasRole('Admin') and @adminAccess.inDefaultTenant()")
+@RequiredArgsConstructor
+@RequestMapping("v1/sync/dead-letter")
+public class SyncDeadLetterController {
+
+    private final SyncRetryService syncRetryService;
+
+    @GetMapping(value = "/list/{pageNumber}/{pageSize}")
+    public Page<SyncDeadLetter> getDeadLetters(@PathVariable int pageNumber, @PathVariable int pageSize) {
+        return syncRetryService.getDeadLetters(PageRequest.of(pageNumber, pageSize));
+    }
+
+    @PostMapping(value = "/replay/id/{id}")
+    public Status replay(@PathVariable Long id) {
+        try {
+            syncRetryService.replayDeadLetter(id);
+            return new Status(true, "Sync job queued again");
+        } catch (EntityNotFoundException e) {
+            return new Status(false, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/replay/all")
+    public Status replayAll() {
+        int count = syncRetryService.replayAllDeadLetters();
+        return new Status(true, count + " sync job(s) queued again");
+    }
+}
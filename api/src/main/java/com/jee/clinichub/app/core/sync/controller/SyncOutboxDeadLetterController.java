@@ -0,0 +1,47 @@
+package com.jee.clinichub.app.core.sync.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jee.clinichub.app.core.sync.model.SyncOutboxDeadLetter;
+import com.jee.clinichub.app.core.sync.service.SyncOutboxService;
+import com.jee.clinichub.global.model.Status;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("v1/sync/outbox/dead-letter")
+public class SyncOutboxDeadLetterController {
+
+    private final SyncOutboxService syncOutboxService;
+
+    @GetMapping(value = "/list/{pageNumber}/{pageSize}")
+    public Page<SyncOutboxDeadLetter> getDeadLetters(@PathVariable int pageNumber, @PathVariable int pageSize) {
+        return syncOutboxService.getDeadLetters(PageRequest.of(pageNumber, pageSize));
+    }
+
+    @PostMapping(value = "/replay/id/{id}")
+    public Status replay(@PathVariable Long id) {
+        try {
+            syncOutboxService.replayDeadLetter(id);
+            return new Status(true, "Outbox event queued again");
+        } catch (EntityNotFoundException e) {
+            return new Status(false, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/replay/all")
+    public Status replayAll() {
+        int count = syncOutboxService.replayAllDeadLetters();
+        return new Status(true, count + " outbox event(s) queued again");
+    }
+}
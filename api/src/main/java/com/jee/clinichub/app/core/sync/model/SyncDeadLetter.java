@@ -0,0 +1,68 @@
+package com.jee.clinichub.app.core.sync.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+import com.jee.clinichub.config.TenantIdentifierResolver;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "sync_dead_letter", schema = TenantIdentifierResolver.DEFAULT_TENANT)
+public class SyncDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private SyncJobType jobType;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(name = "global_id")
+    private UUID globalId;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_time", nullable = false)
+    private Date createdTime;
+
+    @Column(name = "failed_time", nullable = false)
+    private Date failedTime;
+
+    public SyncDeadLetter(SyncJob job) {
+        this.jobType = job.getJobType();
+        this.tenantId = job.getTenantId();
+        this.globalId = job.getGlobalId();
+        this.payload = job.getPayload();
+        this.attempts = job.getAttempts();
+        this.lastError = job.getLastError();
+        this.createdTime = job.getCreatedTime();
+        this.failedTime = new Date();
+    }
+
+    public SyncJob toJob() {
+        return new SyncJob(jobType, tenantId, globalId, payload);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jee.clinichub.app.core.sync.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+import com.jee.clinichub.config.TenantIdentifierResolver;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "sync_job", schema = TenantIdentifierResolver.DEFAULT_TENANT)
+public class SyncJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private SyncJobType jobType;
+
+    /** Schema the job writes to. */
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(name = "global_id")
+    private UUID globalId;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_time", nullable = false)
+    private Date nextAttemptTime;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_time", nullable = false)
+    private Date createdTime;
+
+    public SyncJob(SyncJobType jobType, String tenantId, UUID globalId, String payload) {
+        this.jobType = jobType;
+        this.tenantId = tenantId;
+        this.globalId = globalId;
+        this.payload = payload;
+        this.createdTime = new Date();
+        this.nextAttemptTime = this.createdTime;
+    }
+}
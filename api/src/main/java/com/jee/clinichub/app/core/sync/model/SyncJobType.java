@@ -0,0 +1,5 @@
+package com.jee.clinichub.app.core.sync.model;
+
+public enum SyncJobType {
+    APPOINTMENT
+}
@@ -0,0 +1,69 @@
+package com.jee.clinichub.app.core.sync.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox event that could not be relayed within the allowed attempts, kept in the tenant schema until replayed.
+ */
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "sync_outbox_dead_letter")
+public class SyncOutboxDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private SyncAggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "operation", nullable = false)
+    private String operation;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_time", nullable = false)
+    private Date createdTime;
+
+    @Column(name = "failed_time", nullable = false)
+    private Date failedTime;
+
+    public SyncOutboxDeadLetter(SyncOutboxEvent event) {
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.operation = event.getOperation();
+        this.attempts = event.getAttempts();
+        this.lastError = event.getLastError();
+        this.createdTime = event.getCreatedTime() != null ? event.getCreatedTime() : new Date();
+        this.failedTime = new Date();
+    }
+
+    public SyncOutboxEvent toEvent() {
+        SyncOutboxEvent event = new SyncOutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setOperation(operation);
+        return event;
+    }
+}
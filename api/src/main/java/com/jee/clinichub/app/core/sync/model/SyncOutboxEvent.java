@@ -0,0 +1,49 @@
+package com.jee.clinichub.app.core.sync.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change recorded in a tenant schema by the sync_outbox triggers. Only the id of the changed row is kept;
+ * the relay always sends the row's current state, so several events for one row collapse into one write.
+ */
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "sync_outbox")
+public class SyncOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private SyncAggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "operation", nullable = false)
+    private String operation;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_time", insertable = false, updatable = false)
+    private Date createdTime;
+}
@@ -0,0 +1,39 @@
+package com.jee.clinichub.app.core.sync.model;
+
+import java.util.Date;
+
+import com.jee.clinichub.config.TenantIdentifierResolver;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "sync_watermark", schema = TenantIdentifierResolver.DEFAULT_TENANT)
+public class SyncWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sync_name", nullable = false)
+    private String syncName;
+
+    @Column(name = "client_id", nullable = false)
+    private String clientId;
+
+    @Column(name = "last_synced_time", nullable = false)
+    private Date lastSyncedTime;
+
+    public SyncWatermark(String syncName, String clientId) {
+        this.syncName = syncName;
+        this.clientId = clientId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jee.clinichub.app.core.sync.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jee.clinichub.app.core.sync.model.SyncJob;
+import com.jee.clinichub.config.TenantIdentifierResolver;
+
+@Repository
+public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
+
+    /**
+     * Due jobs, locked for the current transaction. Rows locked by another node are skipped, not waited on.
+     */
+    @Query(value = "SELECT * FROM " + TenantIdentifierResolver.DEFAULT_TENANT + ".sync_job WHERE next_attempt_time <= now() "
+            + "ORDER BY next_attempt_time LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<SyncJob> claimDueJobs(@Param("limit") int limit);
+}
@@ -0,0 +1,14 @@
+package com.jee.clinichub.app.core.sync.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.jee.clinichub.app.core.sync.model.SyncOutboxDeadLetter;
+
+@Repository
+public interface SyncOutboxDeadLetterRepository extends JpaRepository<SyncOutboxDeadLetter, Long> {
+
+    Page<SyncOutboxDeadLetter> findAllByOrderByFailedTimeDesc(Pageable pageable);
+}
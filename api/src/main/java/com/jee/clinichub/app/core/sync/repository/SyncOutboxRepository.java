@@ -0,0 +1,22 @@
+package com.jee.clinichub.app.core.sync.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jee.clinichub.app.core.sync.model.SyncOutboxEvent;
+
+@Repository
+public interface SyncOutboxRepository extends JpaRepository<SyncOutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, locked for the current transaction. SKIP LOCKED lets several
+     * application instances drain the same tenant without blocking on each other. Events that run
+     * out of attempts are moved to sync_outbox_dead_letter, so everything left here is pending.
+     */
+    @Query(value = "SELECT * FROM sync_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<SyncOutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,14 @@
+package com.jee.clinichub.app.core.sync.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.jee.clinichub.app.core.sync.model.SyncWatermark;
+
+@Repository
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, Long> {
+
+    Optional<SyncWatermark> findBySyncNameAndClientId(String syncName, String clientId);
+}
@@ -0,0 +1,237 @@
+package com.jee.clinichub.app.core.sync.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.appointment.appointments.model.Appointments;
+import com.jee.clinichub.app.appointment.appointments.model.AppointmentsDto;
+import com.jee.clinichub.app.appointment.appointments.repository.AppointmentsRepo;
+import com.jee.clinichub.app.appointment.appointments.service.AppointmentSyncService;
+import com.jee.clinichub.app.core.sync.SyncMonitoringService;
+import com.jee.clinichub.app.core.sync.model.SyncAggregateType;
+import com.jee.clinichub.app.core.sync.model.SyncOutboxDeadLetter;
+import com.jee.clinichub.app.core.sync.model.SyncOutboxEvent;
+import com.jee.clinichub.app.core.sync.repository.SyncOutboxDeadLetterRepository;
+import com.jee.clinichub.app.core.sync.repository.SyncOutboxRepository;
+import com.jee.clinichub.app.doctor.slots.model.Slot;
+import com.jee.clinichub.app.doctor.slots.repository.SlotRepo;
+import com.jee.clinichub.app.doctor.slots.service.DoctorSlotSyncService;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Drains one batch of a tenant's sync_outbox into the master schema.
+ *
+ * The batch stays locked in the tenant transaction while the current state of every referenced slot
+ * and appointment is written to master in separate master transactions. Events are deleted only after
+ * master accepted them, so delivery is at-least-once; the master writes are keyed by globalSlotId and
+ * globalAppointmentId, which makes replays harmless. A row that no longer exists in the tenant schema
+ * is removed from master.
+ *
+ * An event that fails {@code app.sync.outbox.max-attempts} times is moved to the tenant's sync_outbox_dead_letter
+ * and counted in {@code clinichub.sync.outbox.dead_letter}, so it no longer holds up the batch; it can be replayed
+ * once the cause is fixed.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class SyncOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final SyncOutboxRepository outboxRepository;
+    private final SyncOutboxDeadLetterRepository deadLetterRepository;
+    private final SlotRepo slotRepo;
+    private final AppointmentsRepo appointmentsRepo;
+    private final DoctorSlotSyncService slotSyncService;
+    private final AppointmentSyncService appointmentSyncService;
+    private final SyncMonitoringService syncMonitoringService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    @Value("${app.sync.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.sync.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Relays the oldest pending events of the current tenant. Returns the number of events delivered and removed.
+     */
+    @Transactional
+    public int drainBatch(String clientId) {
+        List<SyncOutboxEvent> events = outboxRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<UUID> slotIds = idsOf(events, SyncAggregateType.SLOT);
+        Set<UUID> appointmentIds = idsOf(events, SyncAggregateType.APPOINTMENT);
+
+        // read everything from the tenant schema before switching to master
+        List<Slot> slots = slotIds.isEmpty() ? List.of() : slotRepo.findAllWithDoctorBranchByGlobalSlotIdIn(slotIds);
+        List<Appointments> appointments = appointmentIds.isEmpty() ? List.of()
+                : appointmentsRepo.findAllByGlobalAppointmentIdIn(appointmentIds);
+        List<AppointmentsDto> appointmentDtos = appointments.stream().map(AppointmentsDto::new).toList();
+        // master slot availability is re-sent after the appointments, see below
+        List<Slot> appointmentSlots = appointments.stream().map(Appointments::getSlot)
+                .filter(s -> s != null && !slotIds.contains(s.getGlobalSlotId())).toList();
+
+        Set<UUID> deletedSlotIds = new HashSet<>(slotIds);
+        slots.forEach(s -> deletedSlotIds.remove(s.getGlobalSlotId()));
+        Set<UUID> deletedAppointmentIds = new HashSet<>(appointmentIds);
+        appointments.forEach(a -> deletedAppointmentIds.remove(a.getGlobalAppointmentId()));
+
+        Map<UUID, String> failures = new HashMap<>();
+        String originalTenantContext = TenantContextHolder.getCurrentTenant();
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+
+            // slots first, so new appointments find their slot in master
+            upsertSlots(clientId, slots, failures);
+
+            for (AppointmentsDto dto : appointmentDtos) {
+                try {
+                    appointmentSyncService.syncAppointmentToTenant(dto, defaultTenant);
+                } catch (Exception e) {
+                    failures.put(dto.getGlobalAppointmentId(), e.getMessage());
+                }
+            }
+            for (UUID globalAppointmentId : deletedAppointmentIds) {
+                try {
+                    appointmentSyncService.deleteAppointmentFromMaster(globalAppointmentId, clientId);
+                } catch (Exception e) {
+                    failures.put(globalAppointmentId, e.getMessage());
+                }
+            }
+
+            // syncAppointmentToTenant adjusts the master slot's availability itself; put back the tenant's numbers
+            if (!appointmentDtos.isEmpty()) {
+                List<Slot> resend = new ArrayList<>(slots);
+                resend.addAll(appointmentSlots);
+                upsertSlots(clientId, resend, failures);
+            }
+
+            if (!deletedSlotIds.isEmpty()) {
+                try {
+                    slotSyncService.deleteSlotsFromMaster(deletedSlotIds);
+                } catch (Exception e) {
+                    deletedSlotIds.forEach(id -> failures.put(id, e.getMessage()));
+                }
+            }
+        } finally {
+            TenantContextHolder.setCurrentTenant(originalTenantContext);
+        }
+
+        List<SyncOutboxEvent> delivered = new ArrayList<>();
+        List<SyncOutboxEvent> exhausted = new ArrayList<>();
+        for (SyncOutboxEvent event : events) {
+            String error = failures.get(event.getAggregateId());
+            if (error == null) {
+                delivered.add(event);
+            } else {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(StringUtils.abbreviate(String.valueOf(error), MAX_ERROR_LENGTH));
+                if (event.getAttempts() >= maxAttempts) {
+                    exhausted.add(event);
+                }
+            }
+        }
+        outboxRepository.deleteAllInBatch(delivered);
+        if (!exhausted.isEmpty()) {
+            deadLetterRepository.saveAll(exhausted.stream().map(SyncOutboxDeadLetter::new).toList());
+            outboxRepository.deleteAllInBatch(exhausted);
+            recordDeadLetters(clientId, exhausted.size());
+            log.error("[Client: {}] {} outbox event(s) failed {} times and were moved to the dead letter table",
+                    clientId, exhausted.size(), maxAttempts);
+        }
+
+        if (failures.isEmpty()) {
+            syncMonitoringService.recordSyncSuccess(clientId, "OUTBOX");
+        } else {
+            syncMonitoringService.recordSyncFailure(clientId, "OUTBOX", failures.size() + " row(s) failed");
+            log.warn("[Client: {}] {} of {} outbox events could not be relayed and will be retried",
+                    clientId, events.size() - delivered.size() - exhausted.size(), events.size());
+        }
+        log.debug("[Client: {}] Relayed {} outbox events ({} slots, {} appointments)",
+                clientId, delivered.size(), slotIds.size(), appointmentIds.size());
+        return delivered.size();
+    }
+
+    public Page<SyncOutboxDeadLetter> getDeadLetters(Pageable pageable) {
+        return deadLetterRepository.findAllByOrderByFailedTimeDesc(pageable);
+    }
+
+    /**
+     * Puts a dead letter of the current tenant back in the outbox with a fresh set of attempts.
+     */
+    @Transactional
+    public void replayDeadLetter(Long id) {
+        SyncOutboxDeadLetter deadLetter = deadLetterRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Outbox dead letter not found with id: " + id));
+        outboxRepository.save(deadLetter.toEvent());
+        deadLetterRepository.delete(deadLetter);
+    }
+
+    @Transactional
+    public int replayAllDeadLetters() {
+        List<SyncOutboxDeadLetter> deadLetters = deadLetterRepository.findAll();
+        outboxRepository.saveAll(deadLetters.stream().map(SyncOutboxDeadLetter::toEvent).toList());
+        deadLetterRepository.deleteAllInBatch(deadLetters);
+        return deadLetters.size();
+    }
+
+    private void recordDeadLetters(String clientId, int count) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder("clinichub.sync.outbox.dead_letter")
+                    .tag("tenant", clientId)
+                    .register(registry)
+                    .increment(count);
+        }
+    }
+
+    private void upsertSlots(String clientId, List<Slot> slots, Map<UUID, String> failures) {
+        if (slots.isEmpty()) {
+            return;
+        }
+        try {
+            slotSyncService.upsertSlotsToMaster(clientId, slots)
+                    .forEach(id -> failures.put(id, "Slot could not be written to master"));
+        } catch (Exception e) {
+            slots.forEach(s -> failures.put(s.getGlobalSlotId(), e.getMessage()));
+        }
+    }
+
+    private static Set<UUID> idsOf(List<SyncOutboxEvent> events, SyncAggregateType type) {
+        // insertion ordered, so rows are relayed in the order they were first changed
+        return events.stream().filter(e -> e.getAggregateType() == type).map(SyncOutboxEvent::getAggregateId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -1,6 +1,7 @@
 package com.jee.clinichub.app.doctor.doctorLeave.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -23,5 +24,8 @@ public interface DoctorLeaveRepo  extends JpaRepository<DoctorLeave,Long>{
 
     List<DoctorLeave> findAllByDoctorBranch_id(Long drBranchId);
 
+    List<DoctorLeave> findAllByDoctorBranch_idInAndLeaveStartLessThanEqualAndLeaveEndGreaterThanEqual(
+            Collection<Long> drBranchIds, Date rangeEnd, Date rangeStart);
+
  
 }
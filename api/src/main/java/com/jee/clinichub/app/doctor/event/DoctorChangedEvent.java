@@ -0,0 +1,32 @@
+package com.jee.clinichub.app.doctor.event;
+
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+/**
+ * A doctor's profile or branch list was written.
+ */
+public class DoctorChangedEvent extends ApplicationEvent {
+
+    private final UUID globalDoctorId;
+
+    // schema the change was written to, captured before the writer restores its tenant context
+    private final String tenantId;
+
+    public DoctorChangedEvent(Object source, UUID globalDoctorId) {
+        super(source);
+        this.globalDoctorId = globalDoctorId;
+        this.tenantId = TenantContextHolder.getCurrentTenant();
+    }
+
+    public UUID getGlobalDoctorId() {
+        return globalDoctorId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
@@ -33,6 +33,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
@@ -51,6 +53,8 @@ import lombok.ToString;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
+@NamedEntityGraph(name = "Doctor.detail", attributeNodes = { @NamedAttributeNode("percentages"),
+		@NamedAttributeNode("branchList") })
 @Table(name = "doctor")
 @EntityListeners(AuditingEntityListener.class)
 @EqualsAndHashCode(callSuper = false, exclude = { "percentages", "branchList" })
@@ -122,7 +126,7 @@ public class Doctor extends Auditable<String> implements Serializable {
 	private District district;
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private List<Percentage> percentages = new ArrayList<Percentage>();
 
 	@ManyToMany
@@ -130,7 +134,7 @@ public class Doctor extends Auditable<String> implements Serializable {
 	private Set<Specialization> specializationList;
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private Set<DoctorBranch> branchList;
 
 	@ManyToMany
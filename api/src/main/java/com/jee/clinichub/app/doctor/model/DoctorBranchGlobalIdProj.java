@@ -0,0 +1,10 @@
+package com.jee.clinichub.app.doctor.model;
+
+import java.util.UUID;
+
+public interface DoctorBranchGlobalIdProj {
+
+    Long getId();
+
+    UUID getGlobalDoctorBranchId();
+}
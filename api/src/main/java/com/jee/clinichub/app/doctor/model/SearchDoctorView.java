@@ -16,4 +16,9 @@ public class SearchDoctorView {
     private Integer[] specializationIds;
     private Integer[] languageIds;
     private String searchText;
+
+    // doctors practising within radiusKm of the point, when all three are set
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
 }
@@ -1,5 +1,6 @@
 package com.jee.clinichub.app.doctor.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.jee.clinichub.app.doctor.model.DoctorBranch;
+import com.jee.clinichub.app.doctor.model.DoctorBranchGlobalIdProj;
 import com.jee.clinichub.app.doctor.model.DoctorBranchProj;
 import com.jee.clinichub.app.doctor.weeklySchedule.model.WeeklySchedule;
 
@@ -19,6 +21,8 @@ public interface DoctorBranchRepo extends JpaRepository<DoctorBranch, Long> {
 
     Optional<DoctorBranch> findByGlobalDoctorBranchId(UUID doctorBranchGlobalId);
 
+    List<DoctorBranchGlobalIdProj> findAllByGlobalDoctorBranchIdIn(Collection<UUID> doctorBranchGlobalIds);
+
     @Query("SELECT DISTINCT d FROM DoctorBranch d " +
             "LEFT JOIN d.doctor.specializationList s " +
             "WHERE (:branchId IS NULL OR d.branch.id = :branchId) " +
@@ -1,6 +1,7 @@
 
 package com.jee.clinichub.app.doctor.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,10 +10,12 @@ import org.checkerframework.checker.units.qual.s;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.jee.clinichub.app.doctor.model.Doctor;
 import com.jee.clinichub.app.doctor.model.DoctorClinicMapProjection;
@@ -26,21 +29,63 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
 	List<DoctorProj> findAllProjectedBy();
 
+	// cached past the session, so whatever the projection reads must be loaded here
 	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@EntityGraph(attributePaths = "branchList")
 	@Query("SELECT DISTINCT d FROM Doctor d " +
 			"JOIN d.branchList bl " +
 			"WHERE (:branchId IS NULL OR bl.branch.id = :branchId)" +
 			"ORDER BY d.id DESC")
 	List<DoctorProj> findAlldoctorByBranch(Long branchId);
 
+	// The paged reads below are cached past the session, so the branches their projection reads are loaded by a
+	// second query for the page's ids; fetching them in the paged query would make Hibernate page in memory.
+
 	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
-	Page<DoctorProj> findPagedProjectedByUser_Branch_idOrderByIdDesc(Long id, Pageable pr);
+	@Transactional(readOnly = true)
+	default Page<DoctorProj> findDoctorsPage(Long branchId, Pageable pr) {
+		return withBranches(findPagedProjectedByUser_Branch_idOrderByIdDesc(branchId, pr));
+	}
+
+	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@Transactional(readOnly = true)
+	default Page<DoctorProj> findDoctorsPage(Pageable pr, Long branchId, String search) {
+		return withBranches(findPagedProjectedByUser_Branch_idAndUser_NameIgnoreCaseContainingOrderByIdDesc(pr,
+				branchId, search));
+	}
 
 	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@Transactional(readOnly = true)
+	default Page<DoctorProj> search(Pageable pr, Long branchId, String value, Boolean external,
+			Long specializationId) {
+		return withBranches(searchPage(pr, branchId, value, external, specializationId));
+	}
+
+	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@Transactional(readOnly = true)
+	default Page<DoctorProj> publicSearch(Pageable pageable, Long specializationId, Long gender, Long languageId,
+			Float expYear) {
+		return withBranches(publicSearchPage(pageable, specializationId, gender, languageId, expYear));
+	}
+
+	// default rather than private, so it is never taken for a query method
+	default Page<DoctorProj> withBranches(Page<DoctorProj> page) {
+		if (page.hasContent()) {
+			findWithBranchesByIdIn(page.map(DoctorProj::getId).getContent());
+		}
+		return page;
+	}
+
+	// loads the branches of doctors already in the session
+	@EntityGraph(attributePaths = "branchList")
+	@Query("SELECT d FROM Doctor d WHERE d.id IN :ids")
+	List<Doctor> findWithBranchesByIdIn(@Param("ids") Collection<Long> ids);
+
+	Page<DoctorProj> findPagedProjectedByUser_Branch_idOrderByIdDesc(Long id, Pageable pr);
+
 	Page<DoctorProj> findPagedProjectedByUser_Branch_idAndUser_NameIgnoreCaseContainingOrderByIdDesc(
 			Pageable pr, Long branchId, String search);
 
-	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
 	@Query("SELECT DISTINCT d FROM Doctor d " +
 			"LEFT JOIN d.specializationList s " +
 			"JOIN d.branchList bl " +
@@ -52,15 +97,16 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 			"AND (:external IS NULL OR d.external = :external) " +
 			"AND (:specializationId IS NULL OR (s.id IS NULL) OR s.id = :specializationId) " +
 			"ORDER BY d.id DESC")
-	Page<DoctorProj> search(Pageable pr,
+	Page<DoctorProj> searchPage(Pageable pr,
 			@Param("branchId") Long branchId,
 			@Param("value") String value,
 			@Param("external") Boolean external,
 			@Param("specializationId") Long specializationId);
 
+	// cached by DoctorController
+	@EntityGraph(attributePaths = "branchList")
 	List<DoctorProj> findAllProjectedByOrderByUser_nameAsc();
 
-	@Cacheable(value = "doctorCache", keyGenerator = "multiTenantCacheKeyGenerator")
 	@Query("SELECT DISTINCT d FROM Doctor d " +
 			"JOIN d.specializationList s " +
 			"JOIN d.languageList l " +
@@ -69,7 +115,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 			"AND (:languageId IS NULL OR l.id = :languageId )" +
 			"AND (:expYear IS NULL OR d.expYear >= :expYear )" +
 			"ORDER BY d.id DESC")
-	Page<DoctorProj> publicSearch(Pageable pageable,
+	Page<DoctorProj> publicSearchPage(Pageable pageable,
 			@Param("specializationId") Long specializationId,
 			@Param("gender") Long gender,
 			@Param("languageId") Long languageId,
@@ -120,6 +166,10 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 			      COALESCE(:languageIds, '{}') = '{}' OR
 			      language_ids && :languageIds
 			  )
+			  AND (
+			      COALESCE(:branchIds, '{}') = '{}' OR
+			      id IN (SELECT db.doctor_id FROM doctor_branch db WHERE db.branch_id = ANY(:branchIds))
+			  )
 			""", countQuery = """
 			SELECT COUNT(*) FROM doctor_branch_map_view
 			WHERE (:searchText IS NULL OR :searchText = '' OR search_vector @@ to_tsquery('simple', regexp_replace(:searchText, '\\s+', ':* & ', 'g') || ':*'))
@@ -134,6 +184,10 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 			      COALESCE(:languageIds, '{}') = '{}' OR
 			      language_ids && :languageIds
 			  )
+			  AND (
+			      COALESCE(:branchIds, '{}') = '{}' OR
+			      id IN (SELECT db.doctor_id FROM doctor_branch db WHERE db.branch_id = ANY(:branchIds))
+			  )
 			""", nativeQuery = true)
 	Page<DoctorClinicMapProjection> filterDoctorPublic(
 			@Param("genderList") List<Integer> genderList,
@@ -142,8 +196,10 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 			@Param("specializationIds") Integer[] specializationIds,
 			@Param("languageIds") Integer[] languageIds,
 			@Param("searchText") String searchText,
+			@Param("branchIds") Long[] branchIds,
 			Pageable pageable);
 
+	@EntityGraph("Doctor.detail")
 	Optional<Doctor> findBySlug(String slug);
 
 	@Query("SELECT DISTINCT d FROM Doctor d " +
@@ -164,6 +220,10 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 	// For admin or restore, allow fetching deleted
 	Optional<Doctor> findById(Long id);
 
+	@EntityGraph("Doctor.detail")
+	@Query("SELECT d FROM Doctor d WHERE d.id = :id")
+	Optional<Doctor> findDetailById(@Param("id") Long id);
+
 	// Add method to find by globalDoctorId for master schema sync
 	Optional<Doctor> findByGlobalDoctorId(UUID globalDoctorId);
 
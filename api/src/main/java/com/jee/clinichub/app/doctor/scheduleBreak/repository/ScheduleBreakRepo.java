@@ -22,5 +22,7 @@ public interface ScheduleBreakRepo  extends JpaRepository<ScheduleBreak,Long>{
 
     List<ScheduleBreak> findAllByDoctorBranch_id(Long drBranchId);
 
+    List<ScheduleBreak> findAllByDoctorBranch_idIn(Collection<Long> drBranchIds);
+
  
 }
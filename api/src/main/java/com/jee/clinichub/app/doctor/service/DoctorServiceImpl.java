@@ -24,6 +24,7 @@ import com.jee.clinichub.app.branch.model.BranchMaster;
 import com.jee.clinichub.app.branch.repository.BranchMasterRepository;
 import com.jee.clinichub.app.branch.repository.BranchRepository;
 import com.jee.clinichub.app.core.files.CDNProviderService;
+import com.jee.clinichub.app.core.location.BranchLocationIndex;
 import com.jee.clinichub.app.core.model.Search;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
@@ -84,6 +85,7 @@ public class DoctorServiceImpl implements DoctorService {
 	private final DoctorBranchRepo doctorBranchRepo;
 
 	private final CDNProviderService cdnProviderService;
+	private final BranchLocationIndex branchLocationIndex;
 
 	@Value("${upload.root.folder}")
 	private String TENANT_ROOT;
@@ -157,7 +159,7 @@ public class DoctorServiceImpl implements DoctorService {
 					user.setBranch(branch);
 
 					doctor.setUser(user);
-					nextSequense = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+					nextSequense = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 					doctor.setUid(nextSequense);
 				} else {
 
@@ -166,7 +168,7 @@ public class DoctorServiceImpl implements DoctorService {
 
 					doctor = new Doctor(doctorDto);
 
-					nextSequense = sequenceService.getNextSequense(BranchContextHolder.getCurrentBranch().getId(),
+					nextSequense = sequenceService.allocateSequense(BranchContextHolder.getCurrentBranch().getId(),
 							module.getId());
 					doctor.setUid(nextSequense);
 				}
@@ -184,16 +186,6 @@ public class DoctorServiceImpl implements DoctorService {
 
 			doctorRepository.save(doctor);
 
-			if (doctorDto.getId() == null) {
-				if (!doctorDto.isExternal()) {
-					boolean status = sequenceService.incrementSequense(BranchContextHolder.getCurrentBranch().getId(),
-							module.getId(), nextSequense);
-				} else {
-					boolean status = sequenceService.incrementSequense(BranchContextHolder.getCurrentBranch().getId(),
-							module.getId(), nextSequense);
-				}
-			}
-
 		 String currentTenant = TenantContextHolder.getCurrentTenant();
 		 if((!currentTenant.equals(defaultTenant) && doctor.isPublishedOnline())){
 			TenantContextHolder.setCurrentTenant(defaultTenant);
@@ -307,7 +299,7 @@ public class DoctorServiceImpl implements DoctorService {
 	public DoctorDto getById(Long id) {
 		DoctorDto doctorDto = new DoctorDto();
 		try {
-			Optional<Doctor> doctor = doctorRepository.findById(id);
+			Optional<Doctor> doctor = doctorRepository.findDetailById(id);
 			if (doctor.isPresent()) {
 				doctorDto = new DoctorDto(doctor.get());
 			}
@@ -381,10 +373,9 @@ public class DoctorServiceImpl implements DoctorService {
 		Branch branch = BranchContextHolder.getCurrentBranch();
 		Pageable pr = PageRequest.of(page, size);
 		if (search == null) {
-			return doctorRepository.findPagedProjectedByUser_Branch_idOrderByIdDesc(branch.getId(), pr);
+			return doctorRepository.findDoctorsPage(branch.getId(), pr);
 		}
-		return doctorRepository.findPagedProjectedByUser_Branch_idAndUser_NameIgnoreCaseContainingOrderByIdDesc(
-				pr, branch.getId(), search);
+		return doctorRepository.findDoctorsPage(pr, branch.getId(), search);
 
 	}
 
@@ -459,7 +450,7 @@ public class DoctorServiceImpl implements DoctorService {
 			user.setDoctor(doctor);
 
 			doctor.setUser(user);
-			nextSequense = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+			nextSequense = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 			doctor.setUid(nextSequense);
 
 			if (doctorDto.getTenantRequest() != null
@@ -473,8 +464,6 @@ public class DoctorServiceImpl implements DoctorService {
 
 			doctorRepository.save(doctor);
 
-			boolean status = sequenceService.incrementSequense(branch.getId(),
-					module.getId(), nextSequense);
 
 			if (branches != null && branches.size() > 0) {
 				for (DoctorBranch drBranch : branches) {
@@ -529,6 +518,15 @@ public class DoctorServiceImpl implements DoctorService {
 				? new ArrayList<Integer>()
 				: search.getGenders();
 
+		Long[] branchIds = null;
+		if (search.getLatitude() != null && search.getLongitude() != null && search.getRadiusKm() != null) {
+			branchIds = branchLocationIndex.within(search.getLatitude(), search.getLongitude(), search.getRadiusKm())
+					.stream().map(hit -> hit.id()).toArray(Long[]::new);
+			if (branchIds.length == 0) {
+				return Page.empty(pageable);
+			}
+		}
+
 		Page<DoctorClinicMapProjection> x = doctorRepository.filterDoctorPublic(
 				genders,
 				search.getMinExp() != null ? search.getMinExp() : null,
@@ -536,6 +534,7 @@ public class DoctorServiceImpl implements DoctorService {
 				search.getSpecializationIds(),
 				search.getLanguageIds(),
 				search.getSearchText() != null ? search.getSearchText() : null,
+				branchIds,
 				pageable);
 		return x;
 	}
@@ -8,6 +8,7 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.service.BranchService;
+import com.jee.clinichub.app.doctor.event.DoctorChangedEvent;
 import com.jee.clinichub.app.doctor.model.Doctor;
 import com.jee.clinichub.app.doctor.model.DoctorBranch;
 import com.jee.clinichub.app.doctor.model.DoctorDto;
@@ -34,6 +36,7 @@ public class DoctorSyncService {
 
     private final DoctorRepository doctorRepository;
     private final BranchService branchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private DoctorService doctorService;
 
@@ -107,6 +110,7 @@ public class DoctorSyncService {
             }
 
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(new DoctorChangedEvent(this, doctorDto.getGlobalDoctorId()));
             log.info("Successfully synced doctor to master schema. GlobalDoctorId: {}", doctorDto.getGlobalDoctorId());
 
         } catch (Exception e) {
@@ -253,6 +257,7 @@ public class DoctorSyncService {
             doctor.setBranchList(listOfdrbranch);
 
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(new DoctorChangedEvent(this, doctorDto.getGlobalDoctorId()));
             log.info("Successfully synced doctor to master schema. GlobalDoctorId: {}", doctorDto.getGlobalDoctorId());
 
         } catch (Exception e) {
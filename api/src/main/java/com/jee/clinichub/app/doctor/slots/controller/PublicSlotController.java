@@ -1,9 +1,12 @@
 package com.jee.clinichub.app.doctor.slots.controller;
 
 import java.util.List;
+import java.util.UUID;
 
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,7 +14,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.jee.clinichub.app.doctor.slots.model.SlotDto;
 import com.jee.clinichub.app.doctor.slots.model.SlotHandler;
+import com.jee.clinichub.app.doctor.slots.model.SlotHold;
+import com.jee.clinichub.app.doctor.slots.service.SlotHoldLimiter;
+import com.jee.clinichub.app.doctor.slots.service.SlotReservationService;
 import com.jee.clinichub.app.doctor.slots.service.SlotService;
+import com.jee.clinichub.global.exception.SlotUnavailableException;
 import com.jee.clinichub.global.model.Status;
 
 import lombok.AllArgsConstructor;
@@ -23,6 +30,8 @@ import lombok.AllArgsConstructor;
 public class PublicSlotController {
 
     private final SlotService slotService;
+    private final SlotReservationService slotReservationService;
+    private final SlotHoldLimiter slotHoldLimiter;
 
         @GetMapping("/list")
     public List<SlotDto> getAllSlots() {
@@ -41,6 +50,21 @@ public class PublicSlotController {
         return slotService.getFilteredSlots(slotHandler);
     }
 
+    @PostMapping("/hold/{slotId}")
+    public SlotHold holdSlot(@PathVariable Long slotId) {
+        return slotHoldLimiter.hold(() -> slotReservationService.hold(slotId))
+                .orElseThrow(() -> new SlotUnavailableException("Slot is fully booked"));
+    }
+
+    @DeleteMapping("/hold/{holdToken}")
+    public Status releaseHold(@PathVariable UUID holdToken) {
+        boolean released = slotReservationService.release(holdToken);
+        if (released) {
+            slotHoldLimiter.released(holdToken);
+        }
+        return new Status(released, released ? "Hold released" : "Hold not found or already used");
+    }
+
     
 
 } 
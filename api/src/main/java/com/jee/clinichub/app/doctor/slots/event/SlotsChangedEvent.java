@@ -0,0 +1,23 @@
+package com.jee.clinichub.app.doctor.slots.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+/**
+ * Slots were created, removed or had their free capacity changed.
+ */
+public class SlotsChangedEvent extends ApplicationEvent {
+
+    // schema the change was written to, captured before the writer restores its tenant context
+    private final String tenantId;
+
+    public SlotsChangedEvent(Object source) {
+        super(source);
+        this.tenantId = TenantContextHolder.getCurrentTenant();
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.jee.clinichub.app.doctor.slots.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * One unit of a slot's capacity set aside for a booking that is still being filled in.
+ * Pass the token with the booking to use it; it is given back automatically after {@code expiresTime}.
+ */
+public record SlotHold(UUID holdToken, Long slotId, Date expiresTime) {
+}
@@ -0,0 +1,26 @@
+package com.jee.clinichub.app.doctor.slots.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Natural key of a doctor slot, matching the uq_slot constraint
+ * (doctor_branch_id, date, start_time, end_time).
+ */
+public record SlotKey(Long doctorBranchId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+    // used by JPQL constructor expressions, where the date column comes back as java.util.Date
+    public SlotKey(Long doctorBranchId, Date date, LocalTime startTime, LocalTime endTime) {
+        this(doctorBranchId, toLocalDate(date), startTime, endTime);
+    }
+
+    public static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
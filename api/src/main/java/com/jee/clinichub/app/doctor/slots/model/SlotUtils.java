@@ -10,18 +10,27 @@ public class SlotUtils {
     }
 
     public static LocalTime getExpectedAppointmentTime(Slot slot) {
-    int serial = getPatientSerial(slot);
-
-    double durationPerPatient;
+        return getExpectedAppointmentTime(slot, getPatientSerial(slot));
+    }
 
-    if (slot.getDuration() != null && slot.getTotalSlots() > 0) {
-        durationPerPatient = slot.getDuration() / (double) slot.getTotalSlots();
-    } else {
-        long totalMinutes = ChronoUnit.MINUTES.between(slot.getStartTime(), slot.getEndTime());
-        durationPerPatient = (double) totalMinutes / slot.getTotalSlots();
+    /**
+     * Expected time for a booking whose unit of capacity has already been taken from the slot.
+     */
+    public static LocalTime getReservedAppointmentTime(Slot slot) {
+        return getExpectedAppointmentTime(slot, getPatientSerial(slot) - 1);
     }
 
-    long offsetMinutes = Math.round((serial - 1) * durationPerPatient);
-    return slot.getStartTime().plusMinutes(offsetMinutes);
+    private static LocalTime getExpectedAppointmentTime(Slot slot, int serial) {
+        double durationPerPatient;
+
+        if (slot.getDuration() != null && slot.getTotalSlots() > 0) {
+            durationPerPatient = slot.getDuration() / (double) slot.getTotalSlots();
+        } else {
+            long totalMinutes = ChronoUnit.MINUTES.between(slot.getStartTime(), slot.getEndTime());
+            durationPerPatient = (double) totalMinutes / slot.getTotalSlots();
+        }
+
+        long offsetMinutes = Math.round((serial - 1) * durationPerPatient);
+        return slot.getStartTime().plusMinutes(offsetMinutes);
     }
 }
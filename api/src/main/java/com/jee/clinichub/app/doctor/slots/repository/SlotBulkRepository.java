@@ -0,0 +1,32 @@
+package com.jee.clinichub.app.doctor.slots.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.jee.clinichub.app.doctor.slots.model.Slot;
+
+public interface SlotBulkRepository {
+
+    /**
+     * Inserts the slots with batched statements, silently skipping any slot whose
+     * natural key already exists. Returns the number of rows actually inserted.
+     */
+    int insertIgnoringExisting(List<Slot> slots);
+
+    /**
+     * Inserts or updates the slots by global slot id in batched chunks. Rows whose date, time,
+     * availability and status are unchanged are left untouched. A chunk that fails (for example on
+     * the natural key of another slot) is retried row by row so one bad slot does not drop the rest.
+     */
+    UpsertResult upsertByGlobalSlotId(List<Slot> slots, int chunkSize);
+
+    /**
+     * Rows inserted or changed, and the global ids of rows that could not be written at all.
+     */
+    record UpsertResult(int written, List<UUID> failedGlobalSlotIds) {
+
+        public int failed() {
+            return failedGlobalSlotIds.size();
+        }
+    }
+}
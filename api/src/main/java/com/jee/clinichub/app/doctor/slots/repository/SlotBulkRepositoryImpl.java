@@ -0,0 +1,166 @@
+package com.jee.clinichub.app.doctor.slots.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Session;
+
+import com.jee.clinichub.app.doctor.slots.model.Slot;
+import com.jee.clinichub.app.doctor.slots.model.SlotKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Slot uses IDENTITY ids, which stops Hibernate from batching inserts, so bulk writes
+ * go through plain JDBC batches on the session's (tenant) connection instead.
+ */
+@Log4j2
+public class SlotBulkRepositoryImpl implements SlotBulkRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS = "doctor_branch_id, date, start_time, end_time, duration, slot_type, "
+            + "available_slots, total_slots, status, global_slot_id, created_by, created_time, modified_by, modified_time";
+
+    private static final String INSERT_SQL = "INSERT INTO doctor_slot (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (doctor_branch_id, date, start_time, end_time) DO NOTHING";
+
+    private static final String UPSERT_SQL = "INSERT INTO doctor_slot (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (global_slot_id) DO UPDATE SET "
+            + "doctor_branch_id = EXCLUDED.doctor_branch_id, date = EXCLUDED.date, start_time = EXCLUDED.start_time, "
+            + "end_time = EXCLUDED.end_time, duration = EXCLUDED.duration, slot_type = EXCLUDED.slot_type, "
+            + "available_slots = EXCLUDED.available_slots, total_slots = EXCLUDED.total_slots, status = EXCLUDED.status, "
+            + "modified_by = EXCLUDED.modified_by, modified_time = EXCLUDED.modified_time "
+            + "WHERE (doctor_slot.doctor_branch_id, doctor_slot.date, doctor_slot.start_time, doctor_slot.end_time, "
+            + "doctor_slot.available_slots, doctor_slot.total_slots, doctor_slot.status) IS DISTINCT FROM "
+            + "(EXCLUDED.doctor_branch_id, EXCLUDED.date, EXCLUDED.start_time, EXCLUDED.end_time, "
+            + "EXCLUDED.available_slots, EXCLUDED.total_slots, EXCLUDED.status)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIgnoringExisting(List<Slot> slots) {
+        if (slots.isEmpty()) {
+            return 0;
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int inserted = 0;
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                int pending = 0;
+                for (Slot slot : slots) {
+                    bind(ps, slot, now);
+                    ps.addBatch();
+
+                    if (++pending == BATCH_SIZE) {
+                        inserted += countWritten(ps.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    inserted += countWritten(ps.executeBatch());
+                }
+            }
+            return inserted;
+        });
+    }
+
+    @Override
+    public UpsertResult upsertByGlobalSlotId(List<Slot> slots, int chunkSize) {
+        if (slots.isEmpty()) {
+            return new UpsertResult(0, List.of());
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int written = 0;
+            List<UUID> failed = new ArrayList<>();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                for (int from = 0; from < slots.size(); from += chunkSize) {
+                    List<Slot> chunk = slots.subList(from, Math.min(from + chunkSize, slots.size()));
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        for (Slot slot : chunk) {
+                            bind(ps, slot, now);
+                            ps.addBatch();
+                        }
+                        written += countWritten(ps.executeBatch());
+                        connection.releaseSavepoint(savepoint);
+                    } catch (SQLException e) {
+                        ps.clearBatch();
+                        connection.rollback(savepoint);
+                        log.warn("Slot upsert chunk of {} failed ({}), retrying row by row", chunk.size(), e.getMessage());
+                        UpsertResult retried = upsertRowByRow(connection, ps, chunk, now);
+                        written += retried.written();
+                        failed.addAll(retried.failedGlobalSlotIds());
+                    }
+                }
+            }
+            return new UpsertResult(written, failed);
+        });
+    }
+
+    private UpsertResult upsertRowByRow(Connection connection, PreparedStatement ps, List<Slot> chunk, Timestamp now)
+            throws SQLException {
+        int written = 0;
+        List<UUID> failed = new ArrayList<>();
+        for (Slot slot : chunk) {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                bind(ps, slot, now);
+                written += ps.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                failed.add(slot.getGlobalSlotId());
+                log.error("❌ Error upserting slot: GlobalSlotId={} | Reason={}", slot.getGlobalSlotId(), e.getMessage());
+            }
+        }
+        return new UpsertResult(written, failed);
+    }
+
+    private static void bind(PreparedStatement ps, Slot slot, Timestamp now) throws SQLException {
+        if (slot.getGlobalSlotId() == null) {
+            slot.setGlobalSlotId(UUID.randomUUID());
+        }
+        String createdBy = slot.getCreatedBy() != null ? slot.getCreatedBy() : "admin";
+        ps.setLong(1, slot.getDoctorBranch().getId());
+        ps.setDate(2, java.sql.Date.valueOf(SlotKey.toLocalDate(slot.getDate())));
+        ps.setObject(3, slot.getStartTime());
+        ps.setObject(4, slot.getEndTime());
+        ps.setObject(5, slot.getDuration());
+        ps.setString(6, slot.getSlotType() != null ? slot.getSlotType().name() : null);
+        ps.setInt(7, slot.getAvailableSlots());
+        ps.setInt(8, slot.getTotalSlots());
+        ps.setString(9, slot.getStatus() != null ? slot.getStatus().name() : null);
+        ps.setObject(10, slot.getGlobalSlotId());
+        ps.setString(11, createdBy);
+        ps.setTimestamp(12, now);
+        ps.setString(13, createdBy);
+        ps.setTimestamp(14, now);
+    }
+
+    private static int countWritten(int[] results) {
+        int count = 0;
+        for (int result : results) {
+            // drivers that rewrite batches report SUCCESS_NO_INFO instead of a row count
+            if (result > 0) {
+                count += result;
+            } else if (result == Statement.SUCCESS_NO_INFO) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
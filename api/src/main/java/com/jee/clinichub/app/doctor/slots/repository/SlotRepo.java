@@ -9,17 +9,20 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jee.clinichub.app.doctor.slots.model.Slot;
+import com.jee.clinichub.app.doctor.slots.model.SlotKey;
 import com.jee.clinichub.app.doctor.slots.model.SlotProj;
 import com.jee.clinichub.app.doctor.slots.model.SlotStatus;
 
 @Repository
-public interface SlotRepo extends JpaRepository<Slot, Long> {
+public interface SlotRepo extends JpaRepository<Slot, Long>, SlotBulkRepository, SlotReservationRepository {
 
     @Query("SELECT s FROM Slot s WHERE s.doctorBranch.doctor.id = :doctorId AND s.doctorBranch.branch.id = :branchId AND s.date = :date")
     List<SlotProj> getFilteredSlots(Long doctorId, Long branchId, String date);
@@ -63,4 +66,25 @@ public interface SlotRepo extends JpaRepository<Slot, Long> {
     List<Slot> findAllByDateBetween(Date start, Date end);
 
 	Optional<Slot> findByGlobalSlotId(UUID globalSlotId);
+
+	@Query("SELECT new com.jee.clinichub.app.doctor.slots.model.SlotKey(s.doctorBranch.id, s.date, s.startTime, s.endTime) "
+			+ "FROM Slot s WHERE s.doctorBranch.id IN :doctorBranchIds AND s.date BETWEEN :startDate AND :endDate")
+	List<SlotKey> findSlotKeys(@Param("doctorBranchIds") Collection<Long> doctorBranchIds,
+			@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+	/**
+	 * Slots in the window that changed since {@code modifiedAfter}, plus every slot dated on or after
+	 * {@code newlyInWindowFrom} (days that were outside the window on the previous sync).
+	 */
+	@Query("SELECT s FROM Slot s JOIN FETCH s.doctorBranch WHERE s.date BETWEEN :startDate AND :endDate "
+			+ "AND (s.modifiedTime > :modifiedAfter OR s.date >= :newlyInWindowFrom)")
+	List<Slot> findChangedInRange(@Param("startDate") Date startDate, @Param("endDate") Date endDate,
+			@Param("modifiedAfter") Date modifiedAfter, @Param("newlyInWindowFrom") Date newlyInWindowFrom);
+
+	@EntityGraph(attributePaths = "doctorBranch")
+	List<Slot> findAllWithDoctorBranchByGlobalSlotIdIn(Collection<UUID> globalSlotIds);
+
+	@Modifying
+	@Query("DELETE FROM Slot s WHERE s.globalSlotId IN :globalSlotIds")
+	int deleteAllByGlobalSlotIdIn(@Param("globalSlotIds") Collection<UUID> globalSlotIds);
 }
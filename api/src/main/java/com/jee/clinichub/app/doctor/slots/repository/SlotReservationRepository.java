@@ -0,0 +1,39 @@
+package com.jee.clinichub.app.doctor.slots.repository;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public interface SlotReservationRepository {
+
+    /**
+     * Takes one unit of capacity with a single conditional UPDATE. Returns false when the slot
+     * is full or does not exist; available_slots never goes below zero.
+     */
+    boolean decrementAvailable(Long slotId);
+
+    /**
+     * Gives one unit of capacity back, never above total_slots.
+     */
+    boolean incrementAvailable(Long slotId);
+
+    /**
+     * Takes one unit of capacity and records it as a hold expiring after {@code ttl}, in one statement.
+     * Returns false when the slot is full.
+     */
+    boolean insertHold(UUID holdToken, Long slotId, Duration ttl);
+
+    /**
+     * Deletes the hold on the given slot and keeps its capacity consumed. Returns false if no such hold exists.
+     */
+    boolean deleteHold(UUID holdToken, Long slotId);
+
+    /**
+     * Deletes the hold and gives its capacity back. Returns false if the hold no longer exists.
+     */
+    boolean deleteHoldReturningCapacity(UUID holdToken);
+
+    /**
+     * Deletes every expired hold and gives its capacity back. Returns the number of slots updated.
+     */
+    int expireHolds();
+}
@@ -0,0 +1,126 @@
+package com.jee.clinichub.app.doctor.slots.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Capacity changes are single conditional statements, so concurrent bookings are arbitrated by the
+ * row update itself instead of a read-check-write in Java. The row lock is only held until the
+ * surrounding (short) transaction commits.
+ */
+public class SlotReservationRepositoryImpl implements SlotReservationRepository {
+
+    static final String DECREMENT_SQL = "UPDATE doctor_slot SET available_slots = available_slots - 1, "
+            + "status = CASE WHEN available_slots = 1 AND status = 'AVAILABLE' THEN 'BOOKED' ELSE status END, "
+            + "modified_time = now() WHERE id = ? AND available_slots > 0";
+
+    private static final String GIVE_BACK = "available_slots = LEAST(s.available_slots + %s, s.total_slots), "
+            + "status = CASE WHEN s.status = 'BOOKED' THEN 'AVAILABLE' ELSE s.status END, modified_time = now()";
+
+    static final String INCREMENT_SQL = "UPDATE doctor_slot s SET " + String.format(GIVE_BACK, "1") + " WHERE s.id = ?";
+
+    static final String INSERT_HOLD_SQL = "WITH taken AS (" + DECREMENT_SQL + " RETURNING id) "
+            + "INSERT INTO slot_hold (hold_token, slot_id, expires_time) "
+            + "SELECT ?, id, now() + ? * INTERVAL '1 second' FROM taken";
+
+    static final String DELETE_HOLD_SQL = "DELETE FROM slot_hold WHERE hold_token = ? AND slot_id = ?";
+
+    static final String RELEASE_HOLD_SQL = "WITH released AS (DELETE FROM slot_hold WHERE hold_token = ? RETURNING slot_id) "
+            + "UPDATE doctor_slot s SET " + String.format(GIVE_BACK, "1") + " FROM released r WHERE s.id = r.slot_id";
+
+    static final String EXPIRE_HOLDS_SQL = "WITH expired AS (DELETE FROM slot_hold WHERE expires_time < now() RETURNING slot_id), "
+            + "counts AS (SELECT slot_id, count(*) AS n FROM expired GROUP BY slot_id) "
+            + "UPDATE doctor_slot s SET " + String.format(GIVE_BACK, "c.n") + " FROM counts c WHERE s.id = c.slot_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean decrementAvailable(Long slotId) {
+        return work(connection -> decrementAvailable(connection, slotId));
+    }
+
+    @Override
+    public boolean incrementAvailable(Long slotId) {
+        return work(connection -> incrementAvailable(connection, slotId));
+    }
+
+    @Override
+    public boolean insertHold(UUID holdToken, Long slotId, Duration ttl) {
+        return work(connection -> insertHold(connection, holdToken, slotId, ttl));
+    }
+
+    @Override
+    public boolean deleteHold(UUID holdToken, Long slotId) {
+        return work(connection -> deleteHold(connection, holdToken, slotId));
+    }
+
+    @Override
+    public boolean deleteHoldReturningCapacity(UUID holdToken) {
+        return work(connection -> deleteHoldReturningCapacity(connection, holdToken));
+    }
+
+    @Override
+    public int expireHolds() {
+        return entityManager.unwrap(Session.class).doReturningWork(SlotReservationRepositoryImpl::expireHolds);
+    }
+
+    static boolean decrementAvailable(Connection connection, Long slotId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DECREMENT_SQL)) {
+            ps.setLong(1, slotId);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    static boolean incrementAvailable(Connection connection, Long slotId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INCREMENT_SQL)) {
+            ps.setLong(1, slotId);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    static boolean insertHold(Connection connection, UUID holdToken, Long slotId, Duration ttl) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_HOLD_SQL)) {
+            ps.setLong(1, slotId);
+            ps.setObject(2, holdToken);
+            ps.setLong(3, ttl.toSeconds());
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    static boolean deleteHold(Connection connection, UUID holdToken, Long slotId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_HOLD_SQL)) {
+            ps.setObject(1, holdToken);
+            ps.setLong(2, slotId);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    static boolean deleteHoldReturningCapacity(Connection connection, UUID holdToken) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(RELEASE_HOLD_SQL)) {
+            ps.setObject(1, holdToken);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    static int expireHolds(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(EXPIRE_HOLDS_SQL)) {
+            return ps.executeUpdate();
+        }
+    }
+
+    private boolean work(ReturningWork<Boolean> work) {
+        // pending entity changes to the slot must reach the database before the statement reads the row
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(work);
+    }
+}
@@ -2,19 +2,29 @@ package com.jee.clinichub.app.doctor.slots.service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jee.clinichub.app.core.sync.model.SyncWatermark;
+import com.jee.clinichub.app.core.sync.repository.SyncWatermarkRepository;
 import com.jee.clinichub.app.doctor.model.DoctorBranch;
+import com.jee.clinichub.app.doctor.model.DoctorBranchGlobalIdProj;
 import com.jee.clinichub.app.doctor.repository.DoctorBranchRepo;
 import com.jee.clinichub.app.doctor.service.DoctorService;
+import com.jee.clinichub.app.doctor.slots.event.SlotsChangedEvent;
 import com.jee.clinichub.app.doctor.slots.model.Slot;
+import com.jee.clinichub.app.doctor.slots.repository.SlotBulkRepository.UpsertResult;
 import com.jee.clinichub.app.doctor.slots.repository.SlotRepo;
 
 import jakarta.persistence.EntityManager;
@@ -27,89 +37,130 @@ import lombok.extern.log4j.Log4j2;
 @RequiredArgsConstructor
 public class DoctorSlotSyncService {
 
+    public static final String SLOT_SYNC_NAME = "slot";
+
     private final DoctorService doctorService;
     private final SlotRepo slotRepo;
     private final DoctorBranchRepo doctorBranchRepo;
 
+    private final SyncWatermarkRepository watermarkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
     @Value("${app.default-tenant}")
     private String defaultTenant;
 
+    @Value("${app.sync.slot.chunk-size:1000}")
+    private int chunkSize;
+
     @PersistenceContext
     private EntityManager entityManager;
     
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void syncSlotsToMaster(List<Slot> tenantSlots) {
-        log.info("🔄 Starting slot sync to master. Total slots to process: {}", 
-                tenantSlots != null ? tenantSlots.size() : 0);
+    /**
+     * Last time the given tenant's slots were fully synced to master, or null if they never were.
+     * The watermark lives in the master schema, so this works from any tenant session.
+     */
+    @Transactional(readOnly = true)
+    public Date getLastSyncedTime(String clientId) {
+        return watermarkRepository.findBySyncNameAndClientId(SLOT_SYNC_NAME, clientId)
+                .map(SyncWatermark::getLastSyncedTime)
+                .orElse(null);
+    }
 
-        if (tenantSlots == null || tenantSlots.isEmpty()) {
-            log.warn("⚠️ No slots received for sync. Skipping process.");
-            return;
+    /**
+     * Upserts the tenant's slots into master by global slot id and, when every row made it,
+     * moves the tenant's watermark to {@code syncStartedAt} in the same transaction. The next run reads from
+     * {@code app.sync.slot.overlap-seconds} before the watermark, for changes that were not yet committed when
+     * this run read. Returns the number of slots that could not be written. Must be called with the master tenant
+     * context.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int syncSlotsToMaster(String clientId, List<Slot> tenantSlots, Date syncStartedAt) {
+        log.info("🔄 [Client: {}] Starting slot sync to master. Total slots to process: {}", clientId, tenantSlots.size());
+
+        List<UUID> failed = upsert(clientId, tenantSlots);
+
+        if (failed.isEmpty()) {
+            SyncWatermark watermark = watermarkRepository.findBySyncNameAndClientId(SLOT_SYNC_NAME, clientId)
+                    .orElseGet(() -> new SyncWatermark(SLOT_SYNC_NAME, clientId));
+            watermark.setLastSyncedTime(syncStartedAt);
+            watermarkRepository.save(watermark);
+        } else {
+            // keep the old watermark so the next run picks these rows up again; unchanged rows cost nothing
+            log.warn("⚠️ [Client: {}] {} slot(s) could not be synced, watermark not advanced", clientId, failed.size());
         }
+        return failed.size();
+    }
 
-        List<Slot> toInsert = new ArrayList<>();
-        List<Slot> toUpdate = new ArrayList<>();
+    /**
+     * Upserts the given tenant slots into master and returns the global ids of the slots that could not be written.
+     * Must be called with the master tenant context.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<UUID> upsertSlotsToMaster(String clientId, List<Slot> tenantSlots) {
+        return upsert(clientId, tenantSlots);
+    }
 
-        try {
-            for (Slot tenantSlot : tenantSlots) {
-                try {
-                    log.debug("📌 Processing tenant slot: GlobalSlotId={}, Date={}, Time={} - {}",
-                            tenantSlot.getGlobalSlotId(),
-                            tenantSlot.getDate(),
-                            tenantSlot.getStartTime(),
-                            tenantSlot.getEndTime());
-
-                    UUID globalDoctorBranchId = tenantSlot.getDoctorBranch().getGlobalDoctorBranchId();
-                    DoctorBranch masterDoctorBranch = doctorBranchRepo
-                            .findByGlobalDoctorBranchId(globalDoctorBranchId)
-                            .orElseThrow(() -> new IllegalStateException(
-                                    "No DoctorBranch found in master for GlobalDoctorBranchId: " + globalDoctorBranchId));
-
-                    Optional<Slot> existing = slotRepo.findByGlobalSlotId(tenantSlot.getGlobalSlotId());
-
-                    if (existing.isPresent()) {
-                        // Update
-                        Slot masterSlot = existing.get();
-                        masterSlot.setDate(tenantSlot.getDate());
-                        masterSlot.setStartTime(tenantSlot.getStartTime());
-                        masterSlot.setEndTime(tenantSlot.getEndTime());
-                        masterSlot.setAvailableSlots(tenantSlot.getAvailableSlots());
-                        masterSlot.setStatus(tenantSlot.getStatus());
-                        masterSlot.setSlotType(tenantSlot.getSlotType());
-                        masterSlot.setDuration(tenantSlot.getDuration());
-                        masterSlot.setDoctorBranch(masterDoctorBranch); // ✅ Always set master branch
-                        slotRepo.save(masterSlot);
-
-                        toUpdate.add(masterSlot);
-                        log.debug("✏️ Updated slot in master: GlobalSlotId={}", tenantSlot.getGlobalSlotId());
-                    } else {
-                        // Insert
-                        Slot newSlot = new Slot();
-                        newSlot.setGlobalSlotId(tenantSlot.getGlobalSlotId());
-                        newSlot.setDate(tenantSlot.getDate());
-                        newSlot.setStartTime(tenantSlot.getStartTime());
-                        newSlot.setEndTime(tenantSlot.getEndTime());
-                        newSlot.setAvailableSlots(tenantSlot.getAvailableSlots());
-                        newSlot.setStatus(tenantSlot.getStatus());
-                        newSlot.setSlotType(tenantSlot.getSlotType());
-                        newSlot.setDuration(tenantSlot.getDuration());
-                        newSlot.setDoctorBranch(masterDoctorBranch); // ✅ Set branch here too
-                        slotRepo.save(newSlot);
-
-                        toInsert.add(newSlot);
-                        log.debug("➕ Inserted new slot in master: GlobalSlotId={}", tenantSlot.getGlobalSlotId());
-                    }
-
-                } catch (Exception e) {
-                    log.error("❌ Error processing slot: GlobalSlotId={} | Reason={}", tenantSlot != null ? tenantSlot.getGlobalSlotId() : "null", e.getMessage(), e);
-                }
+    /**
+     * Removes slots that were deleted in the tenant schema. Must be called with the master tenant context.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteSlotsFromMaster(Collection<UUID> globalSlotIds) {
+        int deleted = globalSlotIds.isEmpty() ? 0 : slotRepo.deleteAllByGlobalSlotIdIn(globalSlotIds);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new SlotsChangedEvent(this));
+        }
+        return deleted;
+    }
+
+    private List<UUID> upsert(String clientId, List<Slot> tenantSlots) {
+        Set<UUID> globalDoctorBranchIds = tenantSlots.stream()
+                .map(s -> s.getDoctorBranch().getGlobalDoctorBranchId())
+                .collect(Collectors.toSet());
+        Map<UUID, Long> masterDoctorBranchIds = globalDoctorBranchIds.isEmpty() ? Map.of()
+                : doctorBranchRepo.findAllByGlobalDoctorBranchIdIn(globalDoctorBranchIds).stream()
+                        .collect(Collectors.toMap(DoctorBranchGlobalIdProj::getGlobalDoctorBranchId,
+                                DoctorBranchGlobalIdProj::getId, (a, b) -> a));
+
+        List<Slot> masterSlots = new ArrayList<>(tenantSlots.size());
+        List<UUID> failed = new ArrayList<>();
+        for (Slot tenantSlot : tenantSlots) {
+            Long masterDoctorBranchId = masterDoctorBranchIds.get(tenantSlot.getDoctorBranch().getGlobalDoctorBranchId());
+            if (masterDoctorBranchId == null) {
+                failed.add(tenantSlot.getGlobalSlotId());
+                log.error("❌ No DoctorBranch found in master for GlobalDoctorBranchId: {} (GlobalSlotId={})",
+                        tenantSlot.getDoctorBranch().getGlobalDoctorBranchId(), tenantSlot.getGlobalSlotId());
+                continue;
             }
+            masterSlots.add(toMasterSlot(tenantSlot, masterDoctorBranchId));
+        }
 
-            log.info("✅ [Client: {}] Slot sync complete. Inserted: {} | Updated: {}", "Master", toInsert.size(), toUpdate.size());
-        } catch (Exception e) {
-            log.error("💥 Critical failure in slot sync to master. Reason={}", e.getMessage(), e);
+        UpsertResult result = slotRepo.upsertByGlobalSlotId(masterSlots, chunkSize);
+        failed.addAll(result.failedGlobalSlotIds());
+        if (result.written() > 0) {
+            eventPublisher.publishEvent(new SlotsChangedEvent(this));
         }
+
+        log.info("✅ [Client: {}] Slot sync complete. Received: {} | Written: {} | Unchanged: {} | Failed: {}",
+                clientId, tenantSlots.size(), result.written(),
+                masterSlots.size() - result.written() - result.failed(), failed.size());
+        return failed;
+    }
+
+    private Slot toMasterSlot(Slot tenantSlot, Long masterDoctorBranchId) {
+        Slot masterSlot = new Slot();
+        masterSlot.setGlobalSlotId(tenantSlot.getGlobalSlotId());
+        masterSlot.setDate(tenantSlot.getDate());
+        masterSlot.setStartTime(tenantSlot.getStartTime());
+        masterSlot.setEndTime(tenantSlot.getEndTime());
+        masterSlot.setAvailableSlots(tenantSlot.getAvailableSlots());
+        masterSlot.setTotalSlots(tenantSlot.getTotalSlots());
+        masterSlot.setStatus(tenantSlot.getStatus());
+        masterSlot.setSlotType(tenantSlot.getSlotType());
+        masterSlot.setDuration(tenantSlot.getDuration());
+        masterSlot.setCreatedBy(tenantSlot.getCreatedBy());
+        masterSlot.setDoctorBranch(entityManager.getReference(DoctorBranch.class, masterDoctorBranchId));
+        return masterSlot;
     }
 
 
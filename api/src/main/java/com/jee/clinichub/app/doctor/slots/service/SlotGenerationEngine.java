@@ -0,0 +1,217 @@
+package com.jee.clinichub.app.doctor.slots.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.admin.clinic.clinicHoliday.model.ClinicHoliday;
+import com.jee.clinichub.app.admin.clinic.clinicHoliday.repository.ClinicHolidayRepo;
+import com.jee.clinichub.app.doctor.doctorLeave.model.DoctorLeave;
+import com.jee.clinichub.app.doctor.doctorLeave.repository.DoctorLeaveRepo;
+import com.jee.clinichub.app.doctor.model.DoctorBranch;
+import com.jee.clinichub.app.doctor.scheduleBreak.model.ScheduleBreak;
+import com.jee.clinichub.app.doctor.scheduleBreak.repository.ScheduleBreakRepo;
+import com.jee.clinichub.app.doctor.slots.model.Slot;
+import com.jee.clinichub.app.doctor.slots.model.SlotKey;
+import com.jee.clinichub.app.doctor.slots.model.SlotStatus;
+import com.jee.clinichub.app.doctor.slots.model.SlotType;
+import com.jee.clinichub.app.doctor.slots.repository.SlotRepo;
+import com.jee.clinichub.app.doctor.timeRange.model.DoctorTimeRange;
+import com.jee.clinichub.app.doctor.weeklySchedule.model.WeeklySchedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Generates slots for a whole window of days in three steps:
+ * preload leaves, holidays, breaks and already existing slot keys with one query each,
+ * plan every slot in memory, then insert the new ones in JDBC batches.
+ * The number of round-trips no longer depends on the number of doctors, days or slots.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class SlotGenerationEngine {
+
+    private final DoctorLeaveRepo leaveRepo;
+    private final ClinicHolidayRepo holidayRepo;
+    private final ScheduleBreakRepo breakRepo;
+    private final SlotRepo slotRepo;
+
+    @Transactional
+    public int generate(List<WeeklySchedule> schedules, LocalDate fromDate, LocalDate toDate) {
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+        List<Slot> planned = plan(schedules, fromDate, toDate);
+        int inserted = slotRepo.insertIgnoringExisting(planned);
+        log.info("Slot generation {} to {}: {} schedules, {} slots planned, {} inserted",
+                fromDate, toDate, schedules.size(), planned.size(), inserted);
+        return inserted;
+    }
+
+    /**
+     * Computes the slots that are missing for the given schedules in the window, without writing anything.
+     */
+    public List<Slot> plan(List<WeeklySchedule> schedules, LocalDate fromDate, LocalDate toDate) {
+        java.sql.Date start = java.sql.Date.valueOf(fromDate);
+        java.sql.Date end = java.sql.Date.valueOf(toDate);
+
+        Set<Long> doctorBranchIds = schedules.stream().map(s -> s.getDoctorBranch().getId()).collect(Collectors.toSet());
+        Set<Long> branchIds = schedules.stream().map(s -> s.getDoctorBranch().getBranch().getId()).collect(Collectors.toSet());
+
+        Map<Long, List<DoctorLeave>> leavesByDoctorBranch = leaveRepo
+                .findAllByDoctorBranch_idInAndLeaveStartLessThanEqualAndLeaveEndGreaterThanEqual(doctorBranchIds, end, start)
+                .stream().collect(Collectors.groupingBy(l -> l.getDoctorBranch().getId()));
+
+        Set<String> holidays = holidayRepo.findAllByBranch_idInAndDateBetween(branchIds, start, end).stream()
+                .map(h -> holidayKey(h.getBranch().getId(), SlotKey.toLocalDate(h.getDate())))
+                .collect(Collectors.toSet());
+
+        Map<String, List<ScheduleBreak>> breaksByDay = breakRepo.findAllByDoctorBranch_idIn(doctorBranchIds).stream()
+                .collect(Collectors.groupingBy(b -> b.getDoctorBranch().getId() + ":" + b.getDayOfWeek()));
+
+        Set<SlotKey> existing = new HashSet<>(slotRepo.findSlotKeys(doctorBranchIds, start, end));
+
+        List<Slot> planned = new ArrayList<>();
+        for (WeeklySchedule availability : schedules) {
+            DoctorBranch doctorBranch = availability.getDoctorBranch();
+            for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+
+                if (!date.getDayOfWeek().name().equalsIgnoreCase(availability.getDayOfWeek().toString()))
+                    continue;
+
+                if (isOnLeave(leavesByDoctorBranch.get(doctorBranch.getId()), date)) {
+                    log.debug("Doctor branch {} is on leave on {}", doctorBranch.getId(), date);
+                    continue;
+                }
+
+                if (holidays.contains(holidayKey(doctorBranch.getBranch().getId(), date))) {
+                    log.debug("Branch {} is on holiday on {}", doctorBranch.getBranch().getId(), date);
+                    continue;
+                }
+
+                List<ScheduleBreak> breaks = breaksByDay.getOrDefault(
+                        doctorBranch.getId() + ":" + availability.getDayOfWeek(), Collections.emptyList());
+
+                for (DoctorTimeRange timeRange : availability.getTimeRanges()) {
+                    planTimeRange(timeRange, availability, date, breaks, existing, planned);
+                }
+            }
+        }
+        return planned;
+    }
+
+    private void planTimeRange(DoctorTimeRange timeRange, WeeklySchedule availability, LocalDate date,
+            List<ScheduleBreak> breaks, Set<SlotKey> existing, List<Slot> planned) {
+
+        LocalTime start = timeRange.getStartTime();
+        LocalTime end = timeRange.getEndTime();
+        int duration = timeRange.getSlotDuration();
+        SlotType slotType = availability.getReleaseType();
+        int slotQuantity = timeRange.getSlotQuantity();
+
+        while (start.isBefore(end)) {
+            LocalTime proposedEnd = start.plusMinutes(duration);
+            if (proposedEnd.isAfter(end)) {
+                proposedEnd = end;
+            }
+
+            final LocalTime currentStart = start;
+            final LocalTime currentEnd = proposedEnd;
+
+            List<ScheduleBreak> overlappingBreaks = breaks.stream()
+                    .filter(b -> currentStart.isBefore(b.getBreakEnd()) && currentEnd.isAfter(b.getBreakStart()))
+                    .toList();
+
+            if (overlappingBreaks.isEmpty()) {
+                long actualSlotDuration = Duration.between(currentStart, currentEnd).toMinutes();
+                int capacity = slotType.equals(SlotType.COUNTWISE)
+                        ? (int) Math.round((double) slotQuantity * actualSlotDuration / duration)
+                        : 1;
+                addSlot(currentStart, currentEnd, (int) actualSlotDuration, availability, date, capacity, existing, planned);
+
+            } else if (slotType.equals(SlotType.COUNTWISE)) {
+                planCountwiseSplitSlots(currentStart, currentEnd, availability, date, overlappingBreaks, slotQuantity,
+                        existing, planned);
+            }
+
+            start = currentEnd;
+        }
+    }
+
+    private void planCountwiseSplitSlots(LocalTime slotStart, LocalTime slotEnd, WeeklySchedule availability,
+            LocalDate date, List<ScheduleBreak> overlappingBreaks, int totalQuantity,
+            Set<SlotKey> existing, List<Slot> planned) {
+
+        int totalSlotDuration = (int) Duration.between(slotStart, slotEnd).toMinutes();
+        LocalTime segmentStart = slotStart;
+
+        for (ScheduleBreak b : overlappingBreaks) {
+            if (segmentStart.isBefore(b.getBreakStart())) {
+                addSegment(segmentStart, b.getBreakStart(), totalSlotDuration, totalQuantity, availability, date,
+                        existing, planned);
+            }
+            if (b.getBreakEnd().isAfter(segmentStart)) {
+                segmentStart = b.getBreakEnd();
+            }
+        }
+
+        // Handle final remaining segment after last break
+        if (segmentStart.isBefore(slotEnd)) {
+            addSegment(segmentStart, slotEnd, totalSlotDuration, totalQuantity, availability, date, existing, planned);
+        }
+    }
+
+    private void addSegment(LocalTime segmentStart, LocalTime segmentEnd, int totalSlotDuration, int totalQuantity,
+            WeeklySchedule availability, LocalDate date, Set<SlotKey> existing, List<Slot> planned) {
+        int segmentDuration = (int) Duration.between(segmentStart, segmentEnd).toMinutes();
+        if (segmentDuration > 0) {
+            int proportionalQuantity = Math.max(1,
+                    Math.round((segmentDuration * 1.0f / totalSlotDuration) * totalQuantity));
+            addSlot(segmentStart, segmentEnd, segmentDuration, availability, date, proportionalQuantity, existing, planned);
+        }
+    }
+
+    private void addSlot(LocalTime start, LocalTime end, int duration, WeeklySchedule availability, LocalDate date,
+            int quantity, Set<SlotKey> existing, List<Slot> planned) {
+        // the set also absorbs duplicates produced by overlapping schedules within this run
+        if (!existing.add(new SlotKey(availability.getDoctorBranch().getId(), date, start, end))) {
+            return;
+        }
+        Slot slot = new Slot();
+        slot.setDoctorBranch(availability.getDoctorBranch());
+        slot.setDate(java.sql.Date.valueOf(date));
+        slot.setStartTime(start);
+        slot.setEndTime(end);
+        slot.setDuration(duration);
+        slot.setSlotType(availability.getReleaseType());
+        slot.setAvailableSlots(quantity);
+        slot.setTotalSlots(quantity);
+        slot.setStatus(SlotStatus.AVAILABLE);
+        slot.setCreatedBy("admin");
+        planned.add(slot);
+    }
+
+    private static boolean isOnLeave(List<DoctorLeave> leaves, LocalDate date) {
+        if (leaves == null) {
+            return false;
+        }
+        return leaves.stream().anyMatch(l -> !SlotKey.toLocalDate(l.getLeaveStart()).isAfter(date)
+                && !SlotKey.toLocalDate(l.getLeaveEnd()).isBefore(date));
+    }
+
+    private static String holidayKey(Long branchId, LocalDate date) {
+        return branchId + ":" + date;
+    }
+}
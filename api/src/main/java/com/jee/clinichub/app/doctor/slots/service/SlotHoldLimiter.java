@@ -0,0 +1,105 @@
+package com.jee.clinichub.app.doctor.slots.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jee.clinichub.app.doctor.slots.model.SlotHold;
+import com.jee.clinichub.global.exception.SlotHoldLimitException;
+import com.jee.clinichub.global.security.service.CallerResolver;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Guards the public hold endpoint, which anyone can call. Without it one client could take every unit of a doctor's
+ * capacity for {@code app.slot.hold.ttl-seconds} at a time. A caller, as told apart by {@link CallerResolver}, may
+ * ask for {@code app.slot.hold.max-per-minute} holds a minute and have {@code app.slot.hold.max-active-per-client}
+ * of them open at once. A hold stops counting when the caller releases it or when it expires.
+ *
+ * The counts are kept per instance, so behind N instances a caller gets at most N times the limits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotHoldLimiter {
+
+    @Value("${app.slot.hold.max-active-per-client:2}")
+    private int maxActivePerClient;
+
+    @Value("${app.slot.hold.max-per-minute:10}")
+    private int maxPerMinute;
+
+    @Value("${app.slot.hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    private final CallerResolver callerResolver;
+
+    // requests in the caller's current one-minute window
+    private Cache<String, AtomicInteger> recent;
+    // the caller's open holds, by token, with the time each expires
+    private Cache<String, Map<UUID, Long>> active;
+
+    @PostConstruct
+    public void init() {
+        recent = CacheBuilder.newBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+        active = CacheBuilder.newBuilder()
+                .expireAfterAccess(holdTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Runs the hold if the caller is within its limits and counts it against the caller when it is granted.
+     * Must be called on the request thread.
+     */
+    public Optional<SlotHold> hold(Supplier<Optional<SlotHold>> hold) {
+        String caller = callerResolver.callerKey();
+        if (get(recent, caller, AtomicInteger::new).incrementAndGet() > maxPerMinute) {
+            throw new SlotHoldLimitException("Too many hold requests, please try again in a minute.");
+        }
+        Map<UUID, Long> holds = get(active, caller, HashMap::new);
+        // one hold at a time per caller, so two requests at once cannot both slip under the cap
+        synchronized (holds) {
+            long now = System.currentTimeMillis();
+            holds.values().removeIf(expires -> expires <= now);
+            if (holds.size() >= maxActivePerClient) {
+                throw new SlotHoldLimitException("You already hold " + holds.size()
+                        + " slots. Complete or release a booking before holding another.");
+            }
+            Optional<SlotHold> granted = hold.get();
+            granted.ifPresent(slotHold -> holds.put(slotHold.holdToken(), slotHold.expiresTime().getTime()));
+            return granted;
+        }
+    }
+
+    /**
+     * Stops counting a hold the caller gave back. Must be called on the request thread.
+     */
+    public void released(UUID holdToken) {
+        Map<UUID, Long> holds = active.getIfPresent(callerResolver.callerKey());
+        if (holds != null) {
+            synchronized (holds) {
+                holds.remove(holdToken);
+            }
+        }
+    }
+
+    private static <V> V get(Cache<String, V> cache, String key, Supplier<V> create) {
+        try {
+            return cache.get(key, create::get);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
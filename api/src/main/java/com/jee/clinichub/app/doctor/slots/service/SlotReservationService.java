@@ -0,0 +1,121 @@
+package com.jee.clinichub.app.doctor.slots.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.doctor.slots.event.SlotsChangedEvent;
+import com.jee.clinichub.app.doctor.slots.model.SlotHold;
+import com.jee.clinichub.app.doctor.slots.repository.SlotRepo;
+import com.jee.clinichub.global.exception.SlotUnavailableException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Owns doctor_slot.available_slots. Capacity is only ever changed with conditional UPDATEs, so
+ * concurrent bookings for the same slot can never oversell it.
+ *
+ * A booking first wins a hold in its own short transaction, does the rest of its work, and confirms
+ * the hold as the last step of the booking transaction. Confirming only deletes the hold row, so the
+ * slot row is locked for the duration of one statement rather than across the whole booking.
+ * A hold that is neither confirmed nor released (crash, abandoned checkout) expires after
+ * {@code app.slot.hold.ttl-seconds} and its capacity is given back by {@link #expireHolds()}.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class SlotReservationService {
+
+    private final SlotRepo slotRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.slot.hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    /**
+     * Sets one unit of the slot's capacity aside. Commits straight away; empty when the slot is full.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<SlotHold> hold(Long slotId) {
+        UUID holdToken = UUID.randomUUID();
+        Duration ttl = Duration.ofSeconds(holdTtlSeconds);
+        if (!slotRepo.insertHold(holdToken, slotId, ttl)) {
+            return Optional.empty();
+        }
+        capacityChanged();
+        return Optional.of(new SlotHold(holdToken, slotId, new Date(System.currentTimeMillis() + ttl.toMillis())));
+    }
+
+    /**
+     * Turns the hold into a booking in the caller's transaction. If the hold already expired, tries to
+     * take the capacity again and fails when the slot has filled up in the meantime.
+     */
+    @Transactional
+    public void confirm(UUID holdToken, Long slotId) {
+        if (slotRepo.deleteHold(holdToken, slotId)) {
+            return;
+        }
+        log.warn("Hold {} on slot {} expired before the booking completed, reserving again", holdToken, slotId);
+        if (!slotRepo.decrementAvailable(slotId)) {
+            throw new SlotUnavailableException("Slot is fully booked");
+        }
+        capacityChanged();
+    }
+
+    /**
+     * Gives a hold back. Commits straight away; false when it was already confirmed, released or expired.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(UUID holdToken) {
+        boolean released = slotRepo.deleteHoldReturningCapacity(holdToken);
+        if (released) {
+            capacityChanged();
+        }
+        return released;
+    }
+
+    /**
+     * Takes one unit of capacity in the caller's transaction, without a hold. False when the slot is full.
+     */
+    @Transactional
+    public boolean tryReserve(Long slotId) {
+        boolean reserved = slotRepo.decrementAvailable(slotId);
+        if (reserved) {
+            capacityChanged();
+        }
+        return reserved;
+    }
+
+    /**
+     * Gives one unit of capacity back in the caller's transaction, e.g. when a booking is cancelled.
+     */
+    @Transactional
+    public void giveBack(Long slotId) {
+        slotRepo.incrementAvailable(slotId);
+        capacityChanged();
+    }
+
+    /**
+     * Gives the capacity of all expired holds in the current tenant back.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int expireHolds() {
+        int expired = slotRepo.expireHolds();
+        if (expired > 0) {
+            capacityChanged();
+        }
+        return expired;
+    }
+
+    private void capacityChanged() {
+        eventPublisher.publishEvent(new SlotsChangedEvent(this));
+    }
+}
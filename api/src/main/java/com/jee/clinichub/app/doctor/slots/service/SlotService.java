@@ -39,4 +39,11 @@ public interface SlotService {
 
 	void syncSlotsToMaster(String clientId,int days);
 
+	/**
+	 * Like {@link #syncSlotsToMaster(String, int)}, but lets errors through and returns the number of slots that
+	 * could not be written, so a job runner can tell a failed tenant from a synced one. With {@code fullWindow} the
+	 * tenant's last sync time is ignored and every slot of the window is sent, not only the changed ones.
+	 */
+	int syncSlotWindowToMaster(String clientId, int days, boolean fullWindow);
+
 }
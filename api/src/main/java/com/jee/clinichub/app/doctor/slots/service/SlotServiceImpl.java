@@ -7,8 +7,11 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +26,7 @@ import com.jee.clinichub.app.doctor.slots.model.Slot;
 import com.jee.clinichub.app.doctor.slots.model.SlotDto;
 import com.jee.clinichub.app.doctor.slots.model.SlotFilter;
 import com.jee.clinichub.app.doctor.slots.model.SlotHandler;
+import com.jee.clinichub.app.doctor.slots.model.SlotKey;
 import com.jee.clinichub.app.doctor.slots.model.SlotProj;
 import com.jee.clinichub.app.doctor.slots.model.SlotStatus;
 import com.jee.clinichub.app.doctor.slots.model.SlotType;
@@ -52,6 +56,10 @@ public class SlotServiceImpl implements SlotService {
     @Value("${app.default-tenant}")
 	private String defaultTenant;
 
+    // how far before the watermark changed slots are read again
+    @Value("${app.sync.slot.overlap-seconds:300}")
+    private long syncOverlapSeconds;
+
     @Override
     public List<SlotDto> getAllSlots() {
         return slotRepo.findAll().stream().map(SlotDto::new).toList();
@@ -180,6 +188,10 @@ public class SlotServiceImpl implements SlotService {
             List<Slot> previewSlots = new ArrayList<>();
             LocalDate currentDate = LocalDate.now();
 
+            // one query for every slot already present in the window instead of an exists() per slot
+            Set<SlotKey> existingSlots = new HashSet<>(slotRepo.findSlotKeys(List.of(doctorBranchId),
+                    java.sql.Date.valueOf(currentDate), java.sql.Date.valueOf(currentDate.plusDays(daysToGenerate - 1))));
+
             for (int i = 0; i < daysToGenerate; i++) {
                 LocalDate targetDate = currentDate.plusDays(i);
                 java.time.DayOfWeek systemDayOfWeek = targetDate.getDayOfWeek();
@@ -207,15 +219,11 @@ public class SlotServiceImpl implements SlotService {
                             while (!currentSlotTime.plusMinutes(slotDurationMinutes).isAfter(endTime)) {
                                 LocalTime nextSlotTime = currentSlotTime.plusMinutes(slotDurationMinutes);
 
-                                boolean isSlotExist = slotRepo.existsByDoctorBranch_idAndDateAndStartTimeAndEndTime(
-                                    doctorBranchId,
-                                    java.sql.Date.valueOf(targetDate),
-                                    currentSlotTime,
-                                    nextSlotTime
-                                );
+                                boolean isNewSlot = existingSlots.add(
+                                    new SlotKey(doctorBranchId, targetDate, currentSlotTime, nextSlotTime));
 
-                                if (!isSlotExist) {
-                                    log.info("✅ Creating new slot: {} - {}", currentSlotTime, nextSlotTime);
+                                if (isNewSlot) {
+                                    log.debug("✅ Creating new slot: {} - {}", currentSlotTime, nextSlotTime);
 
                                     Slot slot = new Slot();
                                     slot.setDoctorBranch(doctorBranch);
@@ -230,7 +238,7 @@ public class SlotServiceImpl implements SlotService {
 
                                     previewSlots.add(slot);
                                 } else {
-                                    log.warn("⚠️ Slot already exists: {} - {}. Skipping.", currentSlotTime, nextSlotTime);
+                                    log.debug("⚠️ Slot already exists: {} - {}. Skipping.", currentSlotTime, nextSlotTime);
                                 }
 
                                 currentSlotTime = nextSlotTime; // Move to next slot
@@ -245,8 +253,8 @@ public class SlotServiceImpl implements SlotService {
             }
 
             if (!previewSlots.isEmpty()) {
-                saveAllSlot(previewSlots);
-                log.info("Generated {} preview slots for doctor branch ID: {}", previewSlots.size(), doctorBranchId);
+                int inserted = slotRepo.insertIgnoringExisting(previewSlots);
+                log.info("Generated {} preview slots for doctor branch ID: {}", inserted, doctorBranchId);
             }
 
             return new Status(true, "Preview slots generated successfully");
@@ -407,41 +415,54 @@ public class SlotServiceImpl implements SlotService {
         }
     }
 
+    @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void syncSlotsToMaster(String clientId, int days) {
-        log.info("🔄 [Client: {}] Starting slot sync to master for next {} days...", clientId, days);
-
         try {
-            // 1. Calculate date range
-            LocalDate today = LocalDate.now();
-            LocalDate endDate = today.plusDays(days - 1); // inclusive
-
-            Date startDate = Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            Date finalDate = Date.from(endDate.atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
-
-            log.debug("📅 [Client: {}] Date range for slot sync: {} to {}", clientId, startDate, finalDate);
-
-            // 2. Fetch all slots from tenant DB
-            List<Slot> tenantSlots = slotRepo.findAllByDateBetween(startDate, finalDate);
-            log.info("📊 [Client: {}] Found {} slots to sync.", clientId, tenantSlots.size());
-
-            if (tenantSlots.isEmpty()) {
-                log.warn("⚠️ [Client: {}] No slots found for the given date range. Skipping sync.", clientId);
-                return;
-            }
-
-            // 3. Switch to master DB and sync
-            log.debug("🔁 [Client: {}] Switching tenant context to master...", clientId);
-            TenantContextHolder.setCurrentTenant(defaultTenant);
-
-            slotSyncService.syncSlotsToMaster(tenantSlots);
-
-            log.info("✅ [Client: {}] Slot sync process completed successfully.", clientId);
+            syncSlotWindowToMaster(clientId, days, false);
         } catch (Exception e) {
             log.error("❌ [Client: {}] Error occurred during slot sync: {}", clientId, e.getMessage(), e);
         }
     }
 
-	
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int syncSlotWindowToMaster(String clientId, int days, boolean fullWindow) {
+        log.info("🔄 [Client: {}] Starting {} slot sync to master for next {} days...", clientId,
+                fullWindow ? "full" : "incremental", days);
+
+        // taken before reading, so changes made while this sync runs are picked up next time; a change whose
+        // transaction commits after the read but was stamped earlier is caught by the overlap
+        Date syncStartedAt = new Date();
+        // a full sync reads the window as if the tenant had never been synced
+        Date lastSyncedTime = fullWindow ? null : slotSyncService.getLastSyncedTime(clientId);
+
+        // 1. Calculate date range
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusDays(days - 1); // inclusive
+
+        Date startDate = Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date finalDate = Date.from(endDate.atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
+
+        // 2. Only slots changed since the last sync, plus the days that just entered the window
+        // (no watermark yet, or a full sync: the whole window is read)
+        LocalDate newlyInWindowFrom = lastSyncedTime == null ? today
+                : lastSyncedTime.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().plusDays(days);
+        // rows read again are unchanged in master, the upsert leaves them alone
+        Date modifiedAfter = lastSyncedTime == null ? startDate
+                : new Date(lastSyncedTime.getTime() - TimeUnit.SECONDS.toMillis(syncOverlapSeconds));
+        List<Slot> tenantSlots = slotRepo.findChangedInRange(startDate, finalDate, modifiedAfter,
+                Date.from(newlyInWindowFrom.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        log.info("📊 [Client: {}] Found {} changed slots between {} and {} (last sync {}).",
+                clientId, tenantSlots.size(), startDate, finalDate, lastSyncedTime);
+
+        // 3. Switch to master DB and sync; an empty list still moves the watermark forward
+        TenantContextHolder.setCurrentTenant(defaultTenant);
+
+        int failed = slotSyncService.syncSlotsToMaster(clientId, tenantSlots, syncStartedAt);
+
+        log.info("✅ [Client: {}] Slot sync process completed, {} slot(s) failed.", clientId, failed);
+        return failed;
+    }
 
 }
@@ -34,7 +34,11 @@ public interface WeeklyScheduleService {
 
 	List<Slot> getSlotsByDoctorBranchId(Long doctorBranchId, String date);
 
-	void generateSlotsForTenant(String clientId);
+	/**
+	 * Fills the slot window of every doctor branch with an active schedule. Returns the number of branches whose
+	 * slots could not be generated; a branch failing does not stop the others.
+	 */
+	int generateSlotsForTenant(String clientId);
 
    
 }
@@ -188,26 +188,37 @@ public class WeeklyScheduleServiceImpl implements WeeklyScheduleService {
 	
 	@Override
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public void generateSlotsForTenant(String clientId) {
+	public int generateSlotsForTenant(String clientId) {
 	    long startTime = System.currentTimeMillis();
 	    log.info("🟢 [Client: {}] Starting slot generation for tenant...", clientId);
 
 	    List<WeeklySchedule> activeSchedules = findAllByActive(true);
 	    if (activeSchedules.isEmpty()) {
 	        log.warn("⚠️ [Client: {}] No active schedules found. Skipping slot generation.", clientId);
-	        return;
+	        return 0;
 	    }
 
-	    int totalBranches = activeSchedules.size();
+	    // one schedule per weekday, but slots are generated per doctor branch for the whole window
+	    List<Long> doctorBranchIds = activeSchedules.stream()
+	            .map(schedule -> schedule.getDoctorBranch().getId())
+	            .distinct()
+	            .toList();
+
+	    int totalBranches = doctorBranchIds.size();
 	    int successCount = 0;
 	    int failCount = 0;
 
-	    for (WeeklySchedule schedule : activeSchedules) {
-	        Long branchId = schedule.getDoctorBranch().getId();
+	    for (Long branchId : doctorBranchIds) {
 	        try {
 	            log.info("📅 [Client: {}] Generating slots for Branch ID: {} (Next 7 days)", clientId, branchId);
-	            slotService.generatePreviewSlots(branchId, 7); // keeps next 7 days full
-	            successCount++;
+	            Status status = slotService.generatePreviewSlots(branchId, 7); // keeps next 7 days full
+	            if (status.isStatus()) {
+	                successCount++;
+	            } else {
+	                failCount++;
+	                log.error("❌ [Client: {}] Failed to generate slots for Branch ID: {} - {}",
+	                          clientId, branchId, status.getMessage());
+	            }
 	        } catch (Exception e) {
 	            failCount++;
 	            log.error("❌ [Client: {}] Failed to generate slots for Branch ID: {} - {}",
@@ -218,6 +229,7 @@ public class WeeklyScheduleServiceImpl implements WeeklyScheduleService {
 	    long duration = System.currentTimeMillis() - startTime;
 	    log.info("✅ [Client: {}] Slot generation completed. Branches: {} | Success: {} | Failed: {} | Time: {} ms",
 	             clientId, totalBranches, successCount, failCount, duration);
+	    return failCount;
 	}
 
 	
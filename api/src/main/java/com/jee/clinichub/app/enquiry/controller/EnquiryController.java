@@ -1,5 +1,6 @@
 package com.jee.clinichub.app.enquiry.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +8,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +23,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jee.clinichub.app.core.DataImport;
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
 import com.jee.clinichub.app.core.status.model.StatusDTO;
 import com.jee.clinichub.app.enquiry.model.EnquiryDto;
 import com.jee.clinichub.app.enquiry.model.EnquiryFilter;
@@ -90,18 +93,13 @@ public class EnquiryController {
         return enquiryService.getPatientespageBySid(page,size,sid);
     }
     
-    @CacheEvict(value="enquiryCache", allEntries=true,keyGenerator = "multiTenantCacheKeyGenerator")
     @PostMapping("/import")
-    public Status handleFileUpload(
+    public ResponseEntity<ImportJob> handleFileUpload(
         @RequestParam("file") MultipartFile file,
-        @RequestParam("dataImport") String dataImportJson) {
-        try {
+        @RequestParam("dataImport") String dataImportJson) throws IOException {
         // Convert JSON string to POJO
         DataImport dataImport = objectMapper.readValue(dataImportJson, DataImport.class);
-        return enquiryService.importData(file,dataImport);
-        } catch (Exception e) {
-        	return new Status(false, "Something went wrong");
-        }
+        return ResponseEntity.accepted().body(enquiryService.importData(file, dataImport));
     }
 
 }
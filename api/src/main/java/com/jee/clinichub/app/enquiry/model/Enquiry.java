@@ -71,7 +71,7 @@ public class Enquiry extends Auditable<String>  implements Serializable {
 	private Long id;
 	
 	@JsonManagedReference
-	@OneToMany(mappedBy = "enquiry",cascade=CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "enquiry",cascade=CascadeType.ALL, fetch = FetchType.LAZY)
     private List<FollowedUpDateList> followUpList;
 	
 	@OneToOne
@@ -0,0 +1,14 @@
+package com.jee.clinichub.app.enquiry.repository;
+
+import java.util.List;
+
+import com.jee.clinichub.app.enquiry.model.Enquiry;
+
+public interface EnquiryBulkRepository {
+
+    /**
+     * Inserts the enquiries and their follow-ups with batched statements and sets the generated ids.
+     * Must run inside a transaction; nothing is written if a statement fails.
+     */
+    void insertAll(List<Enquiry> enquiries);
+}
@@ -0,0 +1,124 @@
+package com.jee.clinichub.app.enquiry.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.Session;
+
+import com.jee.clinichub.app.enquiry.model.Enquiry;
+import com.jee.clinichub.app.followedUp_dateList.model.FollowedUpDateList;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Enquiries and follow-ups use IDENTITY ids, which stops Hibernate from batching inserts, so bulk
+ * imports go through plain JDBC batches on the session's (tenant) connection; the generated
+ * enquiry ids are read back to link the follow-ups.
+ */
+public class EnquiryBulkRepositoryImpl implements EnquiryBulkRepository {
+
+    private static final String ENQUIRY_SQL = "INSERT INTO patient_enquiry (first_name, last_name, country_code, mobile, "
+            + "relation_id, assign_to, district_id, city, lead_date, follow_up_by, service_type_id, source_id, needs, "
+            + "notes, status_id, remark, branch_id, country_id, state_id, created_by, created_time, modified_by, modified_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FOLLOW_UP_SQL = "INSERT INTO patient_enquiry_followup (follow_up_date, remark, enquiry_id, "
+            + "next_follow_up_date, follow_up_by, created_by, created_time, modified_by, modified_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Enquiry> enquiries) {
+        if (enquiries.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+
+            try (PreparedStatement ps = connection.prepareStatement(ENQUIRY_SQL, new String[] { "id" })) {
+                for (Enquiry enquiry : enquiries) {
+                    String auditor = auditor(enquiry.getCreatedBy());
+                    ps.setString(1, enquiry.getFirstName());
+                    ps.setString(2, enquiry.getLastName());
+                    ps.setString(3, enquiry.getCountryCode());
+                    ps.setString(4, enquiry.getMobile());
+                    setId(ps, 5, enquiry.getRelationship() != null ? enquiry.getRelationship().getId() : null);
+                    setId(ps, 6, enquiry.getStaff() != null ? enquiry.getStaff().getId() : null);
+                    setId(ps, 7, enquiry.getDistrict() != null ? enquiry.getDistrict().getId() : null);
+                    ps.setString(8, enquiry.getCity());
+                    ps.setTimestamp(9, timestamp(enquiry.getLeadDate()));
+                    ps.setString(10, enquiry.getFollowUpBy());
+                    setId(ps, 11, enquiry.getEnquiryServiceType() != null ? enquiry.getEnquiryServiceType().getId() : null);
+                    setId(ps, 12, enquiry.getSource() != null ? enquiry.getSource().getId() : null);
+                    ps.setString(13, enquiry.getNeeds());
+                    ps.setString(14, enquiry.getNotes());
+                    setId(ps, 15, enquiry.getStatus() != null ? enquiry.getStatus().getId() : null);
+                    ps.setString(16, enquiry.getRemark());
+                    ps.setLong(17, enquiry.getBranch().getId());
+                    setId(ps, 18, enquiry.getCountry() != null ? enquiry.getCountry().getId() : null);
+                    setId(ps, 19, enquiry.getState() != null ? enquiry.getState().getId() : null);
+                    ps.setString(20, auditor);
+                    ps.setTimestamp(21, now);
+                    ps.setString(22, auditor);
+                    ps.setTimestamp(23, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Enquiry enquiry : enquiries) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated id for enquiry " + enquiry.getMobile());
+                        }
+                        enquiry.setId(keys.getLong(1));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(FOLLOW_UP_SQL)) {
+                for (Enquiry enquiry : enquiries) {
+                    if (enquiry.getFollowUpList() == null) {
+                        continue;
+                    }
+                    String auditor = auditor(enquiry.getCreatedBy());
+                    for (FollowedUpDateList followUp : enquiry.getFollowUpList()) {
+                        ps.setTimestamp(1, timestamp(followUp.getFollowUpDate()));
+                        ps.setString(2, followUp.getRemark());
+                        ps.setLong(3, enquiry.getId());
+                        ps.setTimestamp(4, timestamp(followUp.getNextFollowUpDate()));
+                        setId(ps, 5, followUp.getFollowUpBy() != null ? followUp.getFollowUpBy().getId() : null);
+                        ps.setString(6, auditor);
+                        ps.setTimestamp(7, now);
+                        ps.setString(8, auditor);
+                        ps.setTimestamp(9, now);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private static void setId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id != null) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String auditor(String createdBy) {
+        return createdBy != null ? createdBy : "system";
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+}
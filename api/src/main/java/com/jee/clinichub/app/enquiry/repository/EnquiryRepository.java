@@ -15,7 +15,7 @@ import com.jee.clinichub.app.enquiry.model.Enquiry;
 import com.jee.clinichub.app.enquiry.model.EnquiryProj;
 
 @Repository
-public interface EnquiryRepository extends JpaRepository<Enquiry, Long> {
+public interface EnquiryRepository extends JpaRepository<Enquiry, Long>, EnquiryBulkRepository {
 
 
 	@Cacheable(value = "enquiryCache" , keyGenerator = "multiTenantCacheKeyGenerator")
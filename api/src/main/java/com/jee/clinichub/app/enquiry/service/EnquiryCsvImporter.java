@@ -0,0 +1,216 @@
+package com.jee.clinichub.app.enquiry.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.branch.context.BranchContextHolder;
+import com.jee.clinichub.app.branch.model.Branch;
+import com.jee.clinichub.app.branch.repository.BranchRepository;
+import com.jee.clinichub.app.core.country.model.Country;
+import com.jee.clinichub.app.core.country.repository.CountryRepository;
+import com.jee.clinichub.app.core.dataimport.service.CsvImporter;
+import com.jee.clinichub.app.core.dataimport.service.ImportRowException;
+import com.jee.clinichub.app.core.district.model.District;
+import com.jee.clinichub.app.core.district.repository.DistrictRepository;
+import com.jee.clinichub.app.core.source.model.Source;
+import com.jee.clinichub.app.core.source.repository.SourceRepo;
+import com.jee.clinichub.app.core.state.model.State;
+import com.jee.clinichub.app.core.state.repository.StateRepository;
+import com.jee.clinichub.app.core.status.model.StatusModel;
+import com.jee.clinichub.app.core.status.repository.StatusRepo;
+import com.jee.clinichub.app.enquiry.model.Enquiry;
+import com.jee.clinichub.app.enquiry.repository.EnquiryRepository;
+import com.jee.clinichub.app.enquiryService.model.EnquiryServiceType;
+import com.jee.clinichub.app.enquiryService.repository.EnquiryServiceTypeRepository;
+import com.jee.clinichub.app.followedUp_dateList.model.FollowedUpDateList;
+import com.jee.clinichub.app.relationship.model.Relationship;
+import com.jee.clinichub.app.relationship.repository.RelationshipRepository;
+import com.jee.clinichub.app.staff.model.Staff;
+import com.jee.clinichub.app.staff.repository.StaffRepository;
+import com.jee.clinichub.global.exception.ImportRejectedException;
+import com.jee.clinichub.global.utility.DateUtility;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lead sheet export: three title lines, then name, staff, mobile, city, state, country, status, source,
+ * lead date, last talk, next action, needs, service and notes. Unknown service types and sources fall back
+ * to "Other", statuses to "FOLLOW UP", states to Odisha, countries to India and staff to the first staff
+ * member; all enquiries go to the importing user's branch.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnquiryCsvImporter implements CsvImporter<Enquiry> {
+
+	private static final String DATE_FORMAT = "dd-MMM-yy";
+
+	private final EnquiryRepository enquiryRepository;
+	private final EnquiryServiceTypeRepository enquiryServiceTypeRepository;
+	private final SourceRepo sourceRepo;
+	private final StatusRepo statusRepo;
+	private final CountryRepository countryRepository;
+	private final StateRepository stateRepository;
+	private final RelationshipRepository relationshipRepository;
+	private final DistrictRepository districtRepository;
+	private final StaffRepository staffRepository;
+	private final BranchRepository branchRepository;
+	private final AuditorAware<String> auditorAware;
+
+	@Override
+	public String getType() {
+		return "enquiry";
+	}
+
+	@Override
+	public int getHeaderRows() {
+		return 3;
+	}
+
+	@Override
+	public RowMapper<Enquiry> prepare() {
+		Branch branch = branchRepository.findById(BranchContextHolder.getCurrentBranch().getId())
+				.orElseThrow(() -> new ImportRejectedException("Branch not found"));
+
+		// service types, sources and statuses match case-sensitively, the rest ignoring case, as before
+		Map<String, EnquiryServiceType> serviceTypes = byName(enquiryServiceTypeRepository.findAll(), EnquiryServiceType::getName, false);
+		Map<String, Source> sources = byName(sourceRepo.findAll(), Source::getName, false);
+		Map<String, StatusModel> statuses = byName(statusRepo.findAll(), StatusModel::getName, false);
+		Map<String, Relationship> relations = byName(relationshipRepository.findAll(), Relationship::getName, false);
+		Map<String, District> districts = byName(districtRepository.findAll(), District::getName, true);
+		Map<String, State> states = byName(stateRepository.findAll(), State::getName, true);
+		Map<String, Country> countries = byName(countryRepository.findAll(), Country::getName, true);
+		List<Staff> staffList = staffRepository.findAll();
+		Map<String, Staff> staffByFirstName = byName(staffList, Staff::getFirstname, true);
+
+		EnquiryServiceType otherServiceType = required(serviceTypes.get("Other"), "service type 'Other'");
+		Source otherSource = required(sources.get("Other"), "source 'Other'");
+		StatusModel followUpStatus = required(statuses.get("FOLLOW UP"), "status 'FOLLOW UP'");
+		Relationship self = relations.containsKey("Self") ? relations.get("Self") : required(relations.get("Other"), "relationship 'Other'");
+		State defaultState = required(states.get("odisha"), "state 'Odisha'");
+		Country defaultCountry = required(countries.get("india"), "country 'India'");
+		if (staffList.isEmpty()) {
+			throw new ImportRejectedException("No staff to assign the enquiries to");
+		}
+		Staff defaultStaff = staffList.get(0);
+		String auditor = auditorAware.getCurrentAuditor().orElse("system");
+
+		return row -> {
+			if (row.get(0).isEmpty()) {
+				return null;
+			}
+
+			String name = row.get(2).replace("Mr. ", "").replace("Ms. ", "");
+			String[] nameArray = name.split(" ");
+			String lastName = nameArray.length > 1 ? nameArray[nameArray.length - 1] : "";
+			String firstName = nameArray.length > 0 ? name.replace(lastName, "") : "";
+
+			Staff staff = staffByFirstName.getOrDefault(lower(row.get(3).split(" ")[0]), defaultStaff);
+
+			Date leadDate = DateUtility.stringToDate(row.get(14), DATE_FORMAT);
+			if (leadDate == null) {
+				throw new ImportRowException("Invalid lead date '" + row.get(14) + "'");
+			}
+
+			Enquiry enquiry = Enquiry.builder()
+					.firstName(firstName)
+					.lastName(lastName)
+					.countryCode("91")
+					.mobile(row.get(4))
+					.enquiryServiceType(serviceTypes.getOrDefault(row.get(18), otherServiceType))
+					.city(row.get(6))
+					.leadDate(leadDate)
+					.followUpBy(row.get(3))
+					.relationship(self)
+					.status(statuses.getOrDefault(row.get(10), followUpStatus))
+					.country(countries.getOrDefault(lower(row.get(8)), defaultCountry))
+					.state(states.getOrDefault(lower(row.get(7)), defaultState))
+					.source(sources.getOrDefault(row.get(13), otherSource))
+					.needs(row.get(17))
+					.notes(row.get(19))
+					.staff(staff)
+					.district(districts.get(lower(row.get(6))))
+					.branch(branch)
+					.build();
+			enquiry.setCreatedBy(auditor);
+
+			List<FollowedUpDateList> followUpList = new ArrayList<>(2);
+
+			String lastTalk = row.get(15);
+			if (!lastTalk.equalsIgnoreCase("-")) {
+				// date - staff - remark
+				String[] lastTalkArray = lastTalk.split(" - ");
+				if (lastTalkArray.length < 3) {
+					throw new ImportRowException("Invalid last talk '" + lastTalk + "'");
+				}
+				followUpList.add(FollowedUpDateList.builder()
+						.enquiry(enquiry)
+						.followUpDate(followUpDate(lastTalkArray[0], lastTalk))
+						.remark(lastTalkArray[2])
+						.followUpBy(staff)
+						.build());
+			}
+
+			String nextAction = row.get(16);
+			if (!nextAction.equalsIgnoreCase("-")) {
+				// date - remark
+				String[] nextActionArray = nextAction.split(" - ");
+				followUpList.add(FollowedUpDateList.builder()
+						.enquiry(enquiry)
+						.followUpDate(followUpDate(nextActionArray[0], nextAction))
+						.followUpBy(staff)
+						.remark(nextActionArray.length > 1 ? nextActionArray[1] : "")
+						.build());
+			}
+
+			enquiry.setFollowUpList(followUpList);
+			return enquiry;
+		};
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(value = "enquiryCache", allEntries = true, keyGenerator = "multiTenantCacheKeyGenerator")
+	public void persist(List<Enquiry> enquiries) {
+		enquiryRepository.insertAll(enquiries);
+	}
+
+	private static Date followUpDate(String value, String column) {
+		Date date = DateUtility.stringToDate(value, DATE_FORMAT);
+		if (date == null) {
+			throw new ImportRowException("Invalid follow-up date in '" + column + "'");
+		}
+		return date;
+	}
+
+	private static <T> Map<String, T> byName(List<T> values, Function<T, String> name, boolean ignoreCase) {
+		Map<String, T> byName = new HashMap<>();
+		for (T value : values) {
+			String key = name.apply(value);
+			if (key != null) {
+				byName.putIfAbsent(ignoreCase ? lower(key) : key, value);
+			}
+		}
+		return byName;
+	}
+
+	private static <T> T required(T value, String what) {
+		if (value == null) {
+			throw new ImportRejectedException("Missing " + what + " to fall back on");
+		}
+		return value;
+	}
+
+	private static String lower(String value) {
+		return value.toLowerCase(Locale.ROOT);
+	}
+}
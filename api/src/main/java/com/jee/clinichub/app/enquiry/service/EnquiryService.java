@@ -1,5 +1,6 @@
 package com.jee.clinichub.app.enquiry.service;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.jee.clinichub.app.core.DataImport;
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
 import com.jee.clinichub.app.core.status.model.StatusDTO;
 import com.jee.clinichub.app.enquiry.model.Enquiry;
 import com.jee.clinichub.app.enquiry.model.EnquiryDto;
@@ -31,7 +33,7 @@ public interface EnquiryService {
 
 	Page<EnquiryProj> getEnquiriesPage(int page, int size, SearchObj search);
 
-    Status importData(MultipartFile file, DataImport dataImport);
+    ImportJob importData(MultipartFile file, DataImport dataImport) throws IOException;
 
 	List<StatusDTO> getDashboardCount();
 
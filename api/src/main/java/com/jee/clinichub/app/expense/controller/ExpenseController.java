@@ -1,10 +1,12 @@
 package com.jee.clinichub.app.expense.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.jee.clinichub.app.core.DataImport;
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
 import com.jee.clinichub.app.expense.model.ExpenseDto;
 import com.jee.clinichub.app.expense.model.ExpenseProj;
 import com.jee.clinichub.app.expense.model.SearchExpense;
@@ -69,14 +72,9 @@ public class ExpenseController {
 
 
 
-        @PostMapping("/import")
-    public Status handleFileUpload(@RequestParam("file") MultipartFile file) {
-        try {
-        return expenseService.importData(file);
-        
-        } catch (Exception e) {
-        	return new Status(false, "Something went wrong");
-        }
+    @PostMapping("/import")
+    public ResponseEntity<ImportJob> handleFileUpload(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.accepted().body(expenseService.importData(file));
     }
 
     @CacheEvict(value="expenseCache", allEntries=true,keyGenerator = "multiTenantCacheKeyGenerator")
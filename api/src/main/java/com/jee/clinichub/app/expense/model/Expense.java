@@ -106,7 +106,7 @@ public class Expense extends Auditable<String>  implements Serializable {
 	
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "expense",cascade=CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+	@OneToMany(mappedBy = "expense",cascade=CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
 	List<ExpenseItem> items = new ArrayList<ExpenseItem>();
 	
 	
@@ -0,0 +1,14 @@
+package com.jee.clinichub.app.expense.repository;
+
+import java.util.List;
+
+import com.jee.clinichub.app.expense.model.Expense;
+
+public interface ExpenseBulkRepository {
+
+    /**
+     * Inserts the expenses and their items with batched statements and sets the generated ids.
+     * Must run inside a transaction; nothing is written if a statement fails.
+     */
+    void insertAll(List<Expense> expenses);
+}
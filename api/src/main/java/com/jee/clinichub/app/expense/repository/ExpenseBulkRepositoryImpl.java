@@ -0,0 +1,108 @@
+package com.jee.clinichub.app.expense.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.Session;
+
+import com.jee.clinichub.app.expense.model.Expense;
+import com.jee.clinichub.app.expense.model.ExpenseItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Expense and its items use IDENTITY ids, which stops Hibernate from batching inserts, so bulk
+ * imports go through plain JDBC batches on the session's (tenant) connection; the generated
+ * expense ids are read back to link the items.
+ */
+public class ExpenseBulkRepositoryImpl implements ExpenseBulkRepository {
+
+    private static final String EXPENSE_SQL = "INSERT INTO expense (uid, branch_id, payment_type_id, subtotal, discount, "
+            + "grand_total, remark, expense_time, is_approved, approved_by, approved_time, "
+            + "created_by, created_time, modified_by, modified_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ITEM_SQL = "INSERT INTO expense_items (expense_id, description, price, qty, total, "
+            + "created_by, created_time, modified_by, modified_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+
+            try (PreparedStatement ps = connection.prepareStatement(EXPENSE_SQL, new String[] { "id" })) {
+                for (Expense expense : expenses) {
+                    String auditor = auditor(expense.getCreatedBy());
+                    ps.setString(1, expense.getUid());
+                    ps.setLong(2, expense.getBranch().getId());
+                    ps.setLong(3, expense.getPaymentType().getId());
+                    ps.setDouble(4, expense.getSubtotal());
+                    ps.setDouble(5, expense.getDiscount());
+                    ps.setDouble(6, expense.getGrandTotal());
+                    ps.setString(7, expense.getRemark());
+                    ps.setTimestamp(8, timestamp(expense.getExpenseTime()));
+                    ps.setBoolean(9, expense.isApproved());
+                    if (expense.getApprovedBy() != null) {
+                        ps.setLong(10, expense.getApprovedBy().getId());
+                    } else {
+                        ps.setNull(10, Types.BIGINT);
+                    }
+                    ps.setTimestamp(11, timestamp(expense.getApprovedTime()));
+                    ps.setString(12, auditor);
+                    ps.setTimestamp(13, now);
+                    ps.setString(14, auditor);
+                    ps.setTimestamp(15, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Expense expense : expenses) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated id for expense " + expense.getUid());
+                        }
+                        expense.setId(keys.getLong(1));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(ITEM_SQL)) {
+                for (Expense expense : expenses) {
+                    String auditor = auditor(expense.getCreatedBy());
+                    for (ExpenseItem item : expense.getItems()) {
+                        ps.setLong(1, expense.getId());
+                        ps.setString(2, item.getDescription());
+                        ps.setDouble(3, item.getPrice());
+                        ps.setInt(4, item.getQty());
+                        ps.setDouble(5, item.getTotal());
+                        ps.setString(6, auditor);
+                        ps.setTimestamp(7, now);
+                        ps.setString(8, auditor);
+                        ps.setTimestamp(9, now);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private static String auditor(String createdBy) {
+        return createdBy != null ? createdBy : "system";
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+}
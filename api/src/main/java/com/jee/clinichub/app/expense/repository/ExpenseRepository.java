@@ -14,7 +14,7 @@ import com.jee.clinichub.app.expense.model.Expense;
 import com.jee.clinichub.app.expense.model.ExpenseProj;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseBulkRepository {
 
 	List<ExpenseProj> findAllProjectedBy();
 
@@ -0,0 +1,189 @@
+package com.jee.clinichub.app.expense.service;
+
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jee.clinichub.app.branch.model.Branch;
+import com.jee.clinichub.app.branch.repository.BranchRepository;
+import com.jee.clinichub.app.core.dataimport.service.CsvImporter;
+import com.jee.clinichub.app.core.dataimport.service.ImportRowException;
+import com.jee.clinichub.app.core.module.model.Module;
+import com.jee.clinichub.app.core.module.model.ModuleEnum;
+import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.sequence.service.SequenceService;
+import com.jee.clinichub.app.expense.model.Expense;
+import com.jee.clinichub.app.expense.model.ExpenseItem;
+import com.jee.clinichub.app.expense.repository.ExpenseRepository;
+import com.jee.clinichub.app.payment.type.model.PaymentType;
+import com.jee.clinichub.app.payment.type.repository.PaymentTypeRepository;
+import com.jee.clinichub.app.staff.model.Staff;
+import com.jee.clinichub.app.staff.repository.StaffRepository;
+import com.jee.clinichub.global.exception.ImportRejectedException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expense sheet export: one header line, then date (dd-MMM, current year), description, price, qty, subtotal,
+ * approver first name and branch code in columns 1 to 9. Amounts carry a currency symbol and thousands separators.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseCsvImporter implements CsvImporter<Expense> {
+
+	private static final DateTimeFormatter DAY_MONTH = new DateTimeFormatterBuilder()
+			.parseCaseInsensitive()
+			.appendPattern("d-MMM")
+			.toFormatter(Locale.ENGLISH);
+
+	private final ExpenseRepository expenseRepository;
+	private final BranchRepository branchRepository;
+	private final PaymentTypeRepository paymentTypeRepository;
+	private final StaffRepository staffRepository;
+	private final ModuleRepository moduleRepository;
+	private final SequenceService sequenceService;
+	private final AuditorAware<String> auditorAware;
+
+	@Override
+	public String getType() {
+		return ModuleEnum.expense.toString();
+	}
+
+	@Override
+	public int getHeaderRows() {
+		return 1;
+	}
+
+	@Override
+	public RowMapper<Expense> prepare() {
+		if (moduleRepository.findByName(ModuleEnum.expense.toString()) == null) {
+			throw new ImportRejectedException("Expense module not configured");
+		}
+		List<PaymentType> paymentTypes = paymentTypeRepository.findAll();
+		if (paymentTypes.isEmpty()) {
+			throw new ImportRejectedException("No payment type configured");
+		}
+		PaymentType paymentType = paymentTypes.get(0);
+
+		Map<String, Branch> branches = new HashMap<>();
+		branchRepository.findAll().forEach(branch -> branches.putIfAbsent(lower(branch.getCode()), branch));
+
+		Map<String, Staff> staffByFirstName = new HashMap<>();
+		staffRepository.findAll().stream()
+				.filter(staff -> staff.getFirstname() != null)
+				.forEach(staff -> staffByFirstName.putIfAbsent(lower(staff.getFirstname()), staff));
+
+		String auditor = auditorAware.getCurrentAuditor().orElse("system");
+		int year = Year.now().getValue();
+
+		return row -> {
+			if (row.get(0).isEmpty()) {
+				return null;
+			}
+
+			String branchCode = row.get(9);
+			Branch branch = branches.get(lower(branchCode));
+			if (branch == null) {
+				throw new ImportRowException("Unknown branch code '" + branchCode + "'");
+			}
+
+			double price = amount(row, 3, "price");
+			int qty = quantity(row.get(4));
+			double subtotal = amount(row, 5, "subtotal");
+			double discount = 0;
+
+			List<ExpenseItem> items = new ArrayList<>(1);
+			ExpenseItem item = new ExpenseItem();
+			item.setPrice(price);
+			item.setQty(qty);
+			item.setTotal(qty * price);
+			item.setDescription(row.get(2));
+			items.add(item);
+
+			Expense expense = Expense.builder()
+					.approved(true)
+					.approvedBy(staffByFirstName.get(lower(row.get(7))))
+					.approvedTime(dayOfYear(row.get(1), year))
+					.branch(branch)
+					.discount(discount)
+					.expenseTime(new Date())
+					.grandTotal(subtotal - discount)
+					.subtotal(subtotal)
+					.paymentType(paymentType)
+					.items(items)
+					.build();
+			expense.setCreatedBy(auditor);
+			item.setExpense(expense);
+			return expense;
+		};
+	}
+
+	/**
+	 * Numbers every expense of the chunk from one reserved block per branch, then inserts them in batches.
+	 */
+	@Override
+	@Transactional
+	@CacheEvict(value = "expenseCache", allEntries = true, keyGenerator = "multiTenantCacheKeyGenerator")
+	public void persist(List<Expense> expenses) {
+		Module module = moduleRepository.findByName(ModuleEnum.expense.toString());
+		Map<Long, List<Expense>> byBranch = expenses.stream().collect(
+				Collectors.groupingBy(expense -> expense.getBranch().getId(), LinkedHashMap::new, Collectors.toList()));
+		byBranch.forEach((branchId, branchExpenses) -> {
+			Iterator<String> uids = sequenceService.allocateSequenses(branchId, module.getId(), branchExpenses.size()).iterator();
+			branchExpenses.forEach(expense -> expense.setUid(uids.next()));
+		});
+		expenseRepository.insertAll(expenses);
+	}
+
+	private static double amount(CSVRecord row, int column, String name) {
+		String value = row.get(column);
+		try {
+			// drop the leading currency symbol and thousands separators
+			return Double.parseDouble(value.substring(1).replace(",", ""));
+		} catch (RuntimeException e) {
+			throw new ImportRowException("Invalid " + name + " '" + value + "'");
+		}
+	}
+
+	private static int quantity(String value) {
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new ImportRowException("Invalid qty '" + value + "'");
+		}
+	}
+
+	/**
+	 * Unparseable dates leave the approval time empty, as the row is still a valid expense.
+	 */
+	private static Date dayOfYear(String value, int year) {
+		try {
+			return Date.from(MonthDay.parse(value.trim(), DAY_MONTH).atYear(year)
+					.atStartOfDay(ZoneId.systemDefault()).toInstant());
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private static String lower(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+}
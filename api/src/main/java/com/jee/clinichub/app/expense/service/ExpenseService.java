@@ -1,10 +1,12 @@
 package com.jee.clinichub.app.expense.service;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
 import com.jee.clinichub.app.expense.model.ExpenseDto;
 import com.jee.clinichub.app.expense.model.ExpenseProj;
 import com.jee.clinichub.app.expense.model.SearchExpense;
@@ -22,7 +24,10 @@ public interface ExpenseService {
 
 	Status approveById(Long id);
 
-    Status importData(MultipartFile file);
+    /**
+     * Starts a background import of an expense sheet; progress is read from the returned job.
+     */
+    ImportJob importData(MultipartFile file) throws IOException;
 
     Page<ExpenseProj> handleFilter(SearchExpense search,int pageno, int size);
 
@@ -1,20 +1,11 @@
 package com.jee.clinichub.app.expense.service;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Calendar;
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import jakarta.persistence.EntityNotFoundException;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +20,8 @@ import org.springframework.web.multipart.MultipartFile;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.model.BranchDto;
 import com.jee.clinichub.app.branch.repository.BranchRepository;
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
+import com.jee.clinichub.app.core.dataimport.service.CsvImportService;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
@@ -42,7 +35,6 @@ import com.jee.clinichub.app.expense.model.SearchExpense;
 import com.jee.clinichub.app.expense.repository.ExpenseRepository;
 import com.jee.clinichub.app.payment.transaction.model.PaymentTransactionDto;
 import com.jee.clinichub.app.payment.transaction.service.PaymentTransactionService;
-import com.jee.clinichub.app.payment.type.model.PaymentType;
 import com.jee.clinichub.app.payment.type.model.PaymentTypeDto;
 import com.jee.clinichub.app.payment.type.repository.PaymentTypeRepository;
 import com.jee.clinichub.app.staff.model.Staff;
@@ -76,6 +68,12 @@ public class ExpenseServiceImpl implements ExpenseService {
 	@Autowired
 	private SequenceService sequenceService;
 
+	@Autowired
+	private CsvImportService csvImportService;
+
+	@Autowired
+	private ExpenseCsvImporter expenseCsvImporter;
+
 	@Override
 	public Status saveOrUpdate(ExpenseDto expenseDto) {
 		try {
@@ -97,7 +95,7 @@ public class ExpenseServiceImpl implements ExpenseService {
 				expense = new Expense(expenseDto);
 				expense.setBranch(branch);
 
-				nextSequense = sequenceService.getNextSequense(branch.getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(branch.getId(), module.getId());
 				expense.setUid(nextSequense);
 			} else {
 				expense = this.setExpense(expenseDto);
@@ -105,10 +103,6 @@ public class ExpenseServiceImpl implements ExpenseService {
 
 			expense = expenseRepository.save(expense);
 
-			if (expenseDto.getId() == null) {
-				boolean status = sequenceService.incrementSequense(branch.getId(), module.getId(), nextSequense);
-			}
-
 			return new Status(true, ((expenseDto.getId() == null) ? "Added" : "Updated") + " Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
@@ -240,109 +234,8 @@ public class ExpenseServiceImpl implements ExpenseService {
 	}
 
 	@Override
-	public Status importData(MultipartFile file) {
-		try (
-				InputStream inputStream = file.getInputStream();
-				BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-				CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT)) {
-
-			List<Expense> expensesList = new ArrayList<>();
-			Iterable<CSVRecord> csvRecords = csvParser.getRecords();
-
-			Module module = moduleRepository.findByName(ModuleEnum.expense.toString());
-			Expense expense;
-			List<Branch> branchList = branchRepository.findAll();
-			List<PaymentType> paymentTypeList = paymentTypeRepository.findAll();
-			String nextSequense = null;
-
-			int skipRows = 1;
-			int n = 2;
-			for (CSVRecord row : csvRecords) {
-				if (skipRows > 0) {
-					skipRows--;
-					continue;
-				}
-
-				expense = new Expense();
-				if (!row.get(0).equals("")) {
-
-					String branchName = row.get(9);
-					Optional<Branch> filteredBranch = branchList.stream()
-							.filter(i -> branchName.equalsIgnoreCase(i.getCode())).findFirst();
-					Branch branchObj = filteredBranch.orElse(null);
-
-					nextSequense = sequenceService.getNextSequense(branchObj.getId(), module.getId());
-					boolean status = sequenceService.incrementSequense(branchObj.getId(), module.getId(), nextSequense);
-					String approvedBy = row.get(7);
-					Staff approvedStaff = staffRepository.findByFirstnameIgnoreCase(approvedBy);
-
-					String dateString = row.get(1);
-					SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MMM");
-					Date approvedTime = null;
-					try {
-						approvedTime = dateFormat.parse(dateString);
-
-						Calendar calendar = Calendar.getInstance();
-						int currentYear = calendar.get(Calendar.YEAR);
-
-						calendar.setTime(approvedTime);
-						calendar.set(Calendar.YEAR, currentYear);
-						approvedTime = calendar.getTime();
-					} catch (ParseException e) {
-						e.printStackTrace();
-					}
-					boolean approved = true;
-					String subTotalStr = row.get(5).substring(1).replace(",", "");
-					Double subtotal = Double.parseDouble(subTotalStr);
-					Double discount = Double.valueOf(0);
-					Double grandTotal = subtotal - discount;
-					PaymentType paymentType = paymentTypeList.get(0);
-
-					int qty = Integer.parseInt(row.get(4));
-					String priceStr = row.get(3).substring(1).replace(",", "");
-					Double price = Double.parseDouble(priceStr);
-					Double total = qty * price;
-
-					List<ExpenseItem> items = new ArrayList<>();
-					ExpenseItem item = new ExpenseItem();
-					item.setPrice(price);
-					item.setQty(qty);
-					item.setTotal(total);
-					item.setDescription(row.get(2));
-					items.add(item);
-
-					expense = Expense.builder()
-							.approved(approved)
-							.approvedBy(approvedStaff)
-							.approvedTime(approvedTime)
-							.branch(branchObj)
-							.discount(discount)
-							.expenseTime(new Date())
-							.grandTotal(grandTotal)
-							.subtotal(subtotal)
-							.paymentType(paymentType)
-							.items(items)
-							.uid(nextSequense)
-							.build();
-
-					for (ExpenseItem expenseItem : items) {
-						expenseItem.setExpense(expense);
-					}
-
-					expensesList.add(expense);
-
-				}
-
-				n++;
-			}
-			expenseRepository.saveAll(expensesList);
-			log.info("Save process started");
-
-			return new Status(true, "Enquiry Imported Successfully");
-		} catch (Exception e) {
-			log.error(e.getLocalizedMessage());
-			return new Status(false, "Something went wrong");
-		}
+	public ImportJob importData(MultipartFile file) throws IOException {
+		return csvImportService.start(expenseCsvImporter, file);
 	}
 
 	@Override
@@ -23,6 +23,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -36,6 +38,7 @@ import lombok.ToString;
 @NoArgsConstructor
 @Data
 @Entity
+@NamedEntityGraph(name = "Invoice.detail", attributeNodes = @NamedAttributeNode("payments"))
 @Table(name = "visit_invoice")
 @ToString
 @EqualsAndHashCode(callSuper = false, exclude = {"payments"})
@@ -62,7 +65,7 @@ public class Invoice extends Auditable<String> implements Serializable {
 
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     List<Payment> payments = new ArrayList<Payment>();
 
     public Invoice(InvoiceDTO invoice) {
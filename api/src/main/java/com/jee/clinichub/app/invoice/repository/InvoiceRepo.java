@@ -1,8 +1,12 @@
 package com.jee.clinichub.app.invoice.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jee.clinichub.app.invoice.model.Invoice;
@@ -10,8 +14,19 @@ import com.jee.clinichub.app.invoice.model.Invoice;
 @Repository
 public interface InvoiceRepo extends JpaRepository<Invoice,Long>{
 
+    // every read maps to InvoiceDTO, which lists the payments
+    @Override
+    @EntityGraph("Invoice.detail")
+    List<Invoice> findAll();
+
+    @EntityGraph("Invoice.detail")
     List<Invoice> findAllByVisit_id(Long id);
 
+    @EntityGraph("Invoice.detail")
     List<Invoice> findAllByVisit_patient_id(Long patientId);
+
+    @EntityGraph("Invoice.detail")
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> findDetailById(@Param("id") Long id);
     
 }
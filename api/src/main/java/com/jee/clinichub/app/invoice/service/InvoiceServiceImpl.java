@@ -35,7 +35,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
     @Override
     public InvoiceDTO getById(Long id) {
-        Optional<Invoice> invoice = invoiceRepo.findById(id);
+        Optional<Invoice> invoice = invoiceRepo.findDetailById(id);
         if (invoice.isPresent()) {
             return new InvoiceDTO(invoice.get());
         }
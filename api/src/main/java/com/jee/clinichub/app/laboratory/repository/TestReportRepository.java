@@ -3,6 +3,7 @@ package com.jee.clinichub.app.laboratory.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -32,4 +33,20 @@ public interface TestReportRepository extends JpaRepository<TestReport, Long> {
     
     @Query("SELECT MAX(CAST(SUBSTRING(tr.reportNumber, 4) AS int)) FROM TestReport tr WHERE tr.reportNumber LIKE 'LAB%'")
     Integer findMaxReportSequence();
+
+    /**
+     * Changes whenever the report or one of its results is added, modified or removed, or the patient, a test
+     * parameter or the clinic shown on it is modified; used as the document cache version.
+     */
+    @Query(value = """
+            SELECT concat(r.modified_time, '/', p.modified_time, '/', count(t.id), '/', max(t.modified_time), '/',
+                          max(tp.modified_time), '/', (SELECT c.modified_time FROM clinic c WHERE c.id = 1))
+            FROM   test_reports r
+                   JOIN patient p ON p.id = r.patient_id
+                   LEFT JOIN test_results t ON t.test_report_id = r.id
+                   LEFT JOIN test_parameters tp ON tp.id = t.test_parameter_id
+            WHERE  r.id = :id
+            GROUP  BY r.id, p.id
+            """, nativeQuery = true)
+    Optional<String> findDocumentVersion(@Param("id") Long id);
 }
@@ -1,6 +1,5 @@
 package com.jee.clinichub.app.laboratory.service.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -10,7 +9,6 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -19,18 +17,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
-import com.itextpdf.io.font.FontProgram;
-import com.itextpdf.io.font.FontProgramFactory;
-import com.itextpdf.kernel.geom.PageSize;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.font.FontProvider;
 import com.jee.clinichub.app.admin.clinic.allclinic.model.Clinic;
 import com.jee.clinichub.app.admin.clinic.allclinic.repository.ClinicRepository;
 import com.jee.clinichub.app.core.mail.MailRequest;
+import com.jee.clinichub.app.core.pdf.DocumentCache;
+import com.jee.clinichub.app.core.pdf.DocumentType;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.qrcode.QRCodeGenerator;
 import com.jee.clinichub.app.laboratory.model.TestReport;
 import com.jee.clinichub.app.laboratory.model.TestReportDTO;
@@ -82,6 +74,10 @@ public class TestReportServiceImpl implements TestReportService {
     @Autowired private QRCodeGenerator qrCodeGenerator;
     
     @Autowired private ClinicRepository clinicRepository;
+
+    @Autowired private PdfRenderService pdfRenderService;
+
+    @Autowired private DocumentCache documentCache;
     
     @Override
     public List<TestReportDTO> getAllReports() {
@@ -229,6 +225,7 @@ public class TestReportServiceImpl implements TestReportService {
             }
 
             testReportRepository.deleteById(id);
+            documentCache.evict(DocumentType.LAB_REPORT, id);
             
             return Status.builder()
                     .status(true)
@@ -252,6 +249,11 @@ public class TestReportServiceImpl implements TestReportService {
 
     @Override
     public byte[] downloadReportPdf(Long id) {
+        String version = testReportRepository.findDocumentVersion(id).orElse(null);
+        return documentCache.get(DocumentType.LAB_REPORT, id, version, () -> renderReportPdf(id));
+    }
+
+    private byte[] renderReportPdf(Long id) {
         log.info("Generating lab report PDF for ID: {}", id);
 
         try { 
@@ -287,51 +289,15 @@ public class TestReportServiceImpl implements TestReportService {
             // QR Codes
             context.setVariable("reportQrImage", generateLabtestQRCode(reportDTO));
             context.setVariable("patientQrImage", patientService.generatePatientQRCode(reportDTO.getPatient()));
-            context.setVariable("androidQrImage", qrCodeGenerator.generateQRCodeImage("https://play.google.com/store/games?hl=en_IN"));
-            context.setVariable("iosQrImage", qrCodeGenerator.generateQRCodeImage("https://www.apple.com/in/app-store/"));
+            context.setVariable("androidQrImage", qrCodeGenerator.generateQRCodeImage(QRCodeGenerator.ANDROID_APP_URL));
+            context.setVariable("iosQrImage", qrCodeGenerator.generateQRCodeImage(QRCodeGenerator.IOS_APP_URL));
 	        
             String htmlContent = templateEngine.process("reports/laboratory-report", context);
 
-            // Set up font provider
-            FontProvider fontProvider = new FontProvider();
-            try {
-                ClassPathResource fontResource = new ClassPathResource("fonts/OpenSans/OpenSans-Regular.ttf");
-                FontProgram fontProgram = FontProgramFactory.createFont(fontResource.getInputStream().readAllBytes());
-                fontProvider.addFont(fontProgram);
-                log.info("Custom font loaded successfully from classpath.");
-                
-             // Bold font
-                ClassPathResource fontResourceBold = new ClassPathResource("fonts/OpenSans/OpenSans-Bold.ttf");
-                FontProgram fontProgramBold = FontProgramFactory.createFont(fontResourceBold.getInputStream().readAllBytes());
-                fontProvider.addFont(fontProgramBold);
-                log.info("Bold font loaded successfully.");
-                
-            } catch (Exception ex) {
-                log.warn("Custom font load failed. Using system fonts. Reason: {}", ex.getMessage());
-                fontProvider.addStandardPdfFonts();
-                fontProvider.addSystemFonts();
-            }
-            
-            
-
-            // Converter settings
-            ConverterProperties properties = new ConverterProperties();
-            properties.setCharset("UTF-8");
-            properties.setFontProvider(fontProvider);
-
-            // Generate PDF
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            pdfDoc.setDefaultPageSize(PageSize.A4); // Optional, if CSS handles it
-            Document document = new Document(pdfDoc, PageSize.A4);
-            document.setMargins(0, 0, 0, 0);  // <-- KEY PART: no margins
-            
-            HtmlConverter.convertToPdf(htmlContent, outputStream, properties);
+            byte[] pdf = pdfRenderService.render(htmlContent, null);
 
             log.info("PDF generated successfully for report ID: {}", id);
-            return outputStream.toByteArray();
+            return pdf;
 
         } catch (Exception e) {
             log.error("Error generating PDF for report ID {}: {}", id, e.getMessage(), e);
@@ -114,7 +114,7 @@ public class Children extends Auditable<String>  implements Serializable {
 	@Column(name="recomandation")
 	private String recomandation;
 	
-	 @OneToMany(fetch = FetchType.EAGER, mappedBy = "children", cascade = CascadeType.ALL)
+	 @OneToMany(fetch = FetchType.LAZY, mappedBy = "children", cascade = CascadeType.ALL)
 	 private List<OtChildrenChecklistMap> otChildrenChecklistMaps = new ArrayList<OtChildrenChecklistMap>();
 	 
 	 public Children(Long id, OtChildrenChecklistMap... oChecklistMaps) {
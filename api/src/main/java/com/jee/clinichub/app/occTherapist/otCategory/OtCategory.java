@@ -56,7 +56,7 @@ public class OtCategory extends Auditable<String>  implements Serializable {
 	@Column(name="name")
 	private String name;
 	
-	 @OneToMany(fetch = FetchType.EAGER, mappedBy = "category", cascade = CascadeType.ALL)
+	 @OneToMany(fetch = FetchType.LAZY, mappedBy = "category", cascade = CascadeType.ALL)
 	private List<OtSubCategory> otSubCategorys = new ArrayList<OtSubCategory>();
 		
 	
@@ -70,7 +70,7 @@ public class OtCheckList extends Auditable<String>  implements Serializable {
 	@Column(name="month")
 	private int month;
 	
-	@OneToMany(fetch = FetchType.EAGER, mappedBy = "checklist", cascade = CascadeType.ALL)
+	@OneToMany(fetch = FetchType.LAZY, mappedBy = "checklist", cascade = CascadeType.ALL)
 	 private List<OtChildrenChecklistMap> otChildrenChecklistMaps = new ArrayList<OtChildrenChecklistMap>();
 	
 	
@@ -1,9 +1,5 @@
 package com.jee.clinichub.app.patient.audiometry.service;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,14 +20,13 @@ import java.time.ZonedDateTime;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.branch.context.BranchContextHolder;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.core.files.FileService;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.sequence.service.SequenceService;
 import com.jee.clinichub.app.patient.audiometry.model.Audiometry;
 import com.jee.clinichub.app.patient.audiometry.model.AudiometryDto;
@@ -64,6 +59,7 @@ public class AudiometryServiceImpl implements AudiometryService {
     @Autowired TypeConverter typeConverter;
     
     @Autowired TemplateEngine htmlTemplateEngine;
+    @Autowired PdfRenderService pdfRenderService;
     
     @Autowired TenantService tenantService;
     
@@ -95,7 +91,7 @@ public class AudiometryServiceImpl implements AudiometryService {
 				Branch branch = BranchContextHolder.getCurrentBranch();
 				audiometry = new Audiometry(audiometryDto);
 				audiometry.setBranch(branch);
-				nextSequense = sequenceService.getNextSequense(audiometry.getBranch().getId(),module.getId());
+				nextSequense = sequenceService.allocateSequense(audiometry.getBranch().getId(),module.getId());
 				audiometry.setUid(nextSequense);
 			}else{
 				audiometry = this.setAudiometry(audiometryDto);
@@ -109,9 +105,6 @@ public class AudiometryServiceImpl implements AudiometryService {
 			
 			
 			audiometry = audiometryRepository.save(audiometry);
-			if(audiometryDto.getId()==null || audiometryDto.getId()==0) {
-				boolean status = sequenceService.incrementSequense(audiometry.getBranch().getId(),module.getId(),nextSequense);
-			}
 			
 			return new Status(audiometry.getId(),true,( (audiometryDto.getId()==null) ? "Added":"Updated")  +  " Successfully");
 		}catch(Exception e){
@@ -215,40 +208,22 @@ public class AudiometryServiceImpl implements AudiometryService {
 	@Override
 	public byte[] audiogramPrint(MultipartFile canvasChartLeftFile, MultipartFile canvasChartRightFile,Long id) {
 		// HTML file to PDF
-    	try {
-    		AudiometryDto audiometryDto = getById(id);
-    		PatientDto patientDto = audiometryDto.getPatient();
-    		List<ScheduleDto> scheduleDtoList = scheduleService.getAllSchedulesByPID(audiometryDto.getPatient().getId());
+		AudiometryDto audiometryDto = getById(id);
+		PatientDto patientDto = audiometryDto.getPatient();
+		List<ScheduleDto> scheduleDtoList = scheduleService.getAllSchedulesByPID(audiometryDto.getPatient().getId());
 			if (scheduleDtoList.size() > 0) {
 				ScheduleDto scheduleDto = scheduleDtoList.get(0);
 				patientDto.setComplaints(scheduleDto.getComplaints());
 				patientDto.setHistoryOf(scheduleDto.getHistoryOf());
 				audiometryDto.setPatient(patientDto);
 			}
-    		if(audiometryDto.getRecommendation()!=null) audiometryDto.setRecommendation(" * "+audiometryDto.getRecommendation().replace("\n", "<br> * "));
-    		
+		if(audiometryDto.getRecommendation()!=null) audiometryDto.setRecommendation(" * "+audiometryDto.getRecommendation().replace("\n", "<br> * "));
+		
 			//String convertedDate = DateUtility.convertToTargetTimeZone(audiometryDto.getCreatedTime());
 			//audiometryDto.setCreatedTime(convertedDate);
 
-    		String html = generateAudiometryHtml(audiometryDto,canvasChartLeftFile,canvasChartRightFile);
-    		File tempFile = File.createTempFile("audiogram", ".pdf");
-    		FileOutputStream fos = new FileOutputStream(tempFile);
-    		
-    		ConverterProperties converterProperties = new ConverterProperties();
-    		//converterProperties.setBaseUri(getBaseUri());
-			HtmlConverter.convertToPdf(html,fos,converterProperties);
-			
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File( tempFile.getPath()));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-        log.info( "PDF Created! Successfully" );
-		return null;
+		String html = generateAudiometryHtml(audiometryDto,canvasChartLeftFile,canvasChartRightFile);
+		return pdfRenderService.render(html, null);
 	}
 	
 	
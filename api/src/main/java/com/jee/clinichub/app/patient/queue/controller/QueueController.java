@@ -4,6 +4,7 @@ package com.jee.clinichub.app.patient.queue.controller;
 import java.time.LocalDate;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.jee.clinichub.app.branch.context.BranchContextHolder;
 import com.jee.clinichub.app.branch.model.Branch;
@@ -117,4 +119,45 @@ public class QueueController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Pushes the queue to a display as server-sent {@code queue} events whenever it changes, instead of the display
+     * polling /live or /preview.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamQueue(
+            @RequestParam(name = "branch_id", required = false) Long branchId,
+            @RequestParam(name = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(name = "sort_by", required = false, defaultValue = "actual_sequence") String sortBy,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = "X-Branch-ID", required = false) String headerBranchId) {
+
+        // Use branch_id from parameter, fallback to header, then to the signed-in branch
+        Long effectiveBranchId = branchId;
+        if (effectiveBranchId == null && headerBranchId != null) {
+            try {
+                effectiveBranchId = Long.parseLong(headerBranchId);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        Branch branch = BranchContextHolder.getCurrentBranch();
+        if (effectiveBranchId == null && branch != null) {
+            effectiveBranchId = branch.getId();
+        }
+
+        // Default to today if no date provided
+        LocalDate effectiveDate = date != null ? date : LocalDate.now();
+
+        if (effectiveBranchId == null
+                || (!"actual_sequence".equals(sortBy) && !"checkin_time".equals(sortBy))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(queueService.subscribe(effectiveBranchId, effectiveDate, sortBy, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
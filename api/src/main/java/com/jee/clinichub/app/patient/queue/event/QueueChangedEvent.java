@@ -0,0 +1,40 @@
+package com.jee.clinichub.app.patient.queue.event;
+
+import java.time.LocalDate;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+/**
+ * A visit or appointment changed in a way that can move the live queue. A null branch or date stands for every
+ * branch or day of the tenant.
+ */
+public class QueueChangedEvent extends ApplicationEvent {
+
+    private final Long branchId;
+
+    private final LocalDate date;
+
+    // schema the change was written to, captured before the writer restores its tenant context
+    private final String tenantId;
+
+    public QueueChangedEvent(Object source, Long branchId, LocalDate date) {
+        super(source);
+        this.branchId = branchId;
+        this.date = date;
+        this.tenantId = TenantContextHolder.getCurrentTenant();
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
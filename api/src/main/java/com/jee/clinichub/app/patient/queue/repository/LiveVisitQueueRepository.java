@@ -2,6 +2,7 @@
 package com.jee.clinichub.app.patient.queue.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -46,4 +47,38 @@ public interface LiveVisitQueueRepository extends JpaRepository<LiveVisitQueue,
     Long countByBranchIdAndDate(
             @Param("branchId") Long branchId, 
             @Param("date") LocalDate date);
+
+    /**
+     * The visits of one branch and day with the columns of the live_visit_queue view, without recomputing the view
+     * over every schedule and appointment. actual_sequence and estimated_consultation_time are left to the caller,
+     * planned_sequence is null for walk-ins.
+     */
+    @Query(value = "WITH day AS ( " +
+                   "    SELECT ps.id, ps.patient_id, ps.consulting_doctor_id, ps.branch_id, ps.appointment_id, ps.created_time " +
+                   "    FROM patient_schedule ps " +
+                   "    WHERE ps.branch_id = :branchId AND ps.created_time >= :start AND ps.created_time < :end " +
+                   "), planned AS ( " +
+                   "    SELECT a.id, ROW_NUMBER() OVER (PARTITION BY a.slot_id ORDER BY a.created_time) AS planned_sequence " +
+                   "    FROM appointment a " +
+                   "    WHERE a.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+                   "    AND a.slot_id IN (SELECT ap.slot_id FROM appointment ap JOIN day d ON d.appointment_id = ap.id) " +
+                   ") " +
+                   "SELECT d.id AS patient_schedule_id, d.consulting_doctor_id, d.branch_id, d.patient_id, " +
+                   "    CONCAT(p.firstname, ' ', COALESCE(p.lastname, '')) AS patient_name, " +
+                   "    COALESCE(EXTRACT(YEAR FROM age(current_date, p.dob)), p.age) AS patient_age, " +
+                   "    p.gender AS patient_gender, " +
+                   "    COALESCE(u.phone, p.alternative_contact, p.whatsapp_no) AS patient_mobile, " +
+                   "    d.created_time AS checkin_time, " +
+                   "    pl.planned_sequence, " +
+                   "    CAST(NULL AS INTEGER) AS actual_sequence, " +
+                   "    CAST(NULL AS TIMESTAMP) AS estimated_consultation_time " +
+                   "FROM day d " +
+                   "JOIN patient p ON p.id = d.patient_id " +
+                   "LEFT JOIN users u ON u.id = p.user_id " +
+                   "LEFT JOIN planned pl ON pl.id = d.appointment_id " +
+                   "ORDER BY d.created_time", nativeQuery = true)
+    List<LiveVisitQueue> findVisitsOfDay(
+            @Param("branchId") Long branchId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,196 @@
+package com.jee.clinichub.app.patient.queue.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jee.clinichub.app.patient.queue.dto.QueueItemDto;
+import com.jee.clinichub.app.patient.queue.event.QueueChangedEvent;
+import com.jee.clinichub.app.patient.queue.repository.LiveVisitQueueRepository;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * The live visit queue of each branch and day, kept in memory so waiting-room screens and front desks read it without
+ * touching the database. A board is loaded on first use, reloaded when a {@link QueueChangedEvent} touches it, and
+ * dropped after {@code app.queue.board.idle-minutes} without readers. Listeners hear about every reload that changed
+ * the queue.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class LiveQueueBoard {
+
+    // consultation length assumed by the live_visit_queue view
+    static final long CONSULT_MINUTES = 15;
+
+    private final LiveVisitQueueRepository queueRepository;
+
+    @Value("${app.queue.board.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${app.queue.board.max-age-ms:60000}")
+    private long maxAgeMs;
+
+    private Cache<BoardKey, Board> boards;
+
+    record BoardKey(String tenantId, Long branchId, LocalDate date) {
+    }
+
+    @PostConstruct
+    public void init() {
+        boards = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * The queue of the branch and day in the current tenant, by actual sequence.
+     */
+    public List<QueueItemDto> snapshot(Long branchId, LocalDate date) {
+        return board(key(branchId, date)).items;
+    }
+
+    /**
+     * Calls the listener with the queue after every change until the returned handle is run.
+     */
+    public Runnable listen(Long branchId, LocalDate date, Consumer<List<QueueItemDto>> listener) {
+        Board board = board(key(branchId, date));
+        board.listeners.add(listener);
+        return () -> board.listeners.remove(listener);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQueueChanged(QueueChangedEvent event) {
+        for (Board board : boards.asMap().values()) {
+            BoardKey key = board.key;
+            if (Objects.equals(key.tenantId(), event.getTenantId())
+                    && (event.getBranchId() == null || event.getBranchId().equals(key.branchId()))
+                    && (event.getDate() == null || event.getDate().equals(key.date()))) {
+                board.stale.set(true);
+            }
+        }
+    }
+
+    /**
+     * Reloads boards that changed, and boards someone is watching once they reach {@code app.queue.board.max-age-ms}
+     * in case a change bypassed the events.
+     */
+    @Scheduled(fixedDelayString = "${app.queue.refresh-ms:250}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Board board : boards.asMap().values()) {
+            boolean watched = !board.listeners.isEmpty();
+            if (watched) {
+                // a screen left open counts as reading the board, so it does not expire under it
+                boards.getIfPresent(board.key);
+            }
+            boolean due = watched && now - board.loadedAt >= maxAgeMs;
+            if (board.stale.get() || due) {
+                reload(board);
+            }
+        }
+    }
+
+    private BoardKey key(Long branchId, LocalDate date) {
+        return new BoardKey(TenantContextHolder.getCurrentTenant(), branchId, date);
+    }
+
+    private Board board(BoardKey key) {
+        try {
+            return boards.get(key, () -> {
+                Board board = new Board(key);
+                board.items = load(key);
+                board.loadedAt = System.currentTimeMillis();
+                return board;
+            });
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load the queue of branch " + key.branchId(), e.getCause());
+        }
+    }
+
+    private void reload(Board board) {
+        // cleared before reading, so a change committed during the load marks the board again
+        board.stale.set(false);
+        String originalTenant = TenantContextHolder.getCurrentTenant();
+        try {
+            TenantContextHolder.setCurrentTenant(board.key.tenantId());
+            List<QueueItemDto> items = load(board.key);
+            board.loadedAt = System.currentTimeMillis();
+            if (!items.equals(board.items)) {
+                board.items = items;
+                board.listeners.forEach(listener -> listener.accept(items));
+            }
+        } catch (RuntimeException e) {
+            board.stale.set(true);
+            log.error("Could not reload the queue of branch {} on {}: {}", board.key.branchId(), board.key.date(),
+                    e.getMessage(), e);
+        } finally {
+            TenantContextHolder.setCurrentTenant(originalTenant);
+        }
+    }
+
+    private List<QueueItemDto> load(BoardKey key) {
+        LocalDateTime start = key.date().atStartOfDay();
+        return rank(queueRepository.findVisitsOfDay(key.branchId(), start, start.plusDays(1)).stream()
+                .map(QueueItemDto::toDto)
+                .toList());
+    }
+
+    /**
+     * Numbers each doctor's visits by check-in, the way the live_visit_queue view does, and orders the day by that
+     * number.
+     */
+    static List<QueueItemDto> rank(List<QueueItemDto> visits) {
+        List<QueueItemDto> ranked = new ArrayList<>(visits);
+        ranked.sort(Comparator.comparing(QueueItemDto::getCheckinTime, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(QueueItemDto::getPatientScheduleId));
+        Map<Long, Integer> seen = new HashMap<>();
+        for (QueueItemDto visit : ranked) {
+            int actual = seen.merge(visit.getConsultingDoctorId(), 1, Integer::sum);
+            visit.setActualSequence(actual);
+            if (visit.getPlannedSequence() == null) {
+                visit.setPlannedSequence(actual);
+            }
+            if (visit.getCheckinTime() != null) {
+                visit.setEstimatedConsultationTime(visit.getCheckinTime().plusMinutes((actual - 1) * CONSULT_MINUTES));
+            }
+        }
+        ranked.sort(Comparator.comparing(QueueItemDto::getActualSequence));
+        return List.copyOf(ranked);
+    }
+
+    private static final class Board {
+
+        private final BoardKey key;
+        private final AtomicBoolean stale = new AtomicBoolean();
+        private final List<Consumer<List<QueueItemDto>>> listeners = new CopyOnWriteArrayList<>();
+        private volatile List<QueueItemDto> items = List.of();
+        private volatile long loadedAt;
+
+        private Board(BoardKey key) {
+            this.key = key;
+        }
+    }
+}
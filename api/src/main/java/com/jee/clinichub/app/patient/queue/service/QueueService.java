@@ -1,51 +1,114 @@
 
 package com.jee.clinichub.app.patient.queue.service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.jee.clinichub.app.patient.queue.dto.QueueItemDto;
 import com.jee.clinichub.app.patient.queue.dto.QueueResponseDto;
 import com.jee.clinichub.app.patient.queue.entity.LiveVisitQueue;
-import com.jee.clinichub.app.patient.queue.repository.LiveVisitQueueRepository;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class QueueService {
 
-  
-    private final LiveVisitQueueRepository queueRepository;
+
+    private final LiveQueueBoard liveQueueBoard;
+
+    @Value("${app.queue.sse.timeout-ms:1800000}")
+    private long streamTimeoutMs;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    // a slow screen holds up only its own virtual thread
+    private final ExecutorService pushers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        pushers.shutdownNow();
+    }
+
     public QueueResponseDto getQueueData(Long branchId, LocalDate date, String sortBy, Integer limit) {
-        List<LiveVisitQueue> queueItems;
-        
+        return view(liveQueueBoard.snapshot(branchId, date), branchId, date, sortBy, limit);
+    }
+
+    public QueueResponseDto getQueuePreview(Long branchId, LocalDate date) {
+        return getQueueData(branchId, date, "actual_sequence", 4);
+    }
+
+    /**
+     * Sends a {@code queue} event with the queue straight away and again whenever it changes, until the screen
+     * disconnects or {@code app.queue.sse.timeout-ms} passes; EventSource reconnects by itself after that. A comment
+     * line every {@code app.queue.sse.heartbeat-ms} keeps proxies from closing the idle connection.
+     */
+    public SseEmitter subscribe(Long branchId, LocalDate date, String sortBy, Integer limit) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscription subscription = new Subscription(emitter, branchId, date, sortBy, limit);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        subscriptions.add(subscription);
+        subscription.unlisten = liveQueueBoard.listen(branchId, date, subscription::offer);
+        if (!subscriptions.contains(subscription)) {
+            // the screen went away before it was listening
+            subscription.close();
+            return emitter;
+        }
+        subscription.offer(liveQueueBoard.snapshot(branchId, date));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.queue.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                pushers.execute(subscription::ping);
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    private QueueResponseDto view(List<QueueItemDto> queue, Long branchId, LocalDate date, String sortBy, Integer limit) {
+        List<QueueItemDto> queueItemDtos;
+
         if (limit != null && limit > 0) {
-            queueItems = queueRepository.findByBranchIdAndDateOrderByActualSequenceLimit(branchId, date, limit);
+            queueItemDtos = queue.stream().limit(limit).toList();
         } else if ("checkin_time".equals(sortBy)) {
-            queueItems = queueRepository.findByBranchIdAndDateOrderByCheckinTime(branchId, date);
+            queueItemDtos = queue.stream()
+                    .sorted(Comparator.comparing(QueueItemDto::getCheckinTime, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
         } else {
             // Default to actual_sequence
-            queueItems = queueRepository.findByBranchIdAndDateOrderByActualSequence(branchId, date);
+            queueItemDtos = queue;
         }
 
-        Long totalCount = queueRepository.countByBranchIdAndDate(branchId, date);
-
-        List<QueueItemDto> queueItemDtos = queueItems.stream()
-                .map(QueueItemDto::toDto)
-                .toList();
-
         return new QueueResponseDto(
-                totalCount,
+                (long) queue.size(),
                 branchId,
                 date.format(DATE_FORMATTER),
                 sortBy != null ? sortBy : "actual_sequence",
@@ -53,11 +116,70 @@ public class QueueService {
         );
     }
 
-    public QueueResponseDto getQueuePreview(Long branchId, LocalDate date) {
-        return getQueueData(branchId, date, "actual_sequence", 4);
-    }
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Long branchId;
+        private final LocalDate date;
+        private final String sortBy;
+        private final Integer limit;
+        // latest queue not yet sent; a screen that falls behind skips to it rather than replaying every change
+        private final AtomicReference<List<QueueItemDto>> pending = new AtomicReference<>();
+        private volatile Runnable unlisten;
+
+        private Subscription(SseEmitter emitter, Long branchId, LocalDate date, String sortBy, Integer limit) {
+            this.emitter = emitter;
+            this.branchId = branchId;
+            this.date = date;
+            this.sortBy = sortBy;
+            this.limit = limit;
+        }
+
+        void offer(List<QueueItemDto> queue) {
+            if (pending.getAndSet(queue) == null) {
+                try {
+                    pushers.execute(this::push);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
 
-   
+        // taking and sending under one lock keeps the events in order
+        private synchronized void push() {
+            List<QueueItemDto> queue = pending.getAndSet(null);
+            if (queue == null) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("queue")
+                        .data(view(queue, branchId, date, sortBy, limit), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        private synchronized void ping() {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Exception e) {
+            close();
+            emitter.completeWithError(e);
+        }
+
+        void close() {
+            subscriptions.remove(this);
+            Runnable stop = unlisten;
+            if (stop != null) {
+                stop.run();
+            }
+        }
+    }
 
     private Long calculateWaitingMinutes(LocalDateTime checkinTime) {
         if (checkinTime == null) {
@@ -70,7 +192,7 @@ public class QueueService {
         // This is a placeholder logic - you may need to adjust based on your business rules
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime estimatedTime = entity.getEstimatedConsultationTime();
-        
+
         if (estimatedTime != null && now.isAfter(estimatedTime)) {
             return "in_consultation";
         } else if (calculateWaitingMinutes(entity.getCheckinTime()) > 60) {
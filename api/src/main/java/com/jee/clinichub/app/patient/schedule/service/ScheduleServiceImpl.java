@@ -1,5 +1,7 @@
 package com.jee.clinichub.app.patient.schedule.service;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.Calendar;
 import java.util.List;
@@ -12,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -33,6 +36,7 @@ import com.jee.clinichub.app.invoice.model.Invoice;
 import com.jee.clinichub.app.invoice.model.InvoiceDTO;
 import com.jee.clinichub.app.invoice.service.InvoiceServiceImpl;
 import com.jee.clinichub.app.patient.model.Patient;
+import com.jee.clinichub.app.patient.queue.event.QueueChangedEvent;
 import com.jee.clinichub.app.patient.repository.PatientRepository;
 import com.jee.clinichub.app.patient.schedule.model.DoctorReferralDto;
 import com.jee.clinichub.app.patient.schedule.model.DrReferalSearch;
@@ -68,6 +72,9 @@ public class ScheduleServiceImpl implements ScheduleService {
 	@Autowired
 	private LabOrderServiceImpl lOrderServiceImpl;
 
+	@Autowired
+	private ApplicationEventPublisher applicationEventPublisher;
+
 	@Override
 	public Status saveOrUpdate(ScheduleDto scheduleDto) {
 		try {
@@ -101,6 +108,7 @@ public class ScheduleServiceImpl implements ScheduleService {
 			}
 
 			schedule = scheduleRepository.save(schedule);
+			publishQueueChanged(schedule);
 			return new Status(true, ((scheduleDto.getId() == null) ? "Added" : "Updated") + " Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
@@ -111,6 +119,17 @@ public class ScheduleServiceImpl implements ScheduleService {
 
 
 
+	/**
+	 * Lets the live queue of the visit's branch and check-in day reload.
+	 */
+	private void publishQueueChanged(Schedule schedule) {
+		Long branchId = schedule.getBranch() != null ? schedule.getBranch().getId() : null;
+		LocalDate day = schedule.getCreatedTime() != null
+				? schedule.getCreatedTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+				: null;
+		applicationEventPublisher.publishEvent(new QueueChangedEvent(this, branchId, day));
+	}
+
 	private Schedule setSchedule(ScheduleDto scheduleDto) {
     Schedule exSchedule = scheduleRepository.findById(scheduleDto.getId()).get();
 
@@ -327,6 +346,7 @@ public VisitDiagnosis updateDiagnosis(VisitDiagnosis vDiagnosis,VisitDiagnosisDt
 			}
 
 			scheduleRepository.deleteById(id);
+			publishQueueChanged(schedule.get());
 			return new Status(true, "Deleted Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
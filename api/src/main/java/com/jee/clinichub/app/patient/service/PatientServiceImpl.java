@@ -124,7 +124,7 @@ public class PatientServiceImpl implements PatientService {
 				user.setPatient(patient);
 				// user.setUsername(patientDto.getUser().getPhone());
 				patient.setUser(user);
-				nextSequense = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 				patient.setUid(nextSequense);
 			} else {
 				patient = this.setPatient(patientDto);
@@ -132,11 +132,6 @@ public class PatientServiceImpl implements PatientService {
 
 			patient = patientRepository.save(patient);
 
-			if (patientDto.getId() == null) {
-				sequenceService.incrementSequense(patientDto.getUser().getBranch().getId(),
-						module.getId(), nextSequense);
-			}
-
 			return new Status(true, ((patientDto.getId() == null) ? "Added" : "Updated") + " Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
@@ -239,16 +234,12 @@ public class PatientServiceImpl implements PatientService {
 
 				user.setPatient(patient);
 				patient.setUser(user);
-				nextSequense = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 				patient.setUid(nextSequense);
 			}
 
 			patient = patientRepository.save(patient);
 
-			if (patientDto.getId() == null) {
-				sequenceService.incrementSequense(patientDto.getUser().getBranch().getId(),module.getId(), nextSequense);
-			}
-
 			return new Status(true, ((patientDto.getId() == null) ? "Added" : "Updated") + " Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
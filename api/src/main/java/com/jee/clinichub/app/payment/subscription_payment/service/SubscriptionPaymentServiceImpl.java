@@ -1,7 +1,5 @@
 package com.jee.clinichub.app.payment.subscription_payment.service;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -15,9 +13,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.core.files.FileService;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.payment.subscription_payment.model.PaymentExplorationSearch;
 import com.jee.clinichub.app.payment.subscription_payment.model.SubscriptionPayment;
 import com.jee.clinichub.app.payment.subscription_payment.model.SubscriptionPaymentDto;
@@ -46,6 +43,9 @@ public class SubscriptionPaymentServiceImpl implements SubscriptionPaymentServic
     @Autowired
     TemplateEngine htmlTemplateEngine;
 
+    @Autowired
+    PdfRenderService pdfRenderService;
+
     @Autowired
     FileService fileService;
 
@@ -88,14 +88,7 @@ public class SubscriptionPaymentServiceImpl implements SubscriptionPaymentServic
                     });
 
             String html = generateAudiometryHtml(payment);
-            File tempFile = File.createTempFile("prescription", ".pdf");
-            FileOutputStream fos = new FileOutputStream(tempFile);
-            ConverterProperties converterProperties = new ConverterProperties();
-            // converterProperties.setBaseUri(getBaseUri());
-            HtmlConverter.convertToPdf(html, fos, converterProperties);
-
-            byte[] pdfBytes = typeConverter.fileToByteArray(new File(tempFile.getPath()));
-            return pdfBytes;
+            return pdfRenderService.render(html, null);
             // return new Status(true, ((prescription.getId() == null) ? "Added" :
             // "Updated") + " Successfully");
         } catch (Exception e) {
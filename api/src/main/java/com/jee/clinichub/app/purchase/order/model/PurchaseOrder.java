@@ -23,6 +23,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -46,6 +49,8 @@ import lombok.ToString;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
+@NamedEntityGraph(name = "PurchaseOrder.detail", attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+		subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 @Table(name = "purchase_order")
 @EntityListeners(AuditingEntityListener.class)
 public class PurchaseOrder extends Auditable<String>  implements Serializable {
@@ -116,7 +121,7 @@ public class PurchaseOrder extends Auditable<String>  implements Serializable {
 	
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "purchaseOrder",cascade=CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "purchaseOrder",cascade=CascadeType.ALL, fetch = FetchType.LAZY)
 	List<PurchaseOrderItem> items = new ArrayList<PurchaseOrderItem>();
 
 	
@@ -1,13 +1,18 @@
 package com.jee.clinichub.app.purchase.order.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.jee.clinichub.app.purchase.order.model.PurchaseOrder;
 import com.jee.clinichub.app.purchase.order.model.PurchaseOrderProj;
@@ -17,12 +22,31 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
 	//List<PurchaseOrderProj> findAllProjectedBy(Long branchId);
 
+	@EntityGraph("PurchaseOrder.detail")
+	@Query("SELECT p FROM PurchaseOrder p WHERE p.id = :id")
+	Optional<PurchaseOrder> findDetailById(@Param("id") Long id);
+
+	// cached past the session, so whatever the projection reads must be loaded here
 	@Cacheable(value = "PurchaseOrderCache" , keyGenerator = "multiTenantCacheKeyGenerator")
+	@EntityGraph(attributePaths = "items")
 	List<PurchaseOrderProj> findAllProjectedByBranch_idOrderByIdDesc(Long branchId);
 
 
 
+	/**
+	 * The page with its items loaded, so it can be cached past the session. The items are fetched by a second query
+	 * for the page's ids; fetching them in the paged query would make Hibernate page in memory.
+	 */
 	@Cacheable(value = "PurchaseOrderCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@Transactional(readOnly = true)
+	default Page<PurchaseOrderProj> search(Pageable pr, Long branchId, Long paymentId, String name, Long approved) {
+		Page<PurchaseOrderProj> page = searchPage(pr, branchId, paymentId, name, approved);
+		if (page.hasContent()) {
+			findWithItemsByIdIn(page.map(PurchaseOrderProj::getId).getContent());
+		}
+		return page;
+	}
+
     @Query("SELECT p FROM PurchaseOrder p " +
         "WHERE p.branch.id = :branchId " +
         "AND (:paymentId IS NULL OR p.paymentType.id = :paymentId) " +
@@ -30,6 +54,24 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
         "OR (:name IS NULL OR :name = '' OR LOWER(p.uid) LIKE LOWER(CONCAT('%', :name, '%')))) " +
 		"AND (:approved IS NULL OR (p.approved = TRUE AND :approved = 1) OR (p.approved = FALSE AND :approved = 0)) " +
         "ORDER BY p.id DESC")
-    Page<PurchaseOrderProj> search(Pageable pr, Long branchId,Long paymentId,String name,Long approved);
-  
-}
\ No newline at end of file
+    Page<PurchaseOrderProj> searchPage(Pageable pr, Long branchId,Long paymentId,String name,Long approved);
+
+	// loads the items of orders already in the session
+	@EntityGraph(attributePaths = "items")
+	@Query("SELECT p FROM PurchaseOrder p WHERE p.id IN :ids")
+	List<PurchaseOrder> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Changes whenever the order or one of its items is added, modified or removed, or its branch is modified; used
+     * as the document cache version.
+     */
+    @Query(value = """
+            SELECT concat(p.modified_time, '/', b.modified_time, '/', count(i.id), '/', max(i.modified_time))
+            FROM   purchase_order p
+                   JOIN branch b ON b.id = p.branch_id
+                   LEFT JOIN purchase_order_items i ON i.purchase_order_id = p.id
+            WHERE  p.id = :id
+            GROUP  BY p.id, b.id
+            """, nativeQuery = true)
+    Optional<String> findDocumentVersion(@Param("id") Long id);
+}
@@ -1,10 +1,5 @@
 package com.jee.clinichub.app.purchase.order.service;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -24,13 +19,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import com.amazonaws.services.s3.model.ExistingObjectReplication;
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.branch.context.BranchContextHolder;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.model.BranchDto;
@@ -42,6 +35,8 @@ import com.jee.clinichub.app.catalog.brand.repository.BrandRepository;
 import com.jee.clinichub.app.catalog.brand.service.BrandServiceImpl;
 import com.jee.clinichub.app.catalog.category.repository.CategoryRepository;
 import com.jee.clinichub.app.catalog.category.service.CategoryServiceImpl;
+import com.jee.clinichub.app.catalog.inventory.model.StockDelta;
+import com.jee.clinichub.app.catalog.inventory.service.InventoryLedgerService;
 import com.jee.clinichub.app.catalog.product.model.Product;
 import com.jee.clinichub.app.catalog.product.model.ProductDto;
 import com.jee.clinichub.app.catalog.product.repository.ProductRepository;
@@ -50,6 +45,9 @@ import com.jee.clinichub.app.catalog.product.service.ProductServiceImpl;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.pdf.DocumentCache;
+import com.jee.clinichub.app.core.pdf.DocumentType;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.sequence.service.SequenceService;
 import com.jee.clinichub.app.payment.transaction.model.PaymentTransactionDto;
 import com.jee.clinichub.app.payment.transaction.service.PaymentTransactionService;
@@ -70,6 +68,7 @@ import com.jee.clinichub.app.purchase.vendorItemColumn.repository.VendorItemColu
 import com.jee.clinichub.app.vendor.model.Vendor;
 import com.jee.clinichub.app.vendor.model.VendorDto;
 import com.jee.clinichub.app.vendor.repository.VendorRepository;
+import com.jee.clinichub.global.exception.InsufficientStockException;
 import com.jee.clinichub.global.model.Status;
 import com.jee.clinichub.global.utility.TypeConverter;
 
@@ -124,6 +123,12 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 	@Autowired
 	TemplateEngine htmlTemplateEngine;
 
+	@Autowired
+	PdfRenderService pdfRenderService;
+
+	@Autowired
+	DocumentCache documentCache;
+
 	@Autowired
 	private VendorItemColumnRepo vItemColumnRepo;
 
@@ -147,7 +152,10 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 	@Autowired
 	private BatchRepository batchRepository;
 
-	// @Transactional("tenantTransactionManager")
+	@Autowired
+	private InventoryLedgerService inventoryLedgerService;
+
+	@Transactional
 	@Override
 	public Status saveOrUpdate(PurchaseOrderDto purchaseOrderDto) {
 		try {
@@ -164,28 +172,28 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 			if (purchaseOrderDto.getId() == null) {
 				purchaseOrder = new PurchaseOrder(purchaseOrderDto);
 				purchaseOrder.setBranch(branch);
-				nextSequense = sequenceService.getNextSequense(branch.getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(branch.getId(), module.getId());
 				purchaseOrder.setUid(nextSequense);
 			} else {
 				purchaseOrder = this.setPurchaseOrder(purchaseOrderDto);
 			}
 
+			List<StockDelta> received = new ArrayList<StockDelta>();
 			purchaseOrder.getItems().forEach(item -> {
 				Product product = item.getProduct();
 				if (product.getId() == null) {
 					handleNewProduct(item, product, branch);
 				} else {
-					handleExistingProduct(item, product);
+					handleExistingProduct(item, product, received);
 				}
 			});
 
 			purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
-
-			if (purchaseOrderDto.getId() == null) {
-				boolean status = sequenceService.incrementSequense(branch.getId(), module.getId(), nextSequense);
-			}
+			inventoryLedgerService.apply(received);
 
 			return new Status(true, ((purchaseOrderDto.getId() == null) ? "Added" : "Updated") + " Successfully");
+		} catch (InsufficientStockException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
 		}
@@ -208,7 +216,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 			if (purchaseOrderDto.getId() == null) {
 				purchaseOrder = new PurchaseOrder(purchaseOrderDto);
 				purchaseOrder.setBranch(branch);
-				nextSequense = sequenceService.getNextSequense(branch.getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(branch.getId(), module.getId());
 				purchaseOrder.setUid(nextSequense);
 			} else {
 				purchaseOrder = this.setPurchaseOrder(purchaseOrderDto);
@@ -223,10 +231,6 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
 			purchaseOrder = purchaseOrderRepository.save(purchaseOrder);
 
-			if (purchaseOrderDto.getId() == null) {
-				boolean status = sequenceService.incrementSequense(branch.getId(), module.getId(), nextSequense);
-			}
-
 			return new Status(true, ((purchaseOrderDto.getId() == null) ? "Added" : "Updated") + " Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
@@ -252,42 +256,32 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 		batchRepository.save(batchNew);
 	}
 
-	private void handleExistingProduct(PurchaseOrderItem item, Product product) {
+	private void handleExistingProduct(PurchaseOrderItem item, Product product, List<StockDelta> received) {
 		var productId = product.getId();
-		Optional<Product> existingProductOptional = productRepository.findByProductId(productId);
-
-		if (existingProductOptional.isPresent()) {
-			Product existingProduct = existingProductOptional.get();
-			updateExistingProduct(existingProduct, item);
-			ProductDto productDto=new ProductDto(existingProduct);
-			productService.saveOrUpdate(productDto);
-			Product productEntity =productRepository.findById(existingProduct.getId()).get();
-			item.setProduct(productEntity);
+
+		// rack and price only, the stock itself moves through the ledger
+		if (productRepository.updateRackNoAndPrice(productId, product.getRackNo(), item.getMrp()) > 0) {
+			item.setProduct(productRepository.getReferenceById(productId));
+			received.add(StockDelta.ofProduct(productId, receivedQty(item)));
 		} else {
 			log.info("Product not found: " + productId);
 		}
 
-		handleBatch(item, productId);
-	}
-
-	private void updateExistingProduct(Product existingProduct, PurchaseOrderItem item) {
-		existingProduct.setQty(existingProduct.getQty() + item.getQty() + item.getFreeQty());
-		existingProduct.setRackNo(item.getProduct().getRackNo());
-		existingProduct.setPrice(item.getMrp());
+		handleBatch(item, productId, received);
 	}
 
-	private void handleBatch(PurchaseOrderItem item, Long productId) {
+	private void handleBatch(PurchaseOrderItem item, Long productId, List<StockDelta> received) {
 		Optional<Batch> existingBatchOptional = batchRepository.findByUidAndProductId(item.getBatch(), productId);
-		Batch batchNew;
 
 		if (existingBatchOptional.isPresent()) {
-			batchNew = existingBatchOptional.get();
-			batchNew.setQuantity(batchNew.getQuantity() + item.getQty() + item.getFreeQty());
+			received.add(StockDelta.ofBatch(existingBatchOptional.get().getId(), receivedQty(item)));
 		} else {
-			batchNew = createBatch(item, productId);
+			batchRepository.save(createBatch(item, productId));
 		}
+	}
 
-		batchRepository.save(batchNew);
+	private static int receivedQty(PurchaseOrderItem item) {
+		return (item.getQty() == null ? 0 : item.getQty()) + (item.getFreeQty() == null ? 0 : item.getFreeQty());
 	}
 
 	private Batch createBatch(PurchaseOrderItem item, Long productId) {
@@ -352,7 +346,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 	public PurchaseOrderDto getById(Long id) {
 		PurchaseOrderDto purchaseOrderDto = new PurchaseOrderDto();
 		try {
-			Optional<PurchaseOrder> purchaseOrder = purchaseOrderRepository.findById(id);
+			Optional<PurchaseOrder> purchaseOrder = purchaseOrderRepository.findDetailById(id);
 			if (purchaseOrder.isPresent()) {
 				purchaseOrderDto = new PurchaseOrderDto(purchaseOrder.get());
 			}
@@ -371,6 +365,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 			}
 
 			purchaseOrderRepository.deleteById(id);
+			documentCache.evict(DocumentType.PURCHASE_ORDER, id);
 			return new Status(true, "Deleted Successfully");
 		} catch (Exception e) {
 			log.error(e.getLocalizedMessage());
@@ -416,37 +411,13 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 	}
 
 	public byte[] printById(Long id) {
-		// HTML file to PDF
-		try {
+		String version = purchaseOrderRepository.findDocumentVersion(id).orElse(null);
+		return documentCache.get(DocumentType.PURCHASE_ORDER, id, version, () -> {
+			// HTML file to PDF
 			PurchaseOrderDto purchaseOrderDto = getById(id);
 			String html = generatePurchaseInvoiceHtml(purchaseOrderDto);
-
-			ConverterProperties converterProperties = new ConverterProperties();
-			converterProperties.setBaseUri(getBaseUri());
-			HtmlConverter.convertToPdf(html, new FileOutputStream("temp/purchase.pdf"), converterProperties);
-
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File("temp/purchase.pdf"));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		return null;
-	}
-
-	private String getBaseUri() {
-		String filepath = "";
-		try {
-			File file = ResourceUtils.getFile("classpath:" + "templates/purchase");
-			Path path = file.toPath();
-			filepath = path.toString();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return filepath;
+			return pdfRenderService.render(html, pdfRenderService.templateBaseUri("purchase"));
+		});
 	}
 
 	private String generatePurchaseInvoiceHtml(PurchaseOrderDto purchaseOrderDto) {
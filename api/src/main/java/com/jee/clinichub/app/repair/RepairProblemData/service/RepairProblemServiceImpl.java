@@ -1,9 +1,5 @@
 package com.jee.clinichub.app.repair.RepairProblemData.service;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,11 +15,10 @@ import org.thymeleaf.context.Context;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 
 import com.jee.clinichub.app.core.files.FileService;
 
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.repair.RepairProblemData.model.RepairProblemData;
 import com.jee.clinichub.app.repair.RepairProblemData.model.RepairProblemDataDto;
 import com.jee.clinichub.app.repair.RepairProblemData.repository.RepairProblemRepository;
@@ -44,6 +39,7 @@ public class RepairProblemServiceImpl implements RepairProblemService{
 	    @Autowired TypeConverter typeConverter;
 	    
 	    @Autowired TemplateEngine htmlTemplateEngine;
+	    @Autowired PdfRenderService pdfRenderService;
 	    
 	    @Autowired FileService fileService;
 	    @Autowired TenantService tenantService;
@@ -124,28 +120,9 @@ public class RepairProblemServiceImpl implements RepairProblemService{
 	@Override
 	public byte[] repairProblemDataPrint(MultipartFile canvasChartLeftFile, MultipartFile canvasChartRightFile,
 			Long id) {
-		try {
-			RepairProblemDataDto repairProblemDataDto = getById(id);
-    		String html = generateRepairProblemDataHtml(repairProblemDataDto,canvasChartLeftFile,canvasChartRightFile);
-    		
-    		File tempFile = File.createTempFile("repairProblemData", ".pdf");
-    		FileOutputStream fos = new FileOutputStream(tempFile);
-    		
-    		ConverterProperties converterProperties = new ConverterProperties();
-    		//converterProperties.setBaseUri(getBaseUri());
-			HtmlConverter.convertToPdf(html,fos,converterProperties);
-			
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File( tempFile.getPath()));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-        log.info( "PDF Created! Successfully" );
-		return null;
+		RepairProblemDataDto repairProblemDataDto = getById(id);
+		String html = generateRepairProblemDataHtml(repairProblemDataDto,canvasChartLeftFile,canvasChartRightFile);
+		return pdfRenderService.render(html, null);
 	}
 	
 	private String generateRepairProblemDataHtml(RepairProblemDataDto repairProblemDataDto, MultipartFile canvasChartLeftFile, MultipartFile canvasChartRightFile) {
@@ -38,8 +38,8 @@ import lombok.ToString;
  * 
  */
 @Data
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "repair")
+@EqualsAndHashCode(exclude = "repair")
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
@@ -56,7 +56,7 @@ public class RepairCourier  implements Serializable {
 	private Long id;
 
 	@JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "repair_id")
 	private Repair repair;	
 	
@@ -36,8 +36,8 @@ import lombok.ToString;
  * 
  */
 @Data
-@ToString
-@EqualsAndHashCode
+@ToString(exclude = "repair")
+@EqualsAndHashCode(exclude = "repair")
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
@@ -54,7 +54,7 @@ public class RepairPayment  implements Serializable {
 	private Long id;
 
 	@JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "repair_id")
 	private Repair repair;	
 	
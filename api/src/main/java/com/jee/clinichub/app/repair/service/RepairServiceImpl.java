@@ -1,10 +1,5 @@
 package com.jee.clinichub.app.repair.service;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -16,15 +11,12 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.branch.context.BranchContextHolder;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.model.BranchDto;
@@ -32,6 +24,7 @@ import com.jee.clinichub.app.core.files.FileService;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.sequence.service.SequenceService;
 import com.jee.clinichub.app.courier.model.Courier;
 import com.jee.clinichub.app.courier.repository.CourierRepository;
@@ -118,6 +111,9 @@ public class RepairServiceImpl implements RepairService {
 
 	 @Autowired FileService fileService;
 
+	@Autowired
+	PdfRenderService pdfRenderService;
+
 	@Override
 	public Status saveOrUpdate(RepairDto repairDto) {
 		try {
@@ -144,7 +140,7 @@ public class RepairServiceImpl implements RepairService {
 
 			if (repairDto.getId() == null) {
 				repair = new Repair(repairDto);
-				nextSequense = sequenceService.getNextSequense(repairDto.getBranch().getId(), module.getId());
+				nextSequense = sequenceService.allocateSequense(repairDto.getBranch().getId(), module.getId());
 				repair.setOrderId(nextSequense);
 				repair.setOrderDate(new Date());
 
@@ -326,52 +322,34 @@ public class RepairServiceImpl implements RepairService {
 	@Override
 	public byte[] printById(Long id) {
 		// HTML file to PDF
-		try {
-			RepairDto repairDto = getById(id);
-			
-			Optional<Repair> repair = repairRepository.findById(id);
-			if (repair.isPresent()) {
-				repairDto = new RepairDto(repair.get());
-
-				final RepairDto repairDtoFinal = repairDto;
-
-				Set<Long> repairProblemIdSet = Arrays.stream(repairDtoFinal.getRepairProblem())
-						.map(RepairProblemDataDto::getId)
-						.collect(Collectors.toSet());
-						log.info("repairProblemIdSet: "+repairProblemIdSet);
+		RepairDto repairDto = getById(id);
+		
+		Optional<Repair> repair = repairRepository.findById(id);
+		if (repair.isPresent()) {
+			repairDto = new RepairDto(repair.get());
 
-				List<RepairProblemDataDto> repairProblemDtoList = repairProblemService.getAllRepairProblemData()
-						.stream()
-						.filter(data -> repairProblemIdSet.contains(data.getId()))
-						.collect(Collectors.toList());
-						log.info("repairProblemDtoList: "+repairProblemDtoList);
+			final RepairDto repairDtoFinal = repairDto;
 
+			Set<Long> repairProblemIdSet = Arrays.stream(repairDtoFinal.getRepairProblem())
+					.map(RepairProblemDataDto::getId)
+					.collect(Collectors.toSet());
+					log.info("repairProblemIdSet: "+repairProblemIdSet);
 
-				repairDto.setRepairProblem(
-						repairProblemDtoList.toArray(new RepairProblemDataDto[repairProblemDtoList.size()]));
+			List<RepairProblemDataDto> repairProblemDtoList = repairProblemService.getAllRepairProblemData()
+					.stream()
+					.filter(data -> repairProblemIdSet.contains(data.getId()))
+					.collect(Collectors.toList());
+					log.info("repairProblemDtoList: "+repairProblemDtoList);
 
-			}
 
-			String html = generateRepairFormHtml(repairDto);
+			repairDto.setRepairProblem(
+					repairProblemDtoList.toArray(new RepairProblemDataDto[repairProblemDtoList.size()]));
 
-			File tempFile = File.createTempFile("repairForm", ".pdf");
-			FileOutputStream fos = new FileOutputStream(tempFile);
+		}
 
-			ConverterProperties converterProperties = new ConverterProperties();
-			// converterProperties.setBaseUri(getBaseUri());
-			HtmlConverter.convertToPdf(html, fos, converterProperties);
+		String html = generateRepairFormHtml(repairDto);
 
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File(tempFile.getPath()));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			
-			e.printStackTrace();
-		} catch (IOException e) {
-			
-			e.printStackTrace();
-		}
-		log.info("PDF Created! Success fully");
-		return null;
+		return pdfRenderService.render(html, null);
 	}
 
 	
@@ -410,55 +388,19 @@ public class RepairServiceImpl implements RepairService {
 	@Override
 	public byte[] printRepairPayment(Long repairId, Long payId) {
 		// HTML file to PDF
-		try {
-			RepairDto repairDto = getById(repairId);
-
-			if (payId != 0) {
-				List<RepairPaymentDto> repairPaymentList = new ArrayList<RepairPaymentDto>();
+		RepairDto repairDto = getById(repairId);
 
-				repairPaymentList = repairDto.getRepairPaymentList().stream().filter(data -> payId == data.getId())
-						.collect(Collectors.toList());
-				repairDto.setRepairPaymentList(repairPaymentList);
-			}
+		if (payId != 0) {
+			List<RepairPaymentDto> repairPaymentList = new ArrayList<RepairPaymentDto>();
 
-			String html = generateRepairFormHtml(repairDto, "payment", payId);
-
-			ConverterProperties converterProperties = new ConverterProperties();
-			converterProperties.setBaseUri(getBaseUri());
-			fileWithDirectoryAssurance("temp");
-			HtmlConverter.convertToPdf(html, new FileOutputStream("temp/repair-payment.pdf"), converterProperties);
-
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File("temp/repair-payment.pdf"));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			repairPaymentList = repairDto.getRepairPaymentList().stream().filter(data -> payId == data.getId())
+					.collect(Collectors.toList());
+			repairDto.setRepairPaymentList(repairPaymentList);
 		}
-		log.info("PDF Created! Success fully");
-		return null;
-	}
 
-	private String getBaseUri() {
-		String filepath = "";
-		try {
-			File file = ResourceUtils.getFile("classpath:" + "templates/repair");
-			Path path = file.toPath();
-			filepath = path.toString();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return filepath;
-	}
+		String html = generateRepairFormHtml(repairDto, "payment", payId);
 
-	/** Creates parent directories if necessary. Then returns file */
-	private static boolean fileWithDirectoryAssurance(String directory) {
-		File dir = new File(directory);
-		if (!dir.exists())
-			dir.mkdirs();
-		return true;
+		return pdfRenderService.render(html, pdfRenderService.templateBaseUri("repair"));
 	}
 
 	private String generateRepairFormHtml(RepairDto repairDto, String type, Long payId) {
@@ -14,6 +14,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -48,6 +50,7 @@ import lombok.ToString;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
+@NamedEntityGraph(name = "SalesOrder.detail", attributeNodes = @NamedAttributeNode("items"))
 @Table(name = "sales_order")
 @EntityListeners(AuditingEntityListener.class)
 public class SalesOrder extends Auditable<String>  implements Serializable {
@@ -115,7 +118,7 @@ public class SalesOrder extends Auditable<String>  implements Serializable {
 	
 
 	@JsonManagedReference
-	@OneToMany(mappedBy = "salesOrder",cascade=CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "salesOrder",cascade=CascadeType.ALL, fetch = FetchType.LAZY)
 	List<SalesOrderItem> items = new ArrayList<SalesOrderItem>();
 	
 	
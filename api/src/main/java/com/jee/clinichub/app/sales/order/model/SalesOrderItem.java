@@ -58,7 +58,7 @@ public class SalesOrderItem extends Auditable<String>  implements Serializable {
 	
 
 	@JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "order_id")
 	private SalesOrder salesOrder;
 	 
@@ -1,8 +1,12 @@
 package com.jee.clinichub.app.sales.order.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jee.clinichub.app.sales.order.model.SalesOrderItemSerial;
@@ -12,5 +16,11 @@ public interface SalesOrderItemSerialRepository extends JpaRepository<SalesOrder
 
 	List<SalesOrderItemSerial> findAllByItemId(Long id);
 
+	List<SalesOrderItemSerial> findAllByItemIdIn(Collection<Long> ids);
+
+	@Modifying(flushAutomatically = true)
+	@Query("DELETE FROM SalesOrderItemSerial s WHERE s.itemId IN :itemIds")
+	int deleteAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
   
 }
\ No newline at end of file
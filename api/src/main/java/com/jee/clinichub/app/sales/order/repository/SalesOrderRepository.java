@@ -1,14 +1,19 @@
 package com.jee.clinichub.app.sales.order.repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.jee.clinichub.app.sales.order.model.SalesOrder;
 import com.jee.clinichub.app.sales.order.model.SalesOrderProj;
 
@@ -17,10 +22,34 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
 
 	List<SalesOrderProj> findAllProjectedBy();
 
+	// items dropped from an order on update; their serials must be deleted first
+	@Modifying(flushAutomatically = true)
+	@Query("DELETE FROM SalesOrderItem i WHERE i.id IN :ids")
+	int deleteItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@EntityGraph("SalesOrder.detail")
+	@Query("SELECT s FROM SalesOrder s WHERE s.id = :id")
+	Optional<SalesOrder> findDetailById(@Param("id") Long id);
+
+	// cached past the session, so whatever the projection reads must be loaded here
 	@Cacheable(value = "salesOrderCache", keyGenerator = "multiTenantCacheKeyGenerator")
+	@EntityGraph(attributePaths = "items")
 	List<SalesOrderProj> findAllProjectedByBranch_IdOrderByIdDesc(Long branchId);
 
+    /**
+     * The page with its items loaded, so it can be cached past the session. The items are fetched by a second query
+     * for the page's ids; fetching them in the paged query would make Hibernate page in memory.
+     */
     @Cacheable(value = "salesOrderCache", keyGenerator = "multiTenantCacheKeyGenerator")
+    @Transactional(readOnly = true)
+    default Page<SalesOrderProj> search(Pageable pr, Long branchId, String name, Long paymentId) {
+        Page<SalesOrderProj> page = searchPage(pr, branchId, name, paymentId);
+        if (page.hasContent()) {
+            findWithItemsByIdIn(page.map(SalesOrderProj::getId).getContent());
+        }
+        return page;
+    }
+
     @Query("SELECT s FROM SalesOrder s " +
         "WHERE s.branch.id = :branchId " +
         "AND (:paymentId IS NULL OR s.paymentType.id = :paymentId) " +
@@ -29,11 +58,34 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
         // "AND (:fromDate IS NULL OR s.createdTime >= :fromDate)  " +
         // "AND (:toDate IS NULL OR s.createdTime <= :toDate) " +
         "ORDER BY s.id DESC")
-    Page<SalesOrderProj> search(
+    Page<SalesOrderProj> searchPage(
         Pageable pr,
         @Param("branchId") Long branchId,
         @Param("name") String name,
         // @Param("fromDate") Date fromDate,
         // @Param("toDate") Date toDate,
         @Param("paymentId") Long paymentId);
-}
\ No newline at end of file
+
+    // loads the items of orders already in the session
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT s FROM SalesOrder s WHERE s.id IN :ids")
+    List<SalesOrder> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Changes whenever the order or one of its items or item serials is added, modified or removed, or its branch is
+     * modified; used as the document cache version.
+     */
+    @Query(value = """
+            SELECT concat(s.modified_time, '/', b.modified_time, '/', count(i.id), '/', max(i.modified_time), '/',
+                          (SELECT concat(count(se.id), '/', max(se.modified_time))
+                           FROM   sales_order_item_serial se
+                                  JOIN sales_order_items si ON si.id = se.order_item_id
+                           WHERE  si.order_id = s.id))
+            FROM   sales_order s
+                   JOIN branch b ON b.id = s.branch_id
+                   LEFT JOIN sales_order_items i ON i.order_id = s.id
+            WHERE  s.id = :id
+            GROUP  BY s.id, b.id
+            """, nativeQuery = true)
+    Optional<String> findDocumentVersion(@Param("id") Long id);
+}
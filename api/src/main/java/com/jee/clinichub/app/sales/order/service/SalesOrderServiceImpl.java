@@ -1,14 +1,12 @@
 package com.jee.clinichub.app.sales.order.service;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,24 +19,24 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ResourceUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import com.itextpdf.html2pdf.ConverterProperties;
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.jee.clinichub.app.branch.context.BranchContextHolder;
 import com.jee.clinichub.app.branch.model.Branch;
 import com.jee.clinichub.app.branch.model.BranchDto;
 import com.jee.clinichub.app.branch.repository.BranchRepository;
-import com.jee.clinichub.app.catalog.batch.model.Batch;
-import com.jee.clinichub.app.catalog.batch.repository.BatchRepository;
+import com.jee.clinichub.app.catalog.inventory.model.StockDelta;
+import com.jee.clinichub.app.catalog.inventory.service.InventoryLedgerService;
 import com.jee.clinichub.app.catalog.product.model.Product;
 import com.jee.clinichub.app.catalog.product.model.ProductSerial;
 import com.jee.clinichub.app.catalog.product.service.ProductService;
 import com.jee.clinichub.app.core.module.model.Module;
 import com.jee.clinichub.app.core.module.model.ModuleEnum;
 import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.core.pdf.DocumentCache;
+import com.jee.clinichub.app.core.pdf.DocumentType;
+import com.jee.clinichub.app.core.pdf.PdfRenderService;
 import com.jee.clinichub.app.core.sequence.service.SequenceService;
 import com.jee.clinichub.app.customer.model.Customer;
 import com.jee.clinichub.app.customer.repository.CustomerRepository;
@@ -56,6 +54,7 @@ import com.jee.clinichub.app.sales.order.model.SalesOrderProj;
 import com.jee.clinichub.app.sales.order.model.Search;
 import com.jee.clinichub.app.sales.order.repository.SalesOrderItemSerialRepository;
 import com.jee.clinichub.app.sales.order.repository.SalesOrderRepository;
+import com.jee.clinichub.global.exception.InsufficientStockException;
 import com.jee.clinichub.global.model.Status;
 import com.jee.clinichub.global.utility.TypeConverter;
 
@@ -82,7 +81,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     ModuleRepository moduleRepository;
     
     @Autowired
-    private BatchRepository batchRepository;
+    private InventoryLedgerService inventoryLedgerService;
     
     
     @Autowired
@@ -97,6 +96,8 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     @Autowired TypeConverter typeConverter;
     
     @Autowired TemplateEngine htmlTemplateEngine;
+    @Autowired PdfRenderService pdfRenderService;
+    @Autowired DocumentCache documentCache;
     
     @Autowired
     private CustomerRepository customerRepository;
@@ -122,6 +123,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 			SalesOrder salesOrder = new SalesOrder();
 			Branch branch = BranchContextHolder.getCurrentBranch();
 			String nextSequense = null;
+			List<StockDelta> stockDeltas = new ArrayList<StockDelta>();
 			
 			
 			
@@ -133,44 +135,25 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 					//customer.setSalesOrder(salesOrder);
 					salesOrder.setCustomer(customer);
 				}
-				nextSequense = sequenceService.getNextSequense(branch.getId(),module.getId());
+				nextSequense = sequenceService.allocateSequense(branch.getId(),module.getId());
 				salesOrder.setUid(nextSequense);
 			}else{
-				salesOrder = this.setSalesOrder(salesOrderDto);
+				SalesOrder exSalesOrder = salesOrderRepository.findById(salesOrderDto.getId()).get();
+				// give back what the stored rows took, the ledger nets it against what the new rows take
+				stockDeltas.addAll(stockMoved(exSalesOrder.getItems(), 1));
+				salesOrder = this.setSalesOrder(exSalesOrder, salesOrderDto);
 			}
 			
-			List<SalesOrderItem> salesOrderItem = salesOrder.getItems();
-			
 			salesOrder = salesOrderRepository.save(salesOrder); //update order status
 			paymentTransactionService.saveOrUpdate(salesOrderToTransaction(salesOrder)); //update payment status
 			
 			//update product inventory qty
-			salesOrderDto.getItems().forEach(item->{
-				
-				var existingItemOpt=salesOrderItem.stream().filter(a->a.getId().equals(item.getId())).findFirst();
-				
-				
-				item.getSerials().forEach(batch->{
-					var batchId = batch.getSerialId();
-					Optional<Batch> existingBatch = batchRepository.findById(batchId);
-					if(existingBatch.isPresent()) {
-						Batch batchNew = new Batch();
-						batchNew = existingBatch.get();
-						batchNew.setQuantity(batchNew.getQuantity()-existingItemOpt.get().getQty());
-					}
-				});
-				
-				
-				
-				
-			});
-			
-			
-			if(salesOrderDto.getId()==null) {
-				boolean status = sequenceService.incrementSequense(branch.getId(),module.getId(),nextSequense);
-			}
+			stockDeltas.addAll(stockMoved(salesOrder.getItems(), -1));
+			inventoryLedgerService.apply(stockDeltas);
 			
 			return new Status(true,( (salesOrderDto.getId()==null) ? "Added":"Updated")  +  " Successfully");
+		}catch(InsufficientStockException e){
+			throw e;
 		}catch(Exception e){
 			log.error(e.getLocalizedMessage());
 		}
@@ -178,6 +161,24 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 		
 	}
 	
+	/**
+	 * The stock the items take out (sign -1) or give back (sign 1): the item qty from the product, each serial's own
+	 * qty from its batch.
+	 */
+	static List<StockDelta> stockMoved(List<SalesOrderItem> items, int sign) {
+		List<StockDelta> deltas = new ArrayList<StockDelta>();
+		items.forEach(item->{
+			if(item.getQty()!=null) {
+				deltas.add(StockDelta.ofProduct(item.getProductId(), sign * item.getQty()));
+			}
+			item.getSerials().forEach(serial->{
+				if(serial.getQty()!=null) {
+					deltas.add(StockDelta.ofBatch(serial.getSerialId(), sign * serial.getQty()));
+				}
+			});
+		});
+		return deltas;
+	}
   
 	private Product itemToProduct(SalesOrderItemDto item) {
 		Product product = new Product();
@@ -204,9 +205,8 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 	}
 
 
-	private SalesOrder setSalesOrder(SalesOrderDto salesOrderDto) {
+	private SalesOrder setSalesOrder(SalesOrder exSalesOrder, SalesOrderDto salesOrderDto) {
 		
-    	SalesOrder exSalesOrder = salesOrderRepository.findById(salesOrderDto.getId()).get();
     	exSalesOrder.setRemark(salesOrderDto.getRemark());
     	exSalesOrder.setPaymentType(paymentTypeRepository.getById(salesOrderDto.getPaymentType().getId()));
     	exSalesOrder.setBranch(branchRepository.getById(salesOrderDto.getBranch().getId()));
@@ -221,16 +221,22 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     	List<SalesOrderItem> items = new ArrayList<SalesOrderItem>();
     	salesOrderDto.getItems().forEach(item->{
     		SalesOrderItem orderItem = new SalesOrderItem(item);
-    		var newQty=	orderItem.getQty();
-    		var existingItemOpt=exSalesOrder.getItems().stream().filter(a->a.getId().equals(orderItem.getId())).findFirst();
-    		
-    		if(existingItemOpt.isPresent()) {
-        		orderItem.setQty(newQty-existingItemOpt.get().getQty());
-        	}
-    		
+    		// serials are stored afresh below
+    		orderItem.getSerials().forEach(serial->serial.setId(null));
 			orderItem.setSalesOrder(exSalesOrder);
 			items.add(orderItem);
 		});
+    	
+    	// the stored rows were given back to stock, drop them so they are not counted again
+    	List<Long> exItemIds = exSalesOrder.getItems().stream().map(SalesOrderItem::getId).toList();
+    	Set<Long> keptIds = items.stream().map(SalesOrderItem::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+    	List<Long> removedIds = exItemIds.stream().filter(id->!keptIds.contains(id)).toList();
+    	if(!exItemIds.isEmpty()) {
+    		salesOrderItemSerialRepository.deleteAllByItemIdIn(exItemIds);
+    	}
+    	if(!removedIds.isEmpty()) {
+    		salesOrderRepository.deleteItemsByIdIn(removedIds);
+    	}
     	exSalesOrder.setItems(items);
     	
 		return exSalesOrder;
@@ -258,15 +264,20 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 	public SalesOrderDto getById(Long id) {
 		SalesOrderDto salesOrderDto = new SalesOrderDto();
 		try{
-			Optional<SalesOrder> salesOrder = salesOrderRepository.findById(id);
+			Optional<SalesOrder> salesOrder = salesOrderRepository.findDetailById(id);
 			if(salesOrder.isPresent()){
 				salesOrderDto = new SalesOrderDto(salesOrder.get());
 				
+				// serials of all items in one query
+				List<Long> itemIds = salesOrderDto.getItems().stream().map(SalesOrderItemDto::getId).toList();
+				Map<Long, List<SalesOrderItemSerialDto>> serialsByItem = itemIds.isEmpty() ? Map.of()
+						: salesOrderItemSerialRepository.findAllByItemIdIn(itemIds).stream()
+								.collect(Collectors.groupingBy(SalesOrderItemSerial::getItemId,
+										Collectors.mapping(SalesOrderItemSerialDto::new, Collectors.toList())));
+				
 				List<SalesOrderItemDto> items = new ArrayList<SalesOrderItemDto>();
 				salesOrderDto.getItems().forEach(item->{
-					List<SalesOrderItemSerial> serials = salesOrderItemSerialRepository.findAllByItemId(item.getId());
-					List<SalesOrderItemSerialDto> serialsDtoList = serials.stream().map(SalesOrderItemSerialDto::new).collect(Collectors.toList());
-					item.setSerials(serialsDtoList);
+					item.setSerials(serialsByItem.getOrDefault(item.getId(), new ArrayList<>()));
 					items.add(item);
 				});
 				salesOrderDto.setItems(items);
@@ -287,6 +298,7 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 			}
 			
 			salesOrderRepository.deleteById(id);
+			documentCache.evict(DocumentType.SALES_INVOICE, id);
 			return new Status(true,"Deleted Successfully");
 		}catch(Exception e){
 			log.error(e.getLocalizedMessage());
@@ -336,38 +348,13 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
 	@Override
 	public byte[] printById(Long id) {
-		// HTML file to PDF
-    	try {
-    		SalesOrderDto salesOrderDto = getById(id);
-    		String html = generateSalesInvoiceHtml(salesOrderDto);
-    		
-    		ConverterProperties converterProperties = new ConverterProperties();
-    		converterProperties.setBaseUri(getBaseUri());
-			HtmlConverter.convertToPdf(html,new FileOutputStream("temp/sales-invoice.pdf"),converterProperties);
-			
-			byte[] pdfBytes = typeConverter.fileToByteArray(new File("temp/sales-invoice.pdf"));
-			return pdfBytes;
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-        log.info( "PDF Created! Success fully" );
-		return null;
-	}
-
-	private String getBaseUri() {
-		String filepath = "";
-		try {
-			File file = ResourceUtils.getFile("classpath:" + "templates/sales");
-	        Path path = file.toPath();
-	        filepath = path.toString();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return filepath;
+		String version = salesOrderRepository.findDocumentVersion(id).orElse(null);
+		return documentCache.get(DocumentType.SALES_INVOICE, id, version, () -> {
+			// HTML file to PDF
+			SalesOrderDto salesOrderDto = getById(id);
+			String html = generateSalesInvoiceHtml(salesOrderDto);
+			return pdfRenderService.render(html, pdfRenderService.templateBaseUri("sales"));
+		});
 	}
 
 	private String generateSalesInvoiceHtml(SalesOrderDto salesOrderDto) {
@@ -140,7 +140,7 @@ public class StaffServiceImpl implements StaffService {
 				if (user.getBranch() == null)
 					user.setBranch(branch);
 
-				nextSequence = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+				nextSequence = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 				staff.setUid(nextSequence);
 
 			} else {
@@ -158,10 +158,6 @@ public class StaffServiceImpl implements StaffService {
 			staff = staffRepository.save(staff);
 
 			if (staffDto.getId() == null) {
-				// Increment sequence for new staff
-				sequenceService.incrementSequense(staffDto.getUser().getBranch().getId(),
-						module.getId(), nextSequence);
-
 				// Handle email based on context
 				switch (context) {
 					case FIRST_TIME_ADMIN:
@@ -1,5 +1,6 @@
 package com.jee.clinichub.app.user.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,15 +10,19 @@ import com.jee.clinichub.app.user.model.UserAuth;
 public interface UserAuthRepository extends JpaRepository<UserAuth, Long> {
 	
 	
+	// login profile lookups, the role goes into the token with its permissions
 	//@Cacheable(value="userFindByUsername", key="#p0")
+	@EntityGraph(attributePaths = { "role.permissions.module" })
 	UserAuth findByUsername(String username);
 	
 	UserAuth findByUsernameOrEmail(String username,String mail);
 	
 	UserAuth findByUsernameOrEmailOrPhone(String username,String mail,String phone);
 
+	@EntityGraph(attributePaths = { "role.permissions.module" })
 	UserAuth findByEmail(String userEmail);
 
+    @EntityGraph(attributePaths = { "role.permissions.module" })
     UserAuth findByPhone(String userPhone);
 
 }
\ No newline at end of file
@@ -19,6 +19,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -39,6 +42,8 @@ import lombok.ToString;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
+@NamedEntityGraph(name = "Role.permissions", attributeNodes = @NamedAttributeNode(value = "permissions", subgraph = "permissions"),
+		subgraphs = @NamedSubgraph(name = "permissions", attributeNodes = @NamedAttributeNode("module")))
 @Table(name = "role")
 @EntityListeners(AuditingEntityListener.class)
 public class Role extends Auditable<String> implements Serializable {
@@ -61,7 +66,7 @@ public class Role extends Auditable<String> implements Serializable {
 	private boolean isDefault;
 	
 	@JsonManagedReference
-	@OneToMany(mappedBy = "role",cascade=CascadeType.ALL,fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "role",cascade=CascadeType.ALL,fetch = FetchType.LAZY)
 	private List<Permission> permissions = new ArrayList<Permission>();
 
 	public Role(RoleDto roleDto) {
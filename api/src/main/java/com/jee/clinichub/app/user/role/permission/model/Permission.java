@@ -51,7 +51,7 @@ public class Permission extends Auditable<String> implements Serializable {
 	
 	
 	@JsonBackReference
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "role_id", nullable = false)
 	private Role role;
 	
@@ -3,7 +3,10 @@ package com.jee.clinichub.app.user.role.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jee.clinichub.app.core.projections.CommonProj;
@@ -13,6 +16,7 @@ import com.jee.clinichub.app.user.role.model.Role;
 @Repository
 public interface RoleeRepository extends JpaRepository<Role, Long> {
 	
+    @EntityGraph("Role.permissions")
     Role findRoleByName(String name);
 
 	boolean existsByName(String name);
@@ -25,5 +29,10 @@ public interface RoleeRepository extends JpaRepository<Role, Long> {
 	
 	List<CommonProj> findAllProjectedByNameNotIn(List<String> names);
 
+    @EntityGraph("Role.permissions")
     Role findByName(String string);
+
+    @EntityGraph("Role.permissions")
+    @Query("SELECT r FROM Role r WHERE r.id = :id")
+    Optional<Role> findDetailById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -123,7 +123,7 @@ public class RoleServiceImpl implements RoleService {
 		
 		RoleDto roleDto = new RoleDto();
 		try{
-			Optional<Role> role = roleRepository.findById(id);
+			Optional<Role> role = roleRepository.findDetailById(id);
 			if(role.isPresent()){
 				roleDto = new RoleDto(role.get());
 			}
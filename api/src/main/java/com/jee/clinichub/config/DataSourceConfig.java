@@ -0,0 +1,52 @@
+package com.jee.clinichub.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wraps the auto-configured pool so every consumer (Hibernate, JdbcTemplate, Flyway)
+     * shares one view of which schema each physical connection is on.
+     */
+    @Bean
+    public static BeanPostProcessor tenantAwareDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TenantAwareDataSource)) {
+                    return new TenantAwareDataSource(dataSource, environment.getRequiredProperty("app.default-tenant"));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder tenantSchemaSwitchMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof TenantAwareDataSource tenantAwareDataSource)) {
+                return;
+            }
+            FunctionCounter.builder("clinichub.tenant.schema.switches", tenantAwareDataSource, TenantAwareDataSource::getSwitchesExecuted)
+                    .tag("result", "executed")
+                    .description("search_path changes issued on connection checkout")
+                    .register(registry);
+            FunctionCounter.builder("clinichub.tenant.schema.switches", tenantAwareDataSource, TenantAwareDataSource::getSwitchesSkipped)
+                    .tag("result", "skipped")
+                    .description("checkouts where the connection was already on the requested schema")
+                    .register(registry);
+            Gauge.builder("clinichub.tenant.schema.tracked.connections", tenantAwareDataSource, TenantAwareDataSource::getTrackedConnections)
+                    .register(registry);
+        };
+    }
+}
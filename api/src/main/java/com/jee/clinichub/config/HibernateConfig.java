@@ -10,6 +10,7 @@ import javax.sql.DataSource;
 import org.hibernate.cfg.Environment;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +23,10 @@ import com.jee.clinichub.ClinichubApplication;
 @Configuration
 public class HibernateConfig {
 
+    // lazy associations of the entities in a session are loaded this many at a time
+    @Value("${app.jpa.batch-fetch-size:32}")
+    private int batchFetchSize;
+
     @Bean
     public JpaVendorAdapter jpaVendorAdapter() {
         return new HibernateJpaVendorAdapter();
@@ -40,6 +45,8 @@ public class HibernateConfig {
        // jpaPropertiesMap.put(Environment.MULTI_TENANT, MultiTenancyStrategy.SCHEMA);
         jpaPropertiesMap.put(Environment.MULTI_TENANT_CONNECTION_PROVIDER, multiTenantConnectionProvider);
         jpaPropertiesMap.put(Environment.MULTI_TENANT_IDENTIFIER_RESOLVER, tenantIdentifierResolver);
+        jpaPropertiesMap.putIfAbsent(Environment.DEFAULT_BATCH_FETCH_SIZE, batchFetchSize);
+        jpaPropertiesMap.put(Environment.STATEMENT_INSPECTOR, new SqlStatementCounter());
         em.setJpaPropertyMap(jpaPropertiesMap);
 
         return em;
@@ -28,8 +28,11 @@ import com.jee.clinichub.app.branch.service.BranchService;
 import com.jee.clinichub.global.context.TimeZoneContextHolder;
 import com.jee.clinichub.global.model.Status;
 import com.jee.clinichub.global.security.service.JwtService;
+import com.jee.clinichub.global.security.service.VerifiedTokenCache;
+import com.jee.clinichub.global.security.service.VerifiedTokenCache.VerifiedToken;
 import com.jee.clinichub.global.tenant.context.TenantContextHolder;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -55,6 +58,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	
     @Autowired private JwtService jwtService;
     
+    @Autowired private VerifiedTokenCache verifiedTokenCache;
+    
     @Resource(name = "userService")
     @Autowired private UserDetailsService userDetailsService;
     
@@ -100,14 +105,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = authHeader.substring(7);
         
         try {
-            String userEmail = jwtService.extractUserName(jwt);
-        
-            if (StringUtils.isEmpty(userEmail) || SecurityContextHolder.getContext().getAuthentication() != null) {
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
                 filterChain.doFilter(request, response);
                 return;
             }
         
-            authenticateUser(jwt, userEmail, request);
+            authenticateUser(jwt, request);
             filterChain.doFilter(request, response);
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
@@ -149,30 +152,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
     
     /**
-     * Authenticates the user using the provided JWT token and user email.
-     * Sets the current tenant, loads the user details, validates the token,
-     * sets the authentication token in the security context, and sets the current branch.
+     * Authenticates the user using the provided JWT token.
+     * A token seen before is served from {@link VerifiedTokenCache} without parsing or any DB access;
+     * otherwise it is verified once, the user is loaded and the result is cached until the token expires.
+     * Sets the current tenant, the authentication token in the security context, and the current branch.
      *
      * @param jwt      the JWT token
-     * @param userEmail the user email
      * @param request  the HTTP servlet request
      */
-    private void authenticateUser(String jwt, String userEmail, HttpServletRequest request) {
+    private void authenticateUser(String jwt, HttpServletRequest request) {
 
-        String loggedInTenant = jwtService.extractTenant(jwt);
-        if (loggedInTenant == null || loggedInTenant.isBlank()) {
-            loggedInTenant = defaultTenant; // fallback to "master" or your configured default
+        VerifiedToken verified = verifiedTokenCache.get(jwt);
+        if (verified == null) {
+            verified = verifyToken(jwt);
+            if (verified == null) {
+                return;
+            }
         }
-        TenantContextHolder.setCurrentTenant(loggedInTenant);
-        // Set tenant context BEFORE any DB access
-        //log.info("Tenant set before loading user details: {}", TenantContextHolder.getCurrentTenant());
+        TenantContextHolder.setCurrentTenant(verified.getTenant());
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-    
-        if (!jwtService.isTokenValid(jwt, userDetails)) {
-            return;
-        }
-    
+        UserDetails userDetails = verified.getUserDetails();
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -183,6 +182,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         this.getBranchByReq(request).ifPresent(BranchContextHolder::setCurrentBranch);
     }
 
+    /**
+     * Parses and verifies the token a single time, resolves tenant and user from its claims
+     * and stores the outcome in the verified token cache.
+     *
+     * @param jwt the JWT token
+     * @return the verified token, or null if the token carries no subject or does not match the user
+     */
+    private VerifiedToken verifyToken(String jwt) {
+        Claims claims = jwtService.extractAllClaims(jwt);
+        String userEmail = claims.getSubject();
+        if (StringUtils.isEmpty(userEmail)) {
+            return null;
+        }
+
+        String loggedInTenant = claims.getAudience();
+        if (loggedInTenant == null || loggedInTenant.isBlank()) {
+            loggedInTenant = defaultTenant; // fallback to "master" or your configured default
+        }
+        // Set tenant context BEFORE any DB access
+        TenantContextHolder.setCurrentTenant(loggedInTenant);
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return verifiedTokenCache.put(jwt, loggedInTenant, userDetails, claims.getExpiration());
+    }
+
     /**
      * Sets the tenant for public pages based on the request.
      * Prioritizes explicit tenant header over token extraction and default fallback.
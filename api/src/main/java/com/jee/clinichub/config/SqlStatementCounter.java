@@ -0,0 +1,65 @@
+package com.jee.clinichub.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread while a count is open, so a fetch plan can be
+ * checked by the number of queries it takes and what they are. Outside a count it only passes the SQL through.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the work and returns its result together with the statements it took on this thread.
+     */
+    public static <T> Counted<T> count(Supplier<T> work) {
+        List<String> outer = STATEMENTS.get();
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            return new Counted<>(work.get(), statements);
+        } finally {
+            if (outer != null) {
+                // a nested count is part of the one around it
+                outer.addAll(statements);
+                STATEMENTS.set(outer);
+            } else {
+                STATEMENTS.remove();
+            }
+        }
+    }
+
+    public static int statementsOf(Runnable work) {
+        return sqlOf(work).size();
+    }
+
+    public static List<String> sqlOf(Runnable work) {
+        return count(() -> {
+            work.run();
+            return null;
+        }).sql();
+    }
+
+    public record Counted<T>(T result, List<String> sql) {
+
+        public int statements() {
+            return sql.size();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jee.clinichub.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * DataSource wrapper that remembers which schema every pooled physical connection
+ * currently has on its search_path, and only switches it when a checkout asks for a
+ * different tenant. Connections obtained through plain {@link #getConnection()} (JdbcTemplate,
+ * Flyway, Hibernate metadata access) are guaranteed to be on the default tenant, so nothing
+ * has to reset the search_path when a connection goes back to the pool.
+ */
+@Log4j2
+public class TenantAwareDataSource extends DelegatingDataSource {
+
+    // set_config accepts a bind parameter, unlike SET, so the driver can keep it as a server-side prepared statement
+    private static final String SET_SEARCH_PATH_SQL = "SELECT set_config('search_path', ?, false)";
+
+    private final String defaultTenant;
+
+    // keyed by the physical connection (not the pool proxy), weak so evicted connections drop out
+    private final Map<Connection, String> schemaByConnection = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong switchesExecuted = new AtomicLong();
+    private final AtomicLong switchesSkipped = new AtomicLong();
+
+    public TenantAwareDataSource(DataSource targetDataSource, String defaultTenant) {
+        super(targetDataSource);
+        this.defaultTenant = defaultTenant;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(defaultTenant);
+    }
+
+    /**
+     * Checks out a connection whose search_path points at the given tenant schema.
+     */
+    public Connection getConnection(String tenantIdentifier) throws SQLException {
+        Connection connection = super.getConnection();
+        try {
+            useSchema(connection, tenantIdentifier);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private void useSchema(Connection connection, String schema) throws SQLException {
+        Connection physical = connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+
+        if (schema.equals(schemaByConnection.get(physical))) {
+            switchesSkipped.incrementAndGet();
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SET_SEARCH_PATH_SQL)) {
+            statement.setString(1, schema);
+            statement.execute();
+        }
+        switchesExecuted.incrementAndGet();
+
+        // A session-level setting made inside an open transaction is undone on rollback,
+        // so only remember it when it has been committed straight away.
+        if (connection.getAutoCommit()) {
+            schemaByConnection.put(physical, schema);
+        } else {
+            schemaByConnection.remove(physical);
+        }
+    }
+
+    public long getSwitchesExecuted() {
+        return switchesExecuted.get();
+    }
+
+    public long getSwitchesSkipped() {
+        return switchesSkipped.get();
+    }
+
+    public int getTrackedConnections() {
+        return schemaByConnection.size();
+    }
+}
@@ -7,23 +7,26 @@ import javax.sql.DataSource;
 
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 @Component
+@ConditionalOnProperty(name = "app.multitenancy.mode", havingValue = "schema", matchIfMissing = true)
 public class TenantConnectionProvider implements MultiTenantConnectionProvider {
 
 	private static final long serialVersionUID = 1L;
 	
-    @Value("${app.default-tenant}")
-    public String defaultTenant;
+    public final String defaultTenant;
 
-	private DataSource datasource;
+	private final TenantAwareDataSource datasource;
 
-    public TenantConnectionProvider(DataSource dataSource) {
-        this.datasource = dataSource;
+    public TenantConnectionProvider(DataSource dataSource, @Value("${app.default-tenant}") String defaultTenant) {
+        this.defaultTenant = defaultTenant;
+        this.datasource = dataSource instanceof TenantAwareDataSource tenantAware ? tenantAware
+                : new TenantAwareDataSource(dataSource, defaultTenant);
     }
 
     @Override
@@ -36,25 +39,21 @@ public class TenantConnectionProvider implements MultiTenantConnectionProvider {
         connection.close();
     }
 
+    /**
+     * The search_path is only changed when the pooled connection is on a different schema;
+     * see {@link TenantAwareDataSource}.
+     */
     @Override
     public Connection getConnection(String tenantIdentifier) throws SQLException {
-    	
-    	final Connection connection = getAnyConnection();
-    	//boolean isDefault = tenantIdentifier.equalsIgnoreCase(TenantIdentifierResolver.DEFAULT_TENANT);
-        //log.info("Tenant in getConnection: {}", TenantContextHolder.getCurrentTenant());
-        String schemaQuery = String.format("SET search_path TO \'%s\';", tenantIdentifier);
-        connection.createStatement().execute(schemaQuery);
-    	return connection;
-        
+        return datasource.getConnection(tenantIdentifier);
     }
 
+    /**
+     * No reset to the default tenant here: the next checkout switches the schema only if it needs to.
+     */
     @Override
     public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
-    	
-    	String schemaQuery = String.format("SET search_path TO \'%s\';", defaultTenant);
-        connection.createStatement().execute(schemaQuery);
         releaseAnyConnection(connection);
-        //log.info("Tenant in releaseConnection: {}", TenantContextHolder.getCurrentTenant());
     }
 
     @Override
@@ -0,0 +1,237 @@
+package com.jee.clinichub.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Alternative to {@link TenantConnectionProvider} that gives every tenant its own small
+ * Hikari pool, so one busy clinic cannot drain connections for everyone else.
+ * The default tenant keeps using the shared application DataSource.
+ *
+ * Pools are created on first use for a tenant registered in the tenant table, closed after
+ * {@code app.multitenancy.pool.idle-timeout-minutes} without checkouts, and the sum of their
+ * maximum sizes never exceeds {@code app.multitenancy.pool.max-total}. Each pool is named
+ * {@code tenant-<clientId>} and publishes the standard hikaricp.* meters (acquire time,
+ * active and pending connections) through Actuator.
+ *
+ * Enabled with {@code app.multitenancy.mode=pool}.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "app.multitenancy.mode", havingValue = "pool")
+public class TenantPoolConnectionProvider implements MultiTenantConnectionProvider {
+
+	private static final long serialVersionUID = 1L;
+
+	// plain JDBC on the shared pool: going through TenantRepository here would re-enter Hibernate for a connection
+	private static final String TENANT_EXISTS_SQL = "SELECT schema_name FROM %s.tenant WHERE client_id = ? AND UPPER(status) <> 'INACTIVE'";
+
+	private final DataSource sharedDataSource;
+	private final DataSourceProperties dataSourceProperties;
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+	private final String defaultTenant;
+
+	@Value("${app.multitenancy.pool.max-size-per-tenant:4}")
+	private int maxSizePerTenant;
+
+	@Value("${app.multitenancy.pool.max-total:80}")
+	private int maxTotal;
+
+	@Value("${app.multitenancy.pool.idle-timeout-minutes:10}")
+	private long idleTimeoutMinutes;
+
+	@Value("${app.multitenancy.pool.connection-timeout-ms:5000}")
+	private long connectionTimeoutMs;
+
+	private final Map<String, TenantPool> pools = new ConcurrentHashMap<>();
+	private Semaphore capacity;
+	private ScheduledExecutorService idleReaper;
+
+	public TenantPoolConnectionProvider(DataSource dataSource, DataSourceProperties dataSourceProperties,
+			ObjectProvider<MeterRegistry> meterRegistry, @Value("${app.default-tenant}") String defaultTenant) {
+		this.sharedDataSource = dataSource;
+		this.dataSourceProperties = dataSourceProperties;
+		this.meterRegistry = meterRegistry;
+		this.defaultTenant = defaultTenant;
+	}
+
+	@PostConstruct
+	public void init() {
+		capacity = new Semaphore(maxTotal);
+		idleReaper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "tenant-pool-reaper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		idleReaper.scheduleWithFixedDelay(this::closeIdlePools, 1, 1, TimeUnit.MINUTES);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		idleReaper.shutdownNow();
+		pools.keySet().forEach(this::closePool);
+	}
+
+	@Override
+	public Connection getAnyConnection() throws SQLException {
+		return sharedDataSource.getConnection();
+	}
+
+	@Override
+	public void releaseAnyConnection(Connection connection) throws SQLException {
+		connection.close();
+	}
+
+	@Override
+	public Connection getConnection(String tenantIdentifier) throws SQLException {
+		if (tenantIdentifier == null || tenantIdentifier.equalsIgnoreCase(defaultTenant)) {
+			return getAnyConnection();
+		}
+		TenantPool pool = pools.get(tenantIdentifier);
+		if (pool == null) {
+			pool = createPool(tenantIdentifier);
+		}
+		pool.lastUsed = System.currentTimeMillis();
+		try {
+			return pool.dataSource.getConnection();
+		} catch (SQLException e) {
+			// lost the race against the idle reaper; reopen
+			if (pool.dataSource.isClosed()) {
+				return createPool(tenantIdentifier).dataSource.getConnection();
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+		connection.close();
+	}
+
+	private synchronized TenantPool createPool(String clientId) throws SQLException {
+		TenantPool existing = pools.get(clientId);
+		if (existing != null) {
+			return existing;
+		}
+
+		String schema = resolveSchema(clientId);
+		if (!capacity.tryAcquire(maxSizePerTenant)) {
+			closeIdlePools(0);
+			if (!capacity.tryAcquire(maxSizePerTenant)) {
+				throw new SQLException("Connection capacity exhausted, cannot open a pool for tenant " + clientId);
+			}
+		}
+
+		try {
+			HikariConfig config = new HikariConfig();
+			config.setPoolName("tenant-" + clientId);
+			config.setJdbcUrl(dataSourceProperties.determineUrl());
+			config.setUsername(dataSourceProperties.determineUsername());
+			config.setPassword(dataSourceProperties.determinePassword());
+			config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+			config.setSchema(schema);
+			config.setMaximumPoolSize(maxSizePerTenant);
+			config.setMinimumIdle(0);
+			config.setIdleTimeout(TimeUnit.MINUTES.toMillis(idleTimeoutMinutes));
+			config.setConnectionTimeout(connectionTimeoutMs);
+			MeterRegistry registry = meterRegistry.getIfAvailable();
+			if (registry != null) {
+				config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+			}
+
+			TenantPool pool = new TenantPool(new HikariDataSource(config));
+			pools.put(clientId, pool);
+			log.info("Opened connection pool for tenant {} (max {} connections)", clientId, maxSizePerTenant);
+			return pool;
+		} catch (RuntimeException e) {
+			capacity.release(maxSizePerTenant);
+			throw new SQLException("Could not open connection pool for tenant " + clientId, e);
+		}
+	}
+
+	private String resolveSchema(String clientId) throws SQLException {
+		try (Connection connection = sharedDataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement(String.format(TENANT_EXISTS_SQL, defaultTenant))) {
+			statement.setString(1, clientId);
+			try (ResultSet rs = statement.executeQuery()) {
+				if (!rs.next()) {
+					throw new SQLException("Unknown or inactive tenant: " + clientId);
+				}
+				return rs.getString(1);
+			}
+		}
+	}
+
+	private void closeIdlePools() {
+		closeIdlePools(TimeUnit.MINUTES.toMillis(idleTimeoutMinutes));
+	}
+
+	private void closeIdlePools(long idleForMillis) {
+		long cutoff = System.currentTimeMillis() - idleForMillis;
+		pools.forEach((clientId, pool) -> {
+			if (pool.lastUsed <= cutoff && pool.dataSource.getHikariPoolMXBean().getActiveConnections() == 0) {
+				closePool(clientId);
+			}
+		});
+	}
+
+	private void closePool(String clientId) {
+		TenantPool pool = pools.remove(clientId);
+		if (pool != null) {
+			pool.dataSource.close();
+			capacity.release(maxSizePerTenant);
+			log.info("Closed idle connection pool for tenant {}", clientId);
+		}
+	}
+
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return false;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> unwrapType) {
+		return null;
+	}
+
+	private static final class TenantPool {
+
+		private final HikariDataSource dataSource;
+		private volatile long lastUsed = System.currentTimeMillis();
+
+		private TenantPool(HikariDataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+	}
+}
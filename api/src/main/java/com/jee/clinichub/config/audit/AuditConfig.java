@@ -5,6 +5,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
 public class AuditConfig {
@@ -14,4 +17,19 @@ public class AuditConfig {
         return new AuditorAwareImpl();
     }
 
+	@Bean
+	public MeterBinder auditTrailMetrics(AuditTrailWriter auditTrailWriter) {
+		return registry -> {
+			Gauge.builder("clinichub.audit.pending", auditTrailWriter, AuditTrailWriter::pending)
+					.description("audit records buffered in memory")
+					.register(registry);
+			Gauge.builder("clinichub.audit.spooled", auditTrailWriter, AuditTrailWriter::spooled)
+					.description("audit records waiting in the spool files")
+					.register(registry);
+			Gauge.builder("clinichub.audit.quarantined", auditTrailWriter, AuditTrailWriter::quarantined)
+					.description("audit records rejected too often and moved to the quarantine file")
+					.register(registry);
+		};
+	}
+
 }
@@ -0,0 +1,11 @@
+package com.jee.clinichub.config.audit;
+
+import java.time.Instant;
+
+/**
+ * One committed change of an {@link AuditTrail} entity. {@code changes} is a JSON object of property name to
+ * {@code [old, new]}, with null standing for no value, e.g. the old side of an insert.
+ */
+public record AuditRecord(String tenantId, String entity, String entityId, String action, String changes,
+        String changedBy, Instant changedTime) {
+}
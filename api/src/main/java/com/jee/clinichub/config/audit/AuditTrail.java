@@ -0,0 +1,26 @@
+package com.jee.clinichub.config.audit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts an entity into the audit trail. Every committed insert, update and delete of it is recorded in the tenant's
+ * audit_trail table by {@link AuditTrailWriter}, after the business transaction and outside it.
+ *
+ * Entities without it are not audited at all, which is what hot tables such as slots, appointments and order items
+ * want.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditTrail {
+
+    /**
+     * Properties whose changes are recorded. Empty means all of them except the created and modified bookkeeping of
+     * {@link Auditable}. An update that touches none of them is not recorded.
+     */
+    String[] fields() default {};
+}
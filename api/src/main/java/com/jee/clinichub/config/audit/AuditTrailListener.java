@@ -0,0 +1,188 @@
+package com.jee.clinichub.config.audit;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Turns committed changes of {@link AuditTrail} entities into {@link AuditRecord}s for the {@link AuditTrailWriter}.
+ * Hibernate only keeps post-commit work for entities this listener asks for, so other entities cost nothing, and a
+ * rolled back transaction leaves no audit record.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class AuditTrailListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    // kept on the row itself by Auditable
+    private static final Set<String> BOOKKEEPING = Set.of("createdTime", "createdBy", "modifiedTime", "modifiedBy");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditTrailWriter writer;
+    private final AuditorAware<String> auditorAware;
+    private final ObjectMapper objectMapper;
+
+    // tracked properties by entity class, empty when the class is not audited
+    private final Map<Class<?>, Optional<Set<String>>> tracking = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return tracked(persister).isPresent();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, String[]> changes = new LinkedHashMap<>();
+        Object[] state = event.getState();
+        for (int i = 0; i < state.length; i++) {
+            if (tracks(persister, i) && state[i] != null) {
+                changes.put(persister.getPropertyNames()[i],
+                        new String[] { null, render(persister, i, state[i], event.getSession()) });
+            }
+        }
+        record(persister, event.getId(), "INSERT", changes, event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        Object[] state = event.getState();
+        Object[] oldState = event.getOldState();
+        int[] dirty = event.getDirtyProperties();
+        int[] candidates = dirty != null ? dirty : IntStream.range(0, state.length).toArray();
+
+        Map<String, String[]> changes = new LinkedHashMap<>();
+        for (int i : candidates) {
+            Object old = oldState == null ? null : oldState[i];
+            if (!tracks(persister, i) || (dirty == null && Objects.equals(old, state[i]))) {
+                continue;
+            }
+            changes.put(persister.getPropertyNames()[i], new String[] {
+                    render(persister, i, old, event.getSession()), render(persister, i, state[i], event.getSession()) });
+        }
+        if (!changes.isEmpty()) {
+            record(persister, event.getId(), "UPDATE", changes, event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, String[]> changes = new LinkedHashMap<>();
+        Object[] state = event.getDeletedState();
+        for (int i = 0; state != null && i < state.length; i++) {
+            if (tracks(persister, i) && state[i] != null) {
+                changes.put(persister.getPropertyNames()[i],
+                        new String[] { render(persister, i, state[i], event.getSession()), null });
+            }
+        }
+        record(persister, event.getId(), "DELETE", changes, event.getSession());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // nothing was committed, nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // nothing was committed, nothing to audit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // nothing was committed, nothing to audit
+    }
+
+    private void record(EntityPersister persister, Object id, String action, Map<String, String[]> changes,
+            SharedSessionContractImplementor session) {
+        try {
+            writer.submit(new AuditRecord(session.getTenantIdentifier(), persister.getMappedClass().getSimpleName(),
+                    String.valueOf(id), action, objectMapper.writeValueAsString(changes),
+                    auditorAware.getCurrentAuditor().orElse("system"), Instant.now()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // the business change is already committed, auditing must not fail it
+            log.error("Could not audit {} of {} {}: {}", action, persister.getEntityName(), id, e.getMessage());
+        }
+    }
+
+    private Optional<Set<String>> tracked(EntityPersister persister) {
+        return tracking.computeIfAbsent(persister.getMappedClass(), type -> {
+            AuditTrail auditTrail = type.getAnnotation(AuditTrail.class);
+            if (auditTrail == null) {
+                return Optional.empty();
+            }
+            return Optional.of(auditTrail.fields().length > 0 ? Set.of(auditTrail.fields())
+                    : Set.copyOf(Arrays.stream(persister.getPropertyNames())
+                            .filter(name -> !BOOKKEEPING.contains(name)).toList()));
+        });
+    }
+
+    private boolean tracks(EntityPersister persister, int property) {
+        return !persister.getPropertyTypes()[property].isCollectionType()
+                && tracked(persister).map(fields -> fields.contains(persister.getPropertyNames()[property])).orElse(false);
+    }
+
+    /**
+     * Plain values as text, associations as the id of the entity they point to.
+     */
+    private static String render(EntityPersister persister, int property, Object value,
+            SharedSessionContractImplementor session) {
+        if (value == null) {
+            return null;
+        }
+        Type type = persister.getPropertyTypes()[property];
+        if (type instanceof EntityType entityType) {
+            if (value instanceof HibernateProxy proxy) {
+                return String.valueOf(proxy.getHibernateLazyInitializer().getInternalIdentifier());
+            }
+            return String.valueOf(session.getFactory().getMappingMetamodel()
+                    .getEntityDescriptor(entityType.getAssociatedEntityName()).getIdentifier(value, session));
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jee.clinichub.config.audit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.config.TenantAwareDataSource;
+
+/**
+ * Inserts audit records into a tenant's audit_trail table, one JDBC batch and one transaction per call.
+ */
+@Component
+public class AuditTrailStore {
+
+    static final String INSERT_SQL = "INSERT INTO audit_trail (entity, entity_id, action, changes, changed_by, changed_time) "
+            + "VALUES (?, ?, ?, ?::jsonb, ?, ?)";
+
+    private final TenantAwareDataSource dataSource;
+
+    public AuditTrailStore(DataSource dataSource, @Value("${app.default-tenant}") String defaultTenant) {
+        this.dataSource = dataSource instanceof TenantAwareDataSource tenantAware ? tenantAware
+                : new TenantAwareDataSource(dataSource, defaultTenant);
+    }
+
+    public void insert(String tenantId, List<AuditRecord> records) throws SQLException {
+        try (Connection connection = dataSource.getConnection(tenantId)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                for (AuditRecord record : records) {
+                    ps.setString(1, record.entity());
+                    ps.setString(2, record.entityId());
+                    ps.setString(3, record.action());
+                    ps.setString(4, record.changes());
+                    ps.setString(5, record.changedBy());
+                    ps.setTimestamp(6, Timestamp.from(record.changedTime()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
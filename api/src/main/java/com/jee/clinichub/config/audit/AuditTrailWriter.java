@@ -0,0 +1,294 @@
+package com.jee.clinichub.config.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Collects audit records in a bounded in-memory buffer and writes them every {@code app.audit.flush-ms}, in batches of
+ * up to {@code app.audit.batch-size} per tenant, so committing a business transaction never waits for its audit rows.
+ *
+ * Records that do not fit in the buffer, or whose batch fails to insert, are appended to a spool file under
+ * {@code app.audit.spool-dir} and replayed on the next flush, also after a restart. A record may be written twice if
+ * the process dies between inserting a replayed batch and deleting its spool file, but it is not lost.
+ *
+ * A batch the database rejects, rather than one that could not reach it, is retried record by record, and each record
+ * counts its rejections. After {@code app.audit.max-attempts} a record is moved to {@code quarantine.jsonl} in the
+ * spool directory, which is not replayed, so one bad record does not come back on every flush. Connection failures
+ * do not count, so an outage never quarantines anything.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class AuditTrailWriter {
+
+    private static final String PENDING = "pending.jsonl";
+    private static final String REPLAY_PREFIX = "replay-";
+    private static final String QUARANTINE = "quarantine.jsonl";
+
+    private final AuditTrailStore store;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.audit.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.spool-dir:${java.io.tmpdir}/clinichub-audit}")
+    private String spoolDir;
+
+    @Value("${app.audit.max-attempts:5}")
+    private int maxAttempts;
+
+    private BlockingQueue<AuditRecord> buffer;
+    private Path dir;
+    private final Object spoolLock = new Object();
+    private final AtomicLong replays = new AtomicLong();
+    // records waiting in spool files, and records moved to the quarantine file
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong quarantined = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        dir = Path.of(spoolDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(dir);
+            // spool files left by an earlier run
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.jsonl")) {
+                for (Path file : files) {
+                    (file.getFileName().toString().equals(QUARANTINE) ? quarantined : spooled).addAndGet(lineCount(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the audit spool at " + dir, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Queues the record without blocking; spools it straight away when the buffer is full.
+     */
+    public void submit(AuditRecord record) {
+        if (!buffer.offer(record)) {
+            spool(List.of(new Spooled(0, record)));
+        }
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    public long spooled() {
+        return spooled.get();
+    }
+
+    public long quarantined() {
+        return quarantined.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-ms:1000}")
+    public void flush() {
+        replaySpool();
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch.stream().map(record -> new Spooled(0, record)).toList());
+            batch.clear();
+        }
+    }
+
+    private void write(List<Spooled> batch) {
+        Map<String, List<Spooled>> byTenant = new LinkedHashMap<>();
+        for (Spooled entry : batch) {
+            byTenant.computeIfAbsent(entry.record().tenantId(), tenant -> new ArrayList<>()).add(entry);
+        }
+        byTenant.forEach((tenant, entries) -> {
+            Exception failure = insert(tenant, entries);
+            if (failure == null) {
+                return;
+            }
+            if (isTransient(failure)) {
+                log.warn("Could not write {} audit records of tenant {}, spooling them: {}", entries.size(), tenant,
+                        failure.getMessage());
+                spool(entries);
+            } else if (entries.size() > 1) {
+                // find the records the database rejects, the others go through
+                entries.forEach(entry -> write(List.of(entry)));
+            } else {
+                rejected(entries.get(0), failure);
+            }
+        });
+    }
+
+    private Exception insert(String tenant, List<Spooled> entries) {
+        try {
+            store.insert(tenant, entries.stream().map(Spooled::record).toList());
+            return null;
+        } catch (SQLException | RuntimeException e) {
+            return e;
+        }
+    }
+
+    private void rejected(Spooled entry, Exception failure) {
+        AuditRecord record = entry.record();
+        Spooled retry = new Spooled(entry.attempts() + 1, record);
+        if (retry.attempts() < maxAttempts) {
+            log.warn("Audit record of {} {} in tenant {} was rejected ({} of {} attempts), spooling it: {}",
+                    record.entity(), record.entityId(), record.tenantId(), retry.attempts(), maxAttempts,
+                    failure.getMessage());
+            spool(List.of(retry));
+        } else {
+            log.error("Audit record of {} {} in tenant {} was rejected {} times, moving it to {}: {}",
+                    record.entity(), record.entityId(), record.tenantId(), retry.attempts(), dir.resolve(QUARANTINE),
+                    failure.getMessage());
+            quarantined.addAndGet(append(QUARANTINE, List.of(retry)));
+        }
+    }
+
+    private void spool(List<Spooled> entries) {
+        spooled.addAndGet(append(PENDING, entries));
+    }
+
+    /**
+     * Appends the entries to the named file in the spool directory and returns how many were written.
+     */
+    private int append(String fileName, List<Spooled> entries) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Spooled entry : entries) {
+            try {
+                lines.add(objectMapper.writeValueAsString(entry));
+            } catch (JsonProcessingException e) {
+                log.error("Dropping an audit record of {} {}: {}", entry.record().entity(), entry.record().entityId(),
+                        e.getMessage());
+            }
+        }
+        synchronized (spoolLock) {
+            try {
+                Files.write(dir.resolve(fileName), lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+                return lines.size();
+            } catch (IOException e) {
+                log.error("Could not spool {} audit records, they are lost: {}", lines.size(), e.getMessage());
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Failures to reach the database, as opposed to the database refusing the rows.
+     */
+    private static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the pending spool aside and writes every spool file left, including ones from an earlier run. Records
+     * that fail again go back to the pending spool.
+     */
+    private void replaySpool() {
+        synchronized (spoolLock) {
+            Path pending = dir.resolve(PENDING);
+            if (Files.exists(pending)) {
+                try {
+                    Files.move(pending, dir.resolve(REPLAY_PREFIX + System.currentTimeMillis() + "-"
+                            + replays.incrementAndGet() + ".jsonl"), StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("Could not move the audit spool aside: {}", e.getMessage());
+                    return;
+                }
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, REPLAY_PREFIX + "*.jsonl")) {
+            for (Path file : files) {
+                replay(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not list the audit spool: {}", e.getMessage());
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        List<Spooled> entries = new ArrayList<>();
+        long lines = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            lines++;
+            try {
+                entries.add(readSpooled(line));
+            } catch (JsonProcessingException e) {
+                // a torn last line from a crash mid-append
+                log.error("Skipping an unreadable audit spool line in {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        spooled.addAndGet(-lines);
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            write(entries.subList(from, Math.min(entries.size(), from + batchSize)));
+        }
+        Files.delete(file);
+        log.info("Replayed {} spooled audit records", entries.size());
+    }
+
+    private Spooled readSpooled(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node.has("record")) {
+            return objectMapper.treeToValue(node, Spooled.class);
+        }
+        // written before attempts were counted
+        return new Spooled(0, objectMapper.treeToValue(node, AuditRecord.class));
+    }
+
+    private static long lineCount(Path file) throws IOException {
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    /**
+     * A spool line: the record and how many times the database has rejected it.
+     */
+    record Spooled(int attempts, AuditRecord record) {
+    }
+}
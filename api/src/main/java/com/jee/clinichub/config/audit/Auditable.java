@@ -2,7 +2,6 @@ package com.jee.clinichub.config.audit;
 
 import java.util.Date;
 
-import org.hibernate.envers.Audited;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -19,7 +18,6 @@ import jakarta.persistence.TemporalType;
 import lombok.Data;
 
 @Data
-@Audited
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
 public abstract class Auditable<U> {
@@ -0,0 +1,147 @@
+package com.jee.clinichub.config.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import lombok.Getter;
+
+/**
+ * One cache region, bounded and expiring as described by its {@link CacheBuilderSpec}.
+ *
+ * All tenants share the region's size bound, but hits, misses and evictions are counted per tenant, and
+ * {@link #clear()} (what {@code @CacheEvict(allEntries = true)} calls) only drops the current tenant's
+ * entries: a write in one clinic no longer empties the cache for every other clinic. Keys that do not
+ * come from {@link MultiTenantCacheKeyGenerator} cannot be attributed to a tenant and are counted and
+ * cleared as {@link #SHARED}.
+ */
+public class TenantAwareCache extends AbstractValueAdaptingCache {
+
+	public static final String SHARED = "shared";
+
+	@Getter
+	private final String name;
+	@Getter
+	private final String spec;
+	private final Cache<Object, Object> store;
+	private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+	public TenantAwareCache(String name, String spec) {
+		super(true);
+		this.name = name;
+		this.spec = spec;
+		this.store = CacheBuilder.from(CacheBuilderSpec.parse(spec))
+				.removalListener(this::onRemoval)
+				.build();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return store;
+	}
+
+	@Override
+	protected Object lookup(Object key) {
+		Object value = store.getIfPresent(key);
+		Counters tenant = counters(key);
+		if (value == null) {
+			tenant.misses.increment();
+		} else {
+			tenant.hits.increment();
+		}
+		return value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return (T) fromStoreValue(value);
+		}
+		try {
+			return (T) fromStoreValue(store.get(key, () -> toStoreValue(valueLoader.call())));
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			throw new ValueRetrievalException(key, valueLoader, e.getCause());
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		store.put(key, toStoreValue(value));
+	}
+
+	@Override
+	public void evict(Object key) {
+		store.invalidate(key);
+	}
+
+	/**
+	 * Drops the current tenant's entries, plus any keys not tied to a tenant.
+	 */
+	@Override
+	public void clear() {
+		String tenant = TenantContextHolder.getCurrentTenant();
+		store.asMap().keySet().removeIf(key -> {
+			String owner = tenantOf(key);
+			return owner.equals(tenant) || owner.equals(SHARED);
+		});
+	}
+
+	public void clearTenant(String tenant) {
+		store.asMap().keySet().removeIf(key -> tenantOf(key).equals(tenant));
+	}
+
+	public void clearAll() {
+		store.invalidateAll();
+	}
+
+	public Map<String, TenantCacheStats> stats() {
+		Map<String, Long> sizes = new HashMap<>();
+		for (Object key : store.asMap().keySet()) {
+			sizes.merge(tenantOf(key), 1L, Long::sum);
+		}
+
+		Map<String, TenantCacheStats> stats = new TreeMap<>();
+		counters.forEach((tenant, c) -> stats.put(tenant, c.snapshot(sizes.getOrDefault(tenant, 0L))));
+		return stats;
+	}
+
+	private void onRemoval(RemovalNotification<Object, Object> notification) {
+		if (notification.wasEvicted()) {
+			counters(notification.getKey()).evictions.increment();
+		}
+	}
+
+	private Counters counters(Object key) {
+		return counters.computeIfAbsent(tenantOf(key), t -> new Counters());
+	}
+
+	private static String tenantOf(Object key) {
+		return key instanceof TenantCacheKey tenantKey && tenantKey.tenant() != null ? tenantKey.tenant() : SHARED;
+	}
+
+	private static final class Counters {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder evictions = new LongAdder();
+
+		TenantCacheStats snapshot(long size) {
+			return new TenantCacheStats(size, hits.sum(), misses.sum(), evictions.sum());
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.jee.clinichub.config.cache;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/tenantcaches}: per tenant cache statistics of every region, and tenant eviction.
+ */
+@Component
+@Endpoint(id = "tenantcaches")
+@RequiredArgsConstructor
+public class TenantCacheEndpoint {
+
+	private final TenantCacheManager cacheManager;
+
+	@ReadOperation
+	public Map<String, Map<String, TenantCacheStats>> regions() {
+		return cacheManager.stats();
+	}
+
+	@ReadOperation
+	public Map<String, TenantCacheStats> tenant(@Selector String tenant) {
+		return cacheManager.stats(tenant);
+	}
+
+	@DeleteOperation
+	public void evictTenant(@Selector String tenant) {
+		cacheManager.evictTenant(tenant);
+	}
+}
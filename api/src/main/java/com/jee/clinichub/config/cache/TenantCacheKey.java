@@ -0,0 +1,21 @@
+package com.jee.clinichub.config.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache key produced by {@link MultiTenantCacheKeyGenerator}. The tenant is a field of its own, so a
+ * region can drop one tenant's entries without parsing keys, and equality is plain field comparison
+ * instead of building and hashing a long String on every lookup.
+ */
+public record TenantCacheKey(String tenant, Class<?> target, String method, List<Object> params) {
+
+	public static TenantCacheKey of(String tenant, Class<?> target, String method, Object... params) {
+		return new TenantCacheKey(tenant, target, method, params.length == 0 ? List.of() : Arrays.asList(params));
+	}
+
+	@Override
+	public String toString() {
+		return tenant + "_" + target.getSimpleName() + "-" + method + params;
+	}
+}
@@ -0,0 +1,97 @@
+package com.jee.clinichub.config.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Replaces the default unbounded ConcurrentMap cache manager. Regions are still created on first use, but
+ * each one is a {@link TenantAwareCache} with a size bound and TTL.
+ *
+ * Every region uses {@code app.cache.default-spec}; individual regions can be overridden through
+ * {@code app.cache.specs} as a SpEL map of Guava cache specs, e.g.
+ * {@code {doctorCache:'maximumSize=2000,expireAfterWrite=2h', patientListCache:'maximumSize=500,expireAfterWrite=5m'}}.
+ */
+@Log4j2
+@Component("cacheManager")
+public class TenantCacheManager implements CacheManager {
+
+	@Value("${app.cache.default-spec:maximumSize=1000,expireAfterWrite=30m}")
+	private String defaultSpec;
+
+	@Value("#{${app.cache.specs:{:}}}")
+	private Map<String, String> specs;
+
+	private final ConcurrentMap<String, TenantAwareCache> regions = new ConcurrentHashMap<>();
+
+	@Override
+	public Cache getCache(String name) {
+		return regions.computeIfAbsent(name, this::createRegion);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(regions.keySet());
+	}
+
+	/**
+	 * Drops one tenant's entries from every region, e.g. after a tenant's data was migrated or restored.
+	 */
+	public void evictTenant(String tenant) {
+		regions.values().forEach(region -> region.clearTenant(tenant));
+	}
+
+	/**
+	 * Drops one region for every tenant.
+	 *
+	 * @return false if the region has not been used yet
+	 */
+	public boolean evictRegion(String name) {
+		TenantAwareCache region = regions.get(name);
+		if (region == null) {
+			return false;
+		}
+		region.clearAll();
+		return true;
+	}
+
+	public void evictAll() {
+		regions.values().forEach(TenantAwareCache::clearAll);
+	}
+
+	/**
+	 * Hit, miss and eviction counts and current size, per region and tenant.
+	 */
+	public Map<String, Map<String, TenantCacheStats>> stats() {
+		Map<String, Map<String, TenantCacheStats>> stats = new TreeMap<>();
+		regions.forEach((name, region) -> stats.put(name, region.stats()));
+		return stats;
+	}
+
+	public Map<String, TenantCacheStats> stats(String tenant) {
+		Map<String, TenantCacheStats> stats = new TreeMap<>();
+		regions.forEach((name, region) -> {
+			TenantCacheStats tenantStats = region.stats().get(tenant);
+			if (tenantStats != null) {
+				stats.put(name, tenantStats);
+			}
+		});
+		return stats;
+	}
+
+	private TenantAwareCache createRegion(String name) {
+		String spec = specs.getOrDefault(name, defaultSpec);
+		log.info("Creating cache region {} with {}", name, spec);
+		return new TenantAwareCache(name, spec);
+	}
+}
@@ -0,0 +1,9 @@
+package com.jee.clinichub.config.cache;
+
+public record TenantCacheStats(long size, long hits, long misses, long evictions) {
+
+	public double getHitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+}
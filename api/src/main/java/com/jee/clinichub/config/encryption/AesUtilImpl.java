@@ -1,18 +1,24 @@
-
 package com.jee.clinichub.config.encryption;
 
-import java.security.InvalidKeyException;
-import java.security.Key;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.jee.clinichub.config.env.EnvironmentProp;
@@ -20,47 +26,146 @@ import com.jee.clinichub.config.env.EnvironmentProp;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.log4j.Log4j2;
 
+/**
+ * Field encryption for {@link com.jee.clinichub.config.converter.PIIAttributeConverter}.
+ *
+ * Values are written as {@code $<key version>$<Base64(iv | ciphertext | tag)>} with AES-GCM, so tampering
+ * is detected and keys can be rotated: {@code app.pii.keys} lists {@code version:base64Key} pairs, new values
+ * use {@code app.pii.active-key-version}, and older values keep decrypting with the key they name. Without
+ * any configured keys, {@code aes.key} is version 1. Values written before GCM (AES/ECB, no header) are
+ * still read with {@code aes.key}.
+ *
+ * Cipher lookup is the expensive part of every call, so each thread keeps its own Cipher instances and
+ * only re-initialises them with the key and IV of the value at hand.
+ */
 @Service
 @Log4j2
 public class AesUtilImpl implements EncryptDycryptUtil{
-	
+
 	private static final String AES = "AES";
-    private Key key;
-    Cipher cipher;
-    
+	private static final String GCM = "AES/GCM/NoPadding";
+	private static final String LEGACY = "AES/ECB/PKCS5Padding";
+	private static final char HEADER = '$';
+	private static final int IV_BYTES = 12;
+	private static final int TAG_BITS = 128;
+
+	private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> cipher(GCM));
+	private static final ThreadLocal<Cipher> LEGACY_CIPHER = ThreadLocal.withInitial(() -> cipher(LEGACY));
+	private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
     @Autowired
     private EnvironmentProp environment;
-    
+
+    @Value("${app.pii.keys:}")
+    private String configuredKeys;
+
+    @Value("${app.pii.active-key-version:0}")
+    private int activeKeyVersion;
+
+    private Map<Integer, SecretKey> keys;
+    private SecretKey activeKey;
+    private String activeHeader;
+    private SecretKey legacyKey;
+
     @PostConstruct
     public void init() {
         String secret =  environment.getAesKey();
-        key = new SecretKeySpec(secret.getBytes(), AES);
+        legacyKey = new SecretKeySpec(secret.getBytes(), AES);
+
+        TreeMap<Integer, SecretKey> ring = new TreeMap<>();
+        if (StringUtils.isBlank(configuredKeys)) {
+        	ring.put(1, legacyKey);
+        } else {
+        	for (String entry : configuredKeys.split(",")) {
+        		String[] parts = entry.trim().split(":", 2);
+        		ring.put(Integer.valueOf(parts[0].trim()), new SecretKeySpec(Base64.getDecoder().decode(parts[1].trim()), AES));
+        	}
+        }
+        keys = Collections.unmodifiableMap(ring);
+
+        int version = activeKeyVersion > 0 ? activeKeyVersion : ring.lastKey();
+        activeKey = keys.get(version);
+        if (activeKey == null) {
+        	throw new IllegalStateException("No PII key configured for active version " + version);
+        }
+        activeHeader = HEADER + String.valueOf(version) + HEADER;
+        log.info("PII encryption using key version {} of {}", version, keys.keySet());
     }
 
 	@Override
 	public String encrypt(String plainText) {
+		if (plainText == null) {
+			return null;
+		}
 		try {
-        	cipher = Cipher.getInstance(AES);
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            return Base64.getEncoder().encodeToString(cipher.doFinal(plainText.getBytes()));
-        } catch (InvalidKeyException | BadPaddingException | IllegalBlockSizeException | NoSuchPaddingException  | NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
-            // You can decide to return an empty or null value on error to be stored if don't want to throw exception
-        }
+			byte[] iv = new byte[IV_BYTES];
+			RANDOM.get().nextBytes(iv);
+			Cipher cipher = GCM_CIPHER.get();
+			cipher.init(Cipher.ENCRYPT_MODE, activeKey, new GCMParameterSpec(TAG_BITS, iv));
+			byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer out = ByteBuffer.allocate(IV_BYTES + cipher.getOutputSize(plain.length));
+			out.put(iv);
+			cipher.doFinal(ByteBuffer.wrap(plain), out);
+			return activeHeader + Base64.getEncoder().encodeToString(out.array());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	@Override
 	public String decrypt(String encryptedText) {
+		if (encryptedText == null) {
+			return null;
+		}
 		try {
-            cipher = Cipher.getInstance(AES);
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            return new String(cipher.doFinal(Base64.getDecoder().decode(encryptedText)));
-        } catch (InvalidKeyException | BadPaddingException | IllegalBlockSizeException | NoSuchPaddingException  | NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
-            // You can decide to return an empty or null value on error to be returned if don't want to throw exception
-        }
+			return decryptOne(encryptedText);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public List<String> decryptAll(List<String> encryptedTexts) {
+		List<String> plainTexts = new ArrayList<>(encryptedTexts.size());
+		try {
+			for (String encryptedText : encryptedTexts) {
+				plainTexts.add(encryptedText == null ? null : decryptOne(encryptedText));
+			}
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+		return plainTexts;
+	}
+
+	private String decryptOne(String encryptedText) throws GeneralSecurityException {
+		if (encryptedText.isEmpty() || encryptedText.charAt(0) != HEADER) {
+			Cipher cipher = LEGACY_CIPHER.get();
+			cipher.init(Cipher.DECRYPT_MODE, legacyKey);
+			return new String(cipher.doFinal(Base64.getDecoder().decode(encryptedText)));
+		}
+
+		int end = encryptedText.indexOf(HEADER, 1);
+		if (end < 0) {
+			throw new IllegalStateException("Malformed encrypted value header");
+		}
+		int version = Integer.parseInt(encryptedText, 1, end, 10);
+		SecretKey key = keys.get(version);
+		if (key == null) {
+			throw new IllegalStateException("No PII key configured for version " + version);
+		}
+		byte[] payload = Base64.getDecoder().decode(encryptedText.substring(end + 1));
+		Cipher cipher = GCM_CIPHER.get();
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, payload, 0, IV_BYTES));
+		byte[] plain = cipher.doFinal(payload, IV_BYTES, payload.length - IV_BYTES);
+		return new String(plain, StandardCharsets.UTF_8);
+	}
+
+	private static Cipher cipher(String transformation) {
+		try {
+			return Cipher.getInstance(transformation);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
 	}
-	
-	
 
 }
@@ -1,8 +1,15 @@
 package com.jee.clinichub.config.encryption;
 
+import java.util.List;
+
 public interface EncryptDycryptUtil {
-	
+
 	String encrypt(String plainText);
 	String decrypt(String encryptedText);
 
+	/**
+	 * Decrypts a whole column of a list query in one go, keeping the order; nulls stay null.
+	 */
+	List<String> decryptAll(List<String> encryptedTexts);
+
 }
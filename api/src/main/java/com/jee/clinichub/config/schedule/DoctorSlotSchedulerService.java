@@ -1,15 +1,18 @@
 package com.jee.clinichub.config.schedule;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.jee.clinichub.app.doctor.slots.service.SlotService;
 import com.jee.clinichub.app.doctor.weeklySchedule.service.WeeklyScheduleService;
-import com.jee.clinichub.global.tenant.context.TenantContextHolder;
-import com.jee.clinichub.global.tenant.model.Tenant;
-import com.jee.clinichub.global.tenant.repository.TenantRepository;
+import com.jee.clinichub.config.schedule.TenantJobExecutor.TenantJob;
+import com.jee.clinichub.config.schedule.TenantJobExecutor.TenantJobSummary;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,56 +22,77 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class DoctorSlotSchedulerService {
 
-    private final TenantRepository tenantRepository;
+    public static final String SLOT_GENERATION_JOB = "slot-generation";
+    public static final String SLOT_SYNC_JOB = "slot-sync";
+
+    private final TenantJobExecutor tenantJobExecutor;
     private final SlotService slotService;
     private final WeeklyScheduleService wScheduleService;
 
+    // how many past run dates are retried for tenants that failed or were never run
+    @Value("${app.scheduler.catch-up-days:3}")
+    private int catchUpDays;
+
+    /**
+     * Generation fans out over tenants in parallel through {@link TenantJobExecutor}. The new slots
+     * reach master through the sync_outbox relay, so no nightly resync follows. Tenants that failed on
+     * one of the previous {@code app.scheduler.catch-up-days} run dates are retried after tonight's run.
+     */
     @Scheduled(cron = "0 0 0 * * *") // At 12:00 AM every day
     //@Scheduled(cron = "0 * * * * *") // Every 1 minute at 0th second
-    public void generateSlots() {
-        String originalTenantContext = TenantContextHolder.getCurrentTenant();
-        try {
-            List<Tenant> tenantList = tenantRepository.findAll();
+    public void runNightlySlotJobs() {
+        LocalDate today = LocalDate.now();
+        generateSlots(today);
+        catchUpSlotGeneration(today.minusDays(catchUpDays), today.minusDays(1));
+    }
 
-            for (Tenant tenantObj : tenantList) {
-                try {
-                    TenantContextHolder.setCurrentTenant(tenantObj.getClientId());
-                    log.info("Generating slots for tenant: {}", tenantObj.getClientId());
-                    wScheduleService.generateSlotsForTenant(tenantObj.getClientId());
-                } catch (Exception ex) {
-                    log.error("❌ Failed to generate slots for tenant: {}", tenantObj.getClientId(), ex);
-                }
-            }
+    /**
+     * A midnight run missed while the application was down, or cut short by a restart, is picked up
+     * here instead of waiting for the next midnight.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        LocalDate today = LocalDate.now();
+        Thread.ofVirtual().name("slot-generation-catch-up")
+                .start(() -> catchUpSlotGeneration(today.minusDays(catchUpDays), today));
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to process slot generation for all tenants", e);
-        } finally {
-            TenantContextHolder.setCurrentTenant(originalTenantContext);
-        }
+    public TenantJobSummary generateSlots(LocalDate runDate) {
+        return tenantJobExecutor.run(SLOT_GENERATION_JOB, runDate, slotGeneration());
     }
 
-    @Scheduled(cron = "0 0 0 * * *") // At 12:00 AM every day
-    //@Scheduled(cron = "0 * * * * *") // Every 1 minute at 0th second
-    //@Scheduled(fixedRate = 3 * 60 * 1000)
-    public void syncSlotsToMaster() {
-        String originalTenantContext = TenantContextHolder.getCurrentTenant();
+    public List<TenantJobSummary> catchUpSlotGeneration(LocalDate from, LocalDate to) {
         try {
-            List<Tenant> tenantList = tenantRepository.findAll();
+            return tenantJobExecutor.catchUp(SLOT_GENERATION_JOB, from, to, slotGeneration());
+        } catch (Exception e) {
+            log.error("Slot generation catch-up from {} to {} failed", from, to, e);
+            return List.of();
+        }
+    }
 
-            for (Tenant tenantObj : tenantList) {
-                try {
-                    TenantContextHolder.setCurrentTenant(tenantObj.getClientId());
-                    log.info("Syncing slots for tenant: {}", tenantObj.getClientId());
-                    slotService.syncSlotsToMaster(tenantObj.getClientId(), 7);
-                } catch (Exception ex) {
-                    log.error("❌ Failed to sync slots for tenant: {}", tenantObj.getClientId(), ex);
-                }
+    /**
+     * Full reconciliation of the slot window against master, for backfilling tenants or after an outbox outage.
+     * Every slot of the window is sent whatever the tenant's sync watermark says, so slots that changed before the
+     * watermark but never reached master are repaired as well.
+     */
+    public TenantJobSummary syncSlotsToMaster(LocalDate runDate) {
+        return tenantJobExecutor.run(SLOT_SYNC_JOB, runDate, clientId -> {
+            log.info("Syncing slots for tenant: {}", clientId);
+            int failed = slotService.syncSlotWindowToMaster(clientId, 7, true);
+            if (failed > 0) {
+                throw new IllegalStateException(failed + " slot(s) could not be synced to master");
             }
+        });
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to process slot sync for all tenants", e);
-        } finally {
-            TenantContextHolder.setCurrentTenant(originalTenantContext);
-        }
+    private TenantJob slotGeneration() {
+        return clientId -> {
+            log.info("Generating slots for tenant: {}", clientId);
+            int failed = wScheduleService.generateSlotsForTenant(clientId);
+            if (failed > 0) {
+                // recorded as a failed run, so catch-up and rerun try the tenant again
+                throw new IllegalStateException(failed + " branch(es) could not generate slots");
+            }
+        };
     }
 }
@@ -0,0 +1,57 @@
+package com.jee.clinichub.config.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.app.doctor.slots.service.SlotReservationService;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+import com.jee.clinichub.global.tenant.model.Tenant;
+import com.jee.clinichub.global.tenant.repository.TenantRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Gives the capacity of expired slot holds back, in master (public bookings) and in every tenant.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class SlotHoldReaper {
+
+    private final TenantRepository tenantRepository;
+    private final SlotReservationService slotReservationService;
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    @Scheduled(fixedDelayString = "${app.slot.hold.reap-interval-ms:30000}")
+    public void expireHolds() {
+        List<String> schemas = new ArrayList<>();
+        schemas.add(defaultTenant);
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+            tenantRepository.findAll().stream().map(Tenant::getClientId).forEach(schemas::add);
+        } finally {
+            TenantContextHolder.clear();
+        }
+
+        for (String clientId : schemas) {
+            try {
+                TenantContextHolder.setCurrentTenant(clientId);
+                int released = slotReservationService.expireHolds();
+                if (released > 0) {
+                    log.info("Gave back capacity of expired holds on {} slots in {}", released, clientId);
+                }
+            } catch (Exception e) {
+                log.error("Could not expire slot holds in {}: {}", clientId, e.getMessage(), e);
+            } finally {
+                TenantContextHolder.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.jee.clinichub.config.schedule;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.app.core.sync.service.SyncOutboxService;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+import com.jee.clinichub.global.tenant.model.Tenant;
+import com.jee.clinichub.global.tenant.repository.TenantRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Continuously moves tenant slot and appointment changes to master through each tenant's sync_outbox,
+ * replacing the inline cross-schema write on booking and the nightly full-window slot resync.
+ * Each round drains up to {@code app.sync.outbox.max-batches-per-round} batches per tenant so one
+ * busy clinic cannot starve the others.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class SyncOutboxRelay {
+
+    private final TenantRepository tenantRepository;
+    private final SyncOutboxService syncOutboxService;
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    @Value("${app.sync.outbox.max-batches-per-round:10}")
+    private int maxBatchesPerRound;
+
+    @Scheduled(fixedDelayString = "${app.sync.outbox.relay-interval-ms:5000}")
+    public void relayAll() {
+        List<Tenant> tenants;
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+            tenants = tenantRepository.findAll();
+        } finally {
+            TenantContextHolder.clear();
+        }
+
+        for (Tenant tenant : tenants) {
+            String clientId = tenant.getClientId();
+            try {
+                TenantContextHolder.setCurrentTenant(clientId);
+                int batches = 0;
+                int drained;
+                do {
+                    drained = syncOutboxService.drainBatch(clientId);
+                } while (drained == syncOutboxService.getBatchSize() && ++batches < maxBatchesPerRound);
+            } catch (Exception e) {
+                log.error("Outbox relay failed for tenant {}: {}", clientId, e.getMessage(), e);
+            } finally {
+                TenantContextHolder.clear();
+            }
+        }
+    }
+}
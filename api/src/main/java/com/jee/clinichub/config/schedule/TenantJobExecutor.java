@@ -0,0 +1,245 @@
+package com.jee.clinichub.config.schedule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+import com.jee.clinichub.global.tenant.model.Tenant;
+import com.jee.clinichub.global.tenant.model.TenantJobRun;
+import com.jee.clinichub.global.tenant.model.TenantJobStatus;
+import com.jee.clinichub.global.tenant.repository.TenantJobRunRepository;
+import com.jee.clinichub.global.tenant.repository.TenantRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Runs a job once per tenant, concurrently, on virtual threads.
+ * At most {@code app.scheduler.tenant-parallelism} tenants run at the same time, each with its own
+ * tenant context, so one slow clinic no longer holds up the others.
+ *
+ * Every tenant's outcome is stored in tenant_job_run keyed by (job, run date, tenant). Running the
+ * same job again for the same run date only picks up tenants that did not succeed, which makes a
+ * nightly run resumable after a restart or a partial failure.
+ *
+ * A tenant is claimed for a run date with one conditional upsert, so two runs of the same job and date (the startup
+ * catch-up, a manual rerun, another instance) never work on the same tenant at once. A claim that is still RUNNING
+ * after {@code app.scheduler.run-lease-minutes} is taken to belong to a process that died, and may be claimed again.
+ * {@link #catchUp} does that for a range of past run dates, so a date the application was down for, or that failed
+ * for some tenants, is not lost.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TenantJobExecutor {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TenantRepository tenantRepository;
+    private final TenantJobRunRepository jobRunRepository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    @Value("${app.scheduler.tenant-parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.scheduler.run-lease-minutes:120}")
+    private long runLeaseMinutes;
+
+    @FunctionalInterface
+    public interface TenantJob {
+        void run(String clientId) throws Exception;
+    }
+
+    public record TenantJobSummary(String jobName, int succeeded, int failed, int skipped) {
+    }
+
+    public TenantJobSummary run(String jobName, LocalDate runDate, TenantJob job) {
+        String originalTenantContext = TenantContextHolder.getCurrentTenant();
+        List<Tenant> tenants;
+        Set<String> alreadyDone;
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+            tenants = tenantRepository.findAll();
+            alreadyDone = settledTenants(jobName, runDate);
+        } finally {
+            TenantContextHolder.setCurrentTenant(originalTenantContext);
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+
+        log.info("Starting job {} for {} tenants ({} done or running for {}), parallelism {}",
+                jobName, tenants.size(), alreadyDone.size(), runDate, parallelism);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Tenant tenant : tenants) {
+                String clientId = tenant.getClientId();
+                if (alreadyDone.contains(clientId)) {
+                    skipped.incrementAndGet();
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        switch (runForTenant(jobName, runDate, clientId, job)) {
+                            case SUCCEEDED -> succeeded.incrementAndGet();
+                            case FAILED -> failed.incrementAndGet();
+                            case SKIPPED -> skipped.incrementAndGet();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        TenantJobSummary summary = new TenantJobSummary(jobName, succeeded.get(), failed.get(), skipped.get());
+        log.info("Finished job {} in {} ms: {}", jobName, System.currentTimeMillis() - start, summary);
+        return summary;
+    }
+
+    /**
+     * Runs the job again for every date from {@code from} to {@code to} on which some tenant failed or has no
+     * run at all, oldest first. Dates every tenant already succeeded on, or is running right now, are left alone.
+     */
+    public List<TenantJobSummary> catchUp(String jobName, LocalDate from, LocalDate to, TenantJob job) {
+        List<LocalDate> pendingDates = new ArrayList<>();
+        String originalTenantContext = TenantContextHolder.getCurrentTenant();
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+            Set<String> clientIds = tenantRepository.findAll().stream().map(Tenant::getClientId)
+                    .collect(Collectors.toSet());
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!settledTenants(jobName, date).containsAll(clientIds)) {
+                    pendingDates.add(date);
+                }
+            }
+        } finally {
+            TenantContextHolder.setCurrentTenant(originalTenantContext);
+        }
+
+        if (!pendingDates.isEmpty()) {
+            log.info("Catching up job {} for run dates {}", jobName, pendingDates);
+        }
+        return pendingDates.stream().map(date -> run(jobName, date, job)).toList();
+    }
+
+    public List<TenantJobRun> getRuns(String jobName, LocalDate runDate) {
+        return jobRunRepository.findAllByJobNameAndRunDate(jobName, runDate);
+    }
+
+    /**
+     * Tenants that succeeded on the run date, or whose run is still within its lease.
+     */
+    private Set<String> settledTenants(String jobName, LocalDate runDate) {
+        Date staleBefore = staleBefore();
+        return jobRunRepository.findAllByJobNameAndRunDate(jobName, runDate).stream()
+                .filter(run -> run.getStatus() == TenantJobStatus.SUCCESS || (run.getStatus() == TenantJobStatus.RUNNING
+                        && run.getStartedTime() != null && run.getStartedTime().after(staleBefore)))
+                .map(TenantJobRun::getClientId).collect(Collectors.toSet());
+    }
+
+    private Date staleBefore() {
+        return new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(runLeaseMinutes));
+    }
+
+    private enum Outcome {
+        SUCCEEDED, FAILED, SKIPPED
+    }
+
+    private Outcome runForTenant(String jobName, LocalDate runDate, String clientId, TenantJob job) {
+        TenantJobRun run;
+        try {
+            Optional<TenantJobRun> claimed = startRun(jobName, runDate, clientId);
+            if (claimed.isEmpty()) {
+                log.info("Job {} for tenant {} on {} already succeeded or is running elsewhere", jobName, clientId, runDate);
+                return Outcome.SKIPPED;
+            }
+            run = claimed.get();
+        } catch (Exception e) {
+            log.error("Could not start job {} for tenant {}", jobName, clientId, e);
+            return Outcome.FAILED;
+        } finally {
+            TenantContextHolder.clear();
+        }
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            TenantContextHolder.setCurrentTenant(clientId);
+            job.run(clientId);
+            success = true;
+        } catch (Exception e) {
+            log.error("Job {} failed for tenant {}", jobName, clientId, e);
+            run.setErrorMessage(StringUtils.abbreviate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH));
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            run.setStatus(success ? TenantJobStatus.SUCCESS : TenantJobStatus.FAILED);
+            run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            run.setFinishedTime(new Date());
+            if (success) {
+                run.setErrorMessage(null);
+            }
+            saveRun(run);
+            recordMetric(jobName, success, elapsedNanos);
+            TenantContextHolder.clear();
+        }
+        log.info("Job {} for tenant {} {} in {} ms", jobName, clientId, run.getStatus(), run.getDurationMs());
+        return success ? Outcome.SUCCEEDED : Outcome.FAILED;
+    }
+
+    /**
+     * Claims the tenant for the run date, empty when the tenant already succeeded or another run holds it.
+     */
+    private Optional<TenantJobRun> startRun(String jobName, LocalDate runDate, String clientId) {
+        TenantContextHolder.setCurrentTenant(defaultTenant);
+        return jobRunRepository.claim(jobName, runDate, clientId, staleBefore()).flatMap(jobRunRepository::findById);
+    }
+
+    private void saveRun(TenantJobRun run) {
+        try {
+            TenantContextHolder.setCurrentTenant(defaultTenant);
+            jobRunRepository.save(run);
+        } catch (Exception e) {
+            log.error("Could not record job run {} for tenant {}", run.getJobName(), run.getClientId(), e);
+        }
+    }
+
+    private void recordMetric(String jobName, boolean success, long elapsedNanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder("clinichub.tenant.job")
+                    .tag("job", jobName)
+                    .tag("outcome", success ? "success" : "failure")
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.jee.clinichub.global.exception;
+
+/**
+ * The caller already has as many chat messages in flight as it is allowed.
+ */
+public class ChatBusyException extends RuntimeException {
+    public ChatBusyException(String message) {
+        super(message);
+    }
+}
@@ -45,6 +45,36 @@ public class GlobalResponseEntityExceptionHandler {
         return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(SlotUnavailableException.class)
+    public ResponseEntity<Status> handleSlotUnavailableException(SlotUnavailableException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Status> handleInsufficientStockException(InsufficientStockException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PdfRenderException.class)
+    public ResponseEntity<Status> handlePdfRenderException(PdfRenderException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ImportRejectedException.class)
+    public ResponseEntity<Status> handleImportRejectedException(ImportRejectedException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ChatBusyException.class)
+    public ResponseEntity<Status> handleChatBusyException(ChatBusyException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(SlotHoldLimitException.class)
+    public ResponseEntity<Status> handleSlotHoldLimitException(SlotHoldLimitException ex) {
+        return new ResponseEntity<>(new Status(false, ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<Status> handleAccessDeniedException(AccessDeniedException ex) {
         return new ResponseEntity<>(new Status(false, "Access denied."), HttpStatus.FORBIDDEN);
@@ -0,0 +1,10 @@
+package com.jee.clinichub.global.exception;
+
+/**
+ * An upload that cannot be imported at all, e.g. an empty file or a branch without the lookups the rows need.
+ */
+public class ImportRejectedException extends RuntimeException {
+    public ImportRejectedException(String message) {
+        super(message);
+    }
+}
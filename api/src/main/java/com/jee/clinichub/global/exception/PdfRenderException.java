@@ -0,0 +1,7 @@
+package com.jee.clinichub.global.exception;
+
+public class PdfRenderException extends RuntimeException {
+    public PdfRenderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jee.clinichub.global.exception;
+
+/**
+ * The caller already holds, or has recently asked for, as many slots as it is allowed.
+ */
+public class SlotHoldLimitException extends RuntimeException {
+    public SlotHoldLimitException(String message) {
+        super(message);
+    }
+}
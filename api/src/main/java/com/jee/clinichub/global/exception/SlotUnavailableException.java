@@ -0,0 +1,7 @@
+package com.jee.clinichub.global.exception;
+
+public class SlotUnavailableException extends RuntimeException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jee.clinichub.global.security.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+/**
+ * Used from {@code @PreAuthorize} on endpoints that act on every tenant, e.g. the master sync queues and the
+ * nightly jobs: {@code hasRole('Admin') and @adminAccess.inDefaultTenant()} lets only admins signed in to the
+ * default tenant through, not the admin of some clinic.
+ */
+@Component
+public class AdminAccess {
+
+    @Value("${app.default-tenant}")
+    private String defaultTenant;
+
+    /**
+     * Whether the request was authenticated against the default tenant. Must be called on the request thread.
+     */
+    public boolean inDefaultTenant() {
+        return defaultTenant.equals(TenantContextHolder.getCurrentTenant());
+    }
+}
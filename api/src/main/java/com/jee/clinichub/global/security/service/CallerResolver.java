@@ -0,0 +1,86 @@
+package com.jee.clinichub.global.security.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Tells callers apart for per-caller limits: by the signed-in user, otherwise by client address. Nothing the client
+ * puts in the request body counts, so it can neither dodge a limit nor spend someone else's. {@code X-Forwarded-For}
+ * is only believed when the connection comes from one of {@code app.security.trusted-proxies}.
+ */
+@Component
+public class CallerResolver {
+
+    // addresses or CIDR ranges of the load balancers in front of the app, comma separated
+    @Value("${app.security.trusted-proxies:}")
+    private String trustedProxies = "";
+
+    private List<IpAddressMatcher> proxies;
+
+    @PostConstruct
+    public void init() {
+        proxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Must be called on the request thread, the caller is read from its security context and request.
+     */
+    public String callerKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + TenantContextHolder.getCurrentTenant() + ":" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + clientAddress(attributes.getRequest());
+        }
+        return "anonymous";
+    }
+
+    /**
+     * The nearest address in the forwarding chain that is not one of our proxies. Entries further left were written
+     * by the client and are not trusted.
+     */
+    public String clientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || !trusted(address)) {
+            return address;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.matches("[0-9a-fA-F:.]+")) {
+                // not an address, the chain cannot be followed past it
+                return address;
+            }
+            address = hop;
+            if (!trusted(hop)) {
+                return hop;
+            }
+        }
+        return address;
+    }
+
+    private boolean trusted(String address) {
+        return proxies.stream().anyMatch(proxy -> proxy.matches(address));
+    }
+}
@@ -2,6 +2,7 @@ package com.jee.clinichub.global.security.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 
 public interface JwtService {
@@ -12,6 +13,10 @@ public interface JwtService {
 
     boolean isTokenValid(String token, UserDetails userDetails);
 
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
+
+    Claims extractAllClaims(String token);
+
 	String extractTenant(String jwt);
 
 	String getTenantId(HttpServletRequest req);
@@ -0,0 +1,115 @@
+package com.jee.clinichub.global.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Bounded cache of JWTs that have already been verified by {@link JwtService}.
+ * Entries are keyed by the SHA-256 of the compact token (header, payload and signature),
+ * so a hit can only be produced by the exact token that passed the HMAC check before.
+ * An entry is never served past the token's own {@code exp}, whatever the configured TTL.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    public VerifiedToken put(String token, String tenant, UserDetails userDetails, Date expiration) {
+        VerifiedToken verified = new VerifiedToken(tenant, userDetails, expiration.getTime());
+        if (!verified.isExpired()) {
+            cache.put(hash(token), verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Drops every cached token for the given user, e.g. on logout or after a password or role change.
+     * {@link VerifiedTokenEviction} calls this for every committed change of a user.
+     */
+    public void evictUser(String tenant, String username) {
+        cache.asMap().values().removeIf(v -> v.getTenant().equals(tenant)
+                && v.getUserDetails().getUsername().equals(username));
+    }
+
+    /**
+     * Drops every cached token of the tenant, e.g. after one of its roles changed or the tenant was deactivated.
+     */
+    public void evictTenant(String tenant) {
+        cache.asMap().values().removeIf(v -> v.getTenant().equals(tenant));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String hash(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.US_ASCII).toString();
+    }
+
+    /**
+     * Result of one successful verification: the tenant from the audience claim and the
+     * user with its authorities, valid until {@code expiresAt} (epoch millis).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class VerifiedToken {
+
+        private final String tenant;
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.jee.clinichub.global.security.service;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.jee.clinichub.app.user.model.User;
+import com.jee.clinichub.app.user.model.UserAuth;
+import com.jee.clinichub.app.user.role.model.Role;
+import com.jee.clinichub.global.tenant.model.Tenant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Drops cached tokens once a change that affects them is committed, wherever it is made: a user whose password, role
+ * or validity changed or who was deleted loses their own tokens, a changed or deleted role or tenant every token of
+ * that tenant. Until then the {@link VerifiedTokenCache} would keep serving the user as they were when signed in.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenEviction implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Set<Class<?>> USERS = Set.of(User.class, UserAuth.class);
+    private static final Set<Class<?>> WATCHED = Set.of(User.class, UserAuth.class, Role.class, Tenant.class);
+
+    // user properties the cached UserDetails is built from, or that decide whether the user may sign in
+    private static final Set<String> USER_PROPERTIES = Set.of("username", "password", "role", "effectiveFrom",
+            "effectiveTo");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return WATCHED.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (USERS.contains(persister.getMappedClass()) && !changesAny(persister, event)) {
+            return;
+        }
+        evict(persister, event.getSession().getTenantIdentifier(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getPersister(), event.getSession().getTenantIdentifier(), event.getDeletedState());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // nothing was committed, the cached tokens are still right
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // nothing was committed, the cached tokens are still right
+    }
+
+    private void evict(EntityPersister persister, String tenant, Object[]... states) {
+        try {
+            Class<?> type = persister.getMappedClass();
+            if (USERS.contains(type)) {
+                values(persister, "username", states).forEach(username -> verifiedTokenCache.evictUser(tenant, username));
+            } else if (type == Tenant.class) {
+                values(persister, "clientId", states).forEach(verifiedTokenCache::evictTenant);
+            } else {
+                verifiedTokenCache.evictTenant(tenant);
+            }
+        } catch (RuntimeException e) {
+            // the change is already committed, evicting must not fail it; the tokens still expire with the cache TTL
+            log.error("Could not evict cached tokens after a change of {}: {}", persister.getEntityName(), e.getMessage());
+        }
+    }
+
+    private static boolean changesAny(EntityPersister persister, PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null || event.getOldState() == null) {
+            return true;
+        }
+        for (int i : dirty) {
+            if (USER_PROPERTIES.contains(persister.getPropertyNames()[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The distinct non-null values of the property in the given states, e.g. the old and the new username.
+     */
+    private static Stream<String> values(EntityPersister persister, String property, Object[]... states) {
+        int index = persister.getPropertyIndex(property);
+        return Stream.of(states).filter(Objects::nonNull).map(state -> state[index]).filter(Objects::nonNull)
+                .map(String::valueOf).distinct();
+    }
+}
@@ -68,6 +68,8 @@ import com.jee.clinichub.global.security.entities.AuthToken;
 import com.jee.clinichub.global.security.entities.RoleEnum;
 import com.jee.clinichub.global.security.service.AuthenticationService;
 import com.jee.clinichub.global.security.service.JwtService;
+import com.jee.clinichub.global.security.service.VerifiedTokenCache;
+import com.jee.clinichub.global.security.service.VerifiedTokenCache.VerifiedToken;
 import com.jee.clinichub.global.tenant.context.TenantContextHolder;
 import com.jee.clinichub.global.tenant.model.TenantRequest;
 import com.jee.clinichub.global.tenant.repository.TenantRequestRepository;
@@ -106,6 +108,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private final SequenceService sequenceService;
 	private final ModuleRepository moduleRepository;
 	private final TenantRequestRepository tenantRequeRepository;
+	private final VerifiedTokenCache verifiedTokenCache;
 
 	@Value("${app.url.api}")
 	private String apiUrl;
@@ -258,6 +261,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
 	@Override
 	public Void logout(AuthToken authToken) {
+		// the user is taken from the cached token itself, so a caller can only sign out the user whose token it holds
+		VerifiedToken verified = StringUtils.isBlank(authToken.getToken()) ? null
+				: verifiedTokenCache.get(authToken.getToken());
+		if (verified != null) {
+			verifiedTokenCache.evictUser(verified.getTenant(), verified.getUserDetails().getUsername());
+		}
 		return loginInfoService.logout(authToken);
 	}
 
@@ -377,6 +386,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		User user = resetToken.getUser();
 		user.setPassword(passwordEncoder.encode(decryptedPassword));
 		userRepository.save(user);
+		verifiedTokenCache.evictUser(TenantContextHolder.getCurrentTenant(), user.getUsername());
 
 		resetToken.setResetTime(new Date());
 		passwordResetTokenRepository.save(resetToken);
@@ -543,7 +553,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		user.setEffectiveFrom(effectiveFrom);
 		User userSaved = userRepository.save(user);
 
-		nextSequense = sequenceService.getNextSequense(user.getBranch().getId(), module.getId());
+		nextSequense = sequenceService.allocateSequense(user.getBranch().getId(), module.getId());
 		patient.setUser(userSaved);
 		patient.setFirstname(" ");
 		patient.setLastname(" ");
@@ -552,8 +562,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		patient.setSource(PatientSource.ONLINE);
 		patientRepository.save(patient);
 		log.info(email + " registered successfully.");
-		sequenceService.incrementSequense(branch.getId(),
-				module.getId(), nextSequense);
 
 		return userSaved;
 
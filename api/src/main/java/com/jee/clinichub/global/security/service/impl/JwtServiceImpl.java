@@ -33,6 +33,8 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.token.validity}")
     private String jwtExipryTimeInSec;
     
+    private volatile Key signingKey;
+    
     @Override
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -45,8 +47,14 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    @Override
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String userName = claims.getSubject();
+        return userName != null && userName.equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
@@ -71,22 +79,28 @@ public class JwtServiceImpl implements JwtService {
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
+    /**
+     * Parses the token and verifies its signature exactly once. Callers that need several
+     * claims should hold on to the returned object instead of re-parsing the token.
+     */
+    @Override
+    public Claims extractAllClaims(String token) {
         return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token)
                 .getBody();
     }
 
+    /**
+     * The HMAC key is derived from configuration that never changes at runtime, so it is
+     * decoded once and reused for every sign/verify call.
+     */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
     }
 
 	@Override
@@ -1,11 +1,11 @@
 package com.jee.clinichub.global.tenant.controller;
 
+import java.io.IOException;
 import java.net.URL;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -21,6 +21,8 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.jee.clinichub.app.core.files.FileBlob;
+import com.jee.clinichub.app.core.files.FileResponseWriter;
 import com.jee.clinichub.app.core.files.FileService;
 import com.jee.clinichub.global.model.Status;
 import com.jee.clinichub.global.security.service.JwtService;
@@ -33,6 +35,7 @@ import com.jee.clinichub.global.tenant.model.WebInfo;
 import com.jee.clinichub.global.tenant.service.TenantService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
@@ -49,6 +52,8 @@ public class TenantController {
 
     private final FileService fileService;
 
+    private final FileResponseWriter fileResponseWriter;
+
     @Value("${app.default-tenant}")
     public String defaultTenant;
 
@@ -157,8 +162,10 @@ public class TenantController {
     }
 
     @GetMapping(path = "/public/download")
-    public ResponseEntity<ByteArrayResource> downloadFile(@RequestParam("fileName") String fileName,
-            @RequestParam(name = "type", required = false) String type, HttpServletRequest request) {
+    public void downloadFile(@RequestParam("fileName") String fileName,
+            @RequestParam(name = "type", required = false) String type, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String tenant;
         try {
 
             String origin = request.getHeader("referer");
@@ -166,24 +173,21 @@ public class TenantController {
 
             URL orginUrl = new URL(origin);
 
-            String tenant = orginUrl.getHost().split("\\.")[0];// jwtTokenUtil.getClientId(request);
+            tenant = orginUrl.getHost().split("\\.")[0];// jwtTokenUtil.getClientId(request);
             tenant = tenant.equalsIgnoreCase("localhost") ? defaultTenant : tenant;
-
-            // if(fileName.trim().isEmpty() || fileName.equalsIgnoreCase("null")) {return
-            // ResponseEntity.badRequest().contentLength(0).body(null); }
-
-            final byte[] data = fileService.download(fileName, true, tenant, type);
-            final ByteArrayResource resource = new ByteArrayResource(data);
-            return ResponseEntity
-                    .ok()
-                    .contentLength(data.length)
-                    .header("Content-type", "application/octet-stream")
-                    .header("Content-disposition", "attachment; filename=\"" + fileName + "\"")
-                    .header("Cache-Control", "no-cache")
-                    .body(resource);
         } catch (Exception e) {
             log.error(e.getMessage());
-            return ResponseEntity.badRequest().contentLength(0).body(null);
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        // an empty file name falls back to the placeholder for the type
+        try (FileBlob blob = fileService.open(fileName, true, tenant, type)) {
+            if (blob == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            fileResponseWriter.write(blob, fileName, request, response);
         }
     }
 
@@ -0,0 +1,58 @@
+package com.jee.clinichub.global.tenant.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jee.clinichub.config.schedule.DoctorSlotSchedulerService;
+import com.jee.clinichub.config.schedule.TenantJobExecutor;
+import com.jee.clinichub.config.schedule.TenantJobExecutor.TenantJobSummary;
+import com.jee.clinichub.global.model.Status;
+import com.jee.clinichub.global.tenant.model.TenantJobRun;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-tenant outcome of the nightly jobs, and a rerun for a given run date. A rerun only picks up the
+ * tenants that did not succeed on that date. The runs cover every tenant, so only admins of the default tenant may
+ * see or start them.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("v1/tenant/job")
+@PreAuthorize("hasRole('Admin') and @adminAccess.inDefaultTenant()")
+public class TenantJobController {
+
+    private final TenantJobExecutor tenantJobExecutor;
+    private final DoctorSlotSchedulerService doctorSlotSchedulerService;
+
+    @GetMapping(value = "/runs/{jobName}/{runDate}")
+    public List<TenantJobRun> getRuns(@PathVariable String jobName,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        return tenantJobExecutor.getRuns(jobName, runDate);
+    }
+
+    @PostMapping(value = "/slot-generation/rerun/{runDate}")
+    public Status rerunSlotGeneration(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        return toStatus(doctorSlotSchedulerService.generateSlots(runDate));
+    }
+
+    @PostMapping(value = "/slot-sync/rerun/{runDate}")
+    public Status rerunSlotSync(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        return toStatus(doctorSlotSchedulerService.syncSlotsToMaster(runDate));
+    }
+
+    private static Status toStatus(TenantJobSummary summary) {
+        return new Status(summary.failed() == 0, summary.succeeded() + " tenant(s) succeeded, " + summary.failed()
+                + " failed, " + summary.skipped() + " already done or running");
+    }
+}
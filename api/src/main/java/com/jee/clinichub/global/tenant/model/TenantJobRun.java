@@ -0,0 +1,62 @@
+package com.jee.clinichub.global.tenant.model;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import com.jee.clinichub.config.TenantIdentifierResolver;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@NoArgsConstructor
+@Data
+@Table(name = "tenant_job_run", schema = TenantIdentifierResolver.DEFAULT_TENANT)
+public class TenantJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "client_id", nullable = false)
+    private String clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TenantJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "started_time")
+    private Date startedTime;
+
+    @Column(name = "finished_time")
+    private Date finishedTime;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    public TenantJobRun(String jobName, LocalDate runDate, String clientId) {
+        this.jobName = jobName;
+        this.runDate = runDate;
+        this.clientId = clientId;
+    }
+}
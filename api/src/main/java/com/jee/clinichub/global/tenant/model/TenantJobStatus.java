@@ -0,0 +1,5 @@
+package com.jee.clinichub.global.tenant.model;
+
+public enum TenantJobStatus {
+    RUNNING, SUCCESS, FAILED
+}
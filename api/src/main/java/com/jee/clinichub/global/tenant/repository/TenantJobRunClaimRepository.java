@@ -0,0 +1,19 @@
+package com.jee.clinichub.global.tenant.repository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TenantJobRunClaimRepository {
+
+    /**
+     * Marks the tenant's run of the job on the run date RUNNING and returns its id, in one statement, so of two
+     * callers at most one gets the claim. Empty if the run already succeeded, or is RUNNING and was started after
+     * {@code staleBefore}. Runs in its own transaction, so the claim is visible to others straight away.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    Optional<Long> claim(String jobName, LocalDate runDate, String clientId, Date staleBefore);
+}
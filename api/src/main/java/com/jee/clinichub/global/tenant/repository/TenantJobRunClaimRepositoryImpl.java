@@ -0,0 +1,41 @@
+package com.jee.clinichub.global.tenant.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class TenantJobRunClaimRepositoryImpl implements TenantJobRunClaimRepository {
+
+    private static final String CLAIM_SQL = "INSERT INTO tenant_job_run AS r (job_name, run_date, client_id, status, attempts, started_time) "
+            + "VALUES (?, ?, ?, 'RUNNING', 1, now()) "
+            + "ON CONFLICT (job_name, run_date, client_id) DO UPDATE "
+            + "SET status = 'RUNNING', attempts = r.attempts + 1, started_time = now(), finished_time = NULL "
+            + "WHERE r.status = 'FAILED' OR (r.status = 'RUNNING' AND (r.started_time IS NULL OR r.started_time < ?)) "
+            + "RETURNING r.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> claim(String jobName, LocalDate runDate, String clientId, Date staleBefore) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(CLAIM_SQL)) {
+                ps.setString(1, jobName);
+                ps.setDate(2, java.sql.Date.valueOf(runDate));
+                ps.setString(3, clientId);
+                ps.setTimestamp(4, new Timestamp(staleBefore.getTime()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? Optional.of(rs.getLong(1)) : Optional.<Long>empty();
+                }
+            }
+        });
+    }
+}
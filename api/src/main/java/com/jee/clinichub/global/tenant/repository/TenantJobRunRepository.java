@@ -0,0 +1,15 @@
+package com.jee.clinichub.global.tenant.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.jee.clinichub.global.tenant.model.TenantJobRun;
+
+@Repository
+public interface TenantJobRunRepository extends JpaRepository<TenantJobRun, Long>, TenantJobRunClaimRepository {
+
+    List<TenantJobRun> findAllByJobNameAndRunDate(String jobName, LocalDate runDate);
+}
@@ -0,0 +1,2 @@
+-- Master slot sync upserts on global_slot_id, which needs a unique index to target
+CREATE UNIQUE INDEX IF NOT EXISTS uq_doctor_slot_global_slot_id ON doctor_slot (global_slot_id);
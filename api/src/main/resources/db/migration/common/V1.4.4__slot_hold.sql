@@ -0,0 +1,10 @@
+-- Short-lived capacity holds taken by SlotReservationService. A hold owns one unit of
+-- doctor_slot.available_slots until it is confirmed by a booking, released, or expires.
+CREATE TABLE IF NOT EXISTS slot_hold (
+    hold_token UUID PRIMARY KEY,
+    slot_id BIGINT NOT NULL REFERENCES doctor_slot (id) ON DELETE CASCADE,
+    expires_time TIMESTAMP NOT NULL,
+    created_time TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_slot_hold_expires_time ON slot_hold (expires_time);
@@ -0,0 +1,4 @@
+-- The live queue loads one branch and day of visits at a time, and ranks the appointments
+-- of the slots those visits were booked into.
+CREATE INDEX IF NOT EXISTS idx_patient_schedule_branch_created_time ON patient_schedule (branch_id, created_time);
+CREATE INDEX IF NOT EXISTS idx_appointment_slot_id ON appointment (slot_id);
@@ -0,0 +1,13 @@
+-- Audit trail of entities annotated @AuditTrail, written in batches after commit by AuditTrailWriter.
+-- Replaces the per-entity Envers _AUD tables; branch keeps its Envers branch_history for revision queries.
+CREATE TABLE IF NOT EXISTS "audit_trail" (
+    "id" BIGSERIAL PRIMARY KEY,
+    "entity" VARCHAR(100) NOT NULL,
+    "entity_id" VARCHAR(64) NOT NULL,
+    "action" VARCHAR(10) NOT NULL, -- INSERT / UPDATE / DELETE
+    "changes" JSONB,               -- property -> [old, new]
+    "changed_by" VARCHAR(255),
+    "changed_time" TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS "idx_audit_trail_entity" ON "audit_trail" ("entity", "entity_id", "changed_time");
@@ -0,0 +1,12 @@
+-- Outbox events that used up app.sync.outbox.max-attempts; moved here by SyncOutboxService so they stop
+-- being picked up, and replayed by hand through /v1/sync/outbox/dead-letter. Only tenant schemas have an outbox.
+CREATE TABLE IF NOT EXISTS sync_outbox_dead_letter (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    created_time TIMESTAMP NOT NULL,
+    failed_time TIMESTAMP NOT NULL DEFAULT now()
+);
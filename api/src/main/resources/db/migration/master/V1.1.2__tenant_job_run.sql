@@ -0,0 +1,16 @@
+-- Per-tenant outcome of scheduled jobs, used to resume a nightly run and to report durations
+CREATE TABLE IF NOT EXISTS tenant_job_run (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_date DATE NOT NULL,
+    client_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    started_time TIMESTAMP,
+    finished_time TIMESTAMP,
+    duration_ms BIGINT,
+    error_message VARCHAR(1000),
+    CONSTRAINT uq_tenant_job_run UNIQUE (job_name, run_date, client_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tenant_job_run_job_date ON tenant_job_run (job_name, run_date);
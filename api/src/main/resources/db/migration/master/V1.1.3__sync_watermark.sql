@@ -0,0 +1,8 @@
+-- Last successful sync per tenant and data set; rows modified before it are not re-sent
+CREATE TABLE IF NOT EXISTS sync_watermark (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sync_name VARCHAR(100) NOT NULL,
+    client_id VARCHAR(255) NOT NULL,
+    last_synced_time TIMESTAMP NOT NULL,
+    CONSTRAINT uq_sync_watermark UNIQUE (sync_name, client_id)
+);
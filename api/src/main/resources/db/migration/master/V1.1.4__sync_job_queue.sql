@@ -0,0 +1,29 @@
+-- Durable retry queue for cross-schema sync, drained by any number of nodes with FOR UPDATE SKIP LOCKED
+CREATE TABLE IF NOT EXISTS sync_job (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_type VARCHAR(30) NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    global_id UUID,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_time TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_time TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_job_next_attempt ON sync_job (next_attempt_time);
+
+-- Jobs that used up their attempts; replayed by hand through /v1/sync/dead-letter
+CREATE TABLE IF NOT EXISTS sync_dead_letter (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_type VARCHAR(30) NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    global_id UUID,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    created_time TIMESTAMP NOT NULL,
+    failed_time TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_dead_letter_tenant ON sync_dead_letter (tenant_id);
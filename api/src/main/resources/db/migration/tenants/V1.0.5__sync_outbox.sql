@@ -0,0 +1,53 @@
+-- Transactional outbox: every change to a slot or appointment in a tenant schema is recorded
+-- in the same transaction, and SyncOutboxRelay copies the current state of those rows to master.
+-- Triggers (rather than application code) also capture the JDBC batch writes used for slots.
+CREATE TABLE IF NOT EXISTS sync_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_time TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE OR REPLACE FUNCTION record_sync_outbox()
+RETURNS TRIGGER AS $$
+DECLARE
+    row_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        row_id := (to_jsonb(OLD) ->> TG_ARGV[1])::UUID;
+    ELSE
+        row_id := (to_jsonb(NEW) ->> TG_ARGV[1])::UUID;
+    END IF;
+
+    IF row_id IS NOT NULL THEN
+        EXECUTE format('INSERT INTO %I.sync_outbox (aggregate_type, aggregate_id, operation) VALUES ($1, $2, $3)', TG_TABLE_SCHEMA)
+            USING TG_ARGV[0], row_id, TG_OP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_doctor_slot_outbox ON doctor_slot;
+CREATE TRIGGER trigger_doctor_slot_outbox
+    AFTER INSERT OR DELETE ON doctor_slot
+    FOR EACH ROW EXECUTE FUNCTION record_sync_outbox('SLOT', 'global_slot_id');
+
+DROP TRIGGER IF EXISTS trigger_doctor_slot_outbox_update ON doctor_slot;
+CREATE TRIGGER trigger_doctor_slot_outbox_update
+    AFTER UPDATE ON doctor_slot
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION record_sync_outbox('SLOT', 'global_slot_id');
+
+DROP TRIGGER IF EXISTS trigger_appointment_outbox ON appointment;
+CREATE TRIGGER trigger_appointment_outbox
+    AFTER INSERT OR DELETE ON appointment
+    FOR EACH ROW EXECUTE FUNCTION record_sync_outbox('APPOINTMENT', 'global_appointment_id');
+
+DROP TRIGGER IF EXISTS trigger_appointment_outbox_update ON appointment;
+CREATE TRIGGER trigger_appointment_outbox_update
+    AFTER UPDATE ON appointment
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION record_sync_outbox('APPOINTMENT', 'global_appointment_id');
@@ -0,0 +1,162 @@
+package com.jee.clinichub.app.aichat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.aichat.enums.QueryCategory;
+import com.jee.clinichub.app.aichat.model.ChatContext;
+import com.jee.clinichub.app.aichat.model.ChatRequest;
+import com.jee.clinichub.app.aichat.model.ChatResponse;
+import com.jee.clinichub.app.aichat.model.ChatSession;
+import com.jee.clinichub.app.aichat.repository.ChatMessageRepository;
+import com.jee.clinichub.app.aichat.repository.ChatSessionRepository;
+import com.jee.clinichub.config.ContextCopyingDecorator;
+import com.jee.clinichub.global.exception.ChatBusyException;
+import com.jee.clinichub.global.security.service.CallerResolver;
+
+class AIChatServiceImplTest {
+
+    private final ChatSessionRepository chatSessionRepository = mock(ChatSessionRepository.class);
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final ChatContextService chatContextService = mock(ChatContextService.class);
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private AIChatServiceImpl chatService;
+
+    @BeforeEach
+    void setUp() {
+        CallerResolver callerResolver = new CallerResolver();
+        callerResolver.init();
+        ChatConcurrencyLimiter limiter = new ChatConcurrencyLimiter(callerResolver);
+        ReflectionTestUtils.setField(limiter, "maxConcurrentPerUser", 1);
+        limiter.init();
+
+        chatService = new AIChatServiceImpl(chatSessionRepository, chatMessageRepository, geminiService,
+                chatContextService, new ChatQueryClassifier(), limiter, new ContextCopyingDecorator());
+
+        when(chatSessionRepository.save(any())).thenAnswer(invocation -> {
+            ChatSession session = invocation.getArgument(0);
+            session.setId(1L);
+            return session;
+        });
+        when(chatContextService.buildContext(anyString(), any())).thenAnswer(invocation -> {
+            ChatContext context = new ChatContext();
+            context.setUserMessage(invocation.getArgument(0));
+            return context;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        chatService.shutdown();
+    }
+
+    private static ChatRequest request(long userId, String message) {
+        ChatRequest request = new ChatRequest();
+        request.setUserId(userId);
+        request.setMessage(message);
+        return request;
+    }
+
+    // the limiter goes by who is signed in, not by the user id in the body
+    private ChatResponse send(long userId, String message) {
+        return sendAs("user-" + userId, request(userId, message));
+    }
+
+    private ChatResponse sendAs(String username, ChatRequest request) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        try {
+            return chatService.sendMessage(request);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void categorizesLocallyAndSavesTheExchange() {
+        when(geminiService.generateResponse(anyString(), any())).thenReturn("Try Dr. Stub.");
+
+        ChatResponse response = send(1, "I have a fever");
+
+        assertTrue(response.isSuccess());
+        assertEquals("Try Dr. Stub.", response.getResponse());
+        assertEquals(QueryCategory.SYMPTOM_ANALYSIS, response.getQueryCategory());
+        verify(geminiService, never()).categorizeQuery(anyString());
+        verify(chatMessageRepository, times(2)).save(any());
+    }
+
+    @Test
+    void identicalMessagesInFlightShareOneModelCall() throws Exception {
+        when(geminiService.generateResponse(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return "Shared answer";
+        });
+
+        Future<ChatResponse> first = callers.submit(() -> send(1, "doctors in Puri"));
+        Future<ChatResponse> second = callers.submit(() -> send(2, "doctors in Puri"));
+
+        assertEquals("Shared answer", first.get(5, TimeUnit.SECONDS).getResponse());
+        assertEquals("Shared answer", second.get(5, TimeUnit.SECONDS).getResponse());
+        verify(geminiService, times(1)).generateResponse(anyString(), any());
+    }
+
+    @Test
+    void callerOverTheLimitIsTurnedAwayUntilTheAnswerIsBack() throws Exception {
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(geminiService.generateResponse(anyString(), any())).thenAnswer(invocation -> {
+            if (!"hello".equals(invocation.getArgument(0))) {
+                return "Other answer";
+            }
+            modelCalled.countDown();
+            release.await();
+            return "First answer";
+        });
+
+        Future<ChatResponse> first = callers.submit(() -> send(7, "hello"));
+        assertTrue(modelCalled.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ChatBusyException.class, () -> send(7, "hello again"));
+        assertTrue(send(8, "good morning").isSuccess());
+
+        release.countDown();
+        assertEquals("First answer", first.get(5, TimeUnit.SECONDS).getResponse());
+        assertTrue(send(7, "hello again").isSuccess());
+    }
+
+    @Test
+    void userIdInTheBodyDoesNotPickTheLimit() throws Exception {
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(geminiService.generateResponse(anyString(), any())).thenAnswer(invocation -> {
+            modelCalled.countDown();
+            release.await();
+            return "First answer";
+        });
+
+        Future<ChatResponse> first = callers.submit(() -> sendAs("mallory", request(1, "hello")));
+        assertTrue(modelCalled.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ChatBusyException.class, () -> sendAs("mallory", request(2, "hello again")));
+
+        release.countDown();
+        assertEquals("First answer", first.get(5, TimeUnit.SECONDS).getResponse());
+    }
+}
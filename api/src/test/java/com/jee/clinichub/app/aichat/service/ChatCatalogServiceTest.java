@@ -0,0 +1,108 @@
+package com.jee.clinichub.app.aichat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.aichat.enums.ChatCatalogSection;
+import com.jee.clinichub.app.doctor.event.DoctorChangedEvent;
+import com.jee.clinichub.app.doctor.slots.event.SlotsChangedEvent;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+class ChatCatalogServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ChatCatalogService catalog;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("Cardiology"), List.of("Cardiology", "Dermatology"));
+        catalog = new ChatCatalogService(jdbcTemplate);
+        ReflectionTestUtils.setField(catalog, "defaultTenant", "master");
+        ReflectionTestUtils.setField(catalog, "maxAgeMs", 300_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void readsComeFromMemoryUntilTheSectionIsInvalidated() {
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+        catalog.refresh();
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class));
+
+        catalog.invalidate(ChatCatalogSection.SPECIALIZATIONS);
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+
+        catalog.refresh();
+        assertEquals(List.of("Cardiology", "Dermatology"), catalog.getSpecializations());
+    }
+
+    @Test
+    void slotChangesLeaveSpecializationsAlone() {
+        catalog.getSpecializations();
+        catalog.refresh();
+        TenantContextHolder.setCurrentTenant("master");
+
+        catalog.onSlotsChanged(new SlotsChangedEvent(this));
+        catalog.refresh();
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+
+        catalog.onDoctorChanged(new DoctorChangedEvent(this, null));
+        catalog.refresh();
+        assertEquals(List.of("Cardiology", "Dermatology"), catalog.getSpecializations());
+    }
+
+    @Test
+    void changesInClinicSchemasAreIgnored() {
+        catalog.getSpecializations();
+        catalog.refresh();
+        TenantContextHolder.setCurrentTenant("clinic_a");
+
+        catalog.onDoctorChanged(new DoctorChangedEvent(this, null));
+        catalog.refresh();
+
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+    }
+
+    @Test
+    void failedReloadKeepsThePreviousCopyAndRetries() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("Cardiology"))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of("Orthopedics"));
+
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+        catalog.invalidate(ChatCatalogSection.SPECIALIZATIONS);
+
+        catalog.refresh();
+        assertEquals(List.of("Cardiology"), catalog.getSpecializations());
+
+        catalog.refresh();
+        assertEquals(List.of("Orthopedics"), catalog.getSpecializations());
+    }
+
+    @Test
+    void unavailableDatabaseOnFirstLoadGivesAnEmptySection() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertTrue(catalog.getSpecializations().isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.jee.clinichub.app.aichat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.jee.clinichub.app.aichat.enums.QueryCategory;
+
+class ChatQueryClassifierTest {
+
+    private final ChatQueryClassifier classifier = new ChatQueryClassifier();
+
+    @Test
+    void classifiesByTheFirstMatchingRule() {
+        assertEquals(QueryCategory.SYMPTOM_ANALYSIS, classifier.classify("I have fever and a headache since yesterday"));
+        assertEquals(QueryCategory.SYMPTOM_ANALYSIS, classifier.classify("chest pain, any doctor near Cuttack?"));
+        assertEquals(QueryCategory.APPOINTMENT_BOOKING, classifier.classify("Book an appointment with Dr. Mandal"));
+        assertEquals(QueryCategory.DOCTOR_AVAILABILITY, classifier.classify("Which doctors are available tomorrow?"));
+        assertEquals(QueryCategory.ADDRESS_QUERY, classifier.classify("What is the full address of the Puri clinic"));
+        assertEquals(QueryCategory.LOCATION_SEARCH, classifier.classify("Clinics near 751001"));
+        assertEquals(QueryCategory.SPECIALIZATION_INFO, classifier.classify("Do you have a cardiologist?"));
+        assertEquals(QueryCategory.DOCTOR_SEARCH, classifier.classify("Tell me about Dr. Manmath"));
+        assertEquals(QueryCategory.CLINIC_INFO, classifier.classify("What is the phone number of the clinic"));
+        assertEquals(QueryCategory.GENERAL_MEDICAL, classifier.classify("Is a vaccine needed for travel"));
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertEquals(QueryCategory.GENERAL, classifier.classify("Thanks, that was helpful"));
+        assertEquals(QueryCategory.GENERAL, classifier.classify("Hello"));
+        assertEquals(QueryCategory.GENERAL, classifier.classify(" "));
+        assertEquals(QueryCategory.GENERAL, classifier.classify(null));
+    }
+}
@@ -0,0 +1,81 @@
+package com.jee.clinichub.app.aichat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jee.clinichub.app.aichat.model.ChatContext;
+
+class GeminiServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GeminiStubServer stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    private GeminiServiceImpl gemini(long latencyMs, long timeoutMs) throws Exception {
+        stub = new GeminiStubServer(0, latencyMs);
+        GeminiServiceImpl gemini = new GeminiServiceImpl(WebClient.create(), objectMapper);
+        ReflectionTestUtils.setField(gemini, "geminiApiKey", "test-key");
+        ReflectionTestUtils.setField(gemini, "geminiApiUrl", stub.url("generateContent"));
+        ReflectionTestUtils.setField(gemini, "geminiStreamUrl", stub.url("streamGenerateContent") + "?alt=sse");
+        ReflectionTestUtils.setField(gemini, "timeoutMs", timeoutMs);
+        return gemini;
+    }
+
+    private static ChatContext context() {
+        ChatContext context = new ChatContext();
+        context.setRecentMessages(List.of("User: \"hi\"", "Assistant: hello"));
+        context.setAvailableDoctors("Dr. Stub in Bhubaneswar (Cardiology) - 4 slots available; ");
+        return context;
+    }
+
+    @Test
+    void generateResponseSendsValidJsonAndReadsTheCandidate() throws Exception {
+        GeminiServiceImpl gemini = gemini(0, 5_000);
+
+        assertEquals(GeminiStubServer.ANSWER, gemini.generateResponse("any cardiologist\nnearby?", context()));
+
+        JsonNode body = objectMapper.readTree(stub.bodies().peek());
+        String prompt = body.at("/contents/0/parts/0/text").asText();
+        assertTrue(prompt.contains("User: \"hi\""));
+        assertTrue(prompt.contains("any cardiologist\nnearby?"));
+        assertEquals(256, body.at("/generationConfig/maxOutputTokens").asInt());
+    }
+
+    @Test
+    void streamResponseEmitsTheAnswerChunkByChunk() throws Exception {
+        GeminiServiceImpl gemini = gemini(0, 5_000);
+
+        List<String> chunks = gemini.streamResponse("doctors in Bhubaneswar", context()).collectList().block();
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(GeminiStubServer.ANSWER, String.join("", chunks));
+    }
+
+    @Test
+    void slowModelTimesOutWithAnApology() throws Exception {
+        GeminiServiceImpl gemini = gemini(2_000, 200);
+
+        long start = System.nanoTime();
+        String response = gemini.generateResponse("hello", context());
+        List<String> streamed = gemini.streamResponse("hello", context()).collectList().block();
+
+        assertTrue(response.startsWith("Sorry"));
+        assertEquals(1, streamed.size());
+        assertTrue(streamed.get(0).startsWith("Sorry"));
+        assertTrue(System.nanoTime() - start < 1_500_000_000L);
+    }
+}
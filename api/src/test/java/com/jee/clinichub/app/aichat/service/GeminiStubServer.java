@@ -0,0 +1,94 @@
+package com.jee.clinichub.app.aichat.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stands in for the Gemini API, so the chat can be tested and load-tested offline. Answers
+ * {@code .../model:generateContent} with one candidate and {@code .../model:streamGenerateContent} with the same
+ * text as server-sent events, one word per event, after {@code latencyMs}.
+ *
+ * To load-test a running application against it, start it with
+ * {@code java -cp target/test-classes com.jee.clinichub.app.aichat.service.GeminiStubServer 8089 800} and run the
+ * application with {@code --gemini.api.url=http://localhost:8089/v1beta/models/stub:generateContent} and
+ * {@code --gemini.api.stream-url=http://localhost:8089/v1beta/models/stub:streamGenerateContent?alt=sse}.
+ */
+public class GeminiStubServer implements AutoCloseable {
+
+    public static final String ANSWER = "Dr. Stub is available at the Bhubaneswar branch tomorrow morning.";
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> bodies = new ConcurrentLinkedQueue<>();
+
+    public GeminiStubServer(int port, long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 800;
+        new GeminiStubServer(port, latencyMs);
+        System.out.println("Gemini stub listening on " + port + " with " + latencyMs + " ms latency");
+    }
+
+    public String url(String method) {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1beta/models/stub:" + method;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public ConcurrentLinkedQueue<String> bodies() {
+        return bodies;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean stream = exchange.getRequestURI().getPath().endsWith(":streamGenerateContent");
+        exchange.getResponseHeaders().set("Content-Type", stream ? "text/event-stream" : "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (stream) {
+                String[] words = ANSWER.split(" ");
+                for (int i = 0; i < words.length; i++) {
+                    String text = i == 0 ? words[i] : " " + words[i];
+                    out.write(("data: " + candidate(text) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } else {
+                out.write(candidate(ANSWER).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static String candidate(String text) {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"}}]}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.jee.clinichub.app.catalog.inventory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.jee.clinichub.app.catalog.batch.repository.BatchRepository;
+import com.jee.clinichub.app.catalog.inventory.model.StockDelta;
+import com.jee.clinichub.global.exception.InsufficientStockException;
+
+class InventoryLedgerServiceTest {
+
+    private BatchRepository batchRepository;
+    private InventoryLedgerService service;
+
+    @BeforeEach
+    void setUp() {
+        batchRepository = mock(BatchRepository.class);
+        when(batchRepository.addToBatchStock(any())).thenReturn(Set.of());
+        when(batchRepository.addToProductStock(any())).thenReturn(Set.of());
+        service = new InventoryLedgerService(batchRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void netsTheOrderPerBatchAndProductInIdOrder() {
+        service.apply(List.of(
+                StockDelta.ofProduct(7L, -2), StockDelta.ofBatch(30L, -2),
+                StockDelta.ofProduct(3L, -1), StockDelta.ofBatch(10L, -1),
+                StockDelta.ofProduct(7L, -4), StockDelta.ofBatch(30L, -4)));
+
+        ArgumentCaptor<Map<Long, Integer>> batches = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<Long, Integer>> products = ArgumentCaptor.forClass(Map.class);
+        verify(batchRepository).addToBatchStock(batches.capture());
+        verify(batchRepository).addToProductStock(products.capture());
+        assertEquals(List.of(10L, 30L), List.copyOf(batches.getValue().keySet()));
+        assertEquals(Map.of(10L, -1, 30L, -6), batches.getValue());
+        assertEquals(List.of(3L, 7L), List.copyOf(products.getValue().keySet()));
+        assertEquals(Map.of(3L, -1, 7L, -6), products.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsChangesThatCancelOut() {
+        service.apply(List.of(StockDelta.ofProduct(1L, 5), StockDelta.ofProduct(1L, -5), StockDelta.ofBatch(2L, 3)));
+
+        ArgumentCaptor<Map<Long, Integer>> products = ArgumentCaptor.forClass(Map.class);
+        verify(batchRepository).addToProductStock(products.capture());
+        assertEquals(Map.of(), products.getValue());
+        verify(batchRepository).addToBatchStock(Map.of(2L, 3));
+    }
+
+    @Test
+    void rejectsTheOrderWhenABatchWouldGoNegative() {
+        when(batchRepository.addToBatchStock(any())).thenReturn(Set.of(30L));
+
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> service.apply(List.of(StockDelta.ofProduct(7L, -2), StockDelta.ofBatch(30L, -2))));
+
+        assertEquals("Not enough stock in batch [30]", e.getMessage());
+        verify(batchRepository, never()).addToProductStock(any());
+    }
+
+    @Test
+    void rejectsTheOrderWhenAProductWouldGoNegative() {
+        when(batchRepository.addToProductStock(any())).thenReturn(Set.of(7L));
+
+        assertThrows(InsufficientStockException.class, () -> service.apply(List.of(StockDelta.ofProduct(7L, -2))));
+    }
+}
@@ -0,0 +1,155 @@
+package com.jee.clinichub.app.core.dataimport.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.core.dataimport.model.ImportJob;
+import com.jee.clinichub.app.core.dataimport.model.ImportJobState;
+import com.jee.clinichub.global.exception.ImportRejectedException;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+class CsvImportServiceTest {
+
+    private CsvImportService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new CsvImportService(mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 3);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "maxConcurrentJobs", 1);
+        ReflectionTestUtils.setField(service, "maxErrors", 1);
+        ReflectionTestUtils.setField(service, "jobRetentionMinutes", 5L);
+        service.init();
+        TenantContextHolder.setCurrentTenant("clinic_a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void importsInChunksAndReportsBadRows() throws Exception {
+        NumberImporter importer = new NumberImporter(-1);
+        ImportJob job = service.start(importer, csv("header\n1\n2\nx\n,\n5\n6\ny\n8\n"));
+
+        awaitFinished(job);
+
+        assertEquals(ImportJobState.COMPLETED, job.getState());
+        assertEquals(8, job.getRowsRead());
+        assertEquals(5, job.getImported());
+        assertEquals(1, job.getSkipped());
+        assertEquals(2, job.getFailed());
+        // only the first max-errors are kept
+        assertEquals(1, job.getErrors().size());
+        assertEquals(4, job.getErrors().get(0).row());
+        assertEquals(List.of(1, 2, 5, 6, 8), importer.saved());
+        assertEquals(3, importer.chunks);
+        assertEquals(100, job.getProgress());
+    }
+
+    @Test
+    void failedChunkIsReportedAndImportCarriesOn() throws Exception {
+        NumberImporter importer = new NumberImporter(1);
+        ImportJob job = service.start(importer, csv("header\n1\n2\n3\n4\n"));
+
+        awaitFinished(job);
+
+        assertEquals(ImportJobState.COMPLETED, job.getState());
+        assertEquals(List.of(4), importer.saved());
+        assertEquals(1, job.getImported());
+        assertEquals(3, job.getFailed());
+    }
+
+    @Test
+    void jobIsOnlyVisibleToItsTenant() throws Exception {
+        ImportJob job = service.start(new NumberImporter(-1), csv("header\n1\n"));
+
+        assertTrue(service.getJob(job.getId()).isPresent());
+        TenantContextHolder.setCurrentTenant("clinic_b");
+        assertTrue(service.getJob(job.getId()).isEmpty());
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        assertThrows(ImportRejectedException.class, () -> service.start(new NumberImporter(-1), csv("")));
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "numbers.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitFinished(ImportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "import did not finish");
+    }
+
+    /**
+     * Maps each row to its number and fails the given chunk (1-based) on persist.
+     */
+    private static class NumberImporter implements CsvImporter<Integer> {
+
+        private final int failingChunk;
+        private final List<Integer> saved = Collections.synchronizedList(new ArrayList<>());
+        private int chunks;
+
+        NumberImporter(int failingChunk) {
+            this.failingChunk = failingChunk;
+        }
+
+        @Override
+        public String getType() {
+            return "number";
+        }
+
+        @Override
+        public int getHeaderRows() {
+            return 1;
+        }
+
+        @Override
+        public RowMapper<Integer> prepare() {
+            return row -> {
+                if (row.get(0).isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Integer.valueOf(row.get(0));
+                } catch (NumberFormatException e) {
+                    throw new ImportRowException("Not a number '" + row.get(0) + "'");
+                }
+            };
+        }
+
+        @Override
+        public void persist(List<Integer> rows) {
+            if (++chunks == failingChunk) {
+                throw new IllegalStateException("duplicate key");
+            }
+            saved.addAll(rows);
+        }
+
+        List<Integer> saved() {
+            return new ArrayList<>(saved);
+        }
+    }
+}
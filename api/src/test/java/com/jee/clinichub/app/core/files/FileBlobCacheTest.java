@@ -0,0 +1,215 @@
+package com.jee.clinichub.app.core.files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.jee.clinichub.app.core.files.local.LocalFileStorageServiceImpl;
+
+class FileBlobCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    private LocalFileStorageServiceImpl storage;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private FileBlobCache cache;
+
+    /** Counts how often the cache goes to the provider, optionally slowly. */
+    private class CountingProvider implements CDNProviderService {
+
+        private final long delayMs;
+
+        CountingProvider(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public InputStream openStream(String filePath) throws IOException {
+            fetches.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return storage.openStream(filePath);
+        }
+
+        @Override
+        public String upload(MultipartFile multipartFile, String filePath) {
+            return storage.upload(multipartFile, filePath);
+        }
+
+        @Override
+        public String upload(byte[] byteFile, String fileName, String filePath) {
+            return storage.upload(byteFile, fileName, filePath);
+        }
+
+        @Override
+        public byte[] download(String filePath) {
+            return storage.download(filePath);
+        }
+
+        @Override
+        public boolean remove(String fileName) {
+            return storage.remove(fileName);
+        }
+
+        @Override
+        public String getUrl(String publicId) {
+            return storage.getUrl(publicId);
+        }
+
+        @Override
+        public String transformFormat(String publicId, String FetchFormat) {
+            return storage.transformFormat(publicId, FetchFormat);
+        }
+    }
+
+    private FileBlobCache cache(long maxBytes, long delayMs) {
+        storage = new LocalFileStorageServiceImpl(tmp.resolve("storage"));
+        FileBlobCache cache = new FileBlobCache();
+        ReflectionTestUtils.setField(cache, "cdnProviderService", new CountingProvider(delayMs));
+        ReflectionTestUtils.setField(cache, "cacheDir", tmp.resolve("cache").toString());
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+        cache.init();
+        this.cache = cache;
+        return cache;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    private void store(String path, String content) {
+        storage.upload(content.getBytes(StandardCharsets.UTF_8), path, path);
+    }
+
+    private long cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tmp.resolve("cache"))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void secondOpenIsServedFromDisk() throws Exception {
+        FileBlobCache cache = cache(1024, 0);
+        store("root/acme/public/logo.png", "logo-bytes");
+
+        try (FileBlob first = cache.open("root/acme/public/logo.png")) {
+            assertEquals(10, first.length());
+        }
+        assertArrayEquals("logo-bytes".getBytes(StandardCharsets.UTF_8), cache.read("root/acme/public/logo.png"));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void missingFileIsNull() throws Exception {
+        FileBlobCache cache = cache(1024, 0);
+
+        assertNull(cache.open("root/acme/public/none.png"));
+        assertNull(cache.read("root/acme/public/none.png"));
+        assertEquals(0, cachedFiles());
+    }
+
+    @Test
+    void etagFollowsTheContent() throws Exception {
+        FileBlobCache cache = cache(1024, 0);
+        store("root/acme/public/banner.jpg", "first");
+
+        String etag;
+        try (FileBlob blob = cache.open("root/acme/public/banner.jpg")) {
+            etag = blob.etag();
+        }
+        try (FileBlob blob = cache.open("root/acme/public/banner.jpg")) {
+            assertEquals(etag, blob.etag());
+        }
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        store("root/acme/public/banner.jpg", "second");
+        cache.evict("root/acme/public/banner.jpg");
+        try (FileBlob blob = cache.open("root/acme/public/banner.jpg")) {
+            assertNotEquals(etag, blob.etag());
+        }
+        assertEquals(1, cachedFiles());
+    }
+
+    @Test
+    void tenantsDoNotShareEntries() throws Exception {
+        FileBlobCache cache = cache(1024, 0);
+        store("root/acme/public/logo.png", "acme");
+        store("root/globex/public/logo.png", "globex");
+
+        assertEquals("acme", new String(cache.read("root/acme/public/logo.png"), StandardCharsets.UTF_8));
+        assertEquals("globex", new String(cache.read("root/globex/public/logo.png"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sizeLimitDropsFilesFromDisk() throws Exception {
+        FileBlobCache cache = cache(100, 0);
+        for (int i = 0; i < 5; i++) {
+            store("root/acme/public/" + i + ".bin", "x".repeat(40));
+            cache.read("root/acme/public/" + i + ".bin");
+        }
+
+        assertTrue(cache.size() <= 2);
+        assertEquals(cache.size(), cachedFiles());
+    }
+
+    @Test
+    void fileBiggerThanTheCacheIsServedAndNotKept() throws Exception {
+        FileBlobCache cache = cache(10, 0);
+        store("root/acme/private/report.pdf", "y".repeat(50));
+
+        try (FileBlob blob = cache.open("root/acme/private/report.pdf")) {
+            assertEquals(50, blob.length());
+        }
+        assertEquals(0, cache.size());
+        assertEquals(0, cachedFiles());
+    }
+
+    @Test
+    void concurrentMissesFetchOnce() throws Exception {
+        FileBlobCache cache = cache(1024, 200);
+        store("root/acme/public/favicon.ico", "icon");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<byte[]>> reads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            reads.add(executor.submit(() -> {
+                start.await();
+                return cache.read("root/acme/public/favicon.ico");
+            }));
+        }
+        start.countDown();
+        for (Future<byte[]> read : reads) {
+            assertEquals("icon", new String(read.get(), StandardCharsets.UTF_8));
+        }
+        executor.shutdown();
+
+        assertEquals(1, fetches.get());
+    }
+}
@@ -0,0 +1,130 @@
+package com.jee.clinichub.app.core.files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FileResponseWriterTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path tmp;
+
+    private final FileResponseWriter writer = new FileResponseWriter();
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        Path file = tmp.resolve("logo.png");
+        Files.writeString(file, CONTENT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try (FileBlob blob = new FileBlob(FileChannel.open(file, StandardOpenOption.READ), CONTENT.length(), ETAG)) {
+            writer.write(blob, "logo.png", request, response);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/files/download");
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return request;
+    }
+
+    private static String body(MockHttpServletResponse response) {
+        return new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void wholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = get(request(null, null));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, body(response));
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("attachment; filename=\"logo.png\"", response.getHeader("Content-Disposition"));
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        MockHttpServletResponse response = get(request("If-None-Match", "\"old\", " + ETAG));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(ETAG, response.getHeader("ETag"));
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheFile() throws Exception {
+        MockHttpServletResponse response = get(request("If-None-Match", "\"old\""));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, body(response));
+    }
+
+    @Test
+    void rangeIsPartialContent() throws Exception {
+        MockHttpServletResponse response = get(request("Range", "bytes=5-9"));
+
+        assertEquals(206, response.getStatus());
+        assertEquals("56789", body(response));
+        assertEquals("bytes 5-9/20", response.getHeader("Content-Range"));
+        assertEquals(5, response.getContentLengthLong());
+    }
+
+    @Test
+    void openAndSuffixRanges() throws Exception {
+        assertEquals("fghij", body(get(request("Range", "bytes=15-"))));
+        assertEquals("hij", body(get(request("Range", "bytes=-3"))));
+        assertEquals("abcdefghij", body(get(request("Range", "bytes=10-99"))));
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        MockHttpServletResponse response = get(request("Range", "bytes=20-"));
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void multipleOrMalformedRangesGetTheWholeFile() throws Exception {
+        assertEquals(200, get(request("Range", "bytes=0-1,5-6")).getStatus());
+        assertEquals(200, get(request("Range", "lines=1-2")).getStatus());
+        assertEquals(200, get(request("Range", "bytes=-")).getStatus());
+    }
+
+    @Test
+    void ifRangeForAnOlderVersionGetsTheWholeFile() throws Exception {
+        MockHttpServletRequest request = request("Range", "bytes=0-4");
+        request.addHeader("If-Range", "\"old\"");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, body(response));
+    }
+
+    @Test
+    void headHasNoBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/v1/files/download");
+
+        MockHttpServletResponse response = get(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jee.clinichub.app.core.location;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeoIndexTest {
+
+    // Bhubaneswar, Cuttack, Puri, Kolkata
+    private static final Map<Long, double[]> BRANCHES = Map.of(
+            1L, new double[] { 20.2961, 85.8245 },
+            2L, new double[] { 20.4625, 85.8830 },
+            3L, new double[] { 19.8135, 85.8312 },
+            4L, new double[] { 22.5726, 88.3639 });
+
+    @Test
+    void nearestIsOrderedByDistance() {
+        GeoIndex index = GeoIndex.build(BRANCHES);
+
+        List<GeoIndex.Hit> hits = index.nearest(20.30, 85.82, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), hits.stream().map(GeoIndex.Hit::id).toList());
+        assertEquals(0.5, hits.get(0).distanceKm(), 0.5);
+        assertEquals(19.8, hits.get(1).distanceKm(), 1.0);
+    }
+
+    @Test
+    void withinStopsAtTheRadius() {
+        GeoIndex index = GeoIndex.build(BRANCHES);
+
+        assertEquals(List.of(1L, 2L), index.within(20.30, 85.82, 30).stream().map(GeoIndex.Hit::id).toList());
+        assertEquals(4, index.within(20.30, 85.82, 500).size());
+        assertTrue(index.within(0, 0, 100).isEmpty());
+    }
+
+    @Test
+    void matchesBruteForceAcrossTheGlobe() {
+        Random random = new Random(42);
+        Map<Long, double[]> points = new HashMap<>();
+        for (long id = 0; id < 500; id++) {
+            points.put(id, new double[] { random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180 });
+        }
+        GeoIndex index = GeoIndex.build(points);
+
+        for (int i = 0; i < 50; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            List<double[]> expected = new ArrayList<>();
+            points.forEach((id, p) -> expected.add(new double[] { id, haversine(lat, lon, p[0], p[1]) }));
+            expected.sort(Comparator.comparingDouble(e -> e[1]));
+
+            List<GeoIndex.Hit> nearest = index.nearest(lat, lon, 10);
+            for (int j = 0; j < 10; j++) {
+                assertEquals(expected.get(j)[1], nearest.get(j).distanceKm(), 1e-6);
+            }
+
+            long inRadius = expected.stream().filter(e -> e[1] <= 2000).count();
+            assertEquals(inRadius, index.within(lat, lon, 2000).size());
+        }
+    }
+
+    @Test
+    void nearestAcrossTheDateLine() {
+        GeoIndex index = GeoIndex.build(Map.of(
+                1L, new double[] { 0, 179.9 },
+                2L, new double[] { 0, 170 }));
+
+        assertEquals(1L, index.nearest(0, -179.9, 1).get(0).id());
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        GeoIndex index = GeoIndex.build(Map.of());
+
+        assertTrue(index.nearest(20, 85, 5).isEmpty());
+        assertTrue(index.within(20, 85, 5).isEmpty());
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * GeoIndex.EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,118 @@
+package com.jee.clinichub.app.core.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.core.files.local.LocalFileStorageServiceImpl;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+class DocumentCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    private LocalFileStorageServiceImpl storage;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalFileStorageServiceImpl(tmp);
+        TenantContextHolder.setCurrentTenant("acme");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    /** Another instance sharing the same storage. */
+    private DocumentCache instance() {
+        DocumentCache cache = new DocumentCache();
+        ReflectionTestUtils.setField(cache, "cdnProviderService", storage);
+        ReflectionTestUtils.setField(cache, "taskExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(cache, "tenantRoot", "root");
+        ReflectionTestUtils.setField(cache, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(cache, "remoteEnabled", true);
+        cache.init();
+        return cache;
+    }
+
+    private Supplier<byte[]> renderer(String content) {
+        return () -> {
+            renders.incrementAndGet();
+            return content.getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    private long stored() throws IOException {
+        Path folder = tmp.resolve("root/acme/private/documents/sales-invoice");
+        if (!Files.exists(folder)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void otherInstanceServesTheStoredCopy() {
+        instance().get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("first"));
+
+        byte[] pdf = instance().get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("again"));
+
+        assertEquals("first", new String(pdf, StandardCharsets.UTF_8));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void newVersionReplacesTheStoredCopy() throws Exception {
+        instance().get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("first"));
+
+        byte[] pdf = instance().get(DocumentType.SALES_INVOICE, 7L, "v2", renderer("second"));
+
+        assertEquals("second", new String(pdf, StandardCharsets.UTF_8));
+        assertEquals(2, renders.get());
+        assertEquals(1, stored());
+        // an instance still asking for the old version does not get the new PDF
+        assertEquals("old", new String(instance().get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("old")),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void evictDeletesTheStoredCopy() throws Exception {
+        DocumentCache cache = instance();
+        cache.get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("first"));
+        assertEquals(1, stored());
+
+        cache.evict(DocumentType.SALES_INVOICE, 7L);
+
+        assertEquals(0, cache.size());
+        assertEquals(0, stored());
+    }
+
+    @Test
+    void missingDocumentDropsTheCopiesOfThisInstance() {
+        DocumentCache cache = instance();
+        cache.get(DocumentType.SALES_INVOICE, 7L, "v1", renderer("first"));
+        assertEquals(1, cache.size());
+
+        assertNull(cache.get(DocumentType.SALES_INVOICE, 7L, null, () -> null));
+
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.jee.clinichub.app.core.pdf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.layout.font.FontProvider;
+
+/**
+ * Throughput of invoice and lab report rendering, the way the services did it before PdfRenderService
+ * (fonts parsed, ConverterProperties built and a temp file written on every call) against the shared service.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.jee.clinichub.app.core.pdf.PdfRenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PdfRenderBenchmark {
+
+    private PdfRenderService pdfRenderService;
+    private String invoiceHtml;
+    private String labReportHtml;
+
+    @Setup
+    public void setUp() {
+        pdfRenderService = new PdfRenderService();
+        ReflectionTestUtils.setField(pdfRenderService, "maxConcurrentRenders", 4);
+        ReflectionTestUtils.setField(pdfRenderService, "acquireTimeoutMs", 30_000L);
+        pdfRenderService.init();
+
+        invoiceHtml = invoiceHtml(25);
+        labReportHtml = labReportHtml(40);
+    }
+
+    @Benchmark
+    public byte[] legacyInvoice() throws IOException {
+        return legacyRender(invoiceHtml);
+    }
+
+    @Benchmark
+    public byte[] sharedInvoice() {
+        return pdfRenderService.render(invoiceHtml, null);
+    }
+
+    @Benchmark
+    public byte[] legacyLabReport() throws IOException {
+        return legacyRender(labReportHtml);
+    }
+
+    @Benchmark
+    public byte[] sharedLabReport() {
+        return pdfRenderService.render(labReportHtml, null);
+    }
+
+    private static byte[] legacyRender(String html) throws IOException {
+        FontProvider fontProvider = new FontProvider();
+        for (String font : new String[] { "fonts/OpenSans/OpenSans-Regular.ttf", "fonts/OpenSans/OpenSans-Bold.ttf" }) {
+            try (InputStream in = new ClassPathResource(font).getInputStream()) {
+                fontProvider.addFont(FontProgramFactory.createFont(in.readAllBytes()));
+            }
+        }
+        fontProvider.addStandardPdfFonts();
+
+        ConverterProperties properties = new ConverterProperties();
+        properties.setFontProvider(fontProvider);
+        properties.setCharset("UTF-8");
+
+        File tempFile = File.createTempFile("benchmark", ".pdf");
+        try {
+            HtmlConverter.convertToPdf(html, new FileOutputStream(tempFile), properties);
+            return Files.readAllBytes(tempFile.toPath());
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    private static String invoiceHtml(int items) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 1; i <= items; i++) {
+            rows.append("<tr><td>").append(i).append("</td><td>Hearing aid battery pack ").append(i)
+                    .append("</td><td>BT-").append(1000 + i).append("</td><td>2</td><td>&#8377; 450.00</td><td>&#8377; 900.00</td></tr>");
+        }
+        return "<html><head><style>body{font-family:'Open Sans';font-size:11px}table{width:100%;border-collapse:collapse}"
+                + "td,th{border:1px solid #ccc;padding:4px}h1{font-weight:bold}</style></head><body>"
+                + "<h1>AAROAH CLINIC</h1><p>Invoice INV2026000123<br/>Customer: Ramesh Kumar</p>"
+                + "<table><tr><th>#</th><th>Item</th><th>Code</th><th>Qty</th><th>Rate</th><th>Amount</th></tr>"
+                + rows + "</table><p><b>Grand total: &#8377; " + (items * 900) + ".00</b></p></body></html>";
+    }
+
+    private static String labReportHtml(int results) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 1; i <= results; i++) {
+            rows.append("<tr><td>Parameter ").append(i).append("</td><td>").append(4 + i % 7).append(".").append(i % 10)
+                    .append("</td><td>mg/dL</td><td>3.5 - 10.0</td><td>").append(i % 5 == 0 ? "<b>High</b>" : "Normal")
+                    .append("</td></tr>");
+        }
+        return "<html><head><style>@page{size:A4;margin:0}body{font-family:'Open Sans';font-size:10px;margin:24px}"
+                + "table{width:100%;border-collapse:collapse}td,th{border-bottom:1px solid #ddd;padding:3px}</style></head><body>"
+                + "<h2>Lab Report</h2><p>Patient: Sunita Das, 42 F<br/>Report No: LAB2026000456</p>"
+                + "<h3>Complete Blood Count</h3><table><tr><th>Test</th><th>Result</th><th>Unit</th><th>Reference</th><th>Flag</th></tr>"
+                + rows + "</table><p>Verified by: Dr. A. Sen</p></body></html>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PdfRenderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
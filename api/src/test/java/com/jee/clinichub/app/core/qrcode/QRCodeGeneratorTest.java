@@ -0,0 +1,74 @@
+package com.jee.clinichub.app.core.qrcode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+
+class QRCodeGeneratorTest {
+
+    private QRCodeGenerator qrCodeGenerator;
+
+    @BeforeEach
+    void setUp() {
+        qrCodeGenerator = new QRCodeGenerator();
+        ReflectionTestUtils.setField(qrCodeGenerator, "maxCacheSize", 100L);
+        qrCodeGenerator.init();
+    }
+
+    @Test
+    void pngMatchesTheEncodedMatrixPixelForPixel() throws Exception {
+        String content = "{\"type\":\"appointment\",\"id\":\"42\",\"tenantId\":\"clinic_a\",\"branchId\":\"7\"}";
+        BitMatrix expected = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 200, 200, Map.of(
+                EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+                EncodeHintType.CHARACTER_SET, "UTF-8"));
+
+        byte[] png = Base64.getDecoder().decode(qrCodeGenerator.generateQRCodeImage(content));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        assertNotNull(image);
+        assertEquals(200, image.getWidth());
+        assertEquals(200, image.getHeight());
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 200; x++) {
+                int rgb = image.getRGB(x, y) & 0xFFFFFF;
+                assertEquals(expected.get(x, y) ? 0x000000 : 0xFFFFFF, rgb, "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void sameContentIsEncodedOnce() throws Exception {
+        String first = qrCodeGenerator.generateQRCodeImage("https://www.google.com/maps?q=20.296100,85.824500&z=17");
+        String second = qrCodeGenerator.generateQRCodeImage("https://www.google.com/maps?q=20.296100,85.824500&z=17");
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void appStoreLinksArePrecomputed() throws Exception {
+        String android = qrCodeGenerator.generateQRCodeImage(QRCodeGenerator.ANDROID_APP_URL);
+
+        assertSame(android, qrCodeGenerator.generateQRCodeImage(QRCodeGenerator.ANDROID_APP_URL));
+        assertNotEquals(android, qrCodeGenerator.generateQRCodeImage(QRCodeGenerator.IOS_APP_URL));
+    }
+
+    @Test
+    void emptyContentFallsBackToPlaceholder() throws Exception {
+        assertEquals(qrCodeGenerator.generateQRCodeImage("NA"), qrCodeGenerator.generateQRCodeImage("  "));
+    }
+}
@@ -0,0 +1,145 @@
+package com.jee.clinichub.app.core.sequence.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.core.sequence.model.SequenceBlock;
+import com.jee.clinichub.app.core.sequence.repository.SequenceRepository;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceAllocatorTest {
+
+    private static final int THREADS = 64;
+    private static final int PER_THREAD = 500;
+    private static final int BLOCK_SIZE = 10;
+
+    @Mock
+    private SequenceRepository sequenceRepository;
+
+    @InjectMocks
+    private SequenceAllocator allocator;
+
+    // stands in for core_sequence.increment_last_id, advanced atomically like UPDATE ... RETURNING
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicInteger reservations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(allocator, "blockSize", BLOCK_SIZE);
+        TenantContextHolder.setCurrentTenant("clinic1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    private void stubCounter() {
+        when(sequenceRepository.reserveBlock(eq(1L), eq(2L), anyInt())).thenAnswer(invocation -> {
+            int size = invocation.getArgument(2);
+            reservations.incrementAndGet();
+            long last = lastId.addAndGet(size);
+            return Optional.of(new SequenceBlock(last - size + 1, last, "APP", '0', 6, true));
+        });
+    }
+
+    @Test
+    void concurrentBookingsOnOneBranchGetUniqueContiguousNumbers() throws Exception {
+        stubCounter();
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    TenantContextHolder.setCurrentTenant("clinic1");
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        if (!issued.add(allocator.next(1L, 2L))) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    TenantContextHolder.clear();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = THREADS * PER_THREAD;
+        assertEquals(0, duplicates.get());
+        assertEquals(total, issued.size());
+        assertEquals(total / BLOCK_SIZE, reservations.get());
+
+        String prefix = "APP" + YearMonth.now().getYear();
+        for (long n = 1; n <= total; n++) {
+            String expected = prefix + String.format("%06d", n);
+            assertTrue(issued.contains(expected), "missing " + expected);
+        }
+    }
+
+    @Test
+    void keepsSeparateRangesPerTenant() {
+        stubCounter();
+
+        String first = allocator.next(1L, 2L);
+        TenantContextHolder.setCurrentTenant("clinic2");
+        String second = allocator.next(1L, 2L);
+
+        assertNotEquals(first, second);
+        assertEquals(2, reservations.get());
+    }
+
+    @Test
+    void evictSkipsRestOfBlock() {
+        stubCounter();
+
+        allocator.next(1L, 2L);
+        allocator.evict(1L, 2L);
+        String next = allocator.next(1L, 2L);
+
+        assertTrue(next.endsWith(String.format("%06d", BLOCK_SIZE + 1)));
+        assertEquals(2, reservations.get());
+    }
+
+    @Test
+    void unknownSequenceThrows() {
+        when(sequenceRepository.reserveBlock(anyLong(), anyLong(), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> allocator.next(9L, 9L));
+    }
+}
@@ -0,0 +1,200 @@
+package com.jee.clinichub.app.doctor.slots.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Hammers the slot reservation statements from many connections against a real PostgreSQL.
+ * Runs only when a database is given, e.g.
+ * {@code mvn test -Dtest=SlotReservationLoadTest -Dslot.loadtest.jdbc-url=jdbc:postgresql://localhost:5432/clinichub
+ * -Dslot.loadtest.user=postgres -Dslot.loadtest.password=secret}.
+ * Everything is created in a throwaway schema that is dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "slot.loadtest.jdbc-url", matches = ".+")
+class SlotReservationLoadTest {
+
+    private static final int CONNECTIONS = 48;
+    private static final int ATTEMPTS_PER_CONNECTION = 200;
+    private static final int CAPACITY = 150;
+
+    private final String schema = "slot_loadtest_" + Long.toHexString(System.nanoTime());
+    private long slotId;
+
+    @BeforeEach
+    void createSchema() throws SQLException {
+        try (Connection connection = connect(); Statement st = connection.createStatement()) {
+            st.execute("CREATE SCHEMA " + schema);
+            st.execute("CREATE TABLE doctor_slot (id BIGSERIAL PRIMARY KEY, available_slots INTEGER NOT NULL, "
+                    + "total_slots INTEGER NOT NULL, status VARCHAR(20), modified_time TIMESTAMP)");
+            st.execute("CREATE TABLE slot_hold (hold_token UUID PRIMARY KEY, "
+                    + "slot_id BIGINT NOT NULL REFERENCES doctor_slot (id) ON DELETE CASCADE, "
+                    + "expires_time TIMESTAMP NOT NULL, created_time TIMESTAMP NOT NULL DEFAULT now())");
+            try (ResultSet rs = st.executeQuery("INSERT INTO doctor_slot (available_slots, total_slots, status) VALUES ("
+                    + CAPACITY + ", " + CAPACITY + ", 'AVAILABLE') RETURNING id")) {
+                rs.next();
+                slotId = rs.getLong(1);
+            }
+        }
+    }
+
+    @AfterEach
+    void dropSchema() throws SQLException {
+        try (Connection connection = connect(); Statement st = connection.createStatement()) {
+            st.execute("DROP SCHEMA " + schema + " CASCADE");
+        }
+    }
+
+    @Test
+    void directReservationsNeverOversell() throws Exception {
+        AtomicInteger won = new AtomicInteger();
+
+        hammer(connection -> {
+            if (SlotReservationRepositoryImpl.decrementAvailable(connection, slotId)) {
+                won.incrementAndGet();
+            }
+        });
+
+        assertEquals(CAPACITY, won.get());
+        assertEquals(0, available());
+        assertEquals("BOOKED", status());
+    }
+
+    @Test
+    void holdsNeverOversellWhileOthersReleaseAndConfirm() throws Exception {
+        AtomicInteger confirmed = new AtomicInteger();
+        ConcurrentLinkedQueue<UUID> outstanding = new ConcurrentLinkedQueue<>();
+
+        hammer(connection -> {
+            UUID token = UUID.randomUUID();
+            if (!SlotReservationRepositoryImpl.insertHold(connection, token, slotId, Duration.ofMinutes(5))) {
+                return;
+            }
+            int outcome = ThreadLocalRandom.current().nextInt(3);
+            if (outcome == 0) {
+                assertTrue(SlotReservationRepositoryImpl.deleteHold(connection, token, slotId));
+                confirmed.incrementAndGet();
+            } else if (outcome == 1) {
+                assertTrue(SlotReservationRepositoryImpl.deleteHoldReturningCapacity(connection, token));
+            } else {
+                outstanding.add(token);
+            }
+        });
+
+        // every unit of capacity is either still free, confirmed, or held
+        assertEquals(CAPACITY, available() + confirmed.get() + holds());
+        assertEquals(outstanding.size(), holds());
+        assertTrue(available() >= 0);
+    }
+
+    @Test
+    void expiredHoldsGiveCapacityBack() throws Exception {
+        hammer(connection -> SlotReservationRepositoryImpl.insertHold(connection, UUID.randomUUID(), slotId, Duration.ZERO));
+        assertEquals(0, available());
+        assertEquals(CAPACITY, holds());
+
+        try (Connection connection = connect()) {
+            assertEquals(1, SlotReservationRepositoryImpl.expireHolds(connection));
+        }
+
+        assertEquals(CAPACITY, available());
+        assertEquals(0, holds());
+        assertEquals("AVAILABLE", status());
+    }
+
+    @Test
+    void givingBackNeverExceedsTotal() throws Exception {
+        hammer(connection -> SlotReservationRepositoryImpl.incrementAvailable(connection, slotId));
+
+        assertEquals(CAPACITY, available());
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        void run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the attempt {@link #ATTEMPTS_PER_CONNECTION} times on each of {@link #CONNECTIONS} autocommit
+     * connections, all released at the same moment.
+     */
+    private void hammer(Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONNECTIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        start.await();
+                        for (int n = 0; n < ATTEMPTS_PER_CONNECTION; n++) {
+                            attempt.run(connection);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int available() throws SQLException {
+        return queryInt("SELECT available_slots FROM doctor_slot WHERE id = " + slotId);
+    }
+
+    private int holds() throws SQLException {
+        return queryInt("SELECT count(*) FROM slot_hold");
+    }
+
+    private String status() throws SQLException {
+        try (Connection connection = connect(); Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery("SELECT status FROM doctor_slot WHERE id = " + slotId)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(System.getProperty("slot.loadtest.jdbc-url"),
+                System.getProperty("slot.loadtest.user"), System.getProperty("slot.loadtest.password"));
+        try (PreparedStatement ps = connection.prepareStatement("SELECT set_config('search_path', ?, false)")) {
+            ps.setString(1, schema);
+            ps.execute();
+        }
+        return connection;
+    }
+}
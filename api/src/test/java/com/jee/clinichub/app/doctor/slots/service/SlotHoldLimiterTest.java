@@ -0,0 +1,91 @@
+package com.jee.clinichub.app.doctor.slots.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.jee.clinichub.app.doctor.slots.model.SlotHold;
+import com.jee.clinichub.global.exception.SlotHoldLimitException;
+import com.jee.clinichub.global.security.service.CallerResolver;
+
+class SlotHoldLimiterTest {
+
+    private final AtomicInteger granted = new AtomicInteger();
+    private SlotHoldLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        CallerResolver callerResolver = new CallerResolver();
+        callerResolver.init();
+        limiter = new SlotHoldLimiter(callerResolver);
+        ReflectionTestUtils.setField(limiter, "maxActivePerClient", 2);
+        ReflectionTestUtils.setField(limiter, "maxPerMinute", 4);
+        ReflectionTestUtils.setField(limiter, "holdTtlSeconds", 300L);
+        limiter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Optional<SlotHold> holdFrom(String address) {
+        return holdFrom(address, System.currentTimeMillis() + 300_000);
+    }
+
+    private Optional<SlotHold> holdFrom(String address, long expires) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request(address)));
+        return limiter.hold(() -> {
+            granted.incrementAndGet();
+            return Optional.of(new SlotHold(UUID.randomUUID(), 1L, new Date(expires)));
+        });
+    }
+
+    @Test
+    void callerCannotHoldMoreThanTheCapAtOnce() {
+        holdFrom("203.0.113.9");
+        UUID second = holdFrom("203.0.113.9").get().holdToken();
+
+        assertThrows(SlotHoldLimitException.class, () -> holdFrom("203.0.113.9"));
+        assertTrue(holdFrom("198.51.100.7").isPresent());
+        assertEquals(3, granted.get());
+
+        limiter.released(second);
+        assertTrue(holdFrom("203.0.113.9").isPresent());
+    }
+
+    @Test
+    void expiredHoldsStopCounting() {
+        holdFrom("203.0.113.9", System.currentTimeMillis() - 1);
+        holdFrom("203.0.113.9", System.currentTimeMillis() - 1);
+
+        assertTrue(holdFrom("203.0.113.9").isPresent());
+    }
+
+    @Test
+    void requestsOverTheRateAreTurnedAwayEvenWhenRejected() {
+        for (int i = 0; i < 4; i++) {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request("203.0.113.9")));
+            limiter.hold(Optional::empty);
+        }
+
+        assertThrows(SlotHoldLimitException.class, () -> limiter.hold(Optional::empty));
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.jee.clinichub.app.patient.queue.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.patient.queue.dto.QueueItemDto;
+import com.jee.clinichub.app.patient.queue.entity.LiveVisitQueue;
+import com.jee.clinichub.app.patient.queue.event.QueueChangedEvent;
+import com.jee.clinichub.app.patient.queue.repository.LiveVisitQueueRepository;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+class LiveQueueBoardTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime NINE = TODAY.atTime(9, 0);
+
+    private LiveVisitQueueRepository repository;
+    private LiveQueueBoard board;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LiveVisitQueueRepository.class);
+        board = new LiveQueueBoard(repository);
+        ReflectionTestUtils.setField(board, "idleMinutes", 30L);
+        ReflectionTestUtils.setField(board, "maxAgeMs", 60_000L);
+        board.init();
+        TenantContextHolder.setCurrentTenant("acme");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    private static LiveVisitQueue visit(long id, Long doctorId, LocalDateTime checkin, Integer planned) {
+        LiveVisitQueue visit = new LiveVisitQueue();
+        visit.setPatientScheduleId(id);
+        visit.setConsultingDoctorId(doctorId);
+        visit.setBranchId(7L);
+        visit.setPatientName("Patient " + id);
+        visit.setCheckinTime(checkin);
+        visit.setPlannedSequence(planned);
+        return visit;
+    }
+
+    @Test
+    void visitsAreNumberedPerDoctorByCheckin() {
+        when(repository.findVisitsOfDay(7L, NINE.minusHours(9), NINE.plusHours(15))).thenReturn(List.of(
+                visit(1, 10L, NINE, 2),
+                visit(2, 20L, NINE.plusMinutes(5), null),
+                visit(3, 10L, NINE.plusMinutes(10), null),
+                visit(4, null, NINE.plusMinutes(12), null)));
+
+        List<QueueItemDto> queue = board.snapshot(7L, TODAY);
+
+        assertEquals(List.of(1L, 2L, 4L, 3L), queue.stream().map(QueueItemDto::getPatientScheduleId).toList());
+        QueueItemDto second = queue.get(3);
+        assertEquals(2, second.getActualSequence());
+        assertEquals(2, second.getPlannedSequence());
+        assertEquals(NINE.plusMinutes(10 + LiveQueueBoard.CONSULT_MINUTES), second.getEstimatedConsultationTime());
+        assertEquals(2, queue.get(0).getPlannedSequence());
+    }
+
+    @Test
+    void readsComeFromMemoryUntilTheQueueChanges() {
+        when(repository.findVisitsOfDay(eq(7L), any(), any()))
+                .thenReturn(List.of(visit(1, 10L, NINE, null)))
+                .thenReturn(List.of(visit(1, 10L, NINE, null), visit(2, 10L, NINE.plusMinutes(3), null)));
+        List<List<QueueItemDto>> pushed = new ArrayList<>();
+        board.listen(7L, TODAY, pushed::add);
+
+        board.snapshot(7L, TODAY);
+        board.refresh();
+        verify(repository, times(1)).findVisitsOfDay(eq(7L), any(), any());
+        assertTrue(pushed.isEmpty());
+
+        board.onQueueChanged(new QueueChangedEvent(this, 7L, TODAY));
+        board.refresh();
+
+        assertEquals(2, board.snapshot(7L, TODAY).size());
+        assertEquals(1, pushed.size());
+        assertEquals(2, pushed.get(0).size());
+    }
+
+    @Test
+    void changesElsewhereLeaveTheBoardAlone() {
+        when(repository.findVisitsOfDay(eq(7L), any(), any())).thenReturn(List.of(visit(1, 10L, NINE, null)));
+        board.snapshot(7L, TODAY);
+
+        board.onQueueChanged(new QueueChangedEvent(this, 8L, TODAY));
+        board.onQueueChanged(new QueueChangedEvent(this, 7L, TODAY.plusDays(1)));
+        TenantContextHolder.setCurrentTenant("globex");
+        board.onQueueChanged(new QueueChangedEvent(this, null, null));
+        board.refresh();
+
+        verify(repository, times(1)).findVisitsOfDay(eq(7L), any(), any());
+    }
+
+    @Test
+    void reloadWithoutChangesPushesNothing() {
+        when(repository.findVisitsOfDay(eq(7L), any(), any())).thenReturn(List.of(visit(1, 10L, NINE, null)));
+        List<List<QueueItemDto>> pushed = new ArrayList<>();
+        board.listen(7L, TODAY, pushed::add);
+
+        board.onQueueChanged(new QueueChangedEvent(this, null, null));
+        board.refresh();
+
+        verify(repository, times(2)).findVisitsOfDay(eq(7L), any(), any());
+        assertTrue(pushed.isEmpty());
+    }
+
+    @Test
+    void failedReloadKeepsTheQueueAndRetries() {
+        when(repository.findVisitsOfDay(eq(7L), any(), any()))
+                .thenReturn(List.of(visit(1, 10L, NINE, null)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of());
+        board.snapshot(7L, TODAY);
+
+        board.onQueueChanged(new QueueChangedEvent(this, 7L, TODAY));
+        TenantContextHolder.setCurrentTenant("scheduler");
+        board.refresh();
+        assertEquals("scheduler", TenantContextHolder.getCurrentTenant());
+        TenantContextHolder.setCurrentTenant("acme");
+        assertEquals(1, board.snapshot(7L, TODAY).size());
+
+        board.refresh();
+        assertTrue(board.snapshot(7L, TODAY).isEmpty());
+    }
+}
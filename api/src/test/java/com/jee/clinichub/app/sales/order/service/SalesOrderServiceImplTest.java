@@ -0,0 +1,175 @@
+package com.jee.clinichub.app.sales.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.app.branch.model.Branch;
+import com.jee.clinichub.app.branch.model.BranchDto;
+import com.jee.clinichub.app.branch.repository.BranchRepository;
+import com.jee.clinichub.app.catalog.inventory.model.StockDelta;
+import com.jee.clinichub.app.catalog.inventory.service.InventoryLedgerService;
+import com.jee.clinichub.app.core.module.model.Module;
+import com.jee.clinichub.app.core.module.repository.ModuleRepository;
+import com.jee.clinichub.app.payment.transaction.service.PaymentTransactionService;
+import com.jee.clinichub.app.payment.type.model.PaymentType;
+import com.jee.clinichub.app.payment.type.model.PaymentTypeDto;
+import com.jee.clinichub.app.payment.type.repository.PaymentTypeRepository;
+import com.jee.clinichub.app.sales.order.model.SalesOrder;
+import com.jee.clinichub.app.sales.order.model.SalesOrderDto;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItem;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItemDto;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItemSerial;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItemSerialDto;
+import com.jee.clinichub.app.sales.order.repository.SalesOrderItemSerialRepository;
+import com.jee.clinichub.app.sales.order.repository.SalesOrderRepository;
+import com.jee.clinichub.global.model.Status;
+
+class SalesOrderServiceImplTest {
+
+    private SalesOrderRepository salesOrderRepository;
+    private SalesOrderItemSerialRepository serialRepository;
+    private InventoryLedgerService inventoryLedgerService;
+    private SalesOrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        salesOrderRepository = mock(SalesOrderRepository.class);
+        serialRepository = mock(SalesOrderItemSerialRepository.class);
+        inventoryLedgerService = mock(InventoryLedgerService.class);
+        ModuleRepository moduleRepository = mock(ModuleRepository.class);
+        PaymentTypeRepository paymentTypeRepository = mock(PaymentTypeRepository.class);
+        BranchRepository branchRepository = mock(BranchRepository.class);
+
+        when(moduleRepository.findByName(any())).thenReturn(new Module());
+        when(paymentTypeRepository.getById(any())).thenReturn(new PaymentType());
+        when(branchRepository.getById(any())).thenReturn(new Branch());
+        when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new SalesOrderServiceImpl();
+        ReflectionTestUtils.setField(service, "salesOrderRepository", salesOrderRepository);
+        ReflectionTestUtils.setField(service, "salesOrderItemSerialRepository", serialRepository);
+        ReflectionTestUtils.setField(service, "inventoryLedgerService", inventoryLedgerService);
+        ReflectionTestUtils.setField(service, "moduleRepository", moduleRepository);
+        ReflectionTestUtils.setField(service, "paymentTypeRepository", paymentTypeRepository);
+        ReflectionTestUtils.setField(service, "branchRepository", branchRepository);
+        ReflectionTestUtils.setField(service, "paymentTransactionService", mock(PaymentTransactionService.class));
+    }
+
+    @Test
+    void eachSerialTakesItsOwnQtyFromItsBatch() {
+        SalesOrderItem item = item(1L, 100L, 3, 10L, 11L, 12L);
+
+        Map<String, Integer> moved = net(SalesOrderServiceImpl.stockMoved(List.of(item), -1));
+
+        assertEquals(Map.of("product 100", -3, "batch 10", -1, "batch 11", -1, "batch 12", -1), moved);
+    }
+
+    @Test
+    void updateMovesOnlyTheDifferenceAndGivesBackRemovedItems() {
+        SalesOrder stored = new SalesOrder();
+        stored.setId(7L);
+        SalesOrderItem kept = item(1L, 100L, 2, 10L, 11L);
+        SalesOrderItem removed = item(2L, 200L, 3, 20L, 20L, 20L);
+        kept.setSalesOrder(stored);
+        removed.setSalesOrder(stored);
+        stored.setItems(new ArrayList<>(List.of(kept, removed)));
+        when(salesOrderRepository.findById(7L)).thenReturn(Optional.of(stored));
+
+        SalesOrderDto update = new SalesOrderDto();
+        update.setId(7L);
+        update.setBranch(new BranchDto());
+        update.setPaymentType(new PaymentTypeDto());
+        update.setItems(List.of(itemDto(1L, 100L, 3, 10L, 11L, 12L)));
+
+        Status status = service.saveOrUpdate(update);
+
+        assertTrue(status.isStatus(), status.getMessage());
+        assertEquals(Map.of("product 100", -1, "product 200", 3, "batch 12", -1, "batch 20", 3), applied());
+        assertEquals(3, (int) stored.getItems().get(0).getQty());
+        verify(serialRepository).deleteAllByItemIdIn(List.of(1L, 2L));
+        verify(salesOrderRepository).deleteItemsByIdIn(List.of(2L));
+    }
+
+    @Test
+    void unchangedUpdateMovesNoStock() {
+        SalesOrder stored = new SalesOrder();
+        stored.setId(7L);
+        SalesOrderItem kept = item(1L, 100L, 2, 10L, 11L);
+        kept.setSalesOrder(stored);
+        stored.setItems(new ArrayList<>(List.of(kept)));
+        when(salesOrderRepository.findById(7L)).thenReturn(Optional.of(stored));
+
+        SalesOrderDto update = new SalesOrderDto();
+        update.setId(7L);
+        update.setBranch(new BranchDto());
+        update.setPaymentType(new PaymentTypeDto());
+        update.setItems(List.of(itemDto(1L, 100L, 2, 10L, 11L)));
+
+        service.saveOrUpdate(update);
+
+        assertEquals(Map.of(), applied());
+        verify(salesOrderRepository, never()).deleteItemsByIdIn(any());
+    }
+
+    private Map<String, Integer> applied() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<StockDelta>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(inventoryLedgerService).apply(deltas.capture());
+        return net(deltas.getValue());
+    }
+
+    // what the ledger books, once the deltas are netted
+    private static Map<String, Integer> net(Collection<StockDelta> deltas) {
+        Map<String, Integer> net = new TreeMap<>();
+        for (StockDelta delta : deltas) {
+            if (delta.productId() != null) {
+                net.merge("product " + delta.productId(), delta.quantity(), Integer::sum);
+            }
+            if (delta.batchId() != null) {
+                net.merge("batch " + delta.batchId(), delta.quantity(), Integer::sum);
+            }
+        }
+        net.values().removeIf(quantity -> quantity == 0);
+        return net;
+    }
+
+    private static SalesOrderItem item(Long id, Long productId, int qty, Long... batchIds) {
+        SalesOrderItem item = new SalesOrderItem(itemDto(id, productId, qty, batchIds));
+        long serialId = id * 100;
+        for (SalesOrderItemSerial serial : item.getSerials()) {
+            serial.setId(serialId++);
+            serial.setItemId(id);
+        }
+        return item;
+    }
+
+    private static SalesOrderItemDto itemDto(Long id, Long productId, int qty, Long... batchIds) {
+        SalesOrderItemDto item = new SalesOrderItemDto();
+        item.setId(id);
+        item.setProductId(productId);
+        item.setQty(qty);
+        for (Long batchId : batchIds) {
+            SalesOrderItemSerialDto serial = new SalesOrderItemSerialDto();
+            serial.setSerialId(batchId);
+            serial.setQty(1);
+            item.getSerials().add(serial);
+        }
+        return item;
+    }
+}
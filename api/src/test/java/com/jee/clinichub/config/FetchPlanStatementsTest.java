@@ -0,0 +1,473 @@
+package com.jee.clinichub.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.jee.clinichub.ClinichubApplication;
+import com.jee.clinichub.app.branch.model.Branch;
+import com.jee.clinichub.app.catalog.brand.model.Brand;
+import com.jee.clinichub.app.catalog.category.model.Category;
+import com.jee.clinichub.app.catalog.product.model.Product;
+import com.jee.clinichub.app.catalog.product.model.ProductDto;
+import com.jee.clinichub.app.catalog.product.model.ProductProj;
+import com.jee.clinichub.app.catalog.product.model.ProductSerial;
+import com.jee.clinichub.app.catalog.product.repository.ProductAdvanceRepositoryImpl;
+import com.jee.clinichub.app.catalog.product.repository.ProductRepository;
+import com.jee.clinichub.app.catalog.type.model.ProductType;
+import com.jee.clinichub.app.core.module.model.Module;
+import com.jee.clinichub.app.customer.model.Customer;
+import com.jee.clinichub.app.doctor.model.Doctor;
+import com.jee.clinichub.app.doctor.model.DoctorBranch;
+import com.jee.clinichub.app.doctor.model.DoctorDto;
+import com.jee.clinichub.app.doctor.model.DoctorProj;
+import com.jee.clinichub.app.doctor.repository.DoctorRepository;
+import com.jee.clinichub.app.payment.type.model.PaymentType;
+import com.jee.clinichub.app.sales.order.model.SalesOrder;
+import com.jee.clinichub.app.sales.order.model.SalesOrderDto;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItem;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItemDto;
+import com.jee.clinichub.app.sales.order.model.SalesOrderItemSerial;
+import com.jee.clinichub.app.sales.order.model.SalesOrderProj;
+import com.jee.clinichub.app.sales.order.repository.SalesOrderItemSerialRepository;
+import com.jee.clinichub.app.sales.order.repository.SalesOrderRepository;
+import com.jee.clinichub.app.user.role.model.Role;
+import com.jee.clinichub.app.user.role.model.RoleDto;
+import com.jee.clinichub.app.user.role.permission.model.Permission;
+import com.jee.clinichub.app.user.role.repository.RoleeRepository;
+import com.jee.clinichub.config.audit.Auditable;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements behind the detail and list reads against a real PostgreSQL. A read must cost the same
+ * whether it returns one row or many, the cached lists must still be readable once their session is gone, and a page
+ * must be cut by the database, not in memory.
+ * The schema is generated from the entities, the migrations do not describe all of them. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FetchPlanStatementsTest {
+
+    private static final int MANY = 5;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static LocalContainerEntityManagerFactoryBean factoryBean;
+
+    private EntityManager em;
+    private ProductRepository productRepository;
+    private SalesOrderRepository salesOrderRepository;
+    private SalesOrderItemSerialRepository salesOrderItemSerialRepository;
+    private DoctorRepository doctorRepository;
+    private RoleeRepository roleRepository;
+    private int sequence;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+
+        Properties properties = new Properties();
+        properties.put(Environment.HBM2DDL_AUTO, "create");
+        properties.put(Environment.HBM2DDL_CREATE_NAMESPACES, true);
+        properties.put(Environment.JAKARTA_VALIDATION_MODE, "none");
+        // as HibernateConfig sets them up
+        properties.put(Environment.DEFAULT_BATCH_FETCH_SIZE, 32);
+        properties.put(Environment.STATEMENT_INSPECTOR, new SqlStatementCounter());
+        // a paged query that fetches a collection must fail here rather than page in memory
+        properties.put(Environment.FAIL_ON_PAGINATION_OVER_COLLECTION_FETCH, true);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(ClinichubApplication.class.getPackage().getName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaProperties(properties);
+        factoryBean.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        factoryBean.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory factory = factoryBean.getObject();
+        em = factory.createEntityManager();
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(em);
+
+        ProductAdvanceRepositoryImpl productAdvanceRepository = new ProductAdvanceRepositoryImpl();
+        ReflectionTestUtils.setField(productAdvanceRepository, "entityManager", em);
+        productRepository = repositories.getRepository(ProductRepository.class,
+                RepositoryFragments.just(productAdvanceRepository));
+        salesOrderRepository = repositories.getRepository(SalesOrderRepository.class);
+        salesOrderItemSerialRepository = repositories.getRepository(SalesOrderItemSerialRepository.class);
+        doctorRepository = repositories.getRepository(DoctorRepository.class);
+        roleRepository = repositories.getRepository(RoleeRepository.class);
+
+        em.getTransaction().begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        em.getTransaction().rollback();
+        em.close();
+    }
+
+    @Test
+    void productDetailIsOneStatement() {
+        Branch branch = branch();
+        Long few = product(branch, 1).getId();
+        Long many = product(branch, MANY).getId();
+
+        assertEquals(1, statements(() -> new ProductDto(productRepository.findDetailById(few).orElseThrow())));
+        assertEquals(1, statements(() -> new ProductDto(productRepository.findDetailById(many).orElseThrow())));
+    }
+
+    @Test
+    void productListIsOneStatementAndOutlivesItsSession() {
+        Branch one = branch();
+        Branch many = branch();
+        product(one, 1);
+        for (int i = 0; i < MANY; i++) {
+            product(many, 1);
+        }
+
+        assertEquals(1, statements(() -> products(one.getId())));
+        assertEquals(1, statements(() -> products(many.getId())));
+
+        List<ProductProj> cached = detached(() -> productRepository.findAllProjectedByBranch_IdOrderByNameAsc(many.getId()));
+        assertEquals(MANY, cached.size());
+        cached.forEach(product -> assertNotNull(product.getType().getName() + product.getCategory().getName()
+                + product.getBrand().getName()));
+    }
+
+    @Test
+    void salesOrderDetailDoesNotGrowWithItsItems() {
+        Branch branch = branch();
+        PaymentType paymentType = paymentType();
+        Long few = salesOrder(branch, paymentType, 1).getId();
+        Long many = salesOrder(branch, paymentType, MANY).getId();
+
+        assertEquals(statements(() -> salesOrderDetail(few)), statements(() -> salesOrderDetail(many)));
+    }
+
+    @Test
+    void salesOrderListDoesNotGrowWithItsRowsAndOutlivesItsSession() {
+        PaymentType paymentType = paymentType();
+        Branch one = branch();
+        Branch many = branch();
+        salesOrder(one, paymentType, 1);
+        for (int i = 0; i < MANY; i++) {
+            salesOrder(many, paymentType, 2);
+        }
+
+        assertEquals(statements(() -> salesOrders(one.getId())), statements(() -> salesOrders(many.getId())));
+
+        List<SalesOrderProj> cached = detached(
+                () -> salesOrderRepository.findAllProjectedByBranch_IdOrderByIdDesc(many.getId()));
+        assertEquals(MANY, cached.size());
+        cached.forEach(order -> assertEquals(2, order.getItems().size()));
+    }
+
+    @Test
+    void salesOrderSearchIsPagedByTheDatabaseAndOutlivesItsSession() {
+        PaymentType paymentType = paymentType();
+        Branch few = branch();
+        Branch many = branch();
+        for (int i = 0; i < MANY; i++) {
+            salesOrder(few, paymentType, 1);
+            salesOrder(many, paymentType, MANY);
+        }
+        Pageable firstTwo = PageRequest.of(0, 2);
+
+        List<String> sql = sqlOf(() -> salesOrderSearch(firstTwo, many.getId()));
+        assertTrue(limited(sql.get(0)), sql.get(0));
+        assertEquals(statements(() -> salesOrderSearch(firstTwo, few.getId())), sql.size());
+
+        Page<SalesOrderProj> cached = detached(() -> salesOrderRepository.search(firstTwo, many.getId(), "", null));
+        assertEquals(MANY, cached.getTotalElements());
+        assertEquals(2, cached.getContent().size());
+        cached.forEach(order -> assertEquals(MANY, order.getItems().size()));
+    }
+
+    @Test
+    void doctorDetailDoesNotGrowWithItsBranches() {
+        Long few = doctor(branch()).getId();
+        Doctor many = doctor(branch());
+        for (int i = 1; i < MANY; i++) {
+            doctorBranch(many, branch());
+        }
+
+        assertEquals(statements(() -> new DoctorDto(doctorRepository.findDetailById(few).orElseThrow())),
+                statements(() -> new DoctorDto(doctorRepository.findDetailById(many.getId()).orElseThrow())));
+    }
+
+    @Test
+    void doctorListDoesNotGrowWithItsRowsAndOutlivesItsSession() {
+        Branch one = branch();
+        Branch many = branch();
+        doctor(one);
+        for (int i = 0; i < MANY; i++) {
+            doctorBranch(doctor(many), branch());
+        }
+
+        assertEquals(statements(() -> doctors(one.getId())), statements(() -> doctors(many.getId())));
+
+        List<DoctorProj> cached = detached(() -> doctorRepository.findAlldoctorByBranch(many.getId()));
+        assertEquals(MANY, cached.size());
+        cached.forEach(doctor -> {
+            assertEquals(2, doctor.getBranchList().size());
+            doctor.getBranchList().forEach(doctorBranch -> assertNotNull(doctorBranch.getBranch().getName()));
+        });
+    }
+
+    @Test
+    void doctorSearchIsPagedByTheDatabaseAndOutlivesItsSession() {
+        Branch branch = branch();
+        for (int i = 0; i < MANY; i++) {
+            doctorBranch(doctor(branch), branch());
+        }
+        Pageable firstTwo = PageRequest.of(0, 2);
+
+        List<String> sql = sqlOf(() -> doctorSearch(firstTwo, branch.getId()));
+        assertTrue(limited(sql.get(0)), sql.get(0));
+
+        Page<DoctorProj> cached = detached(() -> doctorRepository.search(firstTwo, branch.getId(), "doctor", null, null));
+        assertEquals(MANY, cached.getTotalElements());
+        assertEquals(2, cached.getContent().size());
+        cached.forEach(doctor -> {
+            assertEquals(2, doctor.getBranchList().size());
+            doctor.getBranchList().forEach(doctorBranch -> assertNotNull(doctorBranch.getBranch().getName()));
+        });
+    }
+
+    @Test
+    void roleDetailIsOneStatement() {
+        Long few = role(1).getId();
+        Long many = role(MANY).getId();
+
+        assertEquals(1, statements(() -> new RoleDto(roleRepository.findDetailById(few).orElseThrow())));
+        assertEquals(1, statements(() -> new RoleDto(roleRepository.findDetailById(many).orElseThrow())));
+    }
+
+    @Test
+    void roleListIsOneStatement() {
+        role(1);
+        assertEquals(1, statements(this::roles));
+
+        for (int i = 1; i < MANY; i++) {
+            role(2);
+        }
+        assertEquals(1, statements(this::roles));
+    }
+
+    private void products(Long branchId) {
+        productRepository.findAllProjectedByBranch_IdOrderByNameAsc(branchId).forEach(product -> product.getType()
+                .getName().concat(product.getCategory().getName()).concat(product.getBrand().getName()));
+    }
+
+    // what SalesOrderServiceImpl.getById reads
+    private void salesOrderDetail(Long id) {
+        SalesOrderDto order = new SalesOrderDto(salesOrderRepository.findDetailById(id).orElseThrow());
+        List<Long> itemIds = order.getItems().stream().map(SalesOrderItemDto::getId).toList();
+        salesOrderItemSerialRepository.findAllByItemIdIn(itemIds).forEach(SalesOrderItemSerial::getSerialId);
+    }
+
+    private void salesOrders(Long branchId) {
+        salesOrderRepository.findAllProjectedByBranch_IdOrderByIdDesc(branchId).forEach(order -> {
+            order.getCustomer().getFirstName();
+            order.getPaymentType().getName();
+            order.getItems().forEach(item -> item.getQty());
+        });
+    }
+
+    private void salesOrderSearch(Pageable pageable, Long branchId) {
+        salesOrderRepository.search(pageable, branchId, "", null)
+                .forEach(order -> order.getItems().forEach(item -> item.getQty()));
+    }
+
+    private void doctorSearch(Pageable pageable, Long branchId) {
+        doctorRepository.search(pageable, branchId, "doctor", null, null)
+                .forEach(doctor -> doctor.getBranchList().forEach(doctorBranch -> doctorBranch.getBranch().getName()));
+    }
+
+    private void doctors(Long branchId) {
+        doctorRepository.findAlldoctorByBranch(branchId)
+                .forEach(doctor -> doctor.getBranchList().forEach(doctorBranch -> doctorBranch.getBranch().getName()));
+    }
+
+    private void roles() {
+        roleRepository.findAllProjectedBy().forEach(role -> role.getName());
+    }
+
+    /**
+     * Statements of a read that starts from an empty session, as a request does.
+     */
+    private int statements(Runnable read) {
+        em.flush();
+        em.clear();
+        return SqlStatementCounter.statementsOf(read);
+    }
+
+    /**
+     * The SQL of a read that starts from an empty session.
+     */
+    private List<String> sqlOf(Runnable read) {
+        em.flush();
+        em.clear();
+        return SqlStatementCounter.sqlOf(read);
+    }
+
+    // PostgreSQL renders the page as "offset ? rows fetch first ? rows only"
+    private static boolean limited(String sql) {
+        String lower = sql.toLowerCase();
+        return lower.contains(" fetch first ") || lower.contains(" limit ");
+    }
+
+    /**
+     * What a read leaves behind once its session is gone, as the caches hold it.
+     */
+    private <T> T detached(Supplier<T> read) {
+        em.flush();
+        em.clear();
+        T result = read.get();
+        em.clear();
+        return result;
+    }
+
+    private Branch branch() {
+        Branch branch = new Branch();
+        branch.setName("branch " + ++sequence);
+        branch.setCode("B" + sequence);
+        return persist(branch);
+    }
+
+    private PaymentType paymentType() {
+        PaymentType paymentType = new PaymentType();
+        paymentType.setName("cash");
+        return persist(paymentType);
+    }
+
+    private Product product(Branch branch, int serials) {
+        Category category = new Category();
+        category.setName("category " + ++sequence);
+        Brand brand = new Brand();
+        brand.setName("brand " + sequence);
+        ProductType type = new ProductType();
+        type.setName("type " + sequence);
+
+        Product product = new Product();
+        product.setBranch(branch);
+        product.setCategory(persist(category));
+        product.setBrand(persist(brand));
+        product.setType(persist(type));
+        product.setName("product " + sequence);
+        product.setQty(serials);
+        persist(product);
+        for (int i = 0; i < serials; i++) {
+            ProductSerial serial = new ProductSerial();
+            serial.setProduct(product);
+            serial.setQty(1);
+            serial.setSerialNo("S" + ++sequence);
+            persist(serial);
+        }
+        return product;
+    }
+
+    private SalesOrder salesOrder(Branch branch, PaymentType paymentType, int items) {
+        Customer customer = new Customer();
+        customer.setFirstName("customer " + ++sequence);
+
+        SalesOrder order = new SalesOrder();
+        order.setBranch(branch);
+        order.setPaymentType(paymentType);
+        order.setCustomer(persist(customer));
+        persist(order);
+        for (int i = 0; i < items; i++) {
+            SalesOrderItem item = new SalesOrderItem();
+            item.setSalesOrder(order);
+            item.setProductId((long) ++sequence);
+            item.setProductName("product " + sequence);
+            item.setQty(1);
+            persist(item);
+
+            SalesOrderItemSerial serial = new SalesOrderItemSerial();
+            serial.setSalesOrderItem(item);
+            serial.setSerialId((long) sequence);
+            serial.setQty(1);
+            persist(serial);
+        }
+        return order;
+    }
+
+    private Doctor doctor(Branch branch) {
+        Doctor doctor = new Doctor();
+        doctor.setFirstname("doctor");
+        doctor.setLastname(String.valueOf(++sequence));
+        doctor.setSlug("dr-" + sequence);
+        persist(doctor);
+        doctorBranch(doctor, branch);
+        return doctor;
+    }
+
+    private void doctorBranch(Doctor doctor, Branch branch) {
+        DoctorBranch doctorBranch = new DoctorBranch();
+        doctorBranch.setDoctor(doctor);
+        doctorBranch.setBranch(branch);
+        doctorBranch.setConsultationFee(500d);
+        persist(doctorBranch);
+    }
+
+    private Role role(int permissions) {
+        Role role = new Role();
+        role.setName("role " + ++sequence);
+        persist(role);
+        for (int i = 0; i < permissions; i++) {
+            Module module = new Module();
+            module.setName("module " + ++sequence);
+            module.setCode("M" + sequence);
+
+            Permission permission = new Permission();
+            permission.setRole(role);
+            permission.setModule(persist(module));
+            persist(permission);
+        }
+        return role;
+    }
+
+    // the auditing listener needs Spring, so the audit times are set here
+    private <T> T persist(T entity) {
+        if (entity instanceof Auditable<?> auditable) {
+            Date now = new Date();
+            auditable.setCreatedTime(now);
+            auditable.setModifiedTime(now);
+        }
+        em.persist(entity);
+        return entity;
+    }
+}
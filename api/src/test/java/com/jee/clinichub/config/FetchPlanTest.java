@@ -0,0 +1,265 @@
+package com.jee.clinichub.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+import com.jee.clinichub.ClinichubApplication;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+
+/**
+ * Guards the fetch plan without a database: collections stay lazy, the entities an entity graph loads have no eager
+ * to-ones beyond the listed ones, and every entity graph a repository asks for exists and names real attributes. A
+ * graph that names a missing attribute only fails when the query first runs.
+ */
+class FetchPlanTest {
+
+    private static final String BASE_PACKAGE = ClinichubApplication.class.getPackage().getName();
+
+    // to-ones left eager on purpose, a to-one is eager unless it says otherwise
+    private static final Set<String> EAGER_TO_ONES = Set.of(
+            // read whenever the owner is shown, batch fetching loads them for a whole page at once
+            "Branch.clinic", "Branch.district", "Clinic.clinicType", "Doctor.additionalInfoDoctor", "Doctor.district",
+            "Doctor.user", "DoctorBranch.branch", "Invoice.visit", "Payment.paymentType", "Percentage.enquiryServiceType",
+            "PurchaseOrder.branch", "PurchaseOrder.paymentType", "PurchaseOrder.vendor", "PurchaseOrderItem.product",
+            "SalesOrder.branch", "SalesOrder.customer", "SalesOrder.paymentType", "Slot.doctorBranch",
+            // back to an owner that is already in the session when the row is loaded through it
+            "DoctorBranch.doctor", "Payment.invoice", "Percentage.doctor",
+            // read by the security filters, outside the session of the request
+            "Permission.module", "UserAuth.branch", "UserAuth.role");
+
+    private static List<Class<?>> entities;
+    private static List<Class<?>> repositories;
+
+    @BeforeAll
+    static void scan() {
+        entities = classes(new AnnotationTypeFilter(Entity.class), false);
+        repositories = classes(new AnnotationTypeFilter(org.springframework.stereotype.Repository.class), true).stream()
+                .filter(Repository.class::isAssignableFrom)
+                .toList();
+    }
+
+    @Test
+    void collectionsAreLazy() {
+        List<String> eager = new ArrayList<>();
+        for (Class<?> entity : entities) {
+            for (Field field : fields(entity)) {
+                if (fetch(field) == FetchType.EAGER) {
+                    eager.add(entity.getSimpleName() + "." + field.getName());
+                }
+            }
+        }
+        assertTrue(eager.isEmpty(), "Load these with an entity graph instead of FetchType.EAGER: " + eager);
+    }
+
+    @Test
+    void graphedEntitiesHaveNoUnlistedEagerToOnes() {
+        Set<Class<?>> graphed = new HashSet<>();
+        for (Class<?> entity : entities) {
+            for (NamedEntityGraph graph : graphs(entity)) {
+                graphed.add(entity);
+                Map<String, NamedSubgraph> subgraphs = Arrays.stream(graph.subgraphs())
+                        .collect(Collectors.toMap(NamedSubgraph::name, subgraph -> subgraph));
+                collectNodes(entity, graph.attributeNodes(), subgraphs, graphed);
+            }
+        }
+        for (Class<?> repository : repositories) {
+            Class<?> domain = ResolvableType.forClass(repository).as(Repository.class).getGeneric(0).resolve();
+            for (Method method : repository.getDeclaredMethods()) {
+                EntityGraph entityGraph = method.getAnnotation(EntityGraph.class);
+                if (entityGraph == null || entityGraph.attributePaths().length == 0) {
+                    continue;
+                }
+                graphed.add(domain);
+                for (String path : entityGraph.attributePaths()) {
+                    Class<?> type = domain;
+                    for (String attribute : path.split("\\.")) {
+                        type = target(field(type, attribute));
+                        graphed.add(type);
+                    }
+                }
+            }
+        }
+
+        Set<String> eager = new HashSet<>();
+        for (Class<?> entity : graphed) {
+            for (Field field : fields(entity)) {
+                if (toOneFetch(field) == FetchType.EAGER) {
+                    eager.add(entity.getSimpleName() + "." + field.getName());
+                }
+            }
+        }
+        Set<String> unlisted = new HashSet<>(eager);
+        unlisted.removeAll(EAGER_TO_ONES);
+        assertTrue(unlisted.isEmpty(), "Make these lazy, or list them with a reason in EAGER_TO_ONES: " + unlisted);
+        Set<String> stale = new HashSet<>(EAGER_TO_ONES);
+        stale.removeAll(eager);
+        assertTrue(stale.isEmpty(), "No longer eager, drop them from EAGER_TO_ONES: " + stale);
+    }
+
+    @Test
+    void namedGraphsNameRealAttributes() {
+        for (Class<?> entity : entities) {
+            for (NamedEntityGraph graph : graphs(entity)) {
+                Map<String, NamedSubgraph> subgraphs = Arrays.stream(graph.subgraphs())
+                        .collect(Collectors.toMap(NamedSubgraph::name, subgraph -> subgraph));
+                checkNodes(graph.name(), entity, graph.attributeNodes(), subgraphs);
+            }
+        }
+    }
+
+    @Test
+    void repositoriesUseKnownGraphs() {
+        Set<String> known = new HashSet<>();
+        entities.forEach(entity -> graphs(entity).forEach(graph -> known.add(graph.name())));
+        assertFalse(known.isEmpty());
+
+        for (Class<?> repository : repositories) {
+            Class<?> domain = ResolvableType.forClass(repository).as(Repository.class).getGeneric(0).resolve();
+            for (Method method : repository.getDeclaredMethods()) {
+                EntityGraph entityGraph = method.getAnnotation(EntityGraph.class);
+                if (entityGraph == null) {
+                    continue;
+                }
+                String where = repository.getSimpleName() + "." + method.getName();
+                if (!entityGraph.value().isEmpty()) {
+                    assertTrue(known.contains(entityGraph.value()), where + " uses unknown graph " + entityGraph.value());
+                }
+                for (String path : entityGraph.attributePaths()) {
+                    Class<?> type = domain;
+                    for (String attribute : path.split("\\.")) {
+                        Field field = field(type, attribute);
+                        assertNotNull(field, where + " fetches " + path + ", " + type.getSimpleName() + " has no "
+                                + attribute);
+                        type = target(field);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void checkNodes(String graph, Class<?> type, NamedAttributeNode[] nodes,
+            Map<String, NamedSubgraph> subgraphs) {
+        for (NamedAttributeNode node : nodes) {
+            Field field = field(type, node.value());
+            assertNotNull(field, graph + " names " + node.value() + ", " + type.getSimpleName() + " has no such attribute");
+            if (!node.subgraph().isEmpty()) {
+                NamedSubgraph subgraph = subgraphs.get(node.subgraph());
+                assertNotNull(subgraph, graph + " refers to missing subgraph " + node.subgraph());
+                checkNodes(graph, target(field), subgraph.attributeNodes(), subgraphs);
+            }
+        }
+    }
+
+    private static void collectNodes(Class<?> type, NamedAttributeNode[] nodes, Map<String, NamedSubgraph> subgraphs,
+            Set<Class<?>> graphed) {
+        for (NamedAttributeNode node : nodes) {
+            Class<?> target = target(field(type, node.value()));
+            graphed.add(target);
+            if (!node.subgraph().isEmpty()) {
+                collectNodes(target, subgraphs.get(node.subgraph()).attributeNodes(), subgraphs, graphed);
+            }
+        }
+    }
+
+    private static List<NamedEntityGraph> graphs(Class<?> entity) {
+        return Arrays.asList(entity.getAnnotationsByType(NamedEntityGraph.class));
+    }
+
+    private static FetchType fetch(Field field) {
+        OneToMany oneToMany = field.getAnnotation(OneToMany.class);
+        if (oneToMany != null) {
+            return oneToMany.fetch();
+        }
+        ManyToMany manyToMany = field.getAnnotation(ManyToMany.class);
+        if (manyToMany != null) {
+            return manyToMany.fetch();
+        }
+        ElementCollection elementCollection = field.getAnnotation(ElementCollection.class);
+        return elementCollection != null ? elementCollection.fetch() : null;
+    }
+
+    private static FetchType toOneFetch(Field field) {
+        ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+        if (manyToOne != null) {
+            return manyToOne.fetch();
+        }
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        return oneToOne != null ? oneToOne.fetch() : null;
+    }
+
+    /**
+     * The entity an attribute points to, the element type for a collection.
+     */
+    private static Class<?> target(Field field) {
+        if (Collection.class.isAssignableFrom(field.getType())
+                && field.getGenericType() instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return field.getType();
+    }
+
+    private static Field field(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            fields.addAll(Arrays.asList(current.getDeclaredFields()));
+        }
+        return fields;
+    }
+
+    private static List<Class<?>> classes(AnnotationTypeFilter filter, boolean interfaces) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return interfaces ? definition.getMetadata().isInterface() : super.isCandidateComponent(definition);
+            }
+        };
+        scanner.addIncludeFilter(filter);
+        return scanner.findCandidateComponents(BASE_PACKAGE).stream()
+                .map(definition -> ClassUtils.resolveClassName(definition.getBeanClassName(),
+                        FetchPlanTest.class.getClassLoader()))
+                .toList();
+    }
+}
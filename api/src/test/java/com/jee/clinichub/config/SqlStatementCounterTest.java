@@ -0,0 +1,54 @@
+package com.jee.clinichub.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.jee.clinichub.config.SqlStatementCounter.Counted;
+
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void countsStatementsOfTheWork() {
+        Counted<String> counted = SqlStatementCounter.count(() -> {
+            inspector.inspect("select * from sales_order where id=?");
+            inspector.inspect("select * from sales_order_items where order_id=?");
+            return "done";
+        });
+
+        assertEquals("done", counted.result());
+        assertEquals(2, counted.statements());
+        assertEquals("select * from sales_order_items where order_id=?", counted.sql().get(1));
+    }
+
+    @Test
+    void passesTheSqlThroughUnchanged() {
+        String sql = "select * from catalog_product where id=?";
+
+        assertSame(sql, inspector.inspect(sql));
+        assertEquals(0, SqlStatementCounter.statementsOf(() -> { }));
+    }
+
+    @Test
+    void nestedCountAddsToTheOuterOne() {
+        int outer = SqlStatementCounter.statementsOf(() -> {
+            inspector.inspect("select 1");
+            int inner = SqlStatementCounter.statementsOf(() -> inspector.inspect("select 2"));
+            assertEquals(1, inner);
+        });
+
+        assertEquals(2, outer);
+    }
+
+    @Test
+    void otherThreadsAreNotCounted() {
+        int statements = SqlStatementCounter.statementsOf(
+                () -> CompletableFuture.runAsync(() -> inspector.inspect("select 1")).join());
+
+        assertEquals(0, statements);
+    }
+}
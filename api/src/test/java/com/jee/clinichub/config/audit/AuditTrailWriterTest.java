@@ -0,0 +1,174 @@
+package com.jee.clinichub.config.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AuditTrailWriterTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private AuditTrailStore store;
+    private AuditTrailWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(AuditTrailStore.class);
+        writer = writer(3);
+    }
+
+    private AuditTrailWriter writer(int bufferSize) {
+        AuditTrailWriter writer = new AuditTrailWriter(store, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(writer, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(writer, "maxAttempts", 3);
+        writer.init();
+        return writer;
+    }
+
+    private static AuditRecord record(String tenant, long id) {
+        return new AuditRecord(tenant, "Config", String.valueOf(id), "UPDATE", "{\"value\":[\"a\",\"b\"]}", "admin",
+                Instant.parse("2026-10-17T10:15:30Z"));
+    }
+
+    @Test
+    void flushWritesEachTenantInBatches() throws SQLException {
+        writer.submit(record("clinic_a", 1));
+        writer.submit(record("clinic_b", 2));
+        writer.submit(record("clinic_a", 3));
+
+        writer.flush();
+
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 1)));
+        verify(store).insert("clinic_b", List.of(record("clinic_b", 2)));
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 3)));
+        assertEquals(0, writer.pending());
+    }
+
+    @Test
+    void overflowIsSpooledAndReplayed() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            writer.submit(record("clinic_a", id));
+        }
+        assertEquals(3, writer.pending());
+        assertTrue(Files.exists(spoolDir.resolve("pending.jsonl")));
+
+        writer.flush();
+
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 4), record("clinic_a", 5)));
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 1), record("clinic_a", 2)));
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 3)));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void failedBatchIsKeptUntilTheStoreRecovers() throws Exception {
+        doThrow(new SQLException("connection refused")).when(store).insert(any(), anyList());
+        writer.submit(record("clinic_a", 1));
+
+        writer.flush();
+
+        assertEquals(0, writer.pending());
+        assertTrue(Files.exists(spoolDir.resolve("pending.jsonl")));
+
+        reset(store);
+        writer.flush();
+
+        verify(store, times(1)).insert(eq("clinic_a"), eq(List.of(record("clinic_a", 1))));
+    }
+
+    @Test
+    void spoolLeftByAnEarlierRunIsReplayed() throws Exception {
+        doThrow(new SQLException("shutting down")).when(store).insert(any(), anyList());
+        writer.submit(record("clinic_a", 1));
+        writer.shutdown();
+
+        reset(store);
+        AuditTrailWriter restarted = writer(3);
+        restarted.flush();
+
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 1)));
+        reset(store);
+        restarted.flush();
+        verify(store, never()).insert(any(), anyList());
+    }
+
+    @Test
+    void rejectedRecordIsQuarantinedAfterMaxAttempts() throws Exception {
+        doThrow(new SQLException("value too long", "22001")).when(store)
+                .insert(eq("clinic_a"), argThat(records -> records.contains(record("clinic_a", 2))));
+        writer.submit(record("clinic_a", 1));
+        writer.submit(record("clinic_a", 2));
+
+        writer.flush();
+
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 1)));
+        assertEquals(1, writer.spooled());
+
+        writer.flush();
+        writer.flush();
+
+        assertEquals(0, writer.spooled());
+        assertEquals(1, writer.quarantined());
+        assertTrue(Files.readString(spoolDir.resolve("quarantine.jsonl")).contains("\"attempts\":3"));
+
+        reset(store);
+        writer.flush();
+        verify(store, never()).insert(any(), anyList());
+        assertEquals(1, writer(3).quarantined());
+    }
+
+    @Test
+    void connectionFailuresDoNotCountAsAttempts() throws Exception {
+        doThrow(new SQLException("connection refused", "08001")).when(store).insert(any(), anyList());
+        writer.submit(record("clinic_a", 1));
+
+        for (int i = 0; i < 10; i++) {
+            writer.flush();
+        }
+
+        assertEquals(1, writer.spooled());
+        assertEquals(0, writer.quarantined());
+        assertFalse(Files.readString(spoolDir.resolve("pending.jsonl")).contains("\"attempts\":1"));
+    }
+
+    @Test
+    void spoolWrittenBeforeAttemptsWereCountedIsReplayed() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Files.writeString(spoolDir.resolve("pending.jsonl"),
+                objectMapper.writeValueAsString(record("clinic_a", 1)) + "\n", StandardCharsets.UTF_8);
+
+        AuditTrailWriter restarted = writer(3);
+        assertEquals(1, restarted.spooled());
+        restarted.flush();
+
+        verify(store).insert("clinic_a", List.of(record("clinic_a", 1)));
+        assertEquals(0, restarted.spooled());
+    }
+}
@@ -0,0 +1,74 @@
+package com.jee.clinichub.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+class TenantAwareCacheTest {
+
+    private final TenantAwareCache cache = new TenantAwareCache("doctorCache", "maximumSize=100,expireAfterWrite=30m");
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    private static TenantCacheKey key(String tenant, Object... params) {
+        return TenantCacheKey.of(tenant, TenantAwareCacheTest.class, "getAllDoctors", params);
+    }
+
+    @Test
+    void keysWithSameTenantMethodAndArgsAreEqual() {
+        assertEquals(key("clinic_a", 1L, "active"), key("clinic_a", 1L, "active"));
+        assertNotEquals(key("clinic_a", 1L), key("clinic_b", 1L));
+        assertEquals(key("clinic_a").hashCode(), key("clinic_a").hashCode());
+    }
+
+    @Test
+    void clearOnlyDropsTheCurrentTenant() {
+        cache.put(key("clinic_a"), "a");
+        cache.put(key("clinic_b"), "b");
+
+        TenantContextHolder.setCurrentTenant("clinic_a");
+        cache.clear();
+
+        assertNull(cache.get(key("clinic_a")));
+        assertEquals("b", cache.get(key("clinic_b")).get());
+    }
+
+    @Test
+    void statsAreCountedPerTenant() {
+        cache.put(key("clinic_a"), "a");
+        cache.get(key("clinic_a"));
+        cache.get(key("clinic_a"));
+        cache.get(key("clinic_b"));
+
+        Map<String, TenantCacheStats> stats = cache.stats();
+
+        assertEquals(new TenantCacheStats(1, 2, 0, 0), stats.get("clinic_a"));
+        assertEquals(new TenantCacheStats(0, 0, 1, 0), stats.get("clinic_b"));
+    }
+
+    @Test
+    void sizeBoundEvictsAndCountsEvictions() {
+        TenantAwareCache small = new TenantAwareCache("productCache", "maximumSize=1");
+        small.put(key("clinic_a", 1), "first");
+        small.put(key("clinic_a", 2), "second");
+
+        assertEquals(1, small.stats().get("clinic_a").evictions());
+        assertEquals(1, small.stats().get("clinic_a").size());
+    }
+
+    @Test
+    void loaderValuesAndNullsAreCached() {
+        assertNull(cache.get(key("clinic_a"), () -> null));
+        assertNotNull(cache.get(key("clinic_a")));
+        assertEquals("loaded", cache.get(key("clinic_b"), () -> "loaded"));
+        assertEquals("loaded", cache.get(key("clinic_b"), () -> "again"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.jee.clinichub.config.encryption;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.config.env.EnvironmentProp;
+
+/**
+ * Compares PII field encryption before and after the per-thread GCM ciphers. The legacy
+ * path is what AesUtilImpl did on every converter call: Cipher.getInstance("AES") and
+ * init with the key, then ECB. decryptAll is measured per page of 50 values.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.jee.clinichub.config.encryption.AesUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AesUtilBenchmark {
+
+    private static final String KEY = "benchmark-key-16";
+    private static final String PLAIN = "Ramesh Kumar, +91 98765 43210, ramesh.kumar@example.com";
+    private static final int PAGE_SIZE = 50;
+
+    private AesUtilImpl aesUtil;
+    private SecretKeySpec legacyKey;
+    private String legacyEncrypted;
+    private String encrypted;
+    private List<String> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        EnvironmentProp environment = new EnvironmentProp();
+        ReflectionTestUtils.setField(environment, "aesKey", KEY);
+
+        aesUtil = new AesUtilImpl();
+        ReflectionTestUtils.setField(aesUtil, "environment", environment);
+        ReflectionTestUtils.setField(aesUtil, "configuredKeys", "");
+        ReflectionTestUtils.setField(aesUtil, "activeKeyVersion", 0);
+        aesUtil.init();
+
+        legacyKey = new SecretKeySpec(KEY.getBytes(), "AES");
+        legacyEncrypted = legacyEncrypt();
+        encrypted = aesUtil.encrypt(PLAIN);
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(aesUtil.encrypt(PLAIN + i));
+        }
+    }
+
+    /** Cipher lookup and init on every call, as the converter did before. */
+    @Benchmark
+    public String legacyEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, legacyKey);
+        return Base64.getEncoder().encodeToString(cipher.doFinal(PLAIN.getBytes()));
+    }
+
+    @Benchmark
+    public String legacyDecrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, legacyKey);
+        return new String(cipher.doFinal(Base64.getDecoder().decode(legacyEncrypted)));
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return aesUtil.encrypt(PLAIN);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return aesUtil.decrypt(encrypted);
+    }
+
+    /** One list page decrypted value by value through the converter. */
+    @Benchmark
+    public void decryptPageOneByOne(Blackhole bh) {
+        for (String value : page) {
+            bh.consume(aesUtil.decrypt(value));
+        }
+    }
+
+    @Benchmark
+    public List<String> decryptPageAll() {
+        return aesUtil.decryptAll(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AesUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.jee.clinichub.config.encryption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.config.env.EnvironmentProp;
+
+class AesUtilImplTest {
+
+    private static final String KEY = "0123456789abcdef";
+    private static final String KEY_V1 = Base64.getEncoder().encodeToString(KEY.getBytes());
+    private static final String KEY_V2 = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private AesUtilImpl aesUtil(String keys, int activeVersion) {
+        EnvironmentProp environment = new EnvironmentProp();
+        ReflectionTestUtils.setField(environment, "aesKey", KEY);
+
+        AesUtilImpl aesUtil = new AesUtilImpl();
+        ReflectionTestUtils.setField(aesUtil, "environment", environment);
+        ReflectionTestUtils.setField(aesUtil, "configuredKeys", keys);
+        ReflectionTestUtils.setField(aesUtil, "activeKeyVersion", activeVersion);
+        aesUtil.init();
+        return aesUtil;
+    }
+
+    @Test
+    void roundTripsWithVersionHeader() {
+        AesUtilImpl aesUtil = aesUtil("", 0);
+
+        String encrypted = aesUtil.encrypt("Ramesh ₹ Kumar");
+
+        assertTrue(encrypted.startsWith("$1$"));
+        assertEquals("Ramesh ₹ Kumar", aesUtil.decrypt(encrypted));
+        assertNotEquals(encrypted, aesUtil.encrypt("Ramesh ₹ Kumar"));
+    }
+
+    @Test
+    void readsValuesWrittenBeforeGcm() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(), "AES"));
+        String legacy = Base64.getEncoder().encodeToString(cipher.doFinal("9876543210".getBytes()));
+
+        assertEquals("9876543210", aesUtil("", 0).decrypt(legacy));
+    }
+
+    @Test
+    void oldKeyVersionsStillDecryptAfterRotation() {
+        String before = aesUtil("1:" + KEY_V1, 0).encrypt("before rotation");
+
+        AesUtilImpl rotated = aesUtil("1:" + KEY_V1 + ",2:" + KEY_V2, 0);
+        String after = rotated.encrypt("after rotation");
+
+        assertTrue(after.startsWith("$2$"));
+        assertEquals("before rotation", rotated.decrypt(before));
+        assertEquals("after rotation", rotated.decrypt(after));
+    }
+
+    @Test
+    void tamperedValueIsRejected() {
+        AesUtilImpl aesUtil = aesUtil("", 0);
+        char[] encrypted = aesUtil.encrypt("9876543210").toCharArray();
+        int last = encrypted.length - 3;
+        encrypted[last] = encrypted[last] == 'A' ? 'B' : 'A';
+
+        assertThrows(IllegalStateException.class, () -> aesUtil.decrypt(new String(encrypted)));
+    }
+
+    @Test
+    void decryptAllKeepsOrderAndNulls() {
+        AesUtilImpl aesUtil = aesUtil("", 0);
+        List<String> encrypted = Arrays.asList(aesUtil.encrypt("a"), null, aesUtil.encrypt("b"));
+
+        assertEquals(Arrays.asList("a", null, "b"), aesUtil.decryptAll(encrypted));
+        assertNull(aesUtil.encrypt(null));
+        assertNull(aesUtil.decrypt(null));
+    }
+}
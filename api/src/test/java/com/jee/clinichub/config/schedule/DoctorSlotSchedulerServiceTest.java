@@ -0,0 +1,66 @@
+package com.jee.clinichub.config.schedule;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jee.clinichub.app.doctor.slots.service.SlotService;
+import com.jee.clinichub.app.doctor.weeklySchedule.service.WeeklyScheduleService;
+import com.jee.clinichub.config.schedule.TenantJobExecutor.TenantJobSummary;
+import com.jee.clinichub.global.tenant.model.TenantJobStatus;
+
+class DoctorSlotSchedulerServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 10, 1);
+
+    private final SlotService slotService = mock(SlotService.class);
+    private final WeeklyScheduleService weeklyScheduleService = mock(WeeklyScheduleService.class);
+    private InMemoryTenantJobRuns jobRuns;
+    private DoctorSlotSchedulerService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        jobRuns = new InMemoryTenantJobRuns();
+        scheduler = new DoctorSlotSchedulerService(TenantJobExecutorTest.executor(jobRuns), slotService,
+                weeklyScheduleService);
+    }
+
+    @Test
+    void aTenantWithAFailedBranchIsRetriedByCatchUp() {
+        when(weeklyScheduleService.generateSlotsForTenant("acme")).thenReturn(0);
+        when(weeklyScheduleService.generateSlotsForTenant("zen")).thenReturn(1, 0);
+
+        assertEquals(new TenantJobSummary(DoctorSlotSchedulerService.SLOT_GENERATION_JOB, 1, 1, 0),
+                scheduler.generateSlots(RUN_DATE));
+        assertEquals(TenantJobStatus.FAILED, jobRuns.find(DoctorSlotSchedulerService.SLOT_GENERATION_JOB, RUN_DATE, "zen")
+                .orElseThrow().getStatus());
+
+        List<TenantJobSummary> caughtUp = scheduler.catchUpSlotGeneration(RUN_DATE, RUN_DATE);
+
+        assertEquals(List.of(new TenantJobSummary(DoctorSlotSchedulerService.SLOT_GENERATION_JOB, 1, 0, 1)), caughtUp);
+        verify(weeklyScheduleService, times(1)).generateSlotsForTenant("acme");
+        verify(weeklyScheduleService, times(2)).generateSlotsForTenant("zen");
+        assertEquals(TenantJobStatus.SUCCESS, jobRuns.find(DoctorSlotSchedulerService.SLOT_GENERATION_JOB, RUN_DATE, "zen")
+                .orElseThrow().getStatus());
+    }
+
+    @Test
+    void slotsThatCouldNotBeSyncedFailTheTenant() {
+        when(slotService.syncSlotWindowToMaster("acme", 7, true)).thenReturn(0);
+        when(slotService.syncSlotWindowToMaster("zen", 7, true)).thenReturn(3);
+
+        TenantJobSummary summary = scheduler.syncSlotsToMaster(RUN_DATE);
+
+        assertEquals(new TenantJobSummary(DoctorSlotSchedulerService.SLOT_SYNC_JOB, 1, 1, 0), summary);
+        assertEquals("3 slot(s) could not be synced to master",
+                jobRuns.find(DoctorSlotSchedulerService.SLOT_SYNC_JOB, RUN_DATE, "zen").orElseThrow().getErrorMessage());
+    }
+}
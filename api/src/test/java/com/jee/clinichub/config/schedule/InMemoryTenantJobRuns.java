@@ -0,0 +1,98 @@
+package com.jee.clinichub.config.schedule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jee.clinichub.global.tenant.model.TenantJobRun;
+import com.jee.clinichub.global.tenant.model.TenantJobStatus;
+import com.jee.clinichub.global.tenant.repository.TenantJobRunRepository;
+
+/**
+ * tenant_job_run kept in a map, behind a mocked {@link TenantJobRunRepository} whose claim follows the conditional
+ * upsert: a new run or a FAILED one is claimed, a RUNNING one only once it started before {@code staleBefore}.
+ */
+class InMemoryTenantJobRuns {
+
+    private final Map<Long, TenantJobRun> runs = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final TenantJobRunRepository repository = mock(TenantJobRunRepository.class);
+
+    InMemoryTenantJobRuns() {
+        when(repository.claim(any(), any(), any(), any())).thenAnswer(invocation -> claim(invocation.getArgument(0),
+                invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(runs.get(invocation.<Long>getArgument(0)))
+                .map(InMemoryTenantJobRuns::copy));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            TenantJobRun run = invocation.getArgument(0);
+            runs.put(run.getId(), copy(run));
+            return run;
+        });
+        when(repository.findAllByJobNameAndRunDate(any(), any())).thenAnswer(invocation -> runs.values().stream()
+                .filter(run -> run.getJobName().equals(invocation.getArgument(0))
+                        && run.getRunDate().equals(invocation.getArgument(1)))
+                .map(InMemoryTenantJobRuns::copy).toList());
+    }
+
+    TenantJobRunRepository repository() {
+        return repository;
+    }
+
+    void put(String jobName, LocalDate runDate, String clientId, TenantJobStatus status, Date startedTime) {
+        TenantJobRun run = new TenantJobRun(jobName, runDate, clientId);
+        run.setId(ids.incrementAndGet());
+        run.setStatus(status);
+        run.setAttempts(1);
+        run.setStartedTime(startedTime);
+        runs.put(run.getId(), run);
+    }
+
+    Optional<TenantJobRun> find(String jobName, LocalDate runDate, String clientId) {
+        return runs.values().stream().filter(run -> run.getJobName().equals(jobName) && run.getRunDate().equals(runDate)
+                && run.getClientId().equals(clientId)).findFirst();
+    }
+
+    List<TenantJobRun> all() {
+        return List.copyOf(runs.values());
+    }
+
+    private synchronized Optional<Long> claim(String jobName, LocalDate runDate, String clientId, Date staleBefore) {
+        Optional<TenantJobRun> existing = find(jobName, runDate, clientId);
+        if (existing.isEmpty()) {
+            put(jobName, runDate, clientId, TenantJobStatus.RUNNING, new Date());
+            return find(jobName, runDate, clientId).map(TenantJobRun::getId);
+        }
+        TenantJobRun run = existing.get();
+        boolean stale = run.getStatus() == TenantJobStatus.RUNNING
+                && (run.getStartedTime() == null || run.getStartedTime().before(staleBefore));
+        if (run.getStatus() != TenantJobStatus.FAILED && !stale) {
+            return Optional.empty();
+        }
+        run.setStatus(TenantJobStatus.RUNNING);
+        run.setAttempts(run.getAttempts() + 1);
+        run.setStartedTime(new Date());
+        run.setFinishedTime(null);
+        return Optional.of(run.getId());
+    }
+
+    private static TenantJobRun copy(TenantJobRun run) {
+        TenantJobRun copy = new TenantJobRun(run.getJobName(), run.getRunDate(), run.getClientId());
+        copy.setId(run.getId());
+        copy.setStatus(run.getStatus());
+        copy.setAttempts(run.getAttempts());
+        copy.setStartedTime(run.getStartedTime());
+        copy.setFinishedTime(run.getFinishedTime());
+        copy.setDurationMs(run.getDurationMs());
+        copy.setErrorMessage(run.getErrorMessage());
+        return copy;
+    }
+}
@@ -0,0 +1,155 @@
+package com.jee.clinichub.config.schedule;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.config.schedule.TenantJobExecutor.TenantJobSummary;
+import com.jee.clinichub.global.tenant.model.Tenant;
+import com.jee.clinichub.global.tenant.model.TenantJobRun;
+import com.jee.clinichub.global.tenant.model.TenantJobStatus;
+import com.jee.clinichub.global.tenant.repository.TenantRepository;
+
+class TenantJobExecutorTest {
+
+    private static final String JOB = "slot-generation";
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+
+    private InMemoryTenantJobRuns jobRuns;
+    private TenantJobExecutor executor;
+    private final Set<String> ran = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        jobRuns = new InMemoryTenantJobRuns();
+        executor = executor(jobRuns);
+    }
+
+    @SuppressWarnings("unchecked")
+    static TenantJobExecutor executor(InMemoryTenantJobRuns jobRuns) {
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findAll()).thenReturn(List.of(tenant("acme"), tenant("zen")));
+
+        TenantJobExecutor executor = new TenantJobExecutor(tenantRepository, jobRuns.repository(), mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(executor, "defaultTenant", "master");
+        ReflectionTestUtils.setField(executor, "parallelism", 2);
+        ReflectionTestUtils.setField(executor, "runLeaseMinutes", 120L);
+        return executor;
+    }
+
+    private static Tenant tenant(String clientId) {
+        Tenant tenant = new Tenant();
+        tenant.setClientId(clientId);
+        return tenant;
+    }
+
+    private void succeeded(LocalDate runDate, String... clientIds) {
+        for (String clientId : clientIds) {
+            jobRuns.put(JOB, runDate, clientId, TenantJobStatus.SUCCESS, new Date());
+        }
+    }
+
+    private static Date minutesAgo(long minutes) {
+        return new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minutes));
+    }
+
+    @Test
+    void catchUpReRunsOnlyTheDatesAndTenantsThatDidNotSucceed() {
+        succeeded(DAY_1, "acme", "zen");
+        succeeded(DAY_2, "acme");
+
+        List<TenantJobSummary> summaries = executor.catchUp(JOB, DAY_1, DAY_2, ran::add);
+
+        assertEquals(1, summaries.size());
+        assertEquals(new TenantJobSummary(JOB, 1, 0, 1), summaries.get(0));
+        assertEquals(Set.of("zen"), ran);
+    }
+
+    @Test
+    void catchUpRunsDatesWithoutAnyRun() {
+        List<TenantJobSummary> summaries = executor.catchUp(JOB, DAY_1, DAY_1, ran::add);
+
+        assertEquals(List.of(new TenantJobSummary(JOB, 2, 0, 0)), summaries);
+        assertEquals(Set.of("acme", "zen"), ran);
+    }
+
+    @Test
+    void catchUpLeavesCompleteDatesAlone() {
+        succeeded(DAY_1, "acme", "zen");
+
+        assertTrue(executor.catchUp(JOB, DAY_1, DAY_1, ran::add).isEmpty());
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    void aFailedTenantIsRecordedAndRetriedByCatchUp() {
+        TenantJobSummary first = executor.run(JOB, DAY_1, clientId -> {
+            if (clientId.equals("zen")) {
+                throw new IllegalStateException("1 branch(es) could not generate slots");
+            }
+        });
+
+        assertEquals(new TenantJobSummary(JOB, 1, 1, 0), first);
+        TenantJobRun failed = jobRuns.find(JOB, DAY_1, "zen").orElseThrow();
+        assertEquals(TenantJobStatus.FAILED, failed.getStatus());
+        assertEquals("1 branch(es) could not generate slots", failed.getErrorMessage());
+
+        List<TenantJobSummary> caughtUp = executor.catchUp(JOB, DAY_1, DAY_1, ran::add);
+
+        assertEquals(List.of(new TenantJobSummary(JOB, 1, 0, 1)), caughtUp);
+        assertEquals(Set.of("zen"), ran);
+        TenantJobRun retried = jobRuns.find(JOB, DAY_1, "zen").orElseThrow();
+        assertEquals(TenantJobStatus.SUCCESS, retried.getStatus());
+        assertEquals(2, retried.getAttempts());
+        assertNull(retried.getErrorMessage());
+    }
+
+    @Test
+    void aRunStillWithinItsLeaseIsNotStartedAgain() {
+        succeeded(DAY_1, "acme");
+        jobRuns.put(JOB, DAY_1, "zen", TenantJobStatus.RUNNING, minutesAgo(5));
+
+        assertTrue(executor.catchUp(JOB, DAY_1, DAY_1, ran::add).isEmpty());
+        assertEquals(new TenantJobSummary(JOB, 0, 0, 2), executor.run(JOB, DAY_1, ran::add));
+        assertTrue(ran.isEmpty());
+        assertEquals(TenantJobStatus.RUNNING, jobRuns.find(JOB, DAY_1, "zen").orElseThrow().getStatus());
+    }
+
+    @Test
+    void aRunPastItsLeaseIsClaimedAgain() {
+        succeeded(DAY_1, "acme");
+        jobRuns.put(JOB, DAY_1, "zen", TenantJobStatus.RUNNING, minutesAgo(180));
+
+        assertEquals(List.of(new TenantJobSummary(JOB, 1, 0, 1)), executor.catchUp(JOB, DAY_1, DAY_1, ran::add));
+        assertEquals(Set.of("zen"), ran);
+        assertEquals(TenantJobStatus.SUCCESS, jobRuns.find(JOB, DAY_1, "zen").orElseThrow().getStatus());
+    }
+
+    @Test
+    void aTenantClaimedBetweenListingAndStartingIsSkipped() {
+        ReflectionTestUtils.setField(executor, "parallelism", 1);
+
+        TenantJobSummary summary = executor.run(JOB, DAY_1, clientId -> {
+            ran.add(clientId);
+            // a rerun started meanwhile takes the tenant this run has not got to yet
+            jobRuns.repository().claim(JOB, DAY_1, clientId.equals("acme") ? "zen" : "acme", minutesAgo(120));
+        });
+
+        assertEquals(new TenantJobSummary(JOB, 1, 0, 1), summary);
+        assertEquals(1, ran.size());
+        assertEquals(2, jobRuns.all().size());
+    }
+}
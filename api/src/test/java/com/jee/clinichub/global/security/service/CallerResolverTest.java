@@ -0,0 +1,68 @@
+package com.jee.clinichub.global.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class CallerResolverTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static CallerResolver resolver(String trustedProxies) {
+        CallerResolver resolver = new CallerResolver();
+        ReflectionTestUtils.setField(resolver, "trustedProxies", trustedProxies);
+        resolver.init();
+        return resolver;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    void forwardedForIsIgnoredFromUntrustedPeers() {
+        CallerResolver resolver = resolver("");
+
+        assertEquals("203.0.113.9", resolver.clientAddress(request("203.0.113.9", "198.51.100.1")));
+    }
+
+    @Test
+    void nearestUntrustedHopIsTheClient() {
+        CallerResolver resolver = resolver("10.0.0.0/8, 192.168.1.5");
+
+        // the left-most entry is whatever the client sent
+        assertEquals("198.51.100.7",
+                resolver.clientAddress(request("10.0.0.3", "1.2.3.4, 198.51.100.7, 192.168.1.5")));
+        assertEquals("10.0.0.3", resolver.clientAddress(request("10.0.0.3", "not-an-ip")));
+    }
+
+    @Test
+    void signedInUserWinsOverTheAddress() {
+        CallerResolver resolver = resolver("");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request("203.0.113.9", null)));
+
+        assertEquals("ip:203.0.113.9", resolver.callerKey());
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("asha", null, List.of()));
+        assertTrue(resolver.callerKey().endsWith(":asha"));
+    }
+}
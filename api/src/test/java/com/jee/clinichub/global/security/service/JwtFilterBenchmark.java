@@ -0,0 +1,110 @@
+package com.jee.clinichub.global.security.service;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jee.clinichub.global.security.service.VerifiedTokenCache.VerifiedToken;
+import com.jee.clinichub.global.security.service.impl.JwtServiceImpl;
+import com.jee.clinichub.global.tenant.context.TenantContextHolder;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Compares the token handling done by JwtAuthenticationFilter before and after the
+ * verified token cache. The user lookup is a stub, so the legacy numbers do not even
+ * include the DB round-trip the real filter paid on every request.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.jee.clinichub.global.security.service.JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtFilterBenchmark {
+
+    private JwtServiceImpl jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetails userDetails;
+    private String jwt;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl();
+        ReflectionTestUtils.setField(jwtService, "jwtSigningKey",
+                Base64.getEncoder().encodeToString("benchmark-signing-key-benchmark-signing-key".getBytes()));
+        ReflectionTestUtils.setField(jwtService, "jwtExipryTimeInSec", "3600");
+
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "ttlSeconds", 300L);
+        verifiedTokenCache.init();
+
+        userDetails = new User("doctor@clinic.com", "secret", Set.of(new SimpleGrantedAuthority("ROLE_DOCTOR")));
+        TenantContextHolder.setCurrentTenant("clinic_a");
+        jwt = jwtService.generateToken(userDetails);
+        TenantContextHolder.clear();
+
+        Claims claims = jwtService.extractAllClaims(jwt);
+        verifiedTokenCache.put(jwt, claims.getAudience(), userDetails, claims.getExpiration());
+    }
+
+    /** Three parses and HMAC checks per request, as the filter did before. */
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        String userName = jwtService.extractUserName(jwt);
+        String tenant = jwtService.extractTenant(jwt);
+        UserDetails loaded = loadUser(userName);
+        bh.consume(tenant);
+        bh.consume(jwtService.isTokenValid(jwt, loaded));
+    }
+
+    /** First request of a session: one parse and HMAC check, then cached. */
+    @Benchmark
+    public void singleParsePath(Blackhole bh) {
+        Claims claims = jwtService.extractAllClaims(jwt);
+        UserDetails loaded = loadUser(claims.getSubject());
+        bh.consume(claims.getAudience());
+        bh.consume(jwtService.isTokenValid(claims, loaded));
+    }
+
+    /** Repeat requests of a session: served from the verified token cache. */
+    @Benchmark
+    public void cachedFilterPath(Blackhole bh) {
+        VerifiedToken verified = verifiedTokenCache.get(jwt);
+        bh.consume(verified.getTenant());
+        bh.consume(verified.getUserDetails());
+    }
+
+    private UserDetails loadUser(String userName) {
+        return new User(userName, userDetails.getPassword(), userDetails.getAuthorities());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.jee.clinichub.global.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        cache.init();
+
+        put("token-1", "acme", "alice");
+        put("token-2", "acme", "alice");
+        put("token-3", "acme", "bob");
+        put("token-4", "zen", "alice");
+    }
+
+    private void put(String token, String tenant, String username) {
+        cache.put(token, tenant, new User(username, "", List.of()), new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    @Test
+    void evictUserDropsOnlyThatUsersTokensInThatTenant() {
+        cache.evictUser("acme", "alice");
+
+        assertNull(cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertNotNull(cache.get("token-3"));
+        assertNotNull(cache.get("token-4"));
+    }
+
+    @Test
+    void evictTenantDropsEveryTokenOfThatTenant() {
+        cache.evictTenant("acme");
+
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("token-4"));
+    }
+}